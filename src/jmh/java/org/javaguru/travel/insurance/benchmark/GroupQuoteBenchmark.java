@@ -0,0 +1,50 @@
+package org.javaguru.travel.insurance.benchmark;
+
+import org.javaguru.travel.insurance.application.dto.v3.TravelCalculatePremiumRequestV3;
+import org.javaguru.travel.insurance.application.service.GroupPremiumResult;
+import org.javaguru.travel.insurance.application.validation.ValidationError;
+import org.javaguru.travel.insurance.fixture.PricingFixture;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Групповой расчёт V3 (MultiPersonPremiumCalculationService): андеррайтинг
+ * и премия каждой персоны; отдельно — валидация V3 того же запроса.
+ *
+ * Пропускная способность — в группах в секунду; для сравнения размеров
+ * делите на persons.
+ */
+@State(Scope.Benchmark)
+public class GroupQuoteBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int persons;
+
+    @Param({"MEDICAL_LEVEL", "COUNTRY_DEFAULT"})
+    public String mode;
+
+    private PricingFixture fixture;
+    private TravelCalculatePremiumRequestV3 request;
+
+    @Setup
+    public void setUp() {
+        fixture = new PricingFixture();
+        request = PricingFixture.groupRequest(persons, "COUNTRY_DEFAULT".equals(mode),
+                List.of("SPORT_ACTIVITIES", "LUGGAGE_LOSS", "FLIGHT_DELAY"));
+    }
+
+    @Benchmark
+    public GroupPremiumResult calculateGroup() {
+        return fixture.groupService.calculateForGroup(request.getPersons(), request);
+    }
+
+    @Benchmark
+    public List<ValidationError> validateGroup() {
+        return fixture.validatorV3.validate(request);
+    }
+}
@@ -0,0 +1,70 @@
+package org.javaguru.travel.insurance.benchmark;
+
+import org.javaguru.travel.insurance.application.dto.TravelCalculatePremiumRequest;
+import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculator.PremiumCalculationResult;
+import org.javaguru.travel.insurance.fixture.InMemoryReferenceData;
+import org.javaguru.travel.insurance.fixture.PricingFixture;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Расчёт премии одной персоны: MedicalRiskPremiumCalculator → стратегия →
+ * AgeCalculator, TripDurationCalculator, AdditionalRisksCalculator,
+ * BundleDiscountCalculator, CalculationStepsBuilder.
+ *
+ * Параметры:
+ *   mode  — MEDICAL_LEVEL / COUNTRY_DEFAULT;
+ *   risks — NONE, ONE, BUNDLE (пакет FULL_PROTECTION), ALL.
+ * allRiskCombinations перебирает по кругу все 256 подмножеств необязательных рисков.
+ */
+@State(Scope.Benchmark)
+public class PremiumCalculationBenchmark {
+
+    @Param({"MEDICAL_LEVEL", "COUNTRY_DEFAULT"})
+    public String mode;
+
+    @Param({"NONE", "ONE", "BUNDLE", "ALL"})
+    public String risks;
+
+    private PricingFixture fixture;
+    private TravelCalculatePremiumRequest request;
+    private TravelCalculatePremiumRequest[] combinations;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        fixture = new PricingFixture();
+        boolean countryDefault = "COUNTRY_DEFAULT".equals(mode);
+        request = PricingFixture.request(countryDefault, riskSet(risks));
+        combinations = PricingFixture.allRiskCombinations().stream()
+                .map(combination -> PricingFixture.request(countryDefault, combination))
+                .toArray(TravelCalculatePremiumRequest[]::new);
+    }
+
+    @Benchmark
+    public PremiumCalculationResult singlePerson() {
+        return fixture.calculator.calculatePremiumWithDetails(request);
+    }
+
+    @Benchmark
+    public PremiumCalculationResult allRiskCombinations() {
+        TravelCalculatePremiumRequest current = combinations[next];
+        next = (next + 1) % combinations.length;
+        return fixture.calculator.calculatePremiumWithDetails(current);
+    }
+
+    private static List<String> riskSet(String name) {
+        return switch (name) {
+            case "NONE" -> List.of();
+            case "ONE" -> List.of("SPORT_ACTIVITIES");
+            case "BUNDLE" -> List.of("TRIP_CANCELLATION", "LUGGAGE_LOSS", "FLIGHT_DELAY");
+            case "ALL" -> InMemoryReferenceData.OPTIONAL_RISKS;
+            default -> throw new IllegalArgumentException("Unknown risk set: " + name);
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package org.javaguru.travel.insurance.benchmark;
+
+import org.javaguru.travel.insurance.application.dto.TravelCalculatePremiumRequest;
+import org.javaguru.travel.insurance.application.validation.ValidationError;
+import org.javaguru.travel.insurance.core.calculators.AgeCalculator;
+import org.javaguru.travel.insurance.fixture.PricingFixture;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Отдельные компоненты конвейера: AgeCalculator и валидатор V2.
+ * Нужны, чтобы изменение в одном компоненте было видно без шума всей стратегии.
+ */
+@State(Scope.Benchmark)
+public class PricingComponentsBenchmark {
+
+    private PricingFixture fixture;
+    private TravelCalculatePremiumRequest request;
+    private LocalDate birthDate;
+
+    @Setup
+    public void setUp() {
+        fixture = new PricingFixture();
+        request = PricingFixture.request(false, List.of("SPORT_ACTIVITIES", "LUGGAGE_LOSS"));
+        birthDate = request.getPersonBirthDate();
+    }
+
+    @Benchmark
+    public AgeCalculator.AgeCalculationResult ageCalculator() {
+        return fixture.ageCalculator.calculateAgeAndCoefficient(birthDate, PricingFixture.DATE_FROM);
+    }
+
+    @Benchmark
+    public List<ValidationError> validatorV2() {
+        return fixture.validator.validate(request);
+    }
+}
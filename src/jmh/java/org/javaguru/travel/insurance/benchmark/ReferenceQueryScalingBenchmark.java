@@ -0,0 +1,126 @@
+package org.javaguru.travel.insurance.benchmark;
+
+import org.javaguru.travel.insurance.InsuranceApplication;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshot;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotService;
+import org.javaguru.travel.insurance.fixture.DataScale;
+import org.javaguru.travel.insurance.fixture.SyntheticReferenceDataGenerator;
+import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.AgeRiskCoefficientEntity;
+import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.CountryEntity;
+import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.PromoCodeEntity;
+import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.RiskBundleEntity;
+import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.UnderwritingDecisionEntity;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.AgeRiskCoefficientRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.CountryRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.PromoCodeRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.RiskBundleRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.UnderwritingDecisionRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Запросы к справочникам и журналу решений в зависимости от объёма данных.
+ *
+ * Контекст приложения с профилем test (H2, схема из сущностей) поднимается
+ * один раз на scale: seed-данные test-data.sql, затем — для small/medium —
+ * синтетические данные SyntheticReferenceDataGenerator. Сравнение результатов
+ * между scale показывает, какие запросы растут с объёмом.
+ *
+ * Индексы H2 берутся из JPA-сущностей, а не из Liquibase: абсолютные числа
+ * относятся к H2; для PostgreSQL гоняют нагрузочный тест с -Ddatagen.scale=large.
+ */
+@State(Scope.Benchmark)
+public class ReferenceQueryScalingBenchmark {
+
+    @Param({"seed", "small", "medium"})
+    public String scale;
+
+    private final LocalDate today = LocalDate.now();
+
+    private ConfigurableApplicationContext context;
+    private CountryRepository countryRepository;
+    private RiskBundleRepository riskBundleRepository;
+    private AgeRiskCoefficientRepository ageRiskRepository;
+    private PromoCodeRepository promoCodeRepository;
+    private UnderwritingDecisionRepository decisionRepository;
+    private ReferenceDataSnapshotService snapshotService;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(InsuranceApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .run("--logging.level.org.javaguru.travel.insurance=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+
+        DataSource dataSource = context.getBean(DataSource.class);
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/clean.sql"), new ClassPathResource("db/test-data.sql"))
+                .execute(dataSource);
+        if (!"seed".equals(scale)) {
+            new SyntheticReferenceDataGenerator(dataSource).generate(DataScale.named(scale));
+        }
+
+        countryRepository = context.getBean(CountryRepository.class);
+        riskBundleRepository = context.getBean(RiskBundleRepository.class);
+        ageRiskRepository = context.getBean(AgeRiskCoefficientRepository.class);
+        promoCodeRepository = context.getBean(PromoCodeRepository.class);
+        decisionRepository = context.getBean(UnderwritingDecisionRepository.class);
+        snapshotService = context.getBean(ReferenceDataSnapshotService.class);
+        snapshotService.refresh();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<CountryEntity> countryByCode() {
+        return countryRepository.findActiveByIsoCode("ES", today);
+    }
+
+    /** Все активные пакеты — их перебирает BundleDiscountCalculator на каждом запросе. */
+    @Benchmark
+    public List<RiskBundleEntity> activeBundles() {
+        return riskBundleRepository.findAllActive(today);
+    }
+
+    @Benchmark
+    public Optional<AgeRiskCoefficientEntity> ageRiskModifier() {
+        return ageRiskRepository.findModifierForRiskAndAge("EXTREME_SPORT", 40, today);
+    }
+
+    @Benchmark
+    public Optional<PromoCodeEntity> promoCodeByCode() {
+        return promoCodeRepository.findActiveByCode("TEST_PROMO_10PCT", today);
+    }
+
+    /** Поиск прошлых решений по персоне — растёт с журналом андеррайтинга. */
+    @Benchmark
+    public List<UnderwritingDecisionEntity> decisionsByPerson() {
+        return decisionRepository.findByPersonFirstNameAndPersonLastNameAndPersonBirthDate(
+                "Anna", "Berzina42", LocalDate.of(1985, 3, 15));
+    }
+
+    /** Полная перезагрузка снимка справочников. */
+    @Benchmark
+    public ReferenceDataSnapshot snapshotRefresh() {
+        return snapshotService.refresh();
+    }
+}
@@ -0,0 +1,114 @@
+package org.javaguru.travel.insurance.benchmark;
+
+import org.javaguru.travel.insurance.InsuranceApplication;
+import org.javaguru.travel.insurance.domain.model.entity.Country;
+import org.javaguru.travel.insurance.domain.model.entity.MedicalRiskLimitLevel;
+import org.javaguru.travel.insurance.domain.model.entity.Risk;
+import org.javaguru.travel.insurance.domain.model.valueobject.CountryCode;
+import org.javaguru.travel.insurance.domain.model.valueobject.RiskCode;
+import org.javaguru.travel.insurance.domain.port.ReferenceDataPort;
+import org.javaguru.travel.insurance.infrastructure.persistence.adapter.JdbcReferenceDataAdapter;
+import org.javaguru.travel.insurance.infrastructure.persistence.adapter.JpaReferenceDataAdapter;
+import org.javaguru.travel.insurance.infrastructure.persistence.mapper.CountryMapper;
+import org.javaguru.travel.insurance.infrastructure.persistence.mapper.MedicalLevelMapper;
+import org.javaguru.travel.insurance.infrastructure.persistence.mapper.RiskMapper;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.CountryRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.MedicalRiskLimitLevelRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.RiskTypeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Пути чтения справочников мимо снимка: что платит расчёт за один поиск.
+ *
+ *   repository — прежний путь: репозиторий + маппер, без транзакции
+ *                (каждый вызов Spring Data открывает свою);
+ *   jpa        — JpaReferenceDataAdapter в readOnly-транзакции;
+ *   jdbc       — JdbcReferenceDataAdapter: SELECT и RowMapper в домен.
+ *
+ * Контекст с профилем test (H2) и seed-данными test-data.sql, как в
+ * ReferenceQueryScalingBenchmark. Аллокации на операцию — профайлер gc
+ * (включён в build.gradle): у jdbc нет сущностей и их снимков.
+ *   ./gradlew jmh -PjmhIncludes=ReferenceReadPathBenchmark
+ */
+@State(Scope.Benchmark)
+public class ReferenceReadPathBenchmark {
+
+    @Param({"repository", "jpa", "jdbc"})
+    public String path;
+
+    private final LocalDate today = LocalDate.now();
+    private final CountryCode spain = new CountryCode("ES");
+    private final List<RiskCode> selectedRisks =
+            List.of(new RiskCode("TRAVEL_MEDICAL"), new RiskCode("SPORT_ACTIVITIES"), new RiskCode("LUGGAGE_LOSS"));
+
+    private ConfigurableApplicationContext context;
+    private ReferenceDataPort port;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(InsuranceApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .run("--logging.level.org.javaguru.travel.insurance=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/clean.sql"), new ClassPathResource("db/test-data.sql"))
+                .execute(context.getBean(DataSource.class));
+
+        port = switch (path) {
+            case "repository" -> new JpaReferenceDataAdapter(
+                    context.getBean(CountryRepository.class),
+                    context.getBean(RiskTypeRepository.class),
+                    context.getBean(MedicalRiskLimitLevelRepository.class),
+                    context.getBean(CountryMapper.class),
+                    context.getBean(RiskMapper.class),
+                    context.getBean(MedicalLevelMapper.class));
+            case "jpa" -> context.getBean(JpaReferenceDataAdapter.class);
+            case "jdbc" -> context.getBean(JdbcReferenceDataAdapter.class);
+            default -> throw new IllegalArgumentException(path);
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Country> country() {
+        return port.findCountry(spain, today);
+    }
+
+    @Benchmark
+    public Optional<MedicalRiskLimitLevel> medicalLevel() {
+        return port.findMedicalLevel("50000", today);
+    }
+
+    /** Выбранные риски запроса: у repository/jpa — запрос на код, у jdbc — один IN. */
+    @Benchmark
+    public List<Risk> selectedRisks() {
+        return port.findRisks(selectedRisks, today);
+    }
+
+    @Benchmark
+    public List<Risk> activeRisks() {
+        return port.findAllActiveRisks(today);
+    }
+}
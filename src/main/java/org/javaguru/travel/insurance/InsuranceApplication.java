@@ -2,16 +2,44 @@ package org.javaguru.travel.insurance;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.retry.annotation.EnableRetry;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableAsync
 @EnableRetry
+@EnableScheduling
 @SpringBootApplication
 public class InsuranceApplication {
 
+    /** Шагов старта хватает на все бины приложения; шкала — /actuator/startup и StartupStepReport. */
+    static final int STARTUP_STEPS_CAPACITY = 10_000;
+
+    static final String FAST_START_PROFILE = "fast-start";
+
     public static void main(String[] args) {
-        SpringApplication.run(InsuranceApplication.class, args);
+        SpringApplication application = new SpringApplication(InsuranceApplication.class);
+        bufferStartupStepsOnFastStart(application);
+        application.run(args);
+    }
+
+    /**
+     * Шаги старта буферизуются только в профиле fast-start: вне его шкалу
+     * никто не читает, а буфер держит до STARTUP_STEPS_CAPACITY событий
+     * на всё время жизни узла.
+     *
+     * Профили известны лишь после подготовки окружения; контекст получает
+     * ApplicationStartup позже, поэтому его ещё можно подменить здесь.
+     */
+    static void bufferStartupStepsOnFastStart(SpringApplication application) {
+        application.addListeners(event -> {
+            if (event instanceof ApplicationEnvironmentPreparedEvent prepared
+                    && prepared.getEnvironment().matchesProfiles(FAST_START_PROFILE)) {
+                application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS_CAPACITY));
+            }
+        });
     }
 
 }
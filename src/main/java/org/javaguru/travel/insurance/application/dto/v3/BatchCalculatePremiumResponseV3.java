@@ -0,0 +1,70 @@
+package org.javaguru.travel.insurance.application.dto.v3;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Ответ пакетного расчёта V3 (POST /insurance/travel/v3/calculate/batch).
+ *
+ * results[i] соответствует i-му элементу входного массива.
+ * Каждый элемент несёт собственный HTTP-статус (как если бы он был посчитан
+ * отдельным вызовом /calculate) — ошибка одного элемента не влияет на остальные.
+ */
+@Schema(
+        name = "BatchCalculatePremiumResponseV3",
+        description = "Результаты пакетного расчёта V3 по каждому элементу входного массива."
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchCalculatePremiumResponseV3 {
+
+    /** Версия тарифа, по которой посчитаны все элементы батча. */
+    private String tariffVersion;
+
+    private int totalItems;
+
+    private int succeeded;
+
+    private int failed;
+
+    private long durationMs;
+
+    @Builder.Default
+    private List<ItemResult> results = List.of();
+
+    /**
+     * Результат одного элемента батча.
+     *
+     * response заполнен, если элемент обработан сервисом V3 (в том числе
+     * VALIDATION_ERROR / DECLINED / REQUIRES_REVIEW); error — если обработка
+     * не состоялась (исключение, таймаут, исчерпан бюджет).
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ItemResult {
+
+        private int index;
+
+        private int httpStatus;
+
+        private TravelCalculatePremiumResponseV3 response;
+
+        private String error;
+
+        public boolean isSuccess() {
+            return response != null
+                    && response.getStatus() == TravelCalculatePremiumResponseV3.ResponseStatus.SUCCESS;
+        }
+    }
+}
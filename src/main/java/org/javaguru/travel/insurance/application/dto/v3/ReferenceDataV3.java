@@ -0,0 +1,68 @@
+package org.javaguru.travel.insurance.application.dto.v3;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO справочных эндпоинтов V3.
+ *
+ * Заменяют заглушки CountriesResponse / CoverageLevelsResponse / RiskTypesResponse
+ * в TravelCalculatePremiumControllerV3.
+ *
+ * Каждый ответ содержит tariffVersion — версию снимка справочных данных,
+ * из которой построен ответ (она же лежит в основе ETag).
+ */
+public final class ReferenceDataV3 {
+
+    private ReferenceDataV3() {
+    }
+
+    @Schema(name = "CountriesResponseV3", description = "Страны, доступные для страхования на дату.")
+    public record CountriesResponse(
+            String tariffVersion,
+            LocalDate effectiveDate,
+            List<CountryItem> countries
+    ) {}
+
+    public record CountryItem(
+            String code,
+            String nameEn,
+            String nameRu,
+            String riskGroup,
+            BigDecimal riskCoefficient
+    ) {}
+
+    @Schema(name = "CoverageLevelsResponseV3", description = "Уровни медицинского покрытия на дату.")
+    public record CoverageLevelsResponse(
+            String tariffVersion,
+            LocalDate effectiveDate,
+            List<CoverageLevelItem> coverageLevels
+    ) {}
+
+    public record CoverageLevelItem(
+            String code,
+            BigDecimal coverageAmount,
+            BigDecimal dailyRate,
+            String currency,
+            BigDecimal maxPayoutAmount
+    ) {}
+
+    @Schema(name = "RiskTypesResponseV3", description = "Типы рисков с коэффициентами на дату.")
+    public record RiskTypesResponse(
+            String tariffVersion,
+            LocalDate effectiveDate,
+            List<RiskTypeItem> riskTypes
+    ) {}
+
+    public record RiskTypeItem(
+            String code,
+            String nameEn,
+            String nameRu,
+            BigDecimal coefficient,
+            boolean mandatory,
+            String description
+    ) {}
+}
@@ -148,10 +148,24 @@ public class TravelCalculatePremiumResponseV3 {
     // =========================================================
 
     public enum ResponseStatus {
-        SUCCESS,
-        VALIDATION_ERROR,
-        DECLINED,
-        REQUIRES_REVIEW
+        SUCCESS(200),
+        VALIDATION_ERROR(400),
+        DECLINED(422),
+        REQUIRES_REVIEW(202);
+
+        private final int httpStatus;
+
+        ResponseStatus(int httpStatus) {
+            this.httpStatus = httpStatus;
+        }
+
+        /**
+         * HTTP-статус ответа /calculate для данного статуса
+         * (используется также для элементов batch / NDJSON).
+         */
+        public int httpStatus() {
+            return httpStatus;
+        }
     }
 
     // ── TripSummary ──────────────────────────────────────────────────────────
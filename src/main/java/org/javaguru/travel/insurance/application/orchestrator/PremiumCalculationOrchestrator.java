@@ -11,6 +11,10 @@ import org.javaguru.travel.insurance.application.validation.TravelCalculatePremi
 import org.javaguru.travel.insurance.application.validation.ValidationError;
 import org.javaguru.travel.insurance.application.dto.TravelCalculatePremiumRequest;
 import org.javaguru.travel.insurance.application.dto.TravelCalculatePremiumResponse;
+import org.javaguru.travel.insurance.core.metrics.PricingStageTimer;
+import org.javaguru.travel.insurance.core.metrics.StartupTimeline;
+import org.javaguru.travel.insurance.core.reference.TariffConsistencyGuard;
+import org.javaguru.travel.insurance.core.reference.TariffVersionChangedException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -29,17 +33,26 @@ import java.util.List;
  * 2. Расчёт групповой премии (включая андеррайтинг каждой персоны)
  * 3. Применение скидок к итоговой сумме
  * 4. Сборка финального ответа
+ *
+ * Каждый шаг засекается PricingStageTimer (stage = validate / calculate /
+ * discounts / assemble, api_version = v2).
+ *
+ * Расчёт выполняется под TariffConsistencyGuard: если тариф изменился
+ * во время расчёта, он повторяется по новой версии.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PremiumCalculationOrchestrator {
 
+    private static final String API_VERSION = "v2";
+
     private final TravelCalculatePremiumRequestValidator validator;
     private final UnderwritingApplicationService underwritingService;
     private final PremiumCalculationService premiumCalculationService;
     private final DiscountApplicationService discountApplicationService;
     private final ResponseAssembler responseAssembler;
+    private final TariffConsistencyGuard tariffConsistencyGuard;
 
     /**
      * Главный метод оркестрации расчета премии.
@@ -53,11 +66,19 @@ public class PremiumCalculationOrchestrator {
      * → 4. Apply Discounts → 5. Assemble Response
      */
     public TravelCalculatePremiumResponse process(TravelCalculatePremiumRequest request, boolean includeDetails) {
+        return PricingStageTimer.inContext(
+                API_VERSION,
+                PricingStageTimer.requestedMode(request.getUseCountryDefaultPremium()),
+                () -> doProcess(request, includeDetails));
+    }
+
+    private TravelCalculatePremiumResponse doProcess(TravelCalculatePremiumRequest request, boolean includeDetails) {
         log.info("Starting premium calculation orchestration for {} {}",
                 request.getPersonFirstName(), request.getPersonLastName());
 
         // STEP 1: Валидация
-        List<ValidationError> validationErrors = validator.validate(request);
+        List<ValidationError> validationErrors = PricingStageTimer.time(
+                "validate", () -> validator.validate(request));
         if (!validationErrors.isEmpty()) {
             log.warn("Validation failed: {} errors", validationErrors.size());
             return responseAssembler.buildValidationErrorResponse(validationErrors);
@@ -66,7 +87,10 @@ public class PremiumCalculationOrchestrator {
         // STEP 2: Расчёт премии с андеррайтингом через GroupPremiumResult
         GroupPremiumResult groupResult;
         try {
-            groupResult = premiumCalculationService.calculateSinglePersonAsGroup(request);
+            groupResult = PricingStageTimer.time("calculate", () -> tariffConsistencyGuard.call(
+                    () -> premiumCalculationService.calculateSinglePersonAsGroup(request)));
+        } catch (TariffVersionChangedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Premium calculation failed", e);
             return responseAssembler.buildSystemErrorResponse(e.getMessage());
@@ -85,23 +109,27 @@ public class PremiumCalculationOrchestrator {
 
         // STEP 4: Применение скидок к итоговой сумме полиса
         try {
-            var discountResult = discountApplicationService.applyDiscounts(
-                    request,
-                    groupResult.totalPremium()
-            );
+            var discountResult = PricingStageTimer.time("discounts", () ->
+                    discountApplicationService.applyDiscounts(
+                            request,
+                            groupResult.totalPremium()
+                    ));
 
             // STEP 5: Сборка ответа с данными GroupPremiumResult
-            return responseAssembler.buildSuccessResponse(
-                    request,
-                    // Оборачиваем в PremiumCalculationResult для совместимости с ResponseAssembler
-                    new PremiumCalculationService.PremiumCalculationResult(
-                            groupResult.totalPremium(),
-                            groupResult.firstPersonDetails()
-                    ),
-                    discountResult,
-                    groupResult.groupUnderwriting(),
-                    includeDetails
-            );
+            TravelCalculatePremiumResponse response = PricingStageTimer.time("assemble", () ->
+                    responseAssembler.buildSuccessResponse(
+                            request,
+                            // Оборачиваем в PremiumCalculationResult для совместимости с ResponseAssembler
+                            new PremiumCalculationService.PremiumCalculationResult(
+                                    groupResult.totalPremium(),
+                                    groupResult.firstPersonDetails()
+                            ),
+                            discountResult,
+                            groupResult.groupUnderwriting(),
+                            includeDetails
+                    ));
+            StartupTimeline.markFirstQuote();
+            return response;
 
         } catch (Exception e) {
             log.error("Discount application or response assembly failed", e);
@@ -0,0 +1,127 @@
+package org.javaguru.travel.insurance.application.repricing;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Пул канонических строк для коротких повторяющихся значений
+ * (коды стран, уровни покрытия, коды рисков).
+ *
+ * Во входных файлах переоценки таких значений десятки, а строк — миллионы.
+ * Пул находит уже созданную строку прямо по срезу байтов/символов,
+ * поэтому на каждую строку файла новые String не создаются.
+ *
+ * Открытая адресация, только ASCII; не потокобезопасен —
+ * у каждого reader'а собственный экземпляр.
+ */
+final class CanonicalStringPool {
+
+    private static final int MAX_ENTRIES = 4096;
+
+    private String[] table = new String[256];
+    private int size;
+
+    /**
+     * Каноническая строка для байтов buffer[start, end).
+     */
+    String intern(ByteBuffer buffer, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + (buffer.get(i) & 0xFF);
+        }
+        int mask = table.length - 1;
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            String existing = table[slot];
+            if (existing == null) {
+                byte[] bytes = new byte[end - start];
+                buffer.get(start, bytes);
+                return insert(slot, new String(bytes, StandardCharsets.US_ASCII));
+            }
+            if (existing.hashCode() == hash && equals(existing, buffer, start, end)) {
+                return existing;
+            }
+        }
+    }
+
+    /**
+     * Каноническая строка для символов chars[offset, offset + length).
+     */
+    String intern(char[] chars, int offset, int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int mask = table.length - 1;
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            String existing = table[slot];
+            if (existing == null) {
+                return insert(slot, new String(chars, offset, length));
+            }
+            if (existing.hashCode() == hash && equals(existing, chars, offset, length)) {
+                return existing;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    // ── Вспомогательные методы ────────────────────────────────────────────────
+
+    private String insert(int slot, String value) {
+        if (size >= MAX_ENTRIES) {
+            // Защита от «мусорных» файлов с уникальными значениями: не растём бесконечно
+            return value;
+        }
+        table[slot] = value;
+        size++;
+        if (size * 2 > table.length) {
+            rehash();
+        }
+        return value;
+    }
+
+    private void rehash() {
+        String[] old = table;
+        table = new String[old.length * 2];
+        int mask = table.length - 1;
+        for (String value : old) {
+            if (value != null) {
+                int slot = spread(value.hashCode()) & mask;
+                while (table[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = value;
+            }
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean equals(String value, ByteBuffer buffer, int start, int end) {
+        if (value.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) != (buffer.get(start + i) & 0xFF)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean equals(String value, char[] chars, int offset, int length) {
+        if (value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,254 @@
+package org.javaguru.travel.insurance.application.repricing;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Чтение CSV-файла переоценки через отображение в память.
+ *
+ * Файл отображается окнами (по умолчанию до 256 MB), поэтому поддерживаются
+ * файлы больше 2 GB. Строка, пересекающая границу окна, обрабатывается
+ * переотображением окна с начала этой строки.
+ *
+ * Поля разбираются прямо из отображённых байтов: даты — по цифрам,
+ * коды — через CanonicalStringPool. На строку файла не создаётся String.
+ */
+final class MappedCsvRecordReader implements RepricingRecordReader {
+
+    static final long DEFAULT_WINDOW = 256L * 1024 * 1024;
+
+    private static final String[] COLUMNS = {
+            "birth_date", "date_from", "date_to", "country", "level", "risks", "use_country_default"
+    };
+    private static final int BIRTH_DATE = 0;
+    private static final int DATE_FROM = 1;
+    private static final int DATE_TO = 2;
+    private static final int COUNTRY = 3;
+    private static final int LEVEL = 4;
+    private static final int RISKS = 5;
+    private static final int USE_COUNTRY_DEFAULT = 6;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final long window;
+    private final CanonicalStringPool pool = new CanonicalStringPool();
+
+    /** Позиция каждой известной колонки в строке файла (-1 — колонки нет). */
+    private final int[] columnPositions = new int[COLUMNS.length];
+    private int[] fieldStarts = new int[16];
+    private int[] fieldEnds = new int[16];
+
+    private MappedByteBuffer segment;
+    private long segmentStart;
+    private int pos;
+    private int lineStart;
+    private int lineEnd;
+    private long lineNumber;
+
+    MappedCsvRecordReader(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW);
+    }
+
+    MappedCsvRecordReader(Path path, long window) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.window = window;
+        map(0);
+        readHeader();
+    }
+
+    @Override
+    public List<RepricingRecord> nextChunk(int maxRecords) throws IOException {
+        List<RepricingRecord> chunk = new ArrayList<>(maxRecords);
+        while (chunk.size() < maxRecords && nextLine()) {
+            if (lineStart == lineEnd) {
+                continue;
+            }
+            lineNumber++;
+            chunk.add(parseLine());
+        }
+        return chunk;
+    }
+
+    @Override
+    public double progress() {
+        return fileSize == 0 ? 1.0 : Math.min(1.0, (double) (segmentStart + pos) / fileSize);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // ── Разбор строк ─────────────────────────────────────────────────────────
+
+    private void readHeader() throws IOException {
+        if (!nextLine()) {
+            throw new IllegalArgumentException("CSV file is empty, header expected");
+        }
+        byte[] bytes = new byte[lineEnd - lineStart];
+        segment.get(lineStart, bytes);
+        String[] header = new String(bytes, StandardCharsets.UTF_8).split(",");
+
+        for (int c = 0; c < COLUMNS.length; c++) {
+            columnPositions[c] = -1;
+            for (int h = 0; h < header.length; h++) {
+                if (header[h].trim().toLowerCase(Locale.ROOT).equals(COLUMNS[c])) {
+                    columnPositions[c] = h;
+                }
+            }
+        }
+        if (columnPositions[BIRTH_DATE] < 0 || columnPositions[DATE_FROM] < 0
+                || columnPositions[DATE_TO] < 0 || columnPositions[COUNTRY] < 0) {
+            throw new IllegalArgumentException(
+                    "CSV header must contain birth_date, date_from, date_to and country");
+        }
+    }
+
+    private RepricingRecord parseLine() {
+        int fields = splitFields();
+        try {
+            return new RepricingRecord(
+                    lineNumber,
+                    RepricingFieldParsers.parseDate(segment, start(BIRTH_DATE, fields), end(BIRTH_DATE, fields)),
+                    RepricingFieldParsers.parseDate(segment, start(DATE_FROM, fields), end(DATE_FROM, fields)),
+                    RepricingFieldParsers.parseDate(segment, start(DATE_TO, fields), end(DATE_TO, fields)),
+                    code(COUNTRY, fields),
+                    code(LEVEL, fields),
+                    risks(fields),
+                    RepricingFieldParsers.parseBoolean(segment,
+                            start(USE_COUNTRY_DEFAULT, fields), end(USE_COUNTRY_DEFAULT, fields)),
+                    null);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            return RepricingRecord.invalid(lineNumber, e.getMessage());
+        }
+    }
+
+    /**
+     * Разбивает текущую строку на поля; возвращает число полей.
+     */
+    private int splitFields() {
+        int count = 0;
+        int fieldStart = lineStart;
+        for (int i = lineStart; i <= lineEnd; i++) {
+            if (i == lineEnd || segment.get(i) == ',') {
+                if (count == fieldStarts.length) {
+                    fieldStarts = Arrays.copyOf(fieldStarts, count * 2);
+                    fieldEnds = Arrays.copyOf(fieldEnds, count * 2);
+                }
+                fieldStarts[count] = fieldStart;
+                fieldEnds[count] = trimEnd(fieldStart, i);
+                fieldStarts[count] = trimStart(fieldStart, fieldEnds[count]);
+                count++;
+                fieldStart = i + 1;
+            }
+        }
+        return count;
+    }
+
+    private int start(int column, int fields) {
+        int position = columnPositions[column];
+        return position >= 0 && position < fields ? fieldStarts[position] : 0;
+    }
+
+    private int end(int column, int fields) {
+        int position = columnPositions[column];
+        return position >= 0 && position < fields ? fieldEnds[position] : 0;
+    }
+
+    private String code(int column, int fields) {
+        int start = start(column, fields);
+        int end = end(column, fields);
+        return start == end ? null : pool.intern(segment, start, end);
+    }
+
+    private List<String> risks(int fields) {
+        int start = start(RISKS, fields);
+        int end = end(RISKS, fields);
+        if (start == end) {
+            return List.of();
+        }
+        List<String> risks = new ArrayList<>(4);
+        int riskStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || segment.get(i) == '|') {
+                int s = trimStart(riskStart, i);
+                int e = trimEnd(s, i);
+                if (s < e) {
+                    risks.add(pool.intern(segment, s, e));
+                }
+                riskStart = i + 1;
+            }
+        }
+        return risks;
+    }
+
+    private int trimStart(int start, int end) {
+        while (start < end && segment.get(start) == ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private int trimEnd(int start, int end) {
+        while (end > start && (segment.get(end - 1) == ' ' || segment.get(end - 1) == '\r')) {
+            end--;
+        }
+        return end;
+    }
+
+    // ── Навигация по отображённому файлу ─────────────────────────────────────
+
+    /**
+     * Находит следующую строку [lineStart, lineEnd) в текущем окне.
+     */
+    private boolean nextLine() throws IOException {
+        while (true) {
+            if (segmentStart + pos >= fileSize) {
+                return false;
+            }
+            int limit = segment.limit();
+            int newline = -1;
+            for (int i = pos; i < limit; i++) {
+                if (segment.get(i) == '\n') {
+                    newline = i;
+                    break;
+                }
+            }
+            if (newline < 0) {
+                if (segmentStart + limit < fileSize) {
+                    if (pos == 0) {
+                        throw new IllegalStateException("CSV line at offset " + segmentStart
+                                + " is longer than the mapping window");
+                    }
+                    map(segmentStart + pos);
+                    continue;
+                }
+                newline = limit;
+            }
+            lineStart = pos;
+            lineEnd = newline;
+            if (lineEnd > lineStart && segment.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            pos = newline + 1;
+            return true;
+        }
+    }
+
+    private void map(long offset) throws IOException {
+        long length = Math.min(window, fileSize - offset);
+        segment = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        segmentStart = offset;
+        pos = 0;
+    }
+}
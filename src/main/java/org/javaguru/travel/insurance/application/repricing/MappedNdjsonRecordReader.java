@@ -0,0 +1,181 @@
+package org.javaguru.travel.insurance.application.repricing;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Чтение NDJSON-файла переоценки через отображение в память.
+ *
+ * Файл отображается окнами, окна склеиваются в единый поток для Jackson
+ * streaming-парсера. Имена полей Jackson канонизирует сам (symbol table),
+ * строковые значения берутся из буфера парсера (getTextCharacters)
+ * и канонизируются через CanonicalStringPool — без String на каждое значение.
+ *
+ * Синтаксическая ошибка JSON завершает чтение: после неё граница
+ * следующего объекта не определена.
+ */
+final class MappedNdjsonRecordReader implements RepricingRecordReader {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final JsonParser parser;
+    private final CanonicalStringPool pool = new CanonicalStringPool();
+
+    private long lineNumber;
+    private boolean finished;
+
+    MappedNdjsonRecordReader(Path path) throws IOException {
+        this(path, MappedCsvRecordReader.DEFAULT_WINDOW);
+    }
+
+    MappedNdjsonRecordReader(Path path, long window) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+
+        List<InputStream> segments = new ArrayList<>();
+        for (long offset = 0; offset < fileSize; offset += window) {
+            long length = Math.min(window, fileSize - offset);
+            segments.add(new ByteBufferBackedInputStream(
+                    channel.map(FileChannel.MapMode.READ_ONLY, offset, length)));
+        }
+        this.parser = JSON_FACTORY.createParser(
+                new SequenceInputStream(Collections.enumeration(segments)));
+    }
+
+    @Override
+    public List<RepricingRecord> nextChunk(int maxRecords) throws IOException {
+        List<RepricingRecord> chunk = new ArrayList<>(maxRecords);
+        while (!finished && chunk.size() < maxRecords) {
+            try {
+                JsonToken token = parser.nextToken();
+                if (token == null) {
+                    finished = true;
+                    break;
+                }
+                lineNumber++;
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    chunk.add(RepricingRecord.invalid(lineNumber, "Each NDJSON line must be a JSON object"));
+                    continue;
+                }
+                chunk.add(readObject());
+            } catch (JsonProcessingException e) {
+                finished = true;
+                chunk.add(RepricingRecord.invalid(lineNumber, "Malformed NDJSON: " + e.getOriginalMessage()));
+            }
+        }
+        return chunk;
+    }
+
+    @Override
+    public double progress() {
+        if (finished || fileSize == 0) {
+            return 1.0;
+        }
+        return Math.min(1.0, (double) parser.currentLocation().getByteOffset() / fileSize);
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+        channel.close();
+    }
+
+    // ── Разбор объекта ────────────────────────────────────────────────────────
+
+    private RepricingRecord readObject() throws IOException {
+        LocalDate birthDate = null;
+        LocalDate dateFrom = null;
+        LocalDate dateTo = null;
+        String country = null;
+        String level = null;
+        List<String> risks = List.of();
+        Boolean useCountryDefault = null;
+        String error = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            try {
+                switch (field) {
+                    case "personBirthDate" -> birthDate = date(value);
+                    case "agreementDateFrom" -> dateFrom = date(value);
+                    case "agreementDateTo" -> dateTo = date(value);
+                    case "countryIsoCode" -> country = code(value);
+                    case "medicalRiskLimitLevel" -> level = code(value);
+                    case "selectedRisks" -> risks = risks(value);
+                    case "useCountryDefaultPremium" -> useCountryDefault = value == JsonToken.VALUE_NULL
+                            ? null : value == JsonToken.VALUE_TRUE;
+                    default -> parser.skipChildren();
+                }
+            } catch (IllegalArgumentException | DateTimeException e) {
+                parser.skipChildren();
+                if (error == null) {
+                    error = field + ": " + e.getMessage();
+                }
+            }
+        }
+
+        return error != null
+                ? RepricingRecord.invalid(lineNumber, error)
+                : new RepricingRecord(lineNumber, birthDate, dateFrom, dateTo,
+                        country, level, risks, useCountryDefault, null);
+    }
+
+    private LocalDate date(JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (value != JsonToken.VALUE_STRING) {
+            throw new IllegalArgumentException("Date must be a yyyy-MM-dd string");
+        }
+        return RepricingFieldParsers.parseDate(
+                parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+    }
+
+    private String code(JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (value != JsonToken.VALUE_STRING && value != JsonToken.VALUE_NUMBER_INT) {
+            throw new IllegalArgumentException("Code must be a string");
+        }
+        return pool.intern(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+    }
+
+    private List<String> risks(JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return List.of();
+        }
+        if (value != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("selectedRisks must be an array");
+        }
+        List<String> risks = new ArrayList<>(4);
+        JsonToken element;
+        while ((element = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (element == JsonToken.VALUE_STRING) {
+                risks.add(pool.intern(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength()));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return risks;
+    }
+}
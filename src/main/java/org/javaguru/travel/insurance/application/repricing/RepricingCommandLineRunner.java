@@ -0,0 +1,63 @@
+package org.javaguru.travel.insurance.application.repricing;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Запуск переоценки из командной строки.
+ *
+ * Активируется только при заданном reprice.input, например:
+ * <pre>
+ *   java -jar app.jar --spring.main.web-application-type=none \
+ *        --reprice.input=/data/trips.csv \
+ *        --reprice.output=/data/trips-repriced.csv \
+ *        --reprice.snapshot-date=2026-01-01 \
+ *        --reprice.chunk-size=5000 --reprice.parallelism=8
+ * </pre>
+ * После завершения приложение останавливается; код выхода 0 — все записи
+ * переоценены, 1 — были ошибочные записи.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "reprice.input")
+public class RepricingCommandLineRunner implements ApplicationRunner {
+
+    private final RepricingJob repricingJob;
+    private final Environment environment;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Path input = Path.of(environment.getRequiredProperty("reprice.input"));
+        String output = environment.getProperty("reprice.output");
+        String format = environment.getProperty("reprice.format");
+        String snapshotDate = environment.getProperty("reprice.snapshot-date");
+
+        RepricingJobParameters parameters = new RepricingJobParameters(
+                input,
+                format != null ? RepricingInputFormat.valueOf(format.toUpperCase(Locale.ROOT)) : null,
+                output != null ? Path.of(output) : input.resolveSibling(input.getFileName() + ".repriced.csv"),
+                snapshotDate != null ? LocalDate.parse(snapshotDate) : LocalDate.now(),
+                environment.getProperty("reprice.chunk-size", Integer.class, 5000),
+                environment.getProperty("reprice.parallelism", Integer.class, 0)
+        );
+
+        RepricingReport report = repricingJob.run(parameters);
+        log.info("Repricing report written to {}", report.output());
+
+        int exitCode = SpringApplication.exit(applicationContext, () -> report.failed() == 0 ? 0 : 1);
+        System.exit(exitCode);
+    }
+}
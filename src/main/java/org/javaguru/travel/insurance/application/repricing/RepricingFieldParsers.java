@@ -0,0 +1,82 @@
+package org.javaguru.travel.insurance.application.repricing;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+
+/**
+ * Разбор значений полей прямо из байтов/символов, без промежуточных String.
+ */
+final class RepricingFieldParsers {
+
+    private RepricingFieldParsers() {
+    }
+
+    /**
+     * Дата yyyy-MM-dd из buffer[start, end); пустое поле → null.
+     *
+     * @throws IllegalArgumentException при неверном формате
+     */
+    static LocalDate parseDate(ByteBuffer buffer, int start, int end) {
+        if (start == end) {
+            return null;
+        }
+        if (end - start != 10 || buffer.get(start + 4) != '-' || buffer.get(start + 7) != '-') {
+            throw new IllegalArgumentException("Date must be yyyy-MM-dd");
+        }
+        return LocalDate.of(
+                digits(buffer, start, 4),
+                digits(buffer, start + 5, 2),
+                digits(buffer, start + 8, 2));
+    }
+
+    /**
+     * Дата yyyy-MM-dd из chars[offset, offset + length); пустое значение → null.
+     */
+    static LocalDate parseDate(char[] chars, int offset, int length) {
+        if (length == 0) {
+            return null;
+        }
+        if (length != 10 || chars[offset + 4] != '-' || chars[offset + 7] != '-') {
+            throw new IllegalArgumentException("Date must be yyyy-MM-dd");
+        }
+        return LocalDate.of(
+                digits(chars, offset, 4),
+                digits(chars, offset + 5, 2),
+                digits(chars, offset + 8, 2));
+    }
+
+    /**
+     * true / 1 / yes → TRUE, пустое → null, остальное → FALSE.
+     */
+    static Boolean parseBoolean(ByteBuffer buffer, int start, int end) {
+        if (start == end) {
+            return null;
+        }
+        byte first = buffer.get(start);
+        return first == 't' || first == 'T' || first == '1' || first == 'y' || first == 'Y';
+    }
+
+    private static int digits(ByteBuffer buffer, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Date must be yyyy-MM-dd");
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int digits(char[] chars, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Date must be yyyy-MM-dd");
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
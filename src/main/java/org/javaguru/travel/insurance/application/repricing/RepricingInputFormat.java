@@ -0,0 +1,31 @@
+package org.javaguru.travel.insurance.application.repricing;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Формат входного файла переоценки.
+ */
+public enum RepricingInputFormat {
+
+    /**
+     * CSV с заголовком. Колонки (порядок произвольный, лишние игнорируются):
+     *   birth_date, date_from, date_to, country, level, risks, use_country_default
+     * Даты — yyyy-MM-dd, риски разделяются '|'. Кавычки не поддерживаются.
+     */
+    CSV,
+
+    /**
+     * NDJSON: по одному JSON-объекту на строку, имена полей как в
+     * TravelCalculatePremiumRequest (personBirthDate, agreementDateFrom, ...).
+     */
+    NDJSON;
+
+    /**
+     * Определяет формат по расширению файла (.ndjson / .jsonl → NDJSON, иначе CSV).
+     */
+    public static RepricingInputFormat fromPath(Path path) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".ndjson") || name.endsWith(".jsonl") ? NDJSON : CSV;
+    }
+}
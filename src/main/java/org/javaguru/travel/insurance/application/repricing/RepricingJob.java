@@ -0,0 +1,240 @@
+package org.javaguru.travel.insurance.application.repricing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculator;
+import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculator.PremiumCalculationResult;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataScope;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshot;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Офлайн-переоценка исторических поездок по выбранной версии тарифа.
+ *
+ * ЗАЧЕМ:
+ *   Для пересмотра тарифов актуарии передают файлы с миллионами поездок.
+ *   Прогон через REST API тратит время на HTTP, JSON, валидацию и андеррайтинг,
+ *   которые для переоценки не нужны.
+ *
+ * КАК РАБОТАЕТ:
+ *   1. Входной файл отображается в память и читается порциями (RepricingRecordReader).
+ *   2. Порции считаются параллельно через MedicalRiskPremiumCalculator.
+ *      Число порций «в полёте» ограничено (2 × parallelism) — память не растёт
+ *      с размером файла.
+ *   3. Каждая порция считается со снимком справочников, закреплённым на
+ *      snapshotDate (ReferenceDataSnapshot.pinnedAt) — страны, уровни покрытия,
+ *      риски, коэффициенты возраста и длительности, пакеты, скидки и дефолтные
+ *      премии берутся на дату тарифа (ReferenceDataScope.lookupDate), а не на
+ *      даты поездки. Возраст по-прежнему считается на дату начала поездки.
+ *   4. Результаты пишутся в выходной CSV в порядке входного файла:
+ *        line,status,premium,calculation_mode,error
+ *   5. Метрики: repricing.records{outcome}, repricing.chunk.duration;
+ *      прогресс (% файла, записей/с) логируется каждые repricing.progress-interval-ms.
+ */
+@Slf4j
+@Component
+public class RepricingJob {
+
+    static final String OUTPUT_HEADER = "line,status,premium,calculation_mode,error";
+
+    private static final String RECORDS_METRIC = "repricing.records";
+    private static final String CHUNK_METRIC = "repricing.chunk.duration";
+
+    private final MedicalRiskPremiumCalculator calculator;
+    private final ReferenceDataSnapshotService referenceDataSnapshotService;
+    private final long progressIntervalMs;
+    private final Counter succeededCounter;
+    private final Counter failedCounter;
+    private final Timer chunkTimer;
+
+    public RepricingJob(
+            MedicalRiskPremiumCalculator calculator,
+            ReferenceDataSnapshotService referenceDataSnapshotService,
+            MeterRegistry meterRegistry,
+            @Value("${repricing.progress-interval-ms:5000}") long progressIntervalMs) {
+        this.calculator = calculator;
+        this.referenceDataSnapshotService = referenceDataSnapshotService;
+        this.progressIntervalMs = progressIntervalMs;
+        this.succeededCounter = Counter.builder(RECORDS_METRIC)
+                .description("Number of repriced records")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder(RECORDS_METRIC)
+                .description("Number of repriced records")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder(CHUNK_METRIC)
+                .description("Time to reprice one chunk of records")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Выполняет переоценку файла.
+     *
+     * @throws IOException при ошибке чтения входного или записи выходного файла
+     */
+    public RepricingReport run(RepricingJobParameters parameters) throws IOException {
+        ReferenceDataSnapshot snapshot = referenceDataSnapshotService.current()
+                .pinnedAt(parameters.snapshotDate());
+        if (snapshot.isEmpty()) {
+            throw new IllegalStateException("Reference data snapshot is empty, nothing to price against");
+        }
+
+        log.info("Repricing started: input={}, format={}, snapshotDate={}, tariffVersion={}, "
+                        + "chunkSize={}, parallelism={}",
+                parameters.input(), parameters.format(), parameters.snapshotDate(),
+                snapshot.getVersion(), parameters.chunkSize(), parameters.parallelism());
+
+        long startNanos = System.nanoTime();
+        long records = 0;
+        long succeeded = 0;
+        long lastProgressNanos = startNanos;
+
+        ExecutorService executor = newExecutor(parameters.parallelism());
+        int maxInFlight = parameters.parallelism() * 2;
+        Deque<Future<ChunkResult>> inFlight = new ArrayDeque<>(maxInFlight);
+
+        try (RepricingRecordReader reader = RepricingRecordReader.open(parameters.input(), parameters.format());
+             BufferedWriter writer = Files.newBufferedWriter(parameters.output(), StandardCharsets.UTF_8)) {
+
+            writer.write(OUTPUT_HEADER);
+            writer.newLine();
+
+            List<RepricingRecord> chunk;
+            while (!(chunk = reader.nextChunk(parameters.chunkSize())).isEmpty()) {
+                if (inFlight.size() == maxInFlight) {
+                    ChunkResult done = await(inFlight.pollFirst());
+                    writer.write(done.lines());
+                    records += done.records();
+                    succeeded += done.succeeded();
+                }
+                List<RepricingRecord> submitted = chunk;
+                inFlight.addLast(executor.submit(() -> priceChunk(snapshot, submitted)));
+
+                if (System.nanoTime() - lastProgressNanos >= TimeUnit.MILLISECONDS.toNanos(progressIntervalMs)) {
+                    lastProgressNanos = System.nanoTime();
+                    logProgress(reader.progress(), records, startNanos);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                ChunkResult done = await(inFlight.pollFirst());
+                writer.write(done.lines());
+                records += done.records();
+                succeeded += done.succeeded();
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+            executor.shutdownNow();
+        }
+
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        RepricingReport report = new RepricingReport(
+                records,
+                succeeded,
+                records - succeeded,
+                durationMs,
+                throughput(records, durationMs),
+                snapshot.getVersion(),
+                parameters.output());
+
+        log.info("Repricing finished: records={}, succeeded={}, failed={}, duration={}ms, throughput={} records/s",
+                report.records(), report.succeeded(), report.failed(), report.durationMs(),
+                String.format("%.1f", report.throughputPerSecond()));
+        return report;
+    }
+
+    // ── Расчёт порции ─────────────────────────────────────────────────────────
+
+    private ChunkResult priceChunk(ReferenceDataSnapshot snapshot, List<RepricingRecord> chunk) throws Exception {
+        return chunkTimer.recordCallable(() -> ReferenceDataScope.callWith(snapshot, () -> {
+            StringBuilder lines = new StringBuilder(chunk.size() * 48);
+            int succeeded = 0;
+            for (RepricingRecord record : chunk) {
+                if (priceRecord(record, lines)) {
+                    succeeded++;
+                }
+            }
+            succeededCounter.increment(succeeded);
+            failedCounter.increment(chunk.size() - succeeded);
+            return new ChunkResult(lines.toString(), chunk.size(), succeeded);
+        }));
+    }
+
+    private boolean priceRecord(RepricingRecord record, StringBuilder out) {
+        out.append(record.lineNumber()).append(',');
+        if (!record.isValid()) {
+            out.append("PARSE_ERROR,,,").append(csv(record.parseError())).append('\n');
+            return false;
+        }
+        try {
+            PremiumCalculationResult result = calculator.calculatePremiumWithDetails(record.toRequest());
+            out.append("OK,")
+                    .append(result.premium().toPlainString()).append(',')
+                    .append(result.calculationMode()).append(",\n");
+            return true;
+        } catch (RuntimeException e) {
+            out.append("ERROR,,,").append(csv(String.valueOf(e.getMessage()))).append('\n');
+            return false;
+        }
+    }
+
+    // ── Вспомогательные методы ────────────────────────────────────────────────
+
+    private static ChunkResult await(Future<ChunkResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Repricing interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Repricing chunk failed", e.getCause());
+        }
+    }
+
+    private static void logProgress(double progress, long records, long startNanos) {
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        log.info("Repricing progress: {}% of file, {} records written, {} records/s",
+                String.format("%.1f", progress * 100), records,
+                String.format("%.1f", throughput(records, elapsedMs)));
+    }
+
+    private static double throughput(long records, long durationMs) {
+        return durationMs == 0 ? records : records * 1000.0 / durationMs;
+    }
+
+    /**
+     * Значение для CSV: кавычки удваиваются, поле с запятой/кавычкой/переводом строки берётся в кавычки.
+     */
+    static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static ExecutorService newExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "repricing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private record ChunkResult(String lines, int records, int succeeded) {
+    }
+}
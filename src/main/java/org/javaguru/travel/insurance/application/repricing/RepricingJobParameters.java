@@ -0,0 +1,39 @@
+package org.javaguru.travel.insurance.application.repricing;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/**
+ * Параметры запуска переоценки.
+ *
+ * @param input        входной файл (CSV или NDJSON)
+ * @param format       формат входного файла
+ * @param output       файл результатов (CSV)
+ * @param snapshotDate дата, на которую берутся справочные данные тарифа
+ * @param chunkSize    число записей в одной порции
+ * @param parallelism  число потоков расчёта
+ */
+public record RepricingJobParameters(
+        Path input,
+        RepricingInputFormat format,
+        Path output,
+        LocalDate snapshotDate,
+        int chunkSize,
+        int parallelism
+) {
+
+    public RepricingJobParameters {
+        if (input == null || output == null || snapshotDate == null) {
+            throw new IllegalArgumentException("input, output and snapshotDate are required");
+        }
+        if (format == null) {
+            format = RepricingInputFormat.fromPath(input);
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.javaguru.travel.insurance.application.repricing;
+
+import org.javaguru.travel.insurance.application.dto.TravelCalculatePremiumRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Одна историческая поездка из входного файла переоценки.
+ *
+ * Содержит только поля, влияющие на расчёт MedicalRiskPremiumCalculator;
+ * персональные данные (имя, фамилия) в файлах не передаются.
+ *
+ * @param lineNumber номер записи во входном файле (1-based, без заголовка CSV)
+ * @param parseError описание ошибки разбора; если не null — остальные поля могут быть пустыми
+ */
+public record RepricingRecord(
+        long lineNumber,
+        LocalDate personBirthDate,
+        LocalDate agreementDateFrom,
+        LocalDate agreementDateTo,
+        String countryIsoCode,
+        String medicalRiskLimitLevel,
+        List<String> selectedRisks,
+        Boolean useCountryDefaultPremium,
+        String parseError
+) {
+
+    public static RepricingRecord invalid(long lineNumber, String parseError) {
+        return new RepricingRecord(lineNumber, null, null, null, null, null, List.of(), null, parseError);
+    }
+
+    public boolean isValid() {
+        return parseError == null;
+    }
+
+    public TravelCalculatePremiumRequest toRequest() {
+        return TravelCalculatePremiumRequest.builder()
+                .personBirthDate(personBirthDate)
+                .agreementDateFrom(agreementDateFrom)
+                .agreementDateTo(agreementDateTo)
+                .countryIsoCode(countryIsoCode)
+                .medicalRiskLimitLevel(medicalRiskLimitLevel)
+                .selectedRisks(selectedRisks)
+                .useCountryDefaultPremium(useCountryDefaultPremium)
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package org.javaguru.travel.insurance.application.repricing;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Последовательное чтение записей переоценки порциями (chunk).
+ *
+ * Реализации отображают файл в память (FileChannel.map) и разбирают
+ * записи прямо из отображённых байтов.
+ */
+public interface RepricingRecordReader extends Closeable {
+
+    /**
+     * Следующая порция записей; пустой список — конец файла.
+     */
+    List<RepricingRecord> nextChunk(int maxRecords) throws IOException;
+
+    /**
+     * Доля прочитанного файла, 0.0 … 1.0.
+     */
+    double progress();
+
+    static RepricingRecordReader open(Path path, RepricingInputFormat format) throws IOException {
+        return switch (format) {
+            case CSV -> new MappedCsvRecordReader(path);
+            case NDJSON -> new MappedNdjsonRecordReader(path);
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package org.javaguru.travel.insurance.application.repricing;
+
+import java.nio.file.Path;
+
+/**
+ * Итог переоценки.
+ *
+ * @param records            всего записей во входном файле
+ * @param succeeded          успешно переоценённых записей
+ * @param failed             записей с ошибкой разбора или расчёта
+ * @param durationMs         длительность прогона
+ * @param throughputPerSecond записей в секунду
+ * @param tariffVersion      версия тарифа (снимка справочников), по которой считали
+ * @param output             файл результатов
+ */
+public record RepricingReport(
+        long records,
+        long succeeded,
+        long failed,
+        long durationMs,
+        double throughputPerSecond,
+        String tariffVersion,
+        Path output
+) {
+}
@@ -0,0 +1,227 @@
+package org.javaguru.travel.insurance.application.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.application.dto.v3.BatchCalculatePremiumResponseV3;
+import org.javaguru.travel.insurance.application.dto.v3.BatchCalculatePremiumResponseV3.ItemResult;
+import org.javaguru.travel.insurance.application.dto.v3.TravelCalculatePremiumRequestV3;
+import org.javaguru.travel.insurance.application.dto.v3.TravelCalculatePremiumResponseV3;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataScope;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshot;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Пакетный расчёт премий V3.
+ *
+ * ЗАЧЕМ:
+ *   Партнёры-агрегаторы вызывали /v3/calculate тысячи раз в минуту с небольшими
+ *   вариациями, каждый раз платя за HTTP, JSON и разрешение справочников.
+ *
+ * КАК РАБОТАЕТ:
+ *   1. Снимок справочников разрешается ОДИН раз на батч и привязывается
+ *      к каждому рабочему потоку (ReferenceDataScope) — все элементы считаются
+ *      по одной версии тарифа без повторных запросов к справочным таблицам.
+ *   2. Каждый элемент считается через TravelCalculatePremiumServiceV3
+ *      (та же валидация, андеррайтинг и скидки, что и в одиночном вызове).
+ *   3. Параллелизм ограничен:
+ *        - общий пул batch.pricing.parallelism потоков на все батчи;
+ *        - не более batch.pricing.max-in-flight элементов одного батча одновременно;
+ *        - общий бюджет времени batch.pricing.timeout-ms на батч.
+ *   4. Ошибки изолированы: исключение, таймаут или отказ пула
+ *      превращаются в ошибку только соответствующего элемента.
+ */
+@Slf4j
+@Service
+public class BatchPremiumCalculationServiceV3 {
+
+    private final TravelCalculatePremiumServiceV3 calculatePremiumServiceV3;
+    private final ReferenceDataSnapshotService referenceDataSnapshotService;
+    private final ThreadPoolExecutor executor;
+    private final int maxItems;
+    private final int maxInFlight;
+    private final long timeoutMs;
+
+    public BatchPremiumCalculationServiceV3(
+            TravelCalculatePremiumServiceV3 calculatePremiumServiceV3,
+            ReferenceDataSnapshotService referenceDataSnapshotService,
+            @Value("${batch.pricing.parallelism:0}") int parallelism,
+            @Value("${batch.pricing.queue-capacity:10000}") int queueCapacity,
+            @Value("${batch.pricing.max-items:1000}") int maxItems,
+            @Value("${batch.pricing.max-in-flight:0}") int maxInFlight,
+            @Value("${batch.pricing.timeout-ms:30000}") long timeoutMs) {
+
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+
+        this.calculatePremiumServiceV3 = calculatePremiumServiceV3;
+        this.referenceDataSnapshotService = referenceDataSnapshotService;
+        this.maxItems = maxItems;
+        this.maxInFlight = maxInFlight > 0 ? maxInFlight : threads;
+        this.timeoutMs = timeoutMs;
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                namedThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Рассчитывает все элементы батча.
+     *
+     * @param requests массив V3 запросов
+     * @return результаты в порядке входного массива
+     * @throws BatchSizeExceededException если элементов больше batch.pricing.max-items
+     */
+    public BatchCalculatePremiumResponseV3 calculateBatch(List<TravelCalculatePremiumRequestV3> requests) {
+        List<TravelCalculatePremiumRequestV3> items = requests != null ? requests : List.of();
+        if (items.size() > maxItems) {
+            throw new BatchSizeExceededException(items.size(), maxItems);
+        }
+
+        long startedAt = System.currentTimeMillis();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+
+        ReferenceDataSnapshot snapshot = referenceDataSnapshotService.current();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        List<Future<TravelCalculatePremiumResponseV3>> futures = new ArrayList<>(items.size());
+        ItemResult[] results = new ItemResult[items.size()];
+
+        // ── 1. Отправка элементов в пул с ограничением in-flight ──────────
+        for (int i = 0; i < items.size(); i++) {
+            TravelCalculatePremiumRequestV3 item = items.get(i);
+            if (item == null) {
+                results[i] = failure(i, 400, "Batch item must not be null");
+                futures.add(null);
+                continue;
+            }
+            futures.add(submit(i, item, snapshot, inFlight, deadline, results));
+        }
+
+        // ── 2. Сбор результатов в пределах бюджета времени ────────────────
+        for (int i = 0; i < futures.size(); i++) {
+            Future<TravelCalculatePremiumResponseV3> future = futures.get(i);
+            if (future == null) {
+                continue;
+            }
+            results[i] = await(i, future, deadline);
+        }
+
+        return buildResponse(snapshot, results, System.currentTimeMillis() - startedAt);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // ── Вспомогательные методы ────────────────────────────────────────────────
+
+    private Future<TravelCalculatePremiumResponseV3> submit(
+            int index,
+            TravelCalculatePremiumRequestV3 item,
+            ReferenceDataSnapshot snapshot,
+            Semaphore inFlight,
+            long deadline,
+            ItemResult[] results) {
+        try {
+            if (!inFlight.tryAcquire(remainingNanos(deadline), TimeUnit.NANOSECONDS)) {
+                results[index] = failure(index, 504, "Batch time budget exceeded before item was started");
+                return null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            results[index] = failure(index, 503, "Batch processing interrupted");
+            return null;
+        }
+
+        try {
+            return executor.submit(() -> {
+                try {
+                    return snapshot.isEmpty()
+                            ? calculatePremiumServiceV3.calculatePremium(item)
+                            : ReferenceDataScope.callWith(snapshot,
+                                    () -> calculatePremiumServiceV3.calculatePremium(item));
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            log.warn("Batch item {} rejected: pricing pool is saturated", index);
+            results[index] = failure(index, 503, "Pricing capacity exhausted, retry later");
+            return null;
+        }
+    }
+
+    private ItemResult await(int index, Future<TravelCalculatePremiumResponseV3> future, long deadline) {
+        try {
+            TravelCalculatePremiumResponseV3 response =
+                    future.get(remainingNanos(deadline), TimeUnit.NANOSECONDS);
+            return ItemResult.builder()
+                    .index(index)
+                    .httpStatus(response.getStatus().httpStatus())
+                    .response(response)
+                    .build();
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            return failure(index, 504, "Batch time budget exceeded");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.error("Batch item {} failed", index, cause);
+            return failure(index, 500, "Calculation error: " + cause.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return failure(index, 503, "Batch processing interrupted");
+        }
+    }
+
+    private BatchCalculatePremiumResponseV3 buildResponse(
+            ReferenceDataSnapshot snapshot, ItemResult[] results, long durationMs) {
+
+        List<ItemResult> resultList = List.of(results);
+        int succeeded = (int) resultList.stream().filter(ItemResult::isSuccess).count();
+
+        log.info("V3 batch priced: {} items, {} succeeded, {} failed in {} ms (tariff {})",
+                resultList.size(), succeeded, resultList.size() - succeeded, durationMs,
+                snapshot.getVersion());
+
+        return BatchCalculatePremiumResponseV3.builder()
+                .tariffVersion(snapshot.isEmpty() ? null : snapshot.getVersion())
+                .totalItems(resultList.size())
+                .succeeded(succeeded)
+                .failed(resultList.size() - succeeded)
+                .durationMs(durationMs)
+                .results(resultList)
+                .build();
+    }
+
+    private static ItemResult failure(int index, int httpStatus, String error) {
+        return ItemResult.builder()
+                .index(index)
+                .httpStatus(httpStatus)
+                .error(error)
+                .build();
+    }
+
+    private static long remainingNanos(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    private static ThreadFactory namedThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "batch-pricing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
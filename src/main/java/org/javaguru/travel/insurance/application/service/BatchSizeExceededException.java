@@ -0,0 +1,11 @@
+package org.javaguru.travel.insurance.application.service;
+
+/**
+ * Батч содержит больше элементов, чем разрешено batch.pricing.max-items.
+ */
+public class BatchSizeExceededException extends RuntimeException {
+
+    public BatchSizeExceededException(int size, int maxItems) {
+        super("Batch contains " + size + " items, maximum allowed is " + maxItems);
+    }
+}
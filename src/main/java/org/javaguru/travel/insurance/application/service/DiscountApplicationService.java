@@ -2,6 +2,7 @@ package org.javaguru.travel.insurance.application.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.core.metrics.PricingStageTimer;
 import org.javaguru.travel.insurance.core.services.DiscountService;
 import org.javaguru.travel.insurance.core.services.PromoCodeService;
 import org.javaguru.travel.insurance.application.dto.TravelCalculatePremiumRequest;
@@ -49,7 +50,8 @@ public class DiscountApplicationService {
 
         // 1. Промо-код
         if (hasPromoCode(request)) {
-            var promoResult = applyPromoCode(request, basePremium);
+            var promoResult = PricingStageTimer.time(
+                    "discounts.promo", () -> applyPromoCode(request, basePremium));
             if (promoResult != null) {
                 appliedDiscounts.add(promoResult);
                 totalDiscount = totalDiscount.add(promoResult.amount());
@@ -59,7 +61,8 @@ public class DiscountApplicationService {
         }
 
         // 2. Другие скидки (групповые, корпоративные)
-        var otherDiscount = applyOtherDiscounts(request, basePremium);
+        var otherDiscount = PricingStageTimer.time(
+                "discounts.group", () -> applyOtherDiscounts(request, basePremium));
         if (otherDiscount != null) {
             appliedDiscounts.add(otherDiscount);
             totalDiscount = totalDiscount.add(otherDiscount.amount());
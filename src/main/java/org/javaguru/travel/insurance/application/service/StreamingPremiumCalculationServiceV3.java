@@ -0,0 +1,166 @@
+package org.javaguru.travel.insurance.application.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.application.dto.v3.BatchCalculatePremiumResponseV3.ItemResult;
+import org.javaguru.travel.insurance.application.dto.v3.TravelCalculatePremiumRequestV3;
+import org.javaguru.travel.insurance.application.dto.v3.TravelCalculatePremiumResponseV3;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataScope;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshot;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotService;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Потоковый расчёт премий V3 в формате NDJSON.
+ *
+ * ЗАЧЕМ:
+ *   Батч-эндпоинт материализует весь массив запросов и ответов в памяти —
+ *   на 100k элементов это исчерпывает heap. Здесь память постоянна
+ *   и не зависит от размера входа.
+ *
+ * КАК РАБОТАЕТ:
+ *   - Вход читается инкрементально Jackson streaming-парсером:
+ *     по одному JSON-объекту за раз (разделитель — перевод строки/пробелы).
+ *   - Каждый объект сразу считается через TravelCalculatePremiumServiceV3.
+ *   - Результат пишется одной строкой NDJSON (формат ItemResult, как у батча)
+ *     и немедленно сбрасывается клиенту (flush).
+ *   - Снимок справочников разрешается один раз на весь поток.
+ *
+ * ОШИБКИ:
+ *   - Объект, который не удалось привести к запросу V3 → строка с httpStatus 400.
+ *   - Исключение при расчёте → строка с httpStatus 500, поток продолжается.
+ *   - Синтаксически битый JSON → строка с httpStatus 400 и завершение потока
+ *     (после синтаксической ошибки позицию следующего объекта определить нельзя).
+ */
+@Slf4j
+@Service
+public class StreamingPremiumCalculationServiceV3 {
+
+    private final TravelCalculatePremiumServiceV3 calculatePremiumServiceV3;
+    private final ReferenceDataSnapshotService referenceDataSnapshotService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter lineWriter;
+
+    public StreamingPremiumCalculationServiceV3(
+            TravelCalculatePremiumServiceV3 calculatePremiumServiceV3,
+            ReferenceDataSnapshotService referenceDataSnapshotService,
+            ObjectMapper objectMapper) {
+        this.calculatePremiumServiceV3 = calculatePremiumServiceV3;
+        this.referenceDataSnapshotService = referenceDataSnapshotService;
+        this.objectMapper = objectMapper;
+        // NDJSON: одна запись — одна строка, без pretty print
+        this.lineWriter = objectMapper.writerFor(ItemResult.class)
+                .without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    /**
+     * Читает NDJSON-запросы из in и пишет NDJSON-результаты в out.
+     *
+     * @return статистика обработанного потока
+     */
+    public StreamSummary process(InputStream in, OutputStream out) throws IOException {
+        ReferenceDataSnapshot snapshot = referenceDataSnapshotService.current();
+        try {
+            return snapshot.isEmpty()
+                    ? processItems(in, out)
+                    : ReferenceDataScope.callWith(snapshot, () -> processItems(in, out));
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private StreamSummary processItems(InputStream in, OutputStream out) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        int index = 0;
+        int succeeded = 0;
+
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            while (true) {
+                JsonToken token;
+                JsonNode node;
+                try {
+                    token = parser.nextToken();
+                    if (token == null) {
+                        break;
+                    }
+                    node = parser.readValueAsTree();
+                } catch (JsonProcessingException e) {
+                    writeLine(out, failure(index, 400, "Malformed NDJSON: " + e.getOriginalMessage()));
+                    index++;
+                    break;
+                }
+
+                ItemResult result = token == JsonToken.START_OBJECT
+                        ? priceItem(index, node)
+                        : failure(index, 400, "Each NDJSON line must be a JSON object");
+                if (result.isSuccess()) {
+                    succeeded++;
+                }
+                writeLine(out, result);
+                index++;
+            }
+        }
+
+        long durationMs = System.currentTimeMillis() - startedAt;
+        log.info("V3 NDJSON stream priced: {} items, {} succeeded in {} ms", index, succeeded, durationMs);
+        return new StreamSummary(index, succeeded, durationMs);
+    }
+
+    private ItemResult priceItem(int index, JsonNode node) {
+        TravelCalculatePremiumRequestV3 request;
+        try {
+            request = objectMapper.treeToValue(node, TravelCalculatePremiumRequestV3.class);
+        } catch (JsonProcessingException e) {
+            return failure(index, 400, "Invalid request: " + e.getOriginalMessage());
+        }
+
+        try {
+            TravelCalculatePremiumResponseV3 response = calculatePremiumServiceV3.calculatePremium(request);
+            return ItemResult.builder()
+                    .index(index)
+                    .httpStatus(response.getStatus().httpStatus())
+                    .response(response)
+                    .build();
+        } catch (RuntimeException e) {
+            log.error("NDJSON item {} failed", index, e);
+            return failure(index, 500, "Calculation error: " + e.getMessage());
+        }
+    }
+
+    private void writeLine(OutputStream out, ItemResult result) {
+        try {
+            out.write(lineWriter.writeValueAsBytes(result));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            // Клиент закрыл соединение — дальнейшая обработка бессмысленна
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ItemResult failure(int index, int httpStatus, String error) {
+        return ItemResult.builder()
+                .index(index)
+                .httpStatus(httpStatus)
+                .error(error)
+                .build();
+    }
+
+    /**
+     * Итог обработки потока (для логов и метрик).
+     */
+    public record StreamSummary(int totalItems, int succeeded, long durationMs) {}
+}
@@ -7,6 +7,10 @@ import org.javaguru.travel.insurance.application.dto.TravelCalculatePremiumReque
 import org.javaguru.travel.insurance.application.dto.v3.*;
 import org.javaguru.travel.insurance.application.validation.TravelCalculatePremiumRequestValidatorV3;
 import org.javaguru.travel.insurance.application.validation.ValidationError;
+import org.javaguru.travel.insurance.core.metrics.PricingStageTimer;
+import org.javaguru.travel.insurance.core.metrics.StartupTimeline;
+import org.javaguru.travel.insurance.core.reference.TariffConsistencyGuard;
+import org.javaguru.travel.insurance.core.reference.TariffVersionChangedException;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -28,15 +32,24 @@ import java.util.stream.Collectors;
  * ОБРАТНАЯ СОВМЕСТИМОСТЬ:
  *   V2 API (TravelCalculatePremiumService) не изменяется.
  *   Оба сервиса используют общий сервисный слой через разные адаптеры.
+ *
+ * МЕТРИКИ:
+ *   Шаги засекаются PricingStageTimer с api_version = v3
+ *   (в т.ч. для batch и stream — они вызывают этот сервис поэлементно).
+ *
+ * Расчёт выполняется под TariffConsistencyGuard (одна версия тарифа на запрос).
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TravelCalculatePremiumServiceV3 {
 
+    private static final String API_VERSION = "v3";
+
     private final TravelCalculatePremiumRequestValidatorV3 validator;
     private final PremiumCalculationService premiumCalculationService;
     private final DiscountApplicationService discountApplicationService;
+    private final TariffConsistencyGuard tariffConsistencyGuard;
 
     /**
      * Рассчитывает страховую премию для группы застрахованных (V3 API).
@@ -45,12 +58,20 @@ public class TravelCalculatePremiumServiceV3 {
      * @return V3 ответ с индивидуальными премиями по каждой персоне
      */
     public TravelCalculatePremiumResponseV3 calculatePremium(TravelCalculatePremiumRequestV3 request) {
+        return PricingStageTimer.inContext(
+                API_VERSION,
+                PricingStageTimer.requestedMode(request.getUseCountryDefaultPremium()),
+                () -> doCalculatePremium(request));
+    }
+
+    private TravelCalculatePremiumResponseV3 doCalculatePremium(TravelCalculatePremiumRequestV3 request) {
         log.info("V3 premium calculation for {} persons, country: {}",
                 request.getPersons() != null ? request.getPersons().size() : 0,
                 request.getCountryIsoCode());
 
         // ── 1. Валидация ──────────────────────────────────────────────────
-        List<ValidationError> validationErrors = validator.validate(request);
+        List<ValidationError> validationErrors = PricingStageTimer.time(
+                "validate", () -> validator.validate(request));
         if (!validationErrors.isEmpty()) {
             log.warn("V3 validation failed: {} errors", validationErrors.size());
             return buildValidationErrorResponse(validationErrors);
@@ -59,7 +80,10 @@ public class TravelCalculatePremiumServiceV3 {
         // ── 2. Расчёт групповой премии ────────────────────────────────────
         GroupPremiumResult groupResult;
         try {
-            groupResult = premiumCalculationService.calculateForGroup(request);
+            groupResult = PricingStageTimer.time("calculate", () -> tariffConsistencyGuard.call(
+                    () -> premiumCalculationService.calculateForGroup(request)));
+        } catch (TariffVersionChangedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("V3 premium calculation failed", e);
             return buildSystemErrorResponse(e.getMessage());
@@ -80,11 +104,15 @@ public class TravelCalculatePremiumServiceV3 {
         try {
             // Адаптируем V3 запрос в V2 для DiscountApplicationService
             TravelCalculatePremiumRequest discountRequest = adaptForDiscount(request);
-            DiscountApplicationService.DiscountApplicationResult discountResult =
-                    discountApplicationService.applyDiscounts(discountRequest, groupResult.totalPremium());
+            DiscountApplicationService.DiscountApplicationResult discountResult = PricingStageTimer.time(
+                    "discounts",
+                    () -> discountApplicationService.applyDiscounts(discountRequest, groupResult.totalPremium()));
 
             // ── 5. Сборка успешного ответа ────────────────────────────────
-            return buildSuccessResponse(request, groupResult, discountResult);
+            TravelCalculatePremiumResponseV3 response = PricingStageTimer.time(
+                    "assemble", () -> buildSuccessResponse(request, groupResult, discountResult));
+            StartupTimeline.markFirstQuote();
+            return response;
 
         } catch (Exception e) {
             log.error("V3 discount application failed", e);
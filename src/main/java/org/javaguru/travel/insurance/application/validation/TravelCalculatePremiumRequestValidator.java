@@ -7,6 +7,7 @@ import org.javaguru.travel.insurance.application.validation.domain.coverage.Cove
 import org.javaguru.travel.insurance.application.validation.domain.person.PersonValidator;
 import org.javaguru.travel.insurance.application.validation.domain.risks.SelectedRisksValidator;
 import org.javaguru.travel.insurance.application.validation.domain.trip.TripValidator;
+import org.javaguru.travel.insurance.core.metrics.PricingStageTimer;
 import org.javaguru.travel.insurance.domain.port.ReferenceDataPort;
 import org.javaguru.travel.insurance.infrastructure.persistence.repositories.CountryRepository;
 import org.javaguru.travel.insurance.infrastructure.persistence.repositories.MedicalRiskLimitLevelRepository;
@@ -119,7 +120,8 @@ public class TravelCalculatePremiumRequestValidator {
         List<ValidationError> allErrors = new ArrayList<>();
 
         // ── 1. PersonValidator ────────────────────────────────────────────────
-        List<ValidationError> personErrors = personValidator.validate(request, context);
+        List<ValidationError> personErrors = PricingStageTimer.time(
+                "validate.person", () -> personValidator.validate(request, context));
         allErrors.addAll(personErrors);
 
         if (hasCriticalErrors(personErrors)) {
@@ -128,7 +130,8 @@ public class TravelCalculatePremiumRequestValidator {
         }
 
         // ── 2. TripValidator ──────────────────────────────────────────────────
-        List<ValidationError> tripErrors = tripValidator.validate(request, context);
+        List<ValidationError> tripErrors = PricingStageTimer.time(
+                "validate.trip", () -> tripValidator.validate(request, context));
         allErrors.addAll(tripErrors);
 
         if (hasCriticalErrors(tripErrors)) {
@@ -137,7 +140,8 @@ public class TravelCalculatePremiumRequestValidator {
         }
 
         // ── 3. CoverageValidator ──────────────────────────────────────────────
-        List<ValidationError> coverageErrors = coverageValidator.validate(request, context);
+        List<ValidationError> coverageErrors = PricingStageTimer.time(
+                "validate.coverage", () -> coverageValidator.validate(request, context));
         allErrors.addAll(coverageErrors);
 
         if (hasCriticalErrors(coverageErrors)) {
@@ -146,7 +150,8 @@ public class TravelCalculatePremiumRequestValidator {
         }
 
         // ── 4. SelectedRisksValidator ─────────────────────────────────────────
-        List<ValidationError> risksErrors = selectedRisksValidator.validate(request, context);
+        List<ValidationError> risksErrors = PricingStageTimer.time(
+                "validate.risks", () -> selectedRisksValidator.validate(request, context));
         allErrors.addAll(risksErrors);
 
         if (hasCriticalErrors(risksErrors)) {
@@ -155,7 +160,8 @@ public class TravelCalculatePremiumRequestValidator {
         }
 
         // ── 5. CommercialValidator ────────────────────────────────────────────
-        List<ValidationError> commercialErrors = commercialValidator.validate(request, context);
+        List<ValidationError> commercialErrors = PricingStageTimer.time(
+                "validate.commercial", () -> commercialValidator.validate(request, context));
         allErrors.addAll(commercialErrors);
 
         return allErrors;
@@ -9,6 +9,7 @@ import org.javaguru.travel.insurance.application.validation.domain.coverage.Cove
 import org.javaguru.travel.insurance.application.validation.domain.person.PersonValidator;
 import org.javaguru.travel.insurance.application.validation.domain.risks.SelectedRisksValidator;
 import org.javaguru.travel.insurance.application.validation.domain.trip.TripValidator;
+import org.javaguru.travel.insurance.core.metrics.PricingStageTimer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -86,7 +87,8 @@ public class TravelCalculatePremiumRequestValidatorV3 {
             InsuredPerson person = request.getPersons().get(i);
             TravelCalculatePremiumRequest personRequest = adaptPersonToRequest(person, request);
 
-            List<ValidationError> personErrors = personValidator.validate(personRequest, context);
+            List<ValidationError> personErrors = PricingStageTimer.time(
+                    "validate.person", () -> personValidator.validate(personRequest, context));
 
             // Переименовываем поля с индексом персоны: personFirstName → persons[0].personFirstName
             for (ValidationError error : personErrors) {
@@ -101,7 +103,8 @@ public class TravelCalculatePremiumRequestValidatorV3 {
 
         // ── 3. TripValidator ──────────────────────────────────────────────
         TravelCalculatePremiumRequest tripRequest = adaptTripToRequest(request);
-        List<ValidationError> tripErrors = tripValidator.validate(tripRequest, context);
+        List<ValidationError> tripErrors = PricingStageTimer.time(
+                "validate.trip", () -> tripValidator.validate(tripRequest, context));
         allErrors.addAll(tripErrors);
 
         if (hasCriticalErrors(tripErrors)) {
@@ -110,7 +113,8 @@ public class TravelCalculatePremiumRequestValidatorV3 {
         }
 
         // ── 4. CoverageValidator ──────────────────────────────────────────
-        List<ValidationError> coverageErrors = coverageValidator.validate(tripRequest, context);
+        List<ValidationError> coverageErrors = PricingStageTimer.time(
+                "validate.coverage", () -> coverageValidator.validate(tripRequest, context));
         allErrors.addAll(coverageErrors);
 
         if (hasCriticalErrors(coverageErrors)) {
@@ -119,7 +123,8 @@ public class TravelCalculatePremiumRequestValidatorV3 {
         }
 
         // ── 5. SelectedRisksValidator ─────────────────────────────────────
-        List<ValidationError> risksErrors = selectedRisksValidator.validate(tripRequest, context);
+        List<ValidationError> risksErrors = PricingStageTimer.time(
+                "validate.risks", () -> selectedRisksValidator.validate(tripRequest, context));
         allErrors.addAll(risksErrors);
 
         if (hasCriticalErrors(risksErrors)) {
@@ -128,7 +133,8 @@ public class TravelCalculatePremiumRequestValidatorV3 {
         }
 
         // ── 6. CommercialValidator ────────────────────────────────────────
-        List<ValidationError> commercialErrors = commercialValidator.validate(tripRequest, context);
+        List<ValidationError> commercialErrors = PricingStageTimer.time(
+                "validate.commercial", () -> commercialValidator.validate(tripRequest, context));
         allErrors.addAll(commercialErrors);
 
         return allErrors;
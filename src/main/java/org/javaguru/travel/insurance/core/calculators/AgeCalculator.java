@@ -2,12 +2,16 @@ package org.javaguru.travel.insurance.core.calculators;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataScope;
+import org.javaguru.travel.insurance.core.reference.TariffTables;
+import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.AgeCoefficientEntity;
 import org.javaguru.travel.insurance.infrastructure.persistence.repositories.AgeCoefficientRepository;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.Optional;
 
 /**
  * Калькулятор возраста и возрастных коэффициентов.
@@ -96,12 +100,16 @@ public class AgeCalculator {
             return BigDecimal.ONE;
         }
 
-        // Сначала пробуем прочитать из БД
-        var entityOpt = ageCoefficientRepository.findCoefficientForAge(age, date);
+        // Сначала пробуем тарифную таблицу: из привязанного снимка или из БД
+        LocalDate on = ReferenceDataScope.lookupDate(date);
+        Optional<BigDecimal> fromTable = ReferenceDataScope.tariffTables()
+                .map(tables -> tables.findAgeCoefficient(age, on).map(TariffTables.AgeCoefficient::coefficient))
+                .orElseGet(() -> ageCoefficientRepository.findCoefficientForAge(age, on)
+                        .map(AgeCoefficientEntity::getCoefficient));
 
-        if (entityOpt.isPresent()) {
-            BigDecimal coefficient = entityOpt.get().getCoefficient();
-            log.debug("Age coefficient for age {} on {}: {} (from DB)", age, date, coefficient);
+        if (fromTable.isPresent()) {
+            BigDecimal coefficient = fromTable.get();
+            log.debug("Age coefficient for age {} on {}: {} (from tariff table)", age, date, coefficient);
             return coefficient;
         }
 
@@ -3,8 +3,10 @@ package org.javaguru.travel.insurance.core.calculators;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.javaguru.travel.insurance.application.dto.TravelCalculatePremiumRequest;
+import org.javaguru.travel.insurance.core.calculators.cache.QuoteResultCache;
 import org.javaguru.travel.insurance.core.calculators.strategy.CountryDefaultPremiumStrategy;
 import org.javaguru.travel.insurance.core.calculators.strategy.MedicalLevelPremiumStrategy;
+import org.javaguru.travel.insurance.core.metrics.PricingStageTimer;
 import org.javaguru.travel.insurance.core.services.CountryDefaultDayPremiumService;
 import org.javaguru.travel.insurance.core.services.RiskBundleService;
 import org.springframework.stereotype.Component;
@@ -22,6 +24,9 @@ import java.util.List;
  *     TripDetails      — дни, коэффициенты длительности, покрытие
  *     RiskDetails      — детали рисков, пакетная скидка
  *     PayoutLimitDetails — лимит выплат (task_117)
+ *
+ * Повторные котировки с теми же ценовыми параметрами отдаются
+ * из QuoteResultCache без обращения к стратегиям.
  */
 @Slf4j
 @Component
@@ -31,6 +36,7 @@ public class MedicalRiskPremiumCalculator {
     private final MedicalLevelPremiumStrategy medicalLevelStrategy;
     private final CountryDefaultPremiumStrategy countryDefaultStrategy;
     private final CountryDefaultDayPremiumService countryDefaultDayPremiumService;
+    private final QuoteResultCache quoteResultCache;
 
     // ========================================
     // ПУБЛИЧНОЕ API
@@ -41,13 +47,19 @@ public class MedicalRiskPremiumCalculator {
     }
 
     public PremiumCalculationResult calculatePremiumWithDetails(TravelCalculatePremiumRequest request) {
+        return quoteResultCache.getOrCalculate(request, this::calculateUncached);
+    }
+
+    private PremiumCalculationResult calculateUncached(TravelCalculatePremiumRequest request) {
         log.info("Premium calculation: country={}, useCountryDefault={}",
                 request.getCountryIsoCode(), request.getUseCountryDefaultPremium());
 
         if (shouldUseCountryDefaultMode(request)) {
-            return countryDefaultStrategy.calculate(request);
+            PricingStageTimer.markCalculationMode(CalculationMode.COUNTRY_DEFAULT.name());
+            return PricingStageTimer.time("strategy", () -> countryDefaultStrategy.calculate(request));
         } else {
-            return medicalLevelStrategy.calculate(request);
+            PricingStageTimer.markCalculationMode(CalculationMode.MEDICAL_LEVEL.name());
+            return PricingStageTimer.time("strategy", () -> medicalLevelStrategy.calculate(request));
         }
     }
 
@@ -0,0 +1,65 @@
+package org.javaguru.travel.insurance.core.calculators.cache;
+
+import org.javaguru.travel.insurance.application.dto.TravelCalculatePremiumRequest;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Канонический ключ кэша котировок.
+ *
+ * В ключ входят только поля запроса, от которых зависит премия
+ * в MedicalRiskPremiumCalculator, и в той форме, в которой их видят стратегии:
+ *   - дата рождения → возраст на agreementDateFrom (Period.between, как AgeCalculator);
+ *   - agreementDateTo → число дней поездки (ChronoUnit.DAYS, как стратегии);
+ *   - selectedRisks → неизменяемая копия в порядке запроса. Порядок на цену
+ *     не влияет, но задаёт порядок riskPremiumDetails в ответе, поэтому
+ *     не нормализуется: веб-форма и клиенты API шлют риски в фиксированном
+ *     порядке, и на долю попаданий это почти не влияет.
+ * Имя, email, промо-код, валюта ответа и прочее в ключ не попадают:
+ * два человека одного возраста с одинаковой поездкой делят одну запись.
+ *
+ * agreementDateFrom остаётся в ключе целиком — по нему выбираются
+ * действующие версии тарифов.
+ */
+public record QuoteCacheKey(
+        String countryIsoCode,
+        String medicalRiskLimitLevel,
+        boolean useCountryDefaultPremium,
+        Boolean applyAgeCoefficient,
+        int age,
+        LocalDate agreementDateFrom,
+        long days,
+        List<String> risks
+) {
+
+    /**
+     * Ключ для запроса или null, если запрос нельзя кэшировать
+     * (нет дат, дата рождения позже начала поездки или null среди рисков —
+     * такие запросы должны дойти до калькулятора и получить его ошибку).
+     */
+    public static QuoteCacheKey of(TravelCalculatePremiumRequest request) {
+        LocalDate birthDate = request.getPersonBirthDate();
+        LocalDate dateFrom = request.getAgreementDateFrom();
+        LocalDate dateTo = request.getAgreementDateTo();
+        if (birthDate == null || dateFrom == null || dateTo == null || birthDate.isAfter(dateFrom)) {
+            return null;
+        }
+        List<String> risks = request.getSelectedRisks();
+        if (risks != null && risks.stream().anyMatch(Objects::isNull)) {
+            return null;
+        }
+        return new QuoteCacheKey(
+                request.getCountryIsoCode(),
+                request.getMedicalRiskLimitLevel(),
+                Boolean.TRUE.equals(request.getUseCountryDefaultPremium()),
+                request.getApplyAgeCoefficient(),
+                Period.between(birthDate, dateFrom).getYears(),
+                dateFrom,
+                ChronoUnit.DAYS.between(dateFrom, dateTo),
+                risks == null ? List.of() : List.copyOf(risks));
+    }
+}
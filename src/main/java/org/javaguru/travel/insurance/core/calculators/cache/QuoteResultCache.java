@@ -0,0 +1,260 @@
+package org.javaguru.travel.insurance.core.calculators.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.application.dto.TravelCalculatePremiumRequest;
+import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculator.PremiumCalculationResult;
+import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculator.RiskDetails;
+import org.javaguru.travel.insurance.core.concurrent.SingleFlight;
+import org.javaguru.travel.insurance.core.metrics.PricingStageTimer;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataScope;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshot;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Кэш результатов расчёта перед MedicalRiskPremiumCalculator.
+ *
+ * ЗАЧЕМ:
+ *   Котировки сильно повторяются: веб-форма пересчитывает цену на каждое
+ *   изменение поля, V3 считает группу из людей одного возраста, агрегаторы
+ *   опрашивают одни и те же направления. Каждый расчёт — десяток обращений
+ *   к справочникам и BigDecimal-арифметика, хотя ответ определяется
+ *   несколькими полями запроса.
+ *
+ * КАК РАБОТАЕТ:
+ *   - ключ — QuoteCacheKey: только поля, влияющие на цену (возраст вместо
+ *     даты рождения, число дней вместо даты окончания);
+ *   - запись помечена ревизией справочников (ReferenceDataSnapshot.getRevision:
+ *     хэш содержимого + счётчик версии тарифа). Запись другой ревизии
+ *     считается устаревшей и пересчитывается; когда сервис снимков публикует
+ *     новую ревизию, кэш очищается целиком;
+ *   - счётчик версии тарифа растёт при изменении любой тарифной таблицы
+ *     (триггеры changeset 023), так что правка коэффициента тоже сбрасывает
+ *     кэш. TTL quote-cache.ttl-seconds остаётся страховкой для БД без
+ *     триггеров (H2);
+ *   - объём ограничен по памяти (quote-cache.max-memory-mb) — вес записи
+ *     оценивается по её содержимому, вытеснение — Caffeine (W-TinyLFU);
+ *   - расчёты с закреплённым снимком (RepricingJob, pinnedAt) идут мимо
+ *     кэша: их результат зависит от даты закрепления, а не от запроса;
+ *   - одновременные промахи по одному ключу и версии схлопываются через
+ *     SingleFlight: считает первый запрос, остальные ждут его результат
+ *     (метрики single.flight.*{name=quote}).
+ *
+ * Результат в кэше разделяется между запросами, поэтому списки в нём
+ * копируются в неизменяемые при записи.
+ *
+ * МЕТРИКИ:
+ *   pricing.quote.cache.requests{result=hit|miss|stale|bypass} (counter),
+ *   pricing.quote.cache.hit.ratio, pricing.quote.cache.size,
+ *   pricing.quote.cache.memory (оценка, байты) — gauges,
+ *   pricing.quote.cache.invalidations (counter).
+ */
+@Slf4j
+@Component
+public class QuoteResultCache {
+
+    static final String REQUESTS_METRIC = "pricing.quote.cache.requests";
+    static final String HIT_RATIO_METRIC = "pricing.quote.cache.hit.ratio";
+    static final String SIZE_METRIC = "pricing.quote.cache.size";
+    static final String MEMORY_METRIC = "pricing.quote.cache.memory";
+    static final String INVALIDATIONS_METRIC = "pricing.quote.cache.invalidations";
+
+    private final Supplier<String> currentVersion;
+    private final boolean enabled;
+    private final Cache<QuoteCacheKey, Entry> cache;
+    private final SingleFlight<Fill, PremiumCalculationResult> fills;
+    private final AtomicReference<String> publishedVersion = new AtomicReference<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter stale;
+    private final Counter bypassed;
+    private final Counter invalidations;
+
+    @Autowired
+    public QuoteResultCache(
+            ReferenceDataSnapshotService snapshotService,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${quote-cache.enabled:true}") boolean enabled,
+            @Value("${quote-cache.max-memory-mb:64}") long maxMemoryMb,
+            @Value("${quote-cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${single-flight.timeout-ms:5000}") long fillTimeoutMs) {
+        this(() -> snapshotService.current().getRevision(),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new),
+                enabled, maxMemoryMb * 1024 * 1024, Duration.ofSeconds(ttlSeconds),
+                Duration.ofMillis(fillTimeoutMs));
+    }
+
+    QuoteResultCache(Supplier<String> currentVersion,
+                     MeterRegistry meterRegistry,
+                     boolean enabled,
+                     long maxMemoryBytes,
+                     Duration ttl,
+                     Duration fillTimeout) {
+        this.currentVersion = currentVersion;
+        this.enabled = enabled;
+        this.fills = new SingleFlight<>("quote", fillTimeout, meterRegistry);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxMemoryBytes)
+                .weigher((QuoteCacheKey key, Entry entry) -> entry.weight())
+                .expireAfterWrite(ttl)
+                .build();
+
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        this.stale = requests(meterRegistry, "stale");
+        this.bypassed = requests(meterRegistry, "bypass");
+        this.invalidations = Counter.builder(INVALIDATIONS_METRIC)
+                .description("Quote cache flushes caused by a new reference data revision")
+                .register(meterRegistry);
+        Gauge.builder(HIT_RATIO_METRIC, this, QuoteResultCache::hitRatio)
+                .description("Share of cacheable quote lookups served from the cache")
+                .register(meterRegistry);
+        Gauge.builder(SIZE_METRIC, cache, c -> c.estimatedSize())
+                .description("Quote cache entries")
+                .register(meterRegistry);
+        Gauge.builder(MEMORY_METRIC, this, QuoteResultCache::weightedSize)
+                .description("Estimated memory held by the quote cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Выключенный кэш: каждый вызов уходит в калькулятор.
+     * Для сборки калькулятора без Spring (тесты, бенчмарки).
+     */
+    public static QuoteResultCache disabled() {
+        return new QuoteResultCache(() -> "", new SimpleMeterRegistry(), false, 0,
+                Duration.ofSeconds(1), Duration.ofSeconds(1));
+    }
+
+    /**
+     * Результат из кэша, либо расчёт через calculator с записью в кэш.
+     * Исключения калькулятора не кэшируются.
+     */
+    public PremiumCalculationResult getOrCalculate(
+            TravelCalculatePremiumRequest request,
+            Function<TravelCalculatePremiumRequest, PremiumCalculationResult> calculator) {
+
+        if (!enabled) {
+            return calculator.apply(request);
+        }
+
+        Optional<ReferenceDataSnapshot> scoped = ReferenceDataScope.current();
+        QuoteCacheKey key = QuoteCacheKey.of(request);
+        if (key == null || scoped.flatMap(ReferenceDataSnapshot::getPinnedDate).isPresent()) {
+            bypassed.increment();
+            return calculator.apply(request);
+        }
+
+        String published = observeVersion();
+        String version = scoped.map(ReferenceDataSnapshot::getRevision).orElse(published);
+
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && entry.version().equals(version)) {
+            hits.increment();
+            PricingStageTimer.markCalculationMode(entry.result().calculationMode().name());
+            log.debug("Quote cache hit: country={}, age={}, days={}",
+                    key.countryIsoCode(), key.age(), key.days());
+            return entry.result();
+        }
+        (entry == null ? misses : stale).increment();
+
+        PremiumCalculationResult result = fills.load(new Fill(key, version), () -> {
+            PremiumCalculationResult frozen = freeze(calculator.apply(request));
+            cache.put(key, new Entry(version, frozen, QuoteWeigher.estimate(key, frozen)));
+            return frozen;
+        });
+        PricingStageTimer.markCalculationMode(result.calculationMode().name());
+        return result;
+    }
+
+    /**
+     * Доля попаданий среди кэшируемых запросов (bypass не учитывается).
+     */
+    public double hitRatio() {
+        double hit = hits.count();
+        double total = hit + misses.count() + stale.count();
+        return total == 0 ? 0.0 : hit / total;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Оценка памяти, занятой записями (сумма весов QuoteWeigher), в байтах.
+     */
+    long weightedSize() {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    private String observeVersion() {
+        String version = currentVersion.get();
+        String previous = publishedVersion.getAndSet(version);
+        if (previous != null && !previous.equals(version)) {
+            cache.invalidateAll();
+            invalidations.increment();
+            log.info("Quote cache flushed: reference data revision {} -> {}", previous, version);
+        }
+        return version;
+    }
+
+    private static PremiumCalculationResult freeze(PremiumCalculationResult result) {
+        RiskDetails riskDetails = result.riskDetails();
+        return new PremiumCalculationResult(
+                result.premium(),
+                result.baseRate(),
+                result.ageDetails(),
+                result.countryDetails(),
+                result.tripDetails(),
+                riskDetails == null ? null
+                        : new RiskDetails(copy(riskDetails.riskPremiumDetails()), riskDetails.bundleDiscount()),
+                result.calculationMode(),
+                copy(result.calculationSteps()),
+                result.payoutLimitDetails());
+    }
+
+    private static <T> List<T> copy(List<T> list) {
+        return list == null ? null : List.copyOf(list);
+    }
+
+    private static Counter requests(MeterRegistry registry, String result) {
+        return Counter.builder(REQUESTS_METRIC)
+                .description("Quote cache lookups by outcome")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private record Entry(String version, PremiumCalculationResult result, int weight) {
+    }
+
+    private record Fill(QuoteCacheKey key, String version) {
+    }
+}
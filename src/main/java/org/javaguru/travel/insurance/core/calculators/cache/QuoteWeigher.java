@@ -0,0 +1,112 @@
+package org.javaguru.travel.insurance.core.calculators.cache;
+
+import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculator.CalculationStep;
+import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculator.PremiumCalculationResult;
+import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculator.RiskPremiumDetail;
+
+import java.util.List;
+
+/**
+ * Оценка памяти, которую занимает запись кэша котировок.
+ *
+ * Точный размер графа объектов в рантайме не узнать без агента
+ * инструментирования, поэтому вес считается по содержимому записи
+ * с константами для 64-битной JVM со сжатыми указателями:
+ * заголовок объекта 12 байт, ссылка 4 байта, выравнивание до 8.
+ * Оценка намеренно сверху — лимит quote-cache.max-memory-mb
+ * не должен превышаться из-за недооценки.
+ */
+final class QuoteWeigher {
+
+    /** Узел Caffeine, Entry, ключ, LocalDate и обёртки списков. */
+    static final int ENTRY_OVERHEAD = 256;
+    /** PremiumCalculationResult и пять вложенных records. */
+    static final int RESULT_OVERHEAD = 192;
+    /** BigDecimal с BigInteger для значений с масштабом. */
+    static final int BIG_DECIMAL = 64;
+    static final int STRING_OVERHEAD = 40;
+    static final int RECORD_OVERHEAD = 32;
+    static final int REFERENCE = 4;
+
+    /** Число BigDecimal-полей в PremiumCalculationResult и вложенных records. */
+    private static final int RESULT_DECIMALS = 16;
+
+    private QuoteWeigher() {
+    }
+
+    static int estimate(QuoteCacheKey key, PremiumCalculationResult result) {
+        long bytes = ENTRY_OVERHEAD
+                + string(key.countryIsoCode())
+                + string(key.medicalRiskLimitLevel())
+                + strings(key.risks())
+                + RESULT_OVERHEAD
+                + (long) RESULT_DECIMALS * BIG_DECIMAL;
+
+        if (result.ageDetails() != null) {
+            bytes += string(result.ageDetails().ageGroupDescription());
+        }
+        if (result.countryDetails() != null) {
+            bytes += string(result.countryDetails().countryName())
+                    + string(result.countryDetails().countryDefaultCurrency());
+        }
+        if (result.riskDetails() != null) {
+            bytes += riskDetails(result.riskDetails().riskPremiumDetails());
+            if (result.riskDetails().bundleDiscount() != null
+                    && result.riskDetails().bundleDiscount().bundle() != null) {
+                var bundle = result.riskDetails().bundleDiscount().bundle();
+                bytes += RECORD_OVERHEAD + BIG_DECIMAL
+                        + string(bundle.code()) + string(bundle.name()) + strings(bundle.requiredRisks());
+            }
+        }
+        bytes += steps(result.calculationSteps());
+
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static long riskDetails(List<RiskPremiumDetail> details) {
+        if (details == null) {
+            return 0;
+        }
+        long bytes = list(details.size());
+        for (RiskPremiumDetail detail : details) {
+            bytes += RECORD_OVERHEAD + 3L * BIG_DECIMAL
+                    + string(detail.riskCode()) + string(detail.riskName());
+        }
+        return bytes;
+    }
+
+    private static long steps(List<CalculationStep> steps) {
+        if (steps == null) {
+            return 0;
+        }
+        long bytes = list(steps.size());
+        for (CalculationStep step : steps) {
+            bytes += RECORD_OVERHEAD + BIG_DECIMAL + string(step.description()) + string(step.formula());
+        }
+        return bytes;
+    }
+
+    private static long strings(List<String> values) {
+        if (values == null) {
+            return 0;
+        }
+        long bytes = list(values.size());
+        for (String value : values) {
+            bytes += string(value);
+        }
+        return bytes;
+    }
+
+    private static long list(int size) {
+        return 16 + align(16 + (long) size * REFERENCE);
+    }
+
+    /** Latin-1 строка (compact strings): объект String + byte[]. */
+    private static long string(String value) {
+        return value == null ? 0 : STRING_OVERHEAD + align(value.length());
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
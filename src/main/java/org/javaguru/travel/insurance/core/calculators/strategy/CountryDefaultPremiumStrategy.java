@@ -12,6 +12,7 @@ import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculat
 import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculator.PremiumCalculationResult;
 import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculator.RiskDetails;
 import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculator.TripDetails;
+import org.javaguru.travel.insurance.core.metrics.PricingStageTimer;
 import org.javaguru.travel.insurance.core.services.CalculationConfigService;
 import org.javaguru.travel.insurance.core.services.CountryDefaultDayPremiumService;
 import org.javaguru.travel.insurance.domain.model.entity.Country;
@@ -34,6 +35,8 @@ import java.math.RoundingMode;
  * PayoutLimitDetails вместо 22 плоских параметров.
  *
  * В режиме COUNTRY_DEFAULT лимит выплат не применяется (нет medicalRiskLimitLevel).
+ *
+ * Шаги засекаются PricingStageTimer (stage = strategy.*), как и в MEDICAL_LEVEL.
  */
 @Slf4j
 @Component
@@ -57,59 +60,65 @@ public class CountryDefaultPremiumStrategy implements PremiumCalculationStrategy
 
         // 1. Дефолтная дневная ставка страны
         CountryDefaultDayPremiumService.DefaultPremiumResult defaultPremium =
-                countryDefaultDayPremiumService
-                        .findDefaultDayPremium(request.getCountryIsoCode(), request.getAgreementDateFrom())
-                        .orElseThrow(() -> new IllegalStateException(
-                                "Country default day premium not found for: " + request.getCountryIsoCode()));
+                PricingStageTimer.time("strategy.country_default_premium", () ->
+                        countryDefaultDayPremiumService
+                                .findDefaultDayPremium(request.getCountryIsoCode(), request.getAgreementDateFrom())
+                                .orElseThrow(() -> new IllegalStateException(
+                                        "Country default day premium not found for: "
+                                                + request.getCountryIsoCode())));
 
         // 2. Информация о стране
-        Country country = referenceDataPort
-                .findCountry(new CountryCode(request.getCountryIsoCode()), request.getAgreementDateFrom())
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "Country not found: " + request.getCountryIsoCode()));
+        Country country = PricingStageTimer.time("strategy.country", () ->
+                referenceDataPort
+                        .findCountry(new CountryCode(request.getCountryIsoCode()), request.getAgreementDateFrom())
+                        .orElseThrow(() -> new IllegalArgumentException(
+                                "Country not found: " + request.getCountryIsoCode())));
 
         // 3. AgeCoefficient switch (task_116)
         boolean ageCoefficientEnabled = calculationConfigService.resolveAgeCoefficientEnabled(
                 request.getApplyAgeCoefficient(), request.getAgreementDateFrom());
 
         // 4. Возраст — PersonAgeCalculator
-        AgeCalculator.AgeCalculationResult ageResult = personAgeCalculator.calculate(
-                request.getPersonBirthDate(), request.getAgreementDateFrom(), ageCoefficientEnabled);
+        AgeCalculator.AgeCalculationResult ageResult = PricingStageTimer.time("strategy.age", () ->
+                personAgeCalculator.calculate(
+                        request.getPersonBirthDate(), request.getAgreementDateFrom(), ageCoefficientEnabled));
 
         // 5. Длительность — TripDurationCalculator
         long days = tripDurationCalculator.calculateDays(
                 request.getAgreementDateFrom(), request.getAgreementDateTo());
-        BigDecimal durationCoefficient = tripDurationCalculator.getDurationCoefficient(
-                days, request.getAgreementDateFrom());
+        BigDecimal durationCoefficient = PricingStageTimer.time("strategy.duration", () ->
+                tripDurationCalculator.getDurationCoefficient(days, request.getAgreementDateFrom()));
 
         // 6. Дополнительные риски — AdditionalRisksCalculator
         AdditionalRisksCalculator.AdditionalRisksResult additionalRisks =
-                additionalRisksCalculator.calculate(
-                        request.getSelectedRisks(), ageResult.age(), request.getAgreementDateFrom());
+                PricingStageTimer.time("strategy.additional_risks", () ->
+                        additionalRisksCalculator.calculate(
+                                request.getSelectedRisks(), ageResult.age(), request.getAgreementDateFrom()));
 
         // 7. Базовая премия (без countryCoefficient — уже в defaultDayPremium)
-        BigDecimal basePremium = countryDefaultDayPremiumService.calculateBasePremium(
+        BigDecimal defaultBasePremium = countryDefaultDayPremiumService.calculateBasePremium(
                 defaultPremium.defaultDayPremium(),
                 ageResult.coefficient(),
                 durationCoefficient,
                 (int) days);
 
-        if (additionalRisks.totalCoefficient().compareTo(BigDecimal.ZERO) > 0) {
-            basePremium = basePremium
-                    .multiply(BigDecimal.ONE.add(additionalRisks.totalCoefficient()))
-                    .setScale(2, RoundingMode.HALF_UP);
-        }
+        BigDecimal basePremium = additionalRisks.totalCoefficient().compareTo(BigDecimal.ZERO) > 0
+                ? defaultBasePremium
+                        .multiply(BigDecimal.ONE.add(additionalRisks.totalCoefficient()))
+                        .setScale(2, RoundingMode.HALF_UP)
+                : defaultBasePremium;
 
         // 8. Пакетная скидка — BundleDiscountCalculator
-        BundleDiscountResult bundleDiscount = bundleDiscountCalculator.calculate(
-                request.getSelectedRisks(), basePremium, request.getAgreementDateFrom());
+        BundleDiscountResult bundleDiscount = PricingStageTimer.time("strategy.bundle_discount", () ->
+                bundleDiscountCalculator.calculate(
+                        request.getSelectedRisks(), basePremium, request.getAgreementDateFrom()));
 
         // 9. Итоговая премия
         BigDecimal finalPremium = basePremium.subtract(bundleDiscount.discountAmount())
                 .setScale(2, RoundingMode.HALF_UP);
 
         // 10. Детали по рискам (countryCoeff = ONE — уже в baseRate)
-        var riskPremiumDetails = riskDetailsBuilder.build(
+        var riskPremiumDetails = PricingStageTimer.time("strategy.risk_details", () -> riskDetailsBuilder.build(
                 request.getSelectedRisks(),
                 defaultPremium.defaultDayPremium(),
                 ageResult.coefficient(),
@@ -117,7 +126,7 @@ public class CountryDefaultPremiumStrategy implements PremiumCalculationStrategy
                 durationCoefficient,
                 (int) days,
                 ageResult.age(),
-                request.getAgreementDateFrom());
+                request.getAgreementDateFrom()));
 
         // 11. totalCoeff для информации (без countryCoeff — он в baseRate)
         BigDecimal countryRiskCoefficient = country.getRiskCoefficient().value();
@@ -126,7 +135,7 @@ public class CountryDefaultPremiumStrategy implements PremiumCalculationStrategy
                 .multiply(BigDecimal.ONE.add(additionalRisks.totalCoefficient()));
 
         // 12. Шаги расчёта
-        var steps = stepsBuilder.buildCountryDefaultSteps(
+        var steps = PricingStageTimer.time("strategy.steps", () -> stepsBuilder.buildCountryDefaultSteps(
                 defaultPremium.defaultDayPremium(),
                 ageResult.coefficient(),
                 durationCoefficient,
@@ -134,7 +143,7 @@ public class CountryDefaultPremiumStrategy implements PremiumCalculationStrategy
                 days,
                 basePremium,
                 bundleDiscount.discountAmount(),
-                finalPremium);
+                finalPremium));
 
         log.info("COUNTRY_DEFAULT final premium: {} EUR (age={}, ageCoeff={}, ageCoefficientEnabled={}, " +
                         "base={}, duration={}, bundleDiscount={})",
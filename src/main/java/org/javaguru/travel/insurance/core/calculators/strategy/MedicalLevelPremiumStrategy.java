@@ -12,6 +12,7 @@ import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculat
 import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculator.PremiumCalculationResult;
 import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculator.RiskDetails;
 import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculator.TripDetails;
+import org.javaguru.travel.insurance.core.metrics.PricingStageTimer;
 import org.javaguru.travel.insurance.core.services.CalculationConfigService;
 import org.javaguru.travel.insurance.core.services.CountryDefaultDayPremiumService;
 import org.javaguru.travel.insurance.core.services.PayoutLimitService;
@@ -34,6 +35,9 @@ import java.math.RoundingMode;
  * РЕФАКТОРИНГ (п. 4.3): PremiumCalculationResult собирается через
  * вложенные records AgeDetails, CountryDetails, TripDetails, RiskDetails,
  * PayoutLimitDetails вместо 22 плоских параметров.
+ *
+ * Шаги, обращающиеся к справочникам или калькуляторам, засекаются
+ * PricingStageTimer (stage = strategy.*).
  */
 @Slf4j
 @Component
@@ -59,34 +63,38 @@ public class MedicalLevelPremiumStrategy implements PremiumCalculationStrategy {
                 request.getApplyAgeCoefficient());
 
         // 1. Справочные данные
-        MedicalRiskLimitLevel medicalLevel = referenceDataPort
-                .findMedicalLevel(request.getMedicalRiskLimitLevel(), request.getAgreementDateFrom())
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "Medical level not found: " + request.getMedicalRiskLimitLevel()));
-
-        Country country = referenceDataPort
-                .findCountry(new CountryCode(request.getCountryIsoCode()), request.getAgreementDateFrom())
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "Country not found: " + request.getCountryIsoCode()));
+        MedicalRiskLimitLevel medicalLevel = PricingStageTimer.time("strategy.medical_level", () ->
+                referenceDataPort
+                        .findMedicalLevel(request.getMedicalRiskLimitLevel(), request.getAgreementDateFrom())
+                        .orElseThrow(() -> new IllegalArgumentException(
+                                "Medical level not found: " + request.getMedicalRiskLimitLevel())));
+
+        Country country = PricingStageTimer.time("strategy.country", () ->
+                referenceDataPort
+                        .findCountry(new CountryCode(request.getCountryIsoCode()), request.getAgreementDateFrom())
+                        .orElseThrow(() -> new IllegalArgumentException(
+                                "Country not found: " + request.getCountryIsoCode())));
 
         // 2. AgeCoefficient switch (task_116)
         boolean ageCoefficientEnabled = calculationConfigService.resolveAgeCoefficientEnabled(
                 request.getApplyAgeCoefficient(), request.getAgreementDateFrom());
 
         // 3. Возраст — PersonAgeCalculator
-        AgeCalculator.AgeCalculationResult ageResult = personAgeCalculator.calculate(
-                request.getPersonBirthDate(), request.getAgreementDateFrom(), ageCoefficientEnabled);
+        AgeCalculator.AgeCalculationResult ageResult = PricingStageTimer.time("strategy.age", () ->
+                personAgeCalculator.calculate(
+                        request.getPersonBirthDate(), request.getAgreementDateFrom(), ageCoefficientEnabled));
 
         // 4. Длительность — TripDurationCalculator
         long days = tripDurationCalculator.calculateDays(
                 request.getAgreementDateFrom(), request.getAgreementDateTo());
-        BigDecimal durationCoefficient = tripDurationCalculator.getDurationCoefficient(
-                days, request.getAgreementDateFrom());
+        BigDecimal durationCoefficient = PricingStageTimer.time("strategy.duration", () ->
+                tripDurationCalculator.getDurationCoefficient(days, request.getAgreementDateFrom()));
 
         // 5. Дополнительные риски — AdditionalRisksCalculator
         AdditionalRisksCalculator.AdditionalRisksResult additionalRisks =
-                additionalRisksCalculator.calculate(
-                        request.getSelectedRisks(), ageResult.age(), request.getAgreementDateFrom());
+                PricingStageTimer.time("strategy.additional_risks", () ->
+                        additionalRisksCalculator.calculate(
+                                request.getSelectedRisks(), ageResult.age(), request.getAgreementDateFrom()));
 
         // 6. Коэффициент страны
         BigDecimal countryRiskCoefficient = country.getRiskCoefficient().value();
@@ -104,23 +112,25 @@ public class MedicalLevelPremiumStrategy implements PremiumCalculationStrategy {
                 .setScale(2, RoundingMode.HALF_UP);
 
         // 9. task_117: лимит выплат
-        PayoutLimitService.PayoutLimitResult payoutResult = payoutLimitService.applyPayoutLimit(
-                rawBasePremium,
-                medicalLevel.getCoverageAmount(),
-                medicalLevel.getMaxPayoutAmount());
+        PayoutLimitService.PayoutLimitResult payoutResult = PricingStageTimer.time("strategy.payout_limit", () ->
+                payoutLimitService.applyPayoutLimit(
+                        rawBasePremium,
+                        medicalLevel.getCoverageAmount(),
+                        medicalLevel.getMaxPayoutAmount()));
 
         BigDecimal basePremium = payoutResult.adjustedPremium();
 
         // 10. Пакетная скидка — BundleDiscountCalculator
-        BundleDiscountResult bundleDiscount = bundleDiscountCalculator.calculate(
-                request.getSelectedRisks(), basePremium, request.getAgreementDateFrom());
+        BundleDiscountResult bundleDiscount = PricingStageTimer.time("strategy.bundle_discount", () ->
+                bundleDiscountCalculator.calculate(
+                        request.getSelectedRisks(), basePremium, request.getAgreementDateFrom()));
 
         // 11. Итоговая премия
         BigDecimal finalPremium = basePremium.subtract(bundleDiscount.discountAmount())
                 .setScale(2, RoundingMode.HALF_UP);
 
         // 12. Детали по рискам — RiskDetailsBuilder
-        var riskPremiumDetails = riskDetailsBuilder.build(
+        var riskPremiumDetails = PricingStageTimer.time("strategy.risk_details", () -> riskDetailsBuilder.build(
                 request.getSelectedRisks(),
                 medicalLevel.getDailyRate(),
                 ageResult.coefficient(),
@@ -128,16 +138,17 @@ public class MedicalLevelPremiumStrategy implements PremiumCalculationStrategy {
                 durationCoefficient,
                 (int) days,
                 ageResult.age(),
-                request.getAgreementDateFrom());
+                request.getAgreementDateFrom()));
 
         // 13. CountryInfo для ответа
         CountryDefaultDayPremiumService.DefaultPremiumResult defaultPremiumInfo =
-                countryDefaultDayPremiumService
-                        .findDefaultDayPremium(request.getCountryIsoCode(), request.getAgreementDateFrom())
-                        .orElse(null);
+                PricingStageTimer.time("strategy.country_default_premium", () ->
+                        countryDefaultDayPremiumService
+                                .findDefaultDayPremium(request.getCountryIsoCode(), request.getAgreementDateFrom())
+                                .orElse(null));
 
         // 14. Шаги расчёта
-        var steps = stepsBuilder.buildMedicalLevelSteps(
+        var steps = PricingStageTimer.time("strategy.steps", () -> stepsBuilder.buildMedicalLevelSteps(
                 medicalLevel.getDailyRate(),
                 ageResult.coefficient(),
                 countryRiskCoefficient,
@@ -148,7 +159,7 @@ public class MedicalLevelPremiumStrategy implements PremiumCalculationStrategy {
                 bundleDiscount.discountAmount(),
                 finalPremium,
                 payoutResult.payoutLimitApplied() ? payoutResult.appliedPayoutLimit() : null,
-                rawBasePremium);
+                rawBasePremium));
 
         log.info("MEDICAL_LEVEL final premium: {} EUR (age={}, ageCoeff={}, ageCoefficientEnabled={}, " +
                         "country={}, duration={}, bundleDiscount={}, payoutLimitApplied={})",
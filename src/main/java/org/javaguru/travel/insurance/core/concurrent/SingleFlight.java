@@ -0,0 +1,138 @@
+package org.javaguru.travel.insurance.core.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Схлопывание одновременных одинаковых загрузок (single-flight).
+ *
+ * ЗАЧЕМ:
+ *   После деплоя или смены тарифа кэши пусты, и сотни параллельных запросов
+ *   по одной стране и дате одновременно выполняют одни и те же запросы к БД.
+ *
+ * КАК РАБОТАЕТ:
+ *   - первый вызов по ключу становится ведущим: выполняет загрузку в своём
+ *     потоке и публикует результат через CompletableFuture;
+ *   - вызовы по тому же ключу, пришедшие пока загрузка идёт, ждут этот future
+ *     не дольше timeout, затем получают SingleFlightTimeoutException;
+ *   - исключение ведущего получают все ожидающие — повторять заведомо
+ *     падающую загрузку каждым из них бессмысленно;
+ *   - ключ снимается сразу после завершения: результат здесь не хранится,
+ *     хранение — забота кэша поверх.
+ *
+ * Загрузка не должна рекурсивно вызывать load с тем же ключом в том же
+ * потоке — такой вызов дождётся только собственного таймаута.
+ *
+ * МЕТРИКИ (тег name):
+ *   single.flight.calls{role=leader|collapsed} (counter),
+ *   single.flight.timeouts, single.flight.failures (counter),
+ *   single.flight.in.flight (gauge).
+ */
+@Slf4j
+public final class SingleFlight<K, V> {
+
+    static final String CALLS_METRIC = "single.flight.calls";
+    static final String TIMEOUTS_METRIC = "single.flight.timeouts";
+    static final String FAILURES_METRIC = "single.flight.failures";
+    static final String IN_FLIGHT_METRIC = "single.flight.in.flight";
+
+    private final String name;
+    private final Duration timeout;
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter leaders;
+    private final Counter collapsed;
+    private final Counter timeouts;
+    private final Counter failures;
+
+    public SingleFlight(String name, Duration timeout, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.timeout = timeout;
+        this.leaders = calls(meterRegistry, "leader");
+        this.collapsed = calls(meterRegistry, "collapsed");
+        this.timeouts = Counter.builder(TIMEOUTS_METRIC)
+                .description("Callers that gave up waiting for a shared in-flight load")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.failures = Counter.builder(FAILURES_METRIC)
+                .description("Shared loads that completed exceptionally")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_METRIC, inFlight, Map::size)
+                .description("Loads currently in flight")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Результат загрузки по ключу: собственной либо уже идущей в другом потоке.
+     *
+     * @throws SingleFlightTimeoutException если чужая загрузка не завершилась за timeout
+     */
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, own);
+        if (existing == null) {
+            return lead(key, own, loader);
+        }
+        collapsed.increment();
+        return await(key, existing);
+    }
+
+    private V lead(K key, CompletableFuture<V> future, Supplier<V> loader) {
+        leaders.increment();
+        try {
+            V value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            failures.increment();
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private V await(K key, CompletableFuture<V> future) {
+        try {
+            return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            log.warn("Single-flight '{}': gave up waiting {} ms for in-flight load of {}",
+                    name, timeout.toMillis(), key);
+            throw new SingleFlightTimeoutException(name, timeout);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Shared load '" + name + "' failed", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SingleFlightTimeoutException(name, timeout);
+        }
+    }
+
+    private Counter calls(MeterRegistry meterRegistry, String role) {
+        return Counter.builder(CALLS_METRIC)
+                .description("Single-flight calls by role; collapsed calls reused another caller's load")
+                .tag("name", name)
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+}
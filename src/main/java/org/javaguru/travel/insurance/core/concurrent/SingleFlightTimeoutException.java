@@ -0,0 +1,13 @@
+package org.javaguru.travel.insurance.core.concurrent;
+
+import java.time.Duration;
+
+/**
+ * Общая загрузка SingleFlight не завершилась за отведённое время ожидания.
+ */
+public class SingleFlightTimeoutException extends RuntimeException {
+
+    public SingleFlightTimeoutException(String name, Duration timeout) {
+        super("Shared load '" + name + "' did not complete within " + timeout.toMillis() + " ms");
+    }
+}
@@ -0,0 +1,145 @@
+package org.javaguru.travel.insurance.core.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculator.CalculationMode;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Таймеры этапов конвейера расчёта премии.
+ *
+ * ЗАЧЕМ:
+ *   Чтобы видеть, где тратится p99: валидаторы, правила андеррайтинга,
+ *   шаги стратегий, скидки и сборка ответа.
+ *
+ * КАК РАБОТАЕТ:
+ *   - метрика pricing.stage.duration{stage, api_version, calculation_mode}
+ *     с percentile-гистограммой (10 µs … 10 s);
+ *   - api_version и calculation_mode задаются один раз на входе конвейера
+ *     (inContext) и хранятся в ThreadLocal, поэтому вложенные компоненты
+ *     не передают их через параметры;
+ *   - calculation_mode на входе — запрошенный режим; после выбора стратегии
+ *     MedicalRiskPremiumCalculator уточняет его фактическим (markCalculationMode).
+ *
+ * Статический доступ (а не инъекция MeterRegistry) выбран намеренно:
+ * валидаторы и стратегии создаются в тестах напрямую через конструкторы.
+ * Spring Boot публикует свой MeterRegistry в Metrics.globalRegistry, поэтому
+ * в приложении таймеры попадают в actuator/Prometheus, а в unit-тестах
+ * без реестра запись — no-op.
+ */
+public final class PricingStageTimer {
+
+    public static final String METRIC = "pricing.stage.duration";
+
+    static final String UNKNOWN = "none";
+
+    private static final ThreadLocal<Context> CONTEXT = new ThreadLocal<>();
+    private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+
+    private static volatile MeterRegistry registry = Metrics.globalRegistry;
+
+    private PricingStageTimer() {
+    }
+
+    /**
+     * Выполняет этап конвейера с тегами версии API и режима расчёта.
+     * Предыдущий контекст восстанавливается (вложенные вызовы безопасны).
+     */
+    public static <T> T inContext(String apiVersion, String calculationMode, Supplier<T> pipeline) {
+        Context previous = CONTEXT.get();
+        CONTEXT.set(new Context(apiVersion, calculationMode));
+        try {
+            return pipeline.get();
+        } finally {
+            if (previous == null) {
+                CONTEXT.remove();
+            } else {
+                CONTEXT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Запрошенный режим расчёта по флагу useCountryDefaultPremium запроса.
+     */
+    public static String requestedMode(Boolean useCountryDefaultPremium) {
+        return Boolean.TRUE.equals(useCountryDefaultPremium)
+                ? CalculationMode.COUNTRY_DEFAULT.name()
+                : CalculationMode.MEDICAL_LEVEL.name();
+    }
+
+    /**
+     * Уточняет режим расчёта для оставшихся этапов текущего конвейера.
+     */
+    public static void markCalculationMode(String calculationMode) {
+        Context context = CONTEXT.get();
+        if (context != null) {
+            context.calculationMode = calculationMode;
+        }
+    }
+
+    /**
+     * Засекает время этапа и возвращает его результат.
+     */
+    public static <T> T time(String stage, Supplier<T> body) {
+        long start = System.nanoTime();
+        try {
+            return body.get();
+        } finally {
+            record(stage, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Засекает время этапа без результата.
+     */
+    public static void run(String stage, Runnable body) {
+        long start = System.nanoTime();
+        try {
+            body.run();
+        } finally {
+            record(stage, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Подменяет реестр (только для тестов).
+     */
+    static void useRegistry(MeterRegistry meterRegistry) {
+        registry = meterRegistry;
+        TIMERS.clear();
+    }
+
+    private static void record(String stage, long nanos) {
+        Context context = CONTEXT.get();
+        String apiVersion = context != null ? context.apiVersion : UNKNOWN;
+        String mode = context != null && context.calculationMode != null ? context.calculationMode : UNKNOWN;
+
+        TIMERS.computeIfAbsent(stage + '|' + apiVersion + '|' + mode, key -> Timer.builder(METRIC)
+                        .description("Duration of a premium pipeline stage")
+                        .tag("stage", stage)
+                        .tag("api_version", apiVersion)
+                        .tag("calculation_mode", mode)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofNanos(10_000))
+                        .maximumExpectedValue(Duration.ofSeconds(10))
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static final class Context {
+        private final String apiVersion;
+        private String calculationMode;
+
+        private Context(String apiVersion, String calculationMode) {
+            this.apiVersion = apiVersion;
+            this.calculationMode = calculationMode;
+        }
+    }
+}
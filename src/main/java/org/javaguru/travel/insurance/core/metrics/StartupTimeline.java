@@ -0,0 +1,96 @@
+package org.javaguru.travel.insurance.core.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Вехи холодного старта узла, в секундах от запуска JVM.
+ *
+ * ЗАЧЕМ:
+ *   Видеть на работающих узлах, когда узел стал готов, по метрике, а не по логам:
+ *   startup.reference.snapshot{source=file|database} — снимок готов,
+ *   startup.first.quote{snapshot_source} — первый успешный расчёт премии.
+ *
+ *   Одна веха одного узла — наблюдение, а не сравнение: старты с файлом
+ *   и без него различаются ещё JIT, кэшами ОС и нагрузкой на БД.
+ *   Загрузку из файла и из БД сравнивает ReferenceSnapshotColdStartScenariosTest
+ *   на одних данных, повторными замерами.
+ *
+ * Каждая веха фиксируется один раз за жизнь JVM.
+ * Статический доступ — как у PricingStageTimer: сервисы расчёта создаются
+ * в тестах напрямую через конструкторы.
+ */
+@Slf4j
+public final class StartupTimeline {
+
+    public static final String SNAPSHOT_METRIC = "startup.reference.snapshot";
+    public static final String FIRST_QUOTE_METRIC = "startup.first.quote";
+
+    private static final AtomicReference<Milestone> SNAPSHOT = new AtomicReference<>();
+    private static final AtomicReference<Milestone> FIRST_QUOTE = new AtomicReference<>();
+
+    private static volatile MeterRegistry registry = Metrics.globalRegistry;
+
+    private StartupTimeline() {
+    }
+
+    /**
+     * Первый непустой снимок справочников опубликован.
+     *
+     * @param source file — из файла снимка, database — из БД
+     */
+    public static void markSnapshotReady(String source) {
+        Milestone milestone = new Milestone(uptimeSeconds(), source);
+        if (SNAPSHOT.compareAndSet(null, milestone)) {
+            register(SNAPSHOT_METRIC, "source", milestone);
+            log.info("Reference snapshot ready {} s after JVM start (source: {})",
+                    String.format("%.2f", milestone.seconds()), source);
+        }
+    }
+
+    /**
+     * Расчёт премии завершился успешно. Фиксируется только первый.
+     */
+    public static void markFirstQuote() {
+        if (FIRST_QUOTE.get() != null) {
+            return;
+        }
+        Milestone snapshot = SNAPSHOT.get();
+        Milestone milestone = new Milestone(uptimeSeconds(), snapshot != null ? snapshot.source() : "none");
+        if (FIRST_QUOTE.compareAndSet(null, milestone)) {
+            register(FIRST_QUOTE_METRIC, "snapshot_source", milestone);
+            log.info("First successful quote {} s after JVM start (reference snapshot source: {})",
+                    String.format("%.2f", milestone.seconds()), milestone.source());
+        }
+    }
+
+    static void useRegistry(MeterRegistry meterRegistry) {
+        registry = meterRegistry;
+    }
+
+    static void reset() {
+        SNAPSHOT.set(null);
+        FIRST_QUOTE.set(null);
+    }
+
+    private static void register(String name, String tag, Milestone milestone) {
+        Gauge.builder(name, milestone, Milestone::seconds)
+                .description("Seconds from JVM start to the startup milestone")
+                .baseUnit("seconds")
+                .tag(tag, milestone.source())
+                .strongReference(true)
+                .register(registry);
+    }
+
+    private static double uptimeSeconds() {
+        return ManagementFactory.getRuntimeMXBean().getUptime() / 1000.0;
+    }
+
+    private record Milestone(double seconds, String source) {
+    }
+}
@@ -0,0 +1,67 @@
+package org.javaguru.travel.insurance.core.reference;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+/**
+ * Привязка снимка справочных данных к текущему потоку.
+ *
+ * Пока снимок привязан, SnapshotReferenceDataAdapter отвечает на запросы
+ * ReferenceDataPort из него, а не из БД, а сервисы расчёта берут из него
+ * тарифные таблицы (tariffTables). Это позволяет:
+ *   - один раз разрешить снимок на весь батч или запрос и разделить его между элементами;
+ *   - гарантировать, что все элементы батча посчитаны по одной версии тарифа.
+ *
+ * Привязка всегда снимается в finally — пул потоков не «протекает» снимками.
+ */
+public final class ReferenceDataScope {
+
+    private static final ThreadLocal<ReferenceDataSnapshot> BOUND = new ThreadLocal<>();
+
+    private ReferenceDataScope() {
+    }
+
+    public static Optional<ReferenceDataSnapshot> current() {
+        return Optional.ofNullable(BOUND.get());
+    }
+
+    /**
+     * Тарифные таблицы привязанного снимка. Пусто, если снимок не привязан
+     * или собран без таблиц — тогда сервисы расчёта читают таблицы из БД.
+     */
+    public static Optional<TariffTables> tariffTables() {
+        ReferenceDataSnapshot snapshot = BOUND.get();
+        return snapshot != null ? snapshot.getTariffTables() : Optional.empty();
+    }
+
+    /**
+     * Дата поиска в тарифных таблицах: дата закрепления привязанного снимка
+     * (ReferenceDataSnapshot.pinnedAt), если он закреплён, иначе переданная дата.
+     *
+     * Тарифные таблицы (коэффициенты возраста и длительности, пакеты, скидки,
+     * дефолтные премии) ищутся на эту дату — из снимка или из БД, — так
+     * переоценка идёт по одной дате тарифа целиком, а не только по странам и рискам.
+     */
+    public static LocalDate lookupDate(LocalDate date) {
+        ReferenceDataSnapshot snapshot = BOUND.get();
+        return snapshot != null ? snapshot.getPinnedDate().orElse(date) : date;
+    }
+
+    /**
+     * Выполняет задачу с привязанным снимком; предыдущая привязка восстанавливается.
+     */
+    public static <T> T callWith(ReferenceDataSnapshot snapshot, Callable<T> task) throws Exception {
+        ReferenceDataSnapshot previous = BOUND.get();
+        BOUND.set(snapshot);
+        try {
+            return task.call();
+        } finally {
+            if (previous == null) {
+                BOUND.remove();
+            } else {
+                BOUND.set(previous);
+            }
+        }
+    }
+}
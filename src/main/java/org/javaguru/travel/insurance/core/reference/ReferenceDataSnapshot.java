@@ -0,0 +1,370 @@
+package org.javaguru.travel.insurance.core.reference;
+
+import org.javaguru.travel.insurance.domain.model.entity.Country;
+import org.javaguru.travel.insurance.domain.model.entity.MedicalRiskLimitLevel;
+import org.javaguru.travel.insurance.domain.model.entity.Risk;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Неизменяемый снимок справочных данных тарифа (страны, уровни покрытия, риски)
+ * и, при загрузке из БД или файла, тарифных таблиц расчёта (TariffTables:
+ * коэффициенты, пакеты, скидки, дефолтные премии).
+ *
+ * Снимок содержит ВСЕ temporal-версии записей, сгруппированные по коду,
+ * поэтому поиск «на дату» выполняется без обращения к БД.
+ *
+ * ВЕРСИЯ ТАРИФА:
+ *   version — детерминированный хеш (SHA-256, первые 16 hex-символов)
+ *   от содержимого всех записей, включая тарифные таблицы. Одинаковые данные →
+ *   одинаковая версия, поэтому версия пригодна как основа strong ETag.
+ *
+ *   tariffVersion — значение счётчика reference_data_version (changeset 023),
+ *   при котором снимок загружен. Счётчик растёт при изменении любой тарифной
+ *   таблицы. revision = version + tariffVersion — метка для кэшей, зависящих
+ *   от всего тарифа (QuoteResultCache).
+ *
+ * Потокобезопасен: после создания не изменяется.
+ */
+public final class ReferenceDataSnapshot {
+
+    private final String version;
+    private final long tariffVersion;
+    private final String revision;
+    private final Instant loadedAt;
+    private final Map<String, List<Country>> countries;
+    private final Map<String, List<MedicalRiskLimitLevel>> medicalLevels;
+    private final Map<String, List<Risk>> risks;
+    private final TariffTables tariffTables;
+    private final LocalDate pinnedDate;
+
+    private ReferenceDataSnapshot(
+            String version,
+            long tariffVersion,
+            Instant loadedAt,
+            Map<String, List<Country>> countries,
+            Map<String, List<MedicalRiskLimitLevel>> medicalLevels,
+            Map<String, List<Risk>> risks,
+            TariffTables tariffTables,
+            LocalDate pinnedDate) {
+        this.version = version;
+        this.tariffVersion = tariffVersion;
+        this.revision = version + "." + tariffVersion;
+        this.loadedAt = loadedAt;
+        this.countries = countries;
+        this.medicalLevels = medicalLevels;
+        this.risks = risks;
+        this.tariffTables = tariffTables;
+        this.pinnedDate = pinnedDate;
+    }
+
+    /**
+     * Создаёт снимок из доменных объектов и вычисляет версию по содержимому.
+     * Тарифных таблиц в таком снимке нет — расчёт с ним читает их из БД.
+     */
+    public static ReferenceDataSnapshot of(
+            Collection<Country> countries,
+            Collection<MedicalRiskLimitLevel> medicalLevels,
+            Collection<Risk> risks,
+            Instant loadedAt) {
+        return of(countries, medicalLevels, risks, null, loadedAt);
+    }
+
+    /**
+     * Создаёт снимок вместе с тарифными таблицами расчёта.
+     *
+     * @param tariffTables тарифные таблицы или null, если они не загружены
+     */
+    public static ReferenceDataSnapshot of(
+            Collection<Country> countries,
+            Collection<MedicalRiskLimitLevel> medicalLevels,
+            Collection<Risk> risks,
+            TariffTables tariffTables,
+            Instant loadedAt) {
+
+        var byCountry = group(countries, c -> c.getIsoCode().value());
+        var byLevel = group(medicalLevels, MedicalRiskLimitLevel::getCode);
+        var byRisk = group(risks, r -> r.getCode().value());
+
+        return new ReferenceDataSnapshot(
+                computeVersion(byCountry, byLevel, byRisk, tariffTables),
+                0,
+                loadedAt,
+                byCountry,
+                byLevel,
+                byRisk,
+                tariffTables,
+                null
+        );
+    }
+
+    /**
+     * Пустой снимок — используется до первой загрузки.
+     */
+    public static ReferenceDataSnapshot empty() {
+        return of(List.of(), List.of(), List.of(), Instant.EPOCH);
+    }
+
+    /**
+     * Тот же снимок, но все поиски выполняются на фиксированную дату
+     * (независимо от даты, переданной вызывающим кодом).
+     *
+     * Используется для переоценки исторических поездок по тарифу на выбранную дату.
+     */
+    public ReferenceDataSnapshot pinnedAt(LocalDate date) {
+        return new ReferenceDataSnapshot(
+                version, tariffVersion, loadedAt, countries, medicalLevels, risks, tariffTables, date);
+    }
+
+    /**
+     * Тот же снимок с отметкой счётчика версии тарифа, при котором он загружен.
+     */
+    public ReferenceDataSnapshot withTariffVersion(long tariffVersion) {
+        return new ReferenceDataSnapshot(
+                version, tariffVersion, loadedAt, countries, medicalLevels, risks, tariffTables, pinnedDate);
+    }
+
+    // ── Поиск на дату ─────────────────────────────────────────────────────────
+
+    public Optional<Country> findCountry(String isoCode, LocalDate date) {
+        LocalDate on = effective(date);
+        return findActive(countries, isoCode, on, c -> c.isActiveOn(on));
+    }
+
+    public Optional<MedicalRiskLimitLevel> findMedicalLevel(String code, LocalDate date) {
+        LocalDate on = effective(date);
+        return findActive(medicalLevels, code, on, l -> l.isActiveOn(on));
+    }
+
+    public Optional<Risk> findRisk(String code, LocalDate date) {
+        LocalDate on = effective(date);
+        return findActive(risks, code, on, r -> r.isActiveOn(on));
+    }
+
+    /**
+     * Страны, активные на дату, отсортированные по английскому названию.
+     */
+    public List<Country> activeCountries(LocalDate date) {
+        LocalDate on = effective(date);
+        return active(countries, c -> c.isActiveOn(on),
+                Comparator.comparing(Country::getNameEn));
+    }
+
+    /**
+     * Уровни покрытия, активные на дату, по возрастанию суммы покрытия.
+     */
+    public List<MedicalRiskLimitLevel> activeMedicalLevels(LocalDate date) {
+        LocalDate on = effective(date);
+        return active(medicalLevels, l -> l.isActiveOn(on),
+                Comparator.comparing(MedicalRiskLimitLevel::getCoverageAmount));
+    }
+
+    /**
+     * Риски, активные на дату: сначала обязательные, затем по коду.
+     */
+    public List<Risk> activeRisks(LocalDate date) {
+        LocalDate on = effective(date);
+        return active(risks, r -> r.isActiveOn(on),
+                Comparator.comparing((Risk r) -> !r.isMandatory())
+                        .thenComparing(r -> r.getCode().value()));
+    }
+
+    /**
+     * Даты в интервале (after, until], с которых меняется набор активных записей:
+     * начинает действовать новая версия (validFrom) или перестаёт действовать
+     * старая (день после validTo).
+     *
+     * Снимок хранит и будущие версии, поэтому смена тарифа на такую дату
+     * известна заранее — по этим датам планируется прогрев кэшей.
+     */
+    public SortedSet<LocalDate> effectiveDates(LocalDate after, LocalDate until) {
+        SortedSet<LocalDate> dates = new TreeSet<>();
+        collectEffectiveDates(countries, Country::getValidFrom, Country::getValidTo, after, until, dates);
+        collectEffectiveDates(medicalLevels, MedicalRiskLimitLevel::getValidFrom,
+                MedicalRiskLimitLevel::getValidTo, after, until, dates);
+        collectEffectiveDates(risks, Risk::getValidFrom, Risk::getValidTo, after, until, dates);
+        return Collections.unmodifiableSortedSet(dates);
+    }
+
+    /**
+     * Все версии всех стран (для выгрузки снимка в файл).
+     */
+    public List<Country> allCountries() {
+        return flatten(countries);
+    }
+
+    public List<MedicalRiskLimitLevel> allMedicalLevels() {
+        return flatten(medicalLevels);
+    }
+
+    public List<Risk> allRisks() {
+        return flatten(risks);
+    }
+
+    /**
+     * Тарифные таблицы расчёта; пусто, если снимок собран без них.
+     */
+    public Optional<TariffTables> getTariffTables() {
+        return Optional.ofNullable(tariffTables);
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public long getTariffVersion() {
+        return tariffVersion;
+    }
+
+    public String getRevision() {
+        return revision;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public boolean isEmpty() {
+        return countries.isEmpty() && medicalLevels.isEmpty() && risks.isEmpty();
+    }
+
+    public Optional<LocalDate> getPinnedDate() {
+        return Optional.ofNullable(pinnedDate);
+    }
+
+    // ── Вспомогательные методы ────────────────────────────────────────────────
+
+    private LocalDate effective(LocalDate date) {
+        return pinnedDate != null ? pinnedDate : date;
+    }
+
+    private static <T> Map<String, List<T>> group(Collection<T> items, Function<T, String> key) {
+        Map<String, List<T>> result = new TreeMap<>();
+        for (T item : items) {
+            result.computeIfAbsent(key.apply(item), k -> new ArrayList<>()).add(item);
+        }
+        result.replaceAll((k, v) -> List.copyOf(v));
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static <T> List<T> flatten(Map<String, List<T>> index) {
+        List<T> result = new ArrayList<>();
+        index.values().forEach(result::addAll);
+        return List.copyOf(result);
+    }
+
+    private static <T> void collectEffectiveDates(
+            Map<String, List<T>> index,
+            Function<T, LocalDate> validFrom,
+            Function<T, LocalDate> validTo,
+            LocalDate after,
+            LocalDate until,
+            Set<LocalDate> target) {
+        for (List<T> versions : index.values()) {
+            for (T item : versions) {
+                addIfWithin(validFrom.apply(item), after, until, target);
+                LocalDate to = validTo.apply(item);
+                if (to != null) {
+                    addIfWithin(to.plusDays(1), after, until, target);
+                }
+            }
+        }
+    }
+
+    private static void addIfWithin(LocalDate date, LocalDate after, LocalDate until, Set<LocalDate> target) {
+        if (date != null && date.isAfter(after) && !date.isAfter(until)) {
+            target.add(date);
+        }
+    }
+
+    private static <T> Optional<T> findActive(
+            Map<String, List<T>> index, String code, LocalDate date, Predicate<T> isActive) {
+        if (code == null || date == null) {
+            return Optional.empty();
+        }
+        List<T> versions = index.get(code);
+        if (versions == null) {
+            return Optional.empty();
+        }
+        for (T item : versions) {
+            if (isActive.test(item)) {
+                return Optional.of(item);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static <T> List<T> active(
+            Map<String, List<T>> index, Predicate<T> isActive, Comparator<T> order) {
+        List<T> result = new ArrayList<>();
+        for (List<T> versions : index.values()) {
+            for (T item : versions) {
+                if (isActive.test(item)) {
+                    result.add(item);
+                    break;
+                }
+            }
+        }
+        result.sort(order);
+        return List.copyOf(result);
+    }
+
+    /**
+     * Версия вычисляется по каноническому текстовому представлению записей.
+     * Ключи отсортированы (TreeMap), версии внутри кода — по validFrom.
+     */
+    private static String computeVersion(
+            Map<String, List<Country>> countries,
+            Map<String, List<MedicalRiskLimitLevel>> levels,
+            Map<String, List<Risk>> risks,
+            TariffTables tariffTables) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            appendAll(digest, countries, Country::getValidFrom, c -> String.join("|",
+                    c.getIsoCode().value(), c.getNameEn(), c.getNameRu(),
+                    c.getRiskGroup().name(), c.getRiskCoefficient().value().toPlainString(),
+                    String.valueOf(c.getValidFrom()), String.valueOf(c.getValidTo())));
+            appendAll(digest, levels, MedicalRiskLimitLevel::getValidFrom, l -> String.join("|",
+                    l.getCode(), l.getCoverageAmount().toPlainString(), l.getDailyRate().toPlainString(),
+                    l.getCurrency().name(), String.valueOf(l.getMaxPayoutAmount()),
+                    String.valueOf(l.getValidFrom()), String.valueOf(l.getValidTo())));
+            appendAll(digest, risks, Risk::getValidFrom, r -> String.join("|",
+                    r.getCode().value(), r.getNameEn(), r.getNameRu(),
+                    r.getBaseCoefficient().value().toPlainString(), String.valueOf(r.isMandatory()),
+                    String.valueOf(r.getDescription()),
+                    String.valueOf(r.getValidFrom()), String.valueOf(r.getValidTo())));
+            if (tariffTables != null) {
+                for (String row : tariffTables.canonicalRows()) {
+                    digest.update(row.getBytes(StandardCharsets.UTF_8));
+                    digest.update((byte) '\n');
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest()).substring(0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static <T> void appendAll(
+            MessageDigest digest,
+            Map<String, List<T>> index,
+            Function<T, LocalDate> validFrom,
+            Function<T, String> canonical) {
+        for (List<T> versions : index.values()) {
+            versions.stream()
+                    .sorted(Comparator.comparing(validFrom, Comparator.nullsFirst(Comparator.naturalOrder())))
+                    .forEach(item -> {
+                        digest.update(canonical.apply(item).getBytes(StandardCharsets.UTF_8));
+                        digest.update((byte) '\n');
+                    });
+        }
+        digest.update((byte) 0);
+    }
+}
@@ -0,0 +1,281 @@
+package org.javaguru.travel.insurance.core.reference;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.core.metrics.StartupTimeline;
+import org.javaguru.travel.insurance.infrastructure.persistence.mapper.CountryMapper;
+import org.javaguru.travel.insurance.infrastructure.persistence.mapper.MedicalLevelMapper;
+import org.javaguru.travel.insurance.infrastructure.persistence.mapper.RiskMapper;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.AgeCoefficientRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.AgeRiskCoefficientRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.CountryDefaultDayPremiumRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.CountryRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.DiscountRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.MedicalRiskLimitLevelRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.ReferenceDataVersionRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.RiskBundleRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.RiskTypeRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.TripDurationCoefficientRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.routing.PrimaryReads;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Держит актуальный снимок справочных данных в памяти.
+ *
+ * ЗАЧЕМ:
+ *   Фронтенды запрашивают справочники (страны, уровни покрытия, риски)
+ *   при каждой загрузке страницы, а расчёт премии читает ещё и тарифные
+ *   таблицы (коэффициенты, пакеты, скидки, дефолтные премии). Чтение из БД
+ *   на каждый такой запрос избыточно — данные меняются редко.
+ *
+ * ЖИЗНЕННЫЙ ЦИКЛ:
+ *   - Первая загрузка — после создания синглтонов, до открытия HTTP-порта
+ *     (SmartInitializingSingleton). Если снимок уже засеян из файла
+ *     (ReferenceSnapshotFileLoader), сверка с БД идёт в фоне (refreshExecutor)
+ *     по ApplicationReadyEvent.
+ *   - current() никогда не грузит снимок в потоке запроса: пока снимок пуст
+ *     (БД была недоступна или пуста при старте), он ставит загрузку в фон,
+ *     а расчёт премий читает справочники из БД (пустой снимок к потоку
+ *     не привязывается).
+ *   - Периодическое обновление — reference.snapshot.refresh-interval-ms (по умолчанию 5 минут).
+ *   - Новый снимок подменяется атомарно; читатели всегда видят целостную версию.
+ *   - При ошибке загрузки остаётся предыдущий снимок.
+ *   - Смену тарифа на других узлах подхватывает TariffVersionPoller
+ *     по счётчику reference_data_version — за секунды, а не за период таймера.
+ *
+ * СОГЛАСОВАННОСТЬ С СЧЁТЧИКОМ:
+ *   Таблицы читаются отдельными запросами, поэтому правка тарифа может
+ *   попасть между ними. Счётчик читается до и после загрузки; если он
+ *   изменился — загрузка повторяется (до LOAD_ATTEMPTS раз). Снимок
+ *   помечается значением счётчика, при котором все таблицы прочитаны.
+ *   Счётчик и таблицы читаются с основной БД (PrimaryReads), как и счётчик
+ *   в TariffConsistencyGuard и TariffVersionPoller.
+ *
+ * ПОТРЕБИТЕЛИ:
+ *   - справочные эндпоинты и веб-форма;
+ *   - расчёт премий: одиночные V2/V3 запросы (TariffConsistencyGuard),
+ *     батч, поток и переоценка привязывают снимок к потоку (ReferenceDataScope)
+ *     и читают справочники и тарифные таблицы из него.
+ *   Вне привязки (валидация запроса, пустой снимок) — ReferenceDataPort из БД.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReferenceDataSnapshotService implements SmartInitializingSingleton {
+
+    private final CountryRepository countryRepository;
+    private final MedicalRiskLimitLevelRepository medicalLevelRepository;
+    private final RiskTypeRepository riskTypeRepository;
+    private final CountryMapper countryMapper;
+    private final MedicalLevelMapper medicalLevelMapper;
+    private final RiskMapper riskMapper;
+    private final ReferenceDataVersionRepository versionRepository;
+    private final AgeCoefficientRepository ageCoefficientRepository;
+    private final AgeRiskCoefficientRepository ageRiskCoefficientRepository;
+    private final TripDurationCoefficientRepository durationCoefficientRepository;
+    private final RiskBundleRepository riskBundleRepository;
+    private final DiscountRepository discountRepository;
+    private final CountryDefaultDayPremiumRepository defaultDayPremiumRepository;
+
+    private static final int LOAD_ATTEMPTS = 3;
+
+    private final AtomicReference<ReferenceDataSnapshot> current =
+            new AtomicReference<>(ReferenceDataSnapshot.empty());
+    private final AtomicBoolean backgroundRefreshPending = new AtomicBoolean();
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reference-snapshot-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Текущий снимок. Не обращается к БД.
+     *
+     * Если снимок пуст (БД была недоступна или пуста при старте) — загрузка
+     * ставится в фон, а вызывающий получает пустой снимок.
+     */
+    public ReferenceDataSnapshot current() {
+        ReferenceDataSnapshot snapshot = current.get();
+        if (snapshot.isEmpty()) {
+            refreshInBackground();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Первая загрузка из БД — до того, как HTTP-порт начнёт принимать запросы.
+     * Снимок из файла уже засеян к этому моменту; его сверка — по ApplicationReadyEvent.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (current.get().isEmpty()) {
+            refresh();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (current.get().isEmpty()) {
+            return;
+        }
+        log.info("Reconciling seeded reference snapshot {} with the database in background",
+                current.get().getRevision());
+        try {
+            refreshExecutor.execute(this::refresh);
+        } catch (RejectedExecutionException e) {
+            log.warn("Reference snapshot reconcile not scheduled: refresh executor is shut down");
+        }
+    }
+
+    /**
+     * Публикует снимок, полученный не из БД (файл снимка), если своего ещё нет.
+     *
+     * @return true, если снимок опубликован
+     */
+    public boolean seed(ReferenceDataSnapshot snapshot) {
+        ReferenceDataSnapshot existing = current.get();
+        if (snapshot.isEmpty() || !existing.isEmpty() || !current.compareAndSet(existing, snapshot)) {
+            return false;
+        }
+        StartupTimeline.markSnapshotReady("file");
+        log.info("Reference data snapshot seeded: revision {}", snapshot.getRevision());
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    @Scheduled(
+            initialDelayString = "${reference.snapshot.refresh-interval-ms:300000}",
+            fixedDelayString = "${reference.snapshot.refresh-interval-ms:300000}"
+    )
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    /**
+     * Перечитывает справочники из БД и атомарно подменяет снимок.
+     *
+     * @return актуальный снимок (новый, либо предыдущий при ошибке загрузки)
+     */
+    public synchronized ReferenceDataSnapshot refresh() {
+        try {
+            ReferenceDataSnapshot loaded = load();
+            ReferenceDataSnapshot previous = current.get();
+            if (loaded.getRevision().equals(previous.getRevision())) {
+                return previous;
+            }
+            current.set(loaded);
+            if (!loaded.isEmpty()) {
+                StartupTimeline.markSnapshotReady("database");
+            }
+            log.info("Reference data snapshot loaded: revision {} (previous {})",
+                    loaded.getRevision(), previous.getRevision());
+            return loaded;
+        } catch (RuntimeException e) {
+            log.error("Failed to reload reference data snapshot, keeping revision {}",
+                    current.get().getRevision(), e);
+            return current.get();
+        }
+    }
+
+    /**
+     * Перезагружает снимок, если он загружен не при версии тарифа tariffVersion.
+     *
+     * Версия перепроверяется под той же блокировкой, что и refresh: из запросов,
+     * одновременно увидевших новую версию, снимок загружает первый, остальные
+     * дожидаются его и получают уже загруженный снимок без второго чтения БД.
+     */
+    public synchronized ReferenceDataSnapshot refreshUnlessLoadedAt(long tariffVersion) {
+        ReferenceDataSnapshot snapshot = current.get();
+        return snapshot.getTariffVersion() == tariffVersion ? snapshot : refresh();
+    }
+
+    /**
+     * Ставит загрузку в фон; повторные вызовы, пока загрузка ждёт в очереди, схлопываются.
+     */
+    private void refreshInBackground() {
+        if (!backgroundRefreshPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                backgroundRefreshPending.set(false);
+                refresh();
+            });
+        } catch (RejectedExecutionException e) {
+            backgroundRefreshPending.set(false);
+        }
+    }
+
+    /**
+     * Версия тарифа, при которой загружен текущий снимок. Не загружает снимок.
+     */
+    public long loadedTariffVersion() {
+        return current.get().getTariffVersion();
+    }
+
+    /**
+     * Текущее значение счётчика версии тарифа на основной БД.
+     *
+     * 0, если строки счётчика нет (H2 в тестах — без триггеров).
+     */
+    public long readTariffVersion() {
+        return PrimaryReads.call(() -> versionRepository.findCurrentVersion().orElse(0L));
+    }
+
+    /**
+     * Счётчик и таблицы — с основной БД (PrimaryReads): findAll репозиториев
+     * идёт в readOnly-транзакции и без этого ушёл бы на реплику, и снимок
+     * получил бы версию, при которой его таблицы не читались.
+     */
+    private ReferenceDataSnapshot load() {
+        return PrimaryReads.call(this::loadConsistent);
+    }
+
+    private ReferenceDataSnapshot loadConsistent() {
+        long before = readTariffVersion();
+        for (int attempt = 1; ; attempt++) {
+            ReferenceDataSnapshot loaded = ReferenceDataSnapshot.of(
+                    countryRepository.findAll().stream().map(countryMapper::toDomain).toList(),
+                    medicalLevelRepository.findAll().stream().map(medicalLevelMapper::toDomain).toList(),
+                    riskTypeRepository.findAll().stream().map(riskMapper::toDomain).toList(),
+                    loadTariffTables(),
+                    Instant.now()
+            );
+            long after = readTariffVersion();
+            if (after == before || attempt == LOAD_ATTEMPTS) {
+                if (after != before) {
+                    log.warn("Tariff version kept changing during snapshot load ({} -> {}), using {}",
+                            before, after, before);
+                }
+                return loaded.withTariffVersion(before);
+            }
+            before = after;
+        }
+    }
+
+    private TariffTables loadTariffTables() {
+        return new TariffTables(
+                ageCoefficientRepository.findAll().stream().map(TariffTables.AgeCoefficient::from).toList(),
+                ageRiskCoefficientRepository.findAll().stream().map(TariffTables.AgeRiskModifier::from).toList(),
+                durationCoefficientRepository.findAll().stream().map(TariffTables.DurationCoefficient::from).toList(),
+                riskBundleRepository.findAll().stream().map(TariffTables.RiskBundle::from).toList(),
+                discountRepository.findAll().stream().map(TariffTables.Discount::from).toList(),
+                defaultDayPremiumRepository.findAll().stream().map(TariffTables.DefaultDayPremium::from).toList());
+    }
+}
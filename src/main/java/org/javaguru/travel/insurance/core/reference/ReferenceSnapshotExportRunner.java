@@ -0,0 +1,55 @@
+package org.javaguru.travel.insurance.core.reference;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Выгрузка снимка справочников в бинарный файл из командной строки.
+ *
+ * Активируется только при заданном reference.snapshot.export, например:
+ * <pre>
+ *   java -jar app.jar --spring.main.web-application-type=none \
+ *        --reference.snapshot.export=/data/reference.snapshot
+ * </pre>
+ * Снимок читается из БД и записывается атомарно, затем контекст закрывается
+ * и main завершается сам — JVM выходит с кодом 0. Пустые справочники —
+ * исключение из runner: старт приложения завершается ошибкой, код выхода
+ * ненулевой, файл не пишется. System.exit не вызывается, поэтому runner
+ * не обрывает JVM, в которой запущен (тесты, встраивание).
+ * Узлы подключают файл через reference.snapshot.file.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "reference.snapshot.export")
+public class ReferenceSnapshotExportRunner implements ApplicationRunner {
+
+    private final ReferenceDataSnapshotService snapshotService;
+    private final Environment environment;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Path output = Path.of(environment.getRequiredProperty("reference.snapshot.export"));
+        ReferenceDataSnapshot snapshot = snapshotService.refresh();
+
+        if (snapshot.isEmpty()) {
+            throw new IllegalStateException("Reference data is empty, snapshot file " + output + " not written");
+        }
+        ReferenceSnapshotFile.write(snapshot, output);
+        log.info("Reference snapshot {} exported to {} ({} bytes)",
+                snapshot.getRevision(), output, Files.size(output));
+
+        SpringApplication.exit(applicationContext);
+    }
+}
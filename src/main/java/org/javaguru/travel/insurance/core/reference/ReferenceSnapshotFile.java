@@ -0,0 +1,410 @@
+package org.javaguru.travel.insurance.core.reference;
+
+import org.javaguru.travel.insurance.domain.model.entity.Country;
+import org.javaguru.travel.insurance.domain.model.entity.MedicalRiskLimitLevel;
+import org.javaguru.travel.insurance.domain.model.entity.Risk;
+import org.javaguru.travel.insurance.domain.model.valueobject.Coefficient;
+import org.javaguru.travel.insurance.domain.model.valueobject.CountryCode;
+import org.javaguru.travel.insurance.domain.model.valueobject.Currency;
+import org.javaguru.travel.insurance.domain.model.valueobject.RiskCode;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Бинарный файл снимка справочников для быстрого холодного старта.
+ *
+ * ЗАЧЕМ:
+ *   Новый узел до первой загрузки из БД отвечает справочникам пустым снимком,
+ *   а при масштабировании под нагрузкой все новые узлы одновременно читают
+ *   одни и те же таблицы. Файл, выгруженный заранее, отображается в память
+ *   за миллисекунды; сверка с БД идёт в фоне.
+ *
+ * ФОРМАТ (big-endian):
+ *   magic "TIRS" | версия формата (short) | счётчик версии тарифа (long) |
+ *   версия содержимого (string) | loadedAt (epoch millis) |
+ *   страны | уровни покрытия | риски | есть ли тарифные таблицы (boolean) |
+ *   [коэффициенты возраста | возраст×риск | длительности | пакеты | скидки |
+ *   дефолтные премии] | CRC32 всего предыдущего (long).
+ *   Раздел — число записей (int) и записи; строка — длина UTF-8 (int,
+ *   -1 для null) и байты; BigDecimal — строкой; дата — epoch day (long,
+ *   Long.MIN_VALUE для null); Integer — int, Integer.MIN_VALUE для null.
+ *
+ * ВЕРСИИ ФОРМАТА:
+ *   1 — только страны, уровни покрытия и риски;
+ *   2 — плюс тарифные таблицы (TariffTables): узел с файлом считает
+ *       первые котировки без обращения к тарифным таблицам БД.
+ *   Файл версии 1 отклоняется — узел стартует с загрузкой из БД,
+ *   файл нужно выгрузить заново.
+ *
+ * ЦЕЛОСТНОСТЬ:
+ *   При чтении проверяются magic, версия формата, CRC32 и совпадение
+ *   записанной версии содержимого с пересчитанной по записям.
+ *   Любое несовпадение — IOException: узел стартует без файла.
+ */
+public final class ReferenceSnapshotFile {
+
+    static final int MAGIC = 0x54495253; // "TIRS"
+    static final short FORMAT_VERSION = 2;
+
+    private static final long NULL_DATE = Long.MIN_VALUE;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+
+    private ReferenceSnapshotFile() {
+    }
+
+    /**
+     * Записывает снимок атомарно: во временный файл рядом, затем переименование.
+     * Читатели никогда не видят недописанный файл.
+     */
+    public static void write(ReferenceDataSnapshot snapshot, Path path) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+        DataOutputStream out = new DataOutputStream(buffer);
+        out.writeInt(MAGIC);
+        out.writeShort(FORMAT_VERSION);
+        out.writeLong(snapshot.getTariffVersion());
+        writeString(out, snapshot.getVersion());
+        out.writeLong(snapshot.getLoadedAt().toEpochMilli());
+
+        List<Country> countries = snapshot.allCountries();
+        out.writeInt(countries.size());
+        for (Country c : countries) {
+            writeString(out, c.getIsoCode().value());
+            writeString(out, c.getNameEn());
+            writeString(out, c.getNameRu());
+            writeString(out, c.getRiskGroup().name());
+            writeDecimal(out, c.getRiskCoefficient().value());
+            writeDate(out, c.getValidFrom());
+            writeDate(out, c.getValidTo());
+        }
+
+        List<MedicalRiskLimitLevel> levels = snapshot.allMedicalLevels();
+        out.writeInt(levels.size());
+        for (MedicalRiskLimitLevel l : levels) {
+            writeString(out, l.getCode());
+            writeDecimal(out, l.getCoverageAmount());
+            writeDecimal(out, l.getDailyRate());
+            writeString(out, l.getCurrency().name());
+            writeDecimal(out, l.getMaxPayoutAmount());
+            writeDate(out, l.getValidFrom());
+            writeDate(out, l.getValidTo());
+        }
+
+        List<Risk> risks = snapshot.allRisks();
+        out.writeInt(risks.size());
+        for (Risk r : risks) {
+            writeString(out, r.getCode().value());
+            writeString(out, r.getNameEn());
+            writeString(out, r.getNameRu());
+            writeDecimal(out, r.getBaseCoefficient().value());
+            out.writeBoolean(r.isMandatory());
+            writeString(out, r.getDescription());
+            writeDate(out, r.getValidFrom());
+            writeDate(out, r.getValidTo());
+        }
+
+        TariffTables tables = snapshot.getTariffTables().orElse(null);
+        out.writeBoolean(tables != null);
+        if (tables != null) {
+            writeTariffTables(out, tables);
+        }
+        out.flush();
+
+        byte[] body = buffer.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(body);
+
+        Path target = path.toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(temp))) {
+            DataOutputStream data = new DataOutputStream(file);
+            data.write(body);
+            data.writeLong(crc.getValue());
+            data.flush();
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Отображает файл в память и восстанавливает снимок.
+     *
+     * @throws IOException если файл повреждён, другого формата или не совпадает версия содержимого
+     */
+    public static ReferenceDataSnapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < Integer.BYTES + Short.BYTES + Long.BYTES) {
+                throw new IOException("Reference snapshot file " + path + " is truncated");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return decode(mapped, path);
+        }
+    }
+
+    private static ReferenceDataSnapshot decode(ByteBuffer buffer, Path path) throws IOException {
+        ByteBuffer body = buffer.duplicate().limit(buffer.limit() - Long.BYTES);
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        if (crc.getValue() != buffer.getLong(buffer.limit() - Long.BYTES)) {
+            throw new IOException("Reference snapshot file " + path + " failed checksum verification");
+        }
+
+        try {
+            if (body.getInt() != MAGIC) {
+                throw new IOException(path + " is not a reference snapshot file");
+            }
+            short format = body.getShort();
+            if (format != FORMAT_VERSION) {
+                throw new IOException("Unsupported reference snapshot format " + format + " in " + path);
+            }
+            long tariffVersion = body.getLong();
+            String version = readString(body);
+            Instant loadedAt = Instant.ofEpochMilli(body.getLong());
+
+            int countryCount = body.getInt();
+            List<Country> countries = new ArrayList<>(countryCount);
+            for (int i = 0; i < countryCount; i++) {
+                countries.add(new Country(
+                        new CountryCode(readString(body)),
+                        readString(body),
+                        readString(body),
+                        Country.RiskGroup.valueOf(readString(body)),
+                        new Coefficient(readDecimal(body)),
+                        readDate(body),
+                        readDate(body)));
+            }
+
+            int levelCount = body.getInt();
+            List<MedicalRiskLimitLevel> levels = new ArrayList<>(levelCount);
+            for (int i = 0; i < levelCount; i++) {
+                levels.add(new MedicalRiskLimitLevel(
+                        readString(body),
+                        readDecimal(body),
+                        readDecimal(body),
+                        Currency.valueOf(readString(body)),
+                        readDecimal(body),
+                        readDate(body),
+                        readDate(body)));
+            }
+
+            int riskCount = body.getInt();
+            List<Risk> risks = new ArrayList<>(riskCount);
+            for (int i = 0; i < riskCount; i++) {
+                risks.add(new Risk(
+                        new RiskCode(readString(body)),
+                        readString(body),
+                        readString(body),
+                        new Coefficient(readDecimal(body)),
+                        body.get() != 0,
+                        readString(body),
+                        readDate(body),
+                        readDate(body)));
+            }
+
+            TariffTables tables = body.get() != 0 ? readTariffTables(body) : null;
+            if (body.hasRemaining()) {
+                throw new IOException("Reference snapshot file " + path + " has trailing bytes");
+            }
+
+            ReferenceDataSnapshot snapshot = ReferenceDataSnapshot.of(countries, levels, risks, tables, loadedAt)
+                    .withTariffVersion(tariffVersion);
+            if (!snapshot.getVersion().equals(version)) {
+                throw new IOException("Reference snapshot file " + path + " content version "
+                        + snapshot.getVersion() + " does not match recorded " + version);
+            }
+            return snapshot;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Reference snapshot file " + path + " is malformed", e);
+        }
+    }
+
+    // ── Тарифные таблицы ──────────────────────────────────────────────────────
+
+    private static void writeTariffTables(DataOutputStream out, TariffTables tables) throws IOException {
+        out.writeInt(tables.ageCoefficients().size());
+        for (TariffTables.AgeCoefficient a : tables.ageCoefficients()) {
+            out.writeInt(a.ageFrom());
+            out.writeInt(a.ageTo());
+            writeDecimal(out, a.coefficient());
+            writeString(out, a.description());
+            writeDate(out, a.validFrom());
+            writeDate(out, a.validTo());
+        }
+
+        out.writeInt(tables.ageRiskModifiers().size());
+        for (TariffTables.AgeRiskModifier m : tables.ageRiskModifiers()) {
+            writeString(out, m.riskCode());
+            out.writeInt(m.ageFrom());
+            out.writeInt(m.ageTo());
+            writeDecimal(out, m.coefficientModifier());
+            writeString(out, m.description());
+            writeDate(out, m.validFrom());
+            writeDate(out, m.validTo());
+        }
+
+        out.writeInt(tables.durationCoefficients().size());
+        for (TariffTables.DurationCoefficient d : tables.durationCoefficients()) {
+            out.writeInt(d.daysFrom());
+            out.writeInt(d.daysTo());
+            writeDecimal(out, d.coefficient());
+            writeString(out, d.description());
+            writeDate(out, d.validFrom());
+            writeDate(out, d.validTo());
+        }
+
+        out.writeInt(tables.riskBundles().size());
+        for (TariffTables.RiskBundle b : tables.riskBundles()) {
+            writeString(out, b.code());
+            writeString(out, b.nameEn());
+            writeDecimal(out, b.discountPercentage());
+            writeString(out, b.requiredRisks());
+            out.writeBoolean(b.active());
+            writeDate(out, b.validFrom());
+            writeDate(out, b.validTo());
+        }
+
+        out.writeInt(tables.discounts().size());
+        for (TariffTables.Discount d : tables.discounts()) {
+            writeString(out, d.code());
+            writeString(out, d.name());
+            writeString(out, d.discountType());
+            writeDecimal(out, d.discountPercentage());
+            out.writeInt(d.minPersonsCount() == null ? NULL_INT : d.minPersonsCount());
+            writeDecimal(out, d.minPremiumAmount());
+            out.writeBoolean(d.active());
+            writeDate(out, d.validFrom());
+            writeDate(out, d.validTo());
+        }
+
+        out.writeInt(tables.defaultDayPremiums().size());
+        for (TariffTables.DefaultDayPremium p : tables.defaultDayPremiums()) {
+            writeString(out, p.countryIsoCode());
+            writeDecimal(out, p.defaultDayPremium());
+            writeString(out, p.currency());
+            writeString(out, p.description());
+            writeDate(out, p.validFrom());
+            writeDate(out, p.validTo());
+        }
+    }
+
+    private static TariffTables readTariffTables(ByteBuffer body) {
+        int count = body.getInt();
+        List<TariffTables.AgeCoefficient> ageCoefficients = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ageCoefficients.add(new TariffTables.AgeCoefficient(
+                    body.getInt(), body.getInt(), readDecimal(body), readString(body),
+                    readDate(body), readDate(body)));
+        }
+
+        count = body.getInt();
+        List<TariffTables.AgeRiskModifier> ageRiskModifiers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ageRiskModifiers.add(new TariffTables.AgeRiskModifier(
+                    readString(body), body.getInt(), body.getInt(), readDecimal(body), readString(body),
+                    readDate(body), readDate(body)));
+        }
+
+        count = body.getInt();
+        List<TariffTables.DurationCoefficient> durationCoefficients = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            durationCoefficients.add(new TariffTables.DurationCoefficient(
+                    body.getInt(), body.getInt(), readDecimal(body), readString(body),
+                    readDate(body), readDate(body)));
+        }
+
+        count = body.getInt();
+        List<TariffTables.RiskBundle> riskBundles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            riskBundles.add(new TariffTables.RiskBundle(
+                    readString(body), readString(body), readDecimal(body), readString(body), body.get() != 0,
+                    readDate(body), readDate(body)));
+        }
+
+        count = body.getInt();
+        List<TariffTables.Discount> discounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            discounts.add(new TariffTables.Discount(
+                    readString(body), readString(body), readString(body), readDecimal(body),
+                    readInteger(body), readDecimal(body), body.get() != 0,
+                    readDate(body), readDate(body)));
+        }
+
+        count = body.getInt();
+        List<TariffTables.DefaultDayPremium> defaultDayPremiums = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            defaultDayPremiums.add(new TariffTables.DefaultDayPremium(
+                    readString(body), readDecimal(body), readString(body), readString(body),
+                    readDate(body), readDate(body)));
+        }
+
+        return new TariffTables(ageCoefficients, ageRiskModifiers, durationCoefficients,
+                riskBundles, discounts, defaultDayPremiums);
+    }
+
+    // ── Примитивы ─────────────────────────────────────────────────────────────
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        writeString(out, value == null ? null : value.toPlainString());
+    }
+
+    private static BigDecimal readDecimal(ByteBuffer in) {
+        String value = readString(in);
+        return value == null ? null : new BigDecimal(value);
+    }
+
+    private static Integer readInteger(ByteBuffer in) {
+        int value = in.getInt();
+        return value == NULL_INT ? null : value;
+    }
+
+    private static void writeDate(DataOutputStream out, LocalDate date) throws IOException {
+        out.writeLong(date == null ? NULL_DATE : date.toEpochDay());
+    }
+
+    private static LocalDate readDate(ByteBuffer in) {
+        long epochDay = in.getLong();
+        return epochDay == NULL_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+}
@@ -0,0 +1,61 @@
+package org.javaguru.travel.insurance.core.reference;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Засевает снимок справочников из бинарного файла при старте узла.
+ *
+ * Включается свойством reference.snapshot.file (путь к файлу, выгруженному
+ * ReferenceSnapshotExportRunner). Файл читается при создании бина — до того,
+ * как узел начнёт принимать запросы; сверку с БД затем выполняет
+ * ReferenceDataSnapshotService в фоне, а смену тарифа подхватывает
+ * TariffVersionPoller.
+ *
+ * Отсутствующий или повреждённый файл не мешает старту: узел загружает
+ * снимок из БД, как без файла.
+ */
+@Slf4j
+@Component
+public class ReferenceSnapshotFileLoader {
+
+    private final ReferenceDataSnapshotService snapshotService;
+    private final String file;
+
+    public ReferenceSnapshotFileLoader(
+            ReferenceDataSnapshotService snapshotService,
+            @Value("${reference.snapshot.file:}") String file) {
+        this.snapshotService = snapshotService;
+        this.file = file;
+    }
+
+    @PostConstruct
+    public void seedFromFile() {
+        if (file.isBlank()) {
+            return;
+        }
+        Path path = Path.of(file);
+        if (!Files.isRegularFile(path)) {
+            log.info("Reference snapshot file {} not found, loading reference data from the database", path);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            ReferenceDataSnapshot snapshot = ReferenceSnapshotFile.read(path);
+            if (snapshotService.seed(snapshot)) {
+                log.info("Reference snapshot file {} mapped in {} ms: revision {}, exported at {}",
+                        path, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                        snapshot.getRevision(), snapshot.getLoadedAt());
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring reference snapshot file {}, loading from the database", path, e);
+        }
+    }
+}
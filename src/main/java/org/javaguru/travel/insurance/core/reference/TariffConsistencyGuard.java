@@ -0,0 +1,140 @@
+package org.javaguru.travel.insurance.core.reference;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.infrastructure.persistence.routing.PrimaryReads;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Гарантирует, что один запрос посчитан по одной версии тарифа.
+ *
+ * ПРОБЛЕМА:
+ *   Расчёт читает десяток тарифных таблиц отдельными запросами и частично
+ *   из кэшей. Правка тарифа, закоммиченная посреди расчёта, даёт цену
+ *   из смеси старых и новых коэффициентов.
+ *
+ * КАК РАБОТАЕТ (оптимистично, без блокировок):
+ *   - до стадии читается счётчик reference_data_version (один запрос по PK);
+ *     если узел ещё не видел эту версию — снимок перезагружается сразу,
+ *     не дожидаясь TariffVersionPoller, и кэш котировок сбрасывается.
+ *     Одновременные запросы с той же новой версией загружают снимок один раз
+ *     (refreshUnlessLoadedAt перепроверяет версию под блокировкой);
+ *   - стадия выполняется с привязанным снимком (ReferenceDataScope), если он
+ *     загружен при той же версии: справочники и тарифные таблицы читаются
+ *     из памяти, а не десятком запросов. Пустой или отставший снимок
+ *     (перезагрузка не удалась) не привязывается — стадия читает БД;
+ *   - после стадии счётчик читается снова. Триггеры увеличивают его в той же
+ *     транзакции, что и правку тарифа, поэтому равенство значений означает:
+ *     ни одна правка не стала видимой, пока шёл расчёт (это защищает и то,
+ *     что снимок не покрывает: настройки расчёта и андеррайтинга);
+ *   - иначе стадия повторяется (до reference.version.max-attempts раз),
+ *     затем — TariffVersionChangedException (HTTP 503 с Retry-After).
+ *
+ * Счётчик и все чтения стадии идут на основную БД (PrimaryReads), даже при
+ * настроенной реплике: версия, прочитанная на основной БД, ничего не говорит
+ * о таблицах на отстающей реплике.
+ *
+ * Стадия должна быть повторяемой: сюда оборачивается только расчёт,
+ * но не применение скидок (списание использований промокода).
+ *
+ * Если снимок уже привязан к потоку (батч, RepricingJob) — стадия выполняется
+ * как есть: согласованность задаёт вызывающий, закрепивший снимок на весь батч.
+ */
+@Slf4j
+@Component
+public class TariffConsistencyGuard {
+
+    static final String RETRIES_METRIC = "reference.tariff.retries";
+
+    private final ReferenceDataSnapshotService snapshotService;
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final Counter retries;
+
+    @Autowired
+    public TariffConsistencyGuard(
+            ReferenceDataSnapshotService snapshotService,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${reference.version.verify:true}") boolean enabled,
+            @Value("${reference.version.max-attempts:2}") int maxAttempts) {
+        this(snapshotService, meterRegistry.getIfAvailable(SimpleMeterRegistry::new), enabled, maxAttempts);
+    }
+
+    TariffConsistencyGuard(ReferenceDataSnapshotService snapshotService,
+                           MeterRegistry meterRegistry,
+                           boolean enabled,
+                           int maxAttempts) {
+        this.snapshotService = snapshotService;
+        this.enabled = enabled;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retries = Counter.builder(RETRIES_METRIC)
+                .description("Calculations repeated because the tariff changed mid-request")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Выключенная проверка без снимка: стадия выполняется как есть.
+     * Для сборки сервисов без Spring (тесты, бенчмарки).
+     */
+    public static TariffConsistencyGuard disabled() {
+        return new TariffConsistencyGuard(null, new SimpleMeterRegistry(), false, 1);
+    }
+
+    /**
+     * Выполняет стадию так, чтобы все её чтения относились к одной версии тарифа.
+     *
+     * @throws TariffVersionChangedException если тариф менялся во время каждой попытки
+     */
+    public <T> T call(Supplier<T> stage) {
+        if (snapshotService == null || ReferenceDataScope.current().isPresent()) {
+            return stage.get();
+        }
+        return PrimaryReads.call(() -> enabled
+                ? verified(stage)
+                : withSnapshot(snapshotService.current(), stage));
+    }
+
+    private <T> T verified(Supplier<T> stage) {
+        long initial = snapshotService.readTariffVersion();
+        long before = initial;
+        long after = initial;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            ReferenceDataSnapshot snapshot = before != snapshotService.loadedTariffVersion()
+                    ? snapshotService.refreshUnlessLoadedAt(before)
+                    : snapshotService.current();
+            T result = withSnapshot(snapshot.getTariffVersion() == before ? snapshot : null, stage);
+            after = snapshotService.readTariffVersion();
+            if (after == before) {
+                return result;
+            }
+            retries.increment();
+            log.info("Tariff version changed during calculation ({} -> {}), attempt {} of {}",
+                    before, after, attempt, maxAttempts);
+            before = after;
+        }
+        throw new TariffVersionChangedException(initial, after, maxAttempts);
+    }
+
+    /**
+     * Выполняет стадию с привязанным снимком; без снимка или с пустым — как есть.
+     */
+    private static <T> T withSnapshot(ReferenceDataSnapshot snapshot, Supplier<T> stage) {
+        if (snapshot == null || snapshot.isEmpty()) {
+            return stage.get();
+        }
+        try {
+            return ReferenceDataScope.callWith(snapshot, stage::get);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
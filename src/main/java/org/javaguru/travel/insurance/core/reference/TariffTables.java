@@ -0,0 +1,277 @@
+package org.javaguru.travel.insurance.core.reference;
+
+import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.AgeCoefficientEntity;
+import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.AgeRiskCoefficientEntity;
+import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.CountryDefaultDayPremiumEntity;
+import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.DiscountEntity;
+import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.RiskBundleEntity;
+import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.TripDurationCoefficientEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Тарифные таблицы расчёта премии в составе снимка справочников:
+ * коэффициенты возраста, длительности и возраст×риск, пакеты рисков,
+ * скидки и дефолтные дневные премии стран.
+ *
+ * ЗАЧЕМ:
+ *   Снимок со странами, уровнями покрытия и рисками закрывает только часть
+ *   расчёта — остальные таблицы читались бы из БД на каждый запрос.
+ *   С этими таблицами расчёт с привязанным снимком (ReferenceDataScope)
+ *   не обращается к тарифным таблицам вовсе.
+ *
+ * Как и снимок, хранит все temporal-версии; поиск «на дату» повторяет
+ * условия JPQL из репозиториев. При пересечении периодов берётся версия
+ * с самым поздним valid_from — как в JdbcReferenceDataAdapter.
+ *
+ * Записи — неизменяемые копии строк, а не JPA-сущности: снимок переживает
+ * persistence context, в котором был загружен.
+ */
+public final class TariffTables {
+
+    private static final Comparator<LocalDate> LATEST_FIRST =
+            Comparator.nullsLast(Comparator.<LocalDate>naturalOrder().reversed());
+
+    private final List<AgeCoefficient> ageCoefficients;
+    private final List<AgeRiskModifier> ageRiskModifiers;
+    private final List<DurationCoefficient> durationCoefficients;
+    private final List<RiskBundle> riskBundles;
+    private final List<Discount> discounts;
+    private final List<DefaultDayPremium> defaultDayPremiums;
+
+    public TariffTables(
+            Collection<AgeCoefficient> ageCoefficients,
+            Collection<AgeRiskModifier> ageRiskModifiers,
+            Collection<DurationCoefficient> durationCoefficients,
+            Collection<RiskBundle> riskBundles,
+            Collection<Discount> discounts,
+            Collection<DefaultDayPremium> defaultDayPremiums) {
+        this.ageCoefficients = List.copyOf(ageCoefficients);
+        this.ageRiskModifiers = List.copyOf(ageRiskModifiers);
+        this.durationCoefficients = List.copyOf(durationCoefficients);
+        this.riskBundles = List.copyOf(riskBundles);
+        this.discounts = List.copyOf(discounts);
+        this.defaultDayPremiums = List.copyOf(defaultDayPremiums);
+    }
+
+    public static TariffTables empty() {
+        return new TariffTables(List.of(), List.of(), List.of(), List.of(), List.of(), List.of());
+    }
+
+    // ── Поиск на дату ─────────────────────────────────────────────────────────
+
+    public Optional<AgeCoefficient> findAgeCoefficient(int age, LocalDate date) {
+        return latest(ageCoefficients, a -> a.covers(age) && isActiveOn(a.validFrom(), a.validTo(), date),
+                AgeCoefficient::validFrom);
+    }
+
+    public Optional<AgeRiskModifier> findAgeRiskModifier(String riskCode, int age, LocalDate date) {
+        return latest(ageRiskModifiers, m -> m.riskCode().equals(riskCode) && m.covers(age)
+                        && isActiveOn(m.validFrom(), m.validTo(), date),
+                AgeRiskModifier::validFrom);
+    }
+
+    /**
+     * Коэффициент длительности; при нескольких подходящих диапазонах —
+     * с наибольшим days_from (ORDER BY days_from DESC в репозитории).
+     */
+    public Optional<DurationCoefficient> findDurationCoefficient(int days, LocalDate date) {
+        return durationCoefficients.stream()
+                .filter(d -> d.covers(days) && isActiveOn(d.validFrom(), d.validTo(), date))
+                .min(Comparator.comparing(DurationCoefficient::daysFrom, Comparator.reverseOrder())
+                        .thenComparing(DurationCoefficient::validFrom, LATEST_FIRST));
+    }
+
+    public Optional<DefaultDayPremium> findDefaultDayPremium(String countryIsoCode, LocalDate date) {
+        return latest(defaultDayPremiums, p -> p.countryIsoCode().equals(countryIsoCode)
+                        && isActiveOn(p.validFrom(), p.validTo(), date),
+                DefaultDayPremium::validFrom);
+    }
+
+    /**
+     * Активные пакеты по убыванию скидки.
+     */
+    public List<RiskBundle> activeRiskBundles(LocalDate date) {
+        return riskBundles.stream()
+                .filter(b -> b.active() && isActiveOn(b.validFrom(), b.validTo(), date))
+                .sorted(Comparator.comparing(RiskBundle::discountPercentage).reversed())
+                .toList();
+    }
+
+    public List<Discount> activeDiscounts(LocalDate date) {
+        return discounts.stream()
+                .filter(d -> d.active() && isActiveOn(d.validFrom(), d.validTo(), date))
+                .toList();
+    }
+
+    // ── Все записи (выгрузка снимка в файл, версия содержимого) ───────────────
+
+    public List<AgeCoefficient> ageCoefficients() {
+        return ageCoefficients;
+    }
+
+    public List<AgeRiskModifier> ageRiskModifiers() {
+        return ageRiskModifiers;
+    }
+
+    public List<DurationCoefficient> durationCoefficients() {
+        return durationCoefficients;
+    }
+
+    public List<RiskBundle> riskBundles() {
+        return riskBundles;
+    }
+
+    public List<Discount> discounts() {
+        return discounts;
+    }
+
+    public List<DefaultDayPremium> defaultDayPremiums() {
+        return defaultDayPremiums;
+    }
+
+    /**
+     * Канонические строки всех записей, упорядоченные независимо от порядка
+     * загрузки, — для версии содержимого снимка.
+     */
+    List<String> canonicalRows() {
+        List<String> rows = new ArrayList<>();
+        addSorted(rows, "age", ageCoefficients, a -> join(
+                a.ageFrom(), a.ageTo(), a.coefficient(), a.description(), a.validFrom(), a.validTo()));
+        addSorted(rows, "age-risk", ageRiskModifiers, m -> join(
+                m.riskCode(), m.ageFrom(), m.ageTo(), m.coefficientModifier(), m.description(),
+                m.validFrom(), m.validTo()));
+        addSorted(rows, "duration", durationCoefficients, d -> join(
+                d.daysFrom(), d.daysTo(), d.coefficient(), d.description(), d.validFrom(), d.validTo()));
+        addSorted(rows, "bundle", riskBundles, b -> join(
+                b.code(), b.nameEn(), b.discountPercentage(), b.requiredRisks(), b.active(),
+                b.validFrom(), b.validTo()));
+        addSorted(rows, "discount", discounts, d -> join(
+                d.code(), d.name(), d.discountType(), d.discountPercentage(), d.minPersonsCount(),
+                d.minPremiumAmount(), d.active(), d.validFrom(), d.validTo()));
+        addSorted(rows, "default-premium", defaultDayPremiums, p -> join(
+                p.countryIsoCode(), p.defaultDayPremium(), p.currency(), p.description(),
+                p.validFrom(), p.validTo()));
+        return rows;
+    }
+
+    // ── Записи ────────────────────────────────────────────────────────────────
+
+    public record AgeCoefficient(
+            int ageFrom, int ageTo, BigDecimal coefficient, String description,
+            LocalDate validFrom, LocalDate validTo) {
+
+        public static AgeCoefficient from(AgeCoefficientEntity e) {
+            return new AgeCoefficient(e.getAgeFrom(), e.getAgeTo(), e.getCoefficient(), e.getDescription(),
+                    e.getValidFrom(), e.getValidTo());
+        }
+
+        boolean covers(int age) {
+            return age >= ageFrom && age <= ageTo;
+        }
+    }
+
+    public record AgeRiskModifier(
+            String riskCode, int ageFrom, int ageTo, BigDecimal coefficientModifier, String description,
+            LocalDate validFrom, LocalDate validTo) {
+
+        public static AgeRiskModifier from(AgeRiskCoefficientEntity e) {
+            return new AgeRiskModifier(e.getRiskTypeCode(), e.getAgeFrom(), e.getAgeTo(),
+                    e.getCoefficientModifier(), e.getDescription(), e.getValidFrom(), e.getValidTo());
+        }
+
+        boolean covers(int age) {
+            return age >= ageFrom && age <= ageTo;
+        }
+    }
+
+    public record DurationCoefficient(
+            int daysFrom, int daysTo, BigDecimal coefficient, String description,
+            LocalDate validFrom, LocalDate validTo) {
+
+        public static DurationCoefficient from(TripDurationCoefficientEntity e) {
+            return new DurationCoefficient(e.getDaysFrom(), e.getDaysTo(), e.getCoefficient(), e.getDescription(),
+                    e.getValidFrom(), e.getValidTo());
+        }
+
+        boolean covers(int days) {
+            return days >= daysFrom && days <= daysTo;
+        }
+    }
+
+    /**
+     * @param requiredRisks JSON-массив кодов рисков, как в risk_bundles.required_risks
+     */
+    public record RiskBundle(
+            String code, String nameEn, BigDecimal discountPercentage, String requiredRisks, boolean active,
+            LocalDate validFrom, LocalDate validTo) {
+
+        public static RiskBundle from(RiskBundleEntity e) {
+            return new RiskBundle(e.getCode(), e.getNameEn(), e.getDiscountPercentage(), e.getRequiredRisks(),
+                    Boolean.TRUE.equals(e.getIsActive()), e.getValidFrom(), e.getValidTo());
+        }
+    }
+
+    public record Discount(
+            String code, String name, String discountType, BigDecimal discountPercentage,
+            Integer minPersonsCount, BigDecimal minPremiumAmount, boolean active,
+            LocalDate validFrom, LocalDate validTo) {
+
+        public static Discount from(DiscountEntity e) {
+            return new Discount(e.getCode(), e.getName(), e.getDiscountType(), e.getDiscountPercentage(),
+                    e.getMinPersonsCount(), e.getMinPremiumAmount(), Boolean.TRUE.equals(e.getIsActive()),
+                    e.getValidFrom(), e.getValidTo());
+        }
+    }
+
+    public record DefaultDayPremium(
+            String countryIsoCode, BigDecimal defaultDayPremium, String currency, String description,
+            LocalDate validFrom, LocalDate validTo) {
+
+        public static DefaultDayPremium from(CountryDefaultDayPremiumEntity e) {
+            return new DefaultDayPremium(e.getCountryIsoCode(), e.getDefaultDayPremium(), e.getCurrency(),
+                    e.getDescription(), e.getValidFrom(), e.getValidTo());
+        }
+    }
+
+    // ── Вспомогательные методы ────────────────────────────────────────────────
+
+    private static boolean isActiveOn(LocalDate validFrom, LocalDate validTo, LocalDate date) {
+        return date != null
+                && !date.isBefore(validFrom)
+                && (validTo == null || !date.isAfter(validTo));
+    }
+
+    private static <T> Optional<T> latest(
+            List<T> rows, Predicate<T> matches, Function<T, LocalDate> validFrom) {
+        return rows.stream()
+                .filter(matches)
+                .min(Comparator.comparing(validFrom, LATEST_FIRST));
+    }
+
+    private static <T> void addSorted(List<String> target, String kind, List<T> rows, Function<T, String> canonical) {
+        rows.stream()
+                .map(row -> kind + "|" + canonical.apply(row))
+                .sorted()
+                .forEach(target::add);
+    }
+
+    private static String join(Object... values) {
+        StringBuilder line = new StringBuilder();
+        for (Object value : values) {
+            if (!line.isEmpty()) {
+                line.append('|');
+            }
+            line.append(value instanceof BigDecimal decimal ? decimal.toPlainString() : String.valueOf(value));
+        }
+        return line.toString();
+    }
+}
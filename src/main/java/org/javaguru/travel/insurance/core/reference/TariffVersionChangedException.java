@@ -0,0 +1,13 @@
+package org.javaguru.travel.insurance.core.reference;
+
+/**
+ * Тариф менялся во время каждой попытки расчёта — согласованный результат
+ * по одной версии тарифа получить не удалось.
+ */
+public class TariffVersionChangedException extends RuntimeException {
+
+    public TariffVersionChangedException(long before, long after, int attempts) {
+        super("Tariff version changed during calculation (" + before + " -> " + after
+                + ") in " + attempts + " attempts");
+    }
+}
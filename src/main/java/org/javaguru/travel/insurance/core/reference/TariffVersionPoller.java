@@ -0,0 +1,78 @@
+package org.javaguru.travel.insurance.core.reference;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Опрашивает счётчик версии тарифа и перезагружает снимок справочников
+ * при его изменении.
+ *
+ * ЗАЧЕМ:
+ *   Без опроса узел подхватывал правку тарифа только по таймеру обновления
+ *   снимка (5 минут), и узлы кластера всё это время отвечали разными ценами.
+ *   Опрос — один запрос по PK раз в reference.version.poll-interval-ms
+ *   (по умолчанию 2 секунды); перезагрузка — только при смене значения.
+ *
+ * Узлы сходятся за интервал опроса. Запросы, пришедшие раньше, догоняют
+ * версию сами через TariffConsistencyGuard.
+ *
+ * МЕТРИКИ:
+ *   reference.tariff.version (gauge) — последнее увиденное значение счётчика,
+ *   reference.tariff.reloads (counter) — перезагрузки снимка по смене версии.
+ */
+@Slf4j
+@Component
+public class TariffVersionPoller {
+
+    static final String VERSION_METRIC = "reference.tariff.version";
+    static final String RELOADS_METRIC = "reference.tariff.reloads";
+
+    private final ReferenceDataSnapshotService snapshotService;
+    private final AtomicLong observed = new AtomicLong();
+    private final Counter reloads;
+
+    @Autowired
+    public TariffVersionPoller(ReferenceDataSnapshotService snapshotService,
+                               ObjectProvider<MeterRegistry> meterRegistry) {
+        this(snapshotService, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    TariffVersionPoller(ReferenceDataSnapshotService snapshotService, MeterRegistry meterRegistry) {
+        this.snapshotService = snapshotService;
+        this.reloads = Counter.builder(RELOADS_METRIC)
+                .description("Reference snapshot reloads triggered by a tariff version change")
+                .register(meterRegistry);
+        Gauge.builder(VERSION_METRIC, observed, AtomicLong::get)
+                .description("Last observed tariff version counter")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${reference.version.poll-interval-ms:2000}",
+            fixedDelayString = "${reference.version.poll-interval-ms:2000}"
+    )
+    public void poll() {
+        try {
+            long version = snapshotService.readTariffVersion();
+            observed.set(version);
+            long loaded = snapshotService.loadedTariffVersion();
+            if (version != loaded) {
+                ReferenceDataSnapshot snapshot = snapshotService.refreshUnlessLoadedAt(version);
+                reloads.increment();
+                log.info("Tariff version {} -> {}: reference snapshot reloaded, revision {}",
+                        loaded, version, snapshot.getRevision());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Tariff version poll failed, will retry", e);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package org.javaguru.travel.insurance.core.services;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataScope;
+import org.javaguru.travel.insurance.core.reference.TariffTables;
 import org.javaguru.travel.insurance.infrastructure.persistence.repositories.AgeRiskCoefficientRepository;
 import org.springframework.stereotype.Service;
 
@@ -10,6 +12,7 @@ import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Сервис для расчета возрастных модификаторов рисков
@@ -34,7 +37,7 @@ public class AgeRiskPricingService {
     public BigDecimal getAgeRiskModifier(String riskCode, int age, LocalDate date) {
         log.debug("Getting age-risk modifier for risk '{}' and age {}", riskCode, age);
 
-        var modifierOpt = ageRiskRepository.findModifierForRiskAndAge(riskCode, age, date);
+        var modifierOpt = findModifier(riskCode, age, date);
 
         if (modifierOpt.isEmpty()) {
             log.debug("No age-risk modifier found for risk '{}' and age {}, using 1.0",
@@ -44,9 +47,9 @@ public class AgeRiskPricingService {
 
         var modifier = modifierOpt.get();
         log.debug("Found age-risk modifier for '{}' age {}: {} ({})",
-                riskCode, age, modifier.getCoefficientModifier(), modifier.getDescription());
+                riskCode, age, modifier.coefficientModifier(), modifier.description());
 
-        return modifier.getCoefficientModifier();
+        return modifier.coefficientModifier();
     }
 
     /**
@@ -113,7 +116,7 @@ public class AgeRiskPricingService {
             int age,
             LocalDate date) {
 
-        var modifierOpt = ageRiskRepository.findModifierForRiskAndAge(riskCode, age, date);
+        var modifierOpt = findModifier(riskCode, age, date);
 
         if (modifierOpt.isEmpty()) {
             return new AgeRiskPricingResult(
@@ -126,8 +129,8 @@ public class AgeRiskPricingService {
             );
         }
 
-        var modifierEntity = modifierOpt.get();
-        BigDecimal modifier = modifierEntity.getCoefficientModifier();
+        var modifierRow = modifierOpt.get();
+        BigDecimal modifier = modifierRow.coefficientModifier();
         BigDecimal modifiedCoefficient = baseCoefficient.multiply(modifier);
 
         return new AgeRiskPricingResult(
@@ -136,10 +139,21 @@ public class AgeRiskPricingService {
                 baseCoefficient,
                 modifier,
                 modifiedCoefficient,
-                modifierEntity.getDescription()
+                modifierRow.description()
         );
     }
 
+    /**
+     * Модификатор из снимка, привязанного к потоку, иначе из БД.
+     */
+    private Optional<TariffTables.AgeRiskModifier> findModifier(String riskCode, int age, LocalDate date) {
+        LocalDate on = ReferenceDataScope.lookupDate(date);
+        return ReferenceDataScope.tariffTables()
+                .map(tables -> tables.findAgeRiskModifier(riskCode, age, on))
+                .orElseGet(() -> ageRiskRepository.findModifierForRiskAndAge(riskCode, age, on)
+                        .map(TariffTables.AgeRiskModifier::from));
+    }
+
     /**
      * Результат расчета возрастного модификатора
      */
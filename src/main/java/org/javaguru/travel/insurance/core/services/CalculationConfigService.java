@@ -2,6 +2,7 @@ package org.javaguru.travel.insurance.core.services;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataScope;
 import org.javaguru.travel.insurance.infrastructure.persistence.repositories.CalculationConfigRepository;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
@@ -74,7 +75,7 @@ public class CalculationConfigService {
             log.debug("AgeCoefficient override from request: {}", requestOverride);
             return requestOverride;
         }
-        boolean fromDb = isAgeCoefficientEnabled(date);
+        boolean fromDb = isAgeCoefficientEnabled(ReferenceDataScope.lookupDate(date));
         log.debug("AgeCoefficient from DB config for date {}: {}", date, fromDb);
         return fromDb;
     }
@@ -2,7 +2,8 @@ package org.javaguru.travel.insurance.core.services;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.CountryDefaultDayPremiumEntity;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataScope;
+import org.javaguru.travel.insurance.core.reference.TariffTables;
 import org.javaguru.travel.insurance.infrastructure.persistence.repositories.CountryDefaultDayPremiumRepository;
 import org.springframework.stereotype.Service;
 
@@ -28,6 +29,10 @@ import java.util.Optional;
  * - COUNTRY_DEFAULT: базовая ставка берётся из country_default_day_premiums (зависит от страны)
  * - Коэффициент страны (risk_coefficient) НЕ применяется повторно, т.к. уже "запечён" в DEFAULT_DAY_PREMIUM
  *
+ * ИСТОЧНИК:
+ * Таблица из снимка справочников, привязанного к потоку (ReferenceDataScope),
+ * иначе — запрос в БД.
+ *
  * FALLBACK логика:
  * Если для страны нет записи в country_default_day_premiums, сервис возвращает
  * Optional.empty() — вызывающий код должен откатиться на стандартный расчёт.
@@ -66,25 +71,29 @@ public class CountryDefaultDayPremiumService {
             return Optional.empty();
         }
 
-        Optional<CountryDefaultDayPremiumEntity> entityOpt =
-                repository.findActiveByCountryAndDate(countryIsoCode.toUpperCase(), date);
+        String isoCode = countryIsoCode.toUpperCase();
+        LocalDate on = ReferenceDataScope.lookupDate(date);
+        Optional<TariffTables.DefaultDayPremium> rowOpt = ReferenceDataScope.tariffTables()
+                .map(tables -> tables.findDefaultDayPremium(isoCode, on))
+                .orElseGet(() -> repository.findActiveByCountryAndDate(isoCode, on)
+                        .map(TariffTables.DefaultDayPremium::from));
 
-        if (entityOpt.isEmpty()) {
+        if (rowOpt.isEmpty()) {
             log.info("No default day premium found for country '{}' on date {}. " +
                     "Fallback to standard calculation.", countryIsoCode, date);
             return Optional.empty();
         }
 
-        CountryDefaultDayPremiumEntity entity = entityOpt.get();
+        TariffTables.DefaultDayPremium row = rowOpt.get();
 
         log.debug("Found default day premium for country '{}': {} {}",
-                countryIsoCode, entity.getDefaultDayPremium(), entity.getCurrency());
+                countryIsoCode, row.defaultDayPremium(), row.currency());
 
         return Optional.of(new DefaultPremiumResult(
-                entity.getCountryIsoCode(),
-                entity.getDefaultDayPremium(),
-                entity.getCurrency(),
-                entity.getDescription()
+                row.countryIsoCode(),
+                row.defaultDayPremium(),
+                row.currency(),
+                row.description()
         ));
     }
 
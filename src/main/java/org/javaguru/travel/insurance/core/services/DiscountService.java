@@ -2,6 +2,8 @@ package org.javaguru.travel.insurance.core.services;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataScope;
+import org.javaguru.travel.insurance.core.reference.TariffTables;
 import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.DiscountEntity;
 import org.javaguru.travel.insurance.infrastructure.persistence.repositories.DiscountRepository;
 import org.springframework.cache.annotation.Cacheable;
@@ -28,6 +30,9 @@ import java.util.*;
  *   Кеш ключ включает дату, чтобы корректно обрабатывать temporal validity.
  *   При активации новых скидок (новая valid_from) или истечении старых
  *   кеш обновится на следующий день автоматически.
+ *
+ *   Если к потоку привязан снимок справочников (ReferenceDataScope) — скидки
+ *   берутся из его тарифных таблиц, без БД и кеша.
  */
 @Slf4j
 @Service
@@ -51,17 +56,20 @@ public class DiscountService {
             boolean isCorporate,
             LocalDate agreementDate) {
 
-        List<DiscountEntity> allDiscounts = loadDiscounts(agreementDate);
+        LocalDate on = ReferenceDataScope.lookupDate(agreementDate);
+        List<TariffTables.Discount> allDiscounts = ReferenceDataScope.tariffTables()
+                .map(tables -> tables.activeDiscounts(on))
+                .orElseGet(() -> loadDiscounts(on).stream().map(TariffTables.Discount::from).toList());
         List<DiscountResult> results = new ArrayList<>();
 
-        for (DiscountEntity discount : allDiscounts) {
+        for (TariffTables.Discount discount : allDiscounts) {
             if (isDiscountApplicable(discount, premiumAmount, personsCount, isCorporate)) {
                 BigDecimal discountAmount = calculateDiscountAmount(discount, premiumAmount);
                 results.add(new DiscountResult(
-                        discount.getCode(),
-                        discount.getName(),
-                        DiscountType.valueOf(discount.getDiscountType()),
-                        discount.getDiscountPercentage(),
+                        discount.code(),
+                        discount.name(),
+                        DiscountType.valueOf(discount.discountType()),
+                        discount.discountPercentage(),
                         discountAmount
                 ));
             }
@@ -124,32 +132,32 @@ public class DiscountService {
      * Проверяет применимость скидки.
      */
     private boolean isDiscountApplicable(
-            DiscountEntity discount,
+            TariffTables.Discount discount,
             BigDecimal premiumAmount,
             int personsCount,
             boolean isCorporate) {
 
         // Проверка минимальной суммы премии
-        if (discount.getMinPremiumAmount() != null
-                && premiumAmount.compareTo(discount.getMinPremiumAmount()) < 0) {
+        if (discount.minPremiumAmount() != null
+                && premiumAmount.compareTo(discount.minPremiumAmount()) < 0) {
             return false;
         }
 
         // Проверка типа скидки
         DiscountType type;
         try {
-            type = DiscountType.valueOf(discount.getDiscountType());
+            type = DiscountType.valueOf(discount.discountType());
         } catch (IllegalArgumentException e) {
             log.warn("Unknown discount type '{}' for discount '{}', skipping",
-                    discount.getDiscountType(), discount.getCode());
+                    discount.discountType(), discount.code());
             return false;
         }
 
         return switch (type) {
             case GROUP ->
                 // Групповая скидка: нужно минимальное количество человек
-                    discount.getMinPersonsCount() != null
-                            && personsCount >= discount.getMinPersonsCount();
+                    discount.minPersonsCount() != null
+                            && personsCount >= discount.minPersonsCount();
 
             case CORPORATE ->
                 // Корпоративная скидка: только для корпоративных клиентов
@@ -169,9 +177,9 @@ public class DiscountService {
     /**
      * Рассчитывает сумму скидки.
      */
-    private BigDecimal calculateDiscountAmount(DiscountEntity discount, BigDecimal premiumAmount) {
+    private BigDecimal calculateDiscountAmount(TariffTables.Discount discount, BigDecimal premiumAmount) {
         BigDecimal discountAmount = premiumAmount
-                .multiply(discount.getDiscountPercentage())
+                .multiply(discount.discountPercentage())
                 .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
 
         // Скидка не может быть больше суммы премии
@@ -4,7 +4,8 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.RiskBundleEntity;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataScope;
+import org.javaguru.travel.insurance.core.reference.TariffTables;
 import org.javaguru.travel.insurance.infrastructure.persistence.repositories.RiskBundleRepository;
 import org.springframework.stereotype.Service;
 
@@ -41,32 +42,37 @@ public class RiskBundleService {
 
         log.debug("Finding applicable bundles for risks: {}", selectedRisks);
 
-        // Получаем все активные пакеты
-        List<RiskBundleEntity> allBundles = bundleRepository.findAllActive(date);
+        // Получаем все активные пакеты: из снимка, привязанного к потоку, иначе из БД
+        LocalDate on = ReferenceDataScope.lookupDate(date);
+        List<TariffTables.RiskBundle> allBundles = ReferenceDataScope.tariffTables()
+                .map(tables -> tables.activeRiskBundles(on))
+                .orElseGet(() -> bundleRepository.findAllActive(on).stream()
+                        .map(TariffTables.RiskBundle::from)
+                        .toList());
 
         // Фильтруем пакеты, требования которых полностью покрыты
         List<ApplicableBundleResult> applicableBundles = new ArrayList<>();
 
-        for (RiskBundleEntity bundle : allBundles) {
+        for (TariffTables.RiskBundle bundle : allBundles) {
             try {
-                List<String> requiredRisks = parseRequiredRisks(bundle.getRequiredRisks());
+                List<String> requiredRisks = parseRequiredRisks(bundle.requiredRisks());
 
                 // Проверяем, содержит ли selectedRisks все требуемые риски
                 if (selectedRisks.containsAll(requiredRisks)) {
                     applicableBundles.add(new ApplicableBundleResult(
-                            bundle.getCode(),
-                            bundle.getNameEn(),
-                            bundle.getDiscountPercentage(),
+                            bundle.code(),
+                            bundle.nameEn(),
+                            bundle.discountPercentage(),
                             requiredRisks
                     ));
 
                     log.debug("Bundle '{}' is applicable (discount: {}%)",
-                            bundle.getCode(),
-                            bundle.getDiscountPercentage());
+                            bundle.code(),
+                            bundle.discountPercentage());
                 }
             } catch (Exception e) {
                 log.error("Error parsing required risks for bundle {}: {}",
-                        bundle.getCode(), e.getMessage());
+                        bundle.code(), e.getMessage());
             }
         }
 
@@ -2,11 +2,14 @@ package org.javaguru.travel.insurance.core.services;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataScope;
+import org.javaguru.travel.insurance.core.reference.TariffTables;
 import org.javaguru.travel.insurance.infrastructure.persistence.repositories.TripDurationCoefficientRepository;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Optional;
 
 /**
  * Сервис для расчета коэффициента длительности поездки
@@ -29,7 +32,7 @@ public class TripDurationPricingService {
     public BigDecimal getDurationCoefficient(int days, LocalDate date) {
         log.debug("Getting duration coefficient for {} days on {}", days, date);
 
-        var coefficientOpt = durationRepository.findCoefficientForDays(days, date);
+        var coefficientOpt = findCoefficient(days, date);
 
         if (coefficientOpt.isEmpty()) {
             log.warn("No duration coefficient found for {} days, using default 1.0", days);
@@ -38,10 +41,10 @@ public class TripDurationPricingService {
 
         var coefficient = coefficientOpt.get();
         log.debug("Found duration coefficient: {} ({})",
-                coefficient.getCoefficient(),
-                coefficient.getDescription());
+                coefficient.coefficient(),
+                coefficient.description());
 
-        return coefficient.getCoefficient();
+        return coefficient.coefficient();
     }
 
     /**
@@ -55,7 +58,7 @@ public class TripDurationPricingService {
      * Результат с детальной информацией
      */
     public DurationPricingResult getDurationPricingDetails(int days, LocalDate date) {
-        var coefficientOpt = durationRepository.findCoefficientForDays(days, date);
+        var coefficientOpt = findCoefficient(days, date);
 
         if (coefficientOpt.isEmpty()) {
             return new DurationPricingResult(
@@ -67,17 +70,28 @@ public class TripDurationPricingService {
         }
 
         var coefficient = coefficientOpt.get();
-        boolean hasDiscount = coefficient.getCoefficient()
+        boolean hasDiscount = coefficient.coefficient()
                 .compareTo(BigDecimal.ONE) < 0;
 
         return new DurationPricingResult(
                 days,
-                coefficient.getCoefficient(),
-                coefficient.getDescription(),
+                coefficient.coefficient(),
+                coefficient.description(),
                 hasDiscount
         );
     }
 
+    /**
+     * Строка шкалы длительности: из снимка, привязанного к потоку, иначе из БД.
+     */
+    private Optional<TariffTables.DurationCoefficient> findCoefficient(int days, LocalDate date) {
+        LocalDate on = ReferenceDataScope.lookupDate(date);
+        return ReferenceDataScope.tariffTables()
+                .map(tables -> tables.findDurationCoefficient(days, on))
+                .orElseGet(() -> durationRepository.findCoefficientForDays(days, on)
+                        .map(TariffTables.DurationCoefficient::from));
+    }
+
     /**
      * Результат расчета коэффициента длительности
      */
@@ -2,6 +2,7 @@ package org.javaguru.travel.insurance.core.underwriting;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.core.metrics.PricingStageTimer;
 import org.javaguru.travel.insurance.core.underwriting.domain.RuleResult;
 import org.javaguru.travel.insurance.core.underwriting.domain.UnderwritingResult;
 import org.javaguru.travel.insurance.core.underwriting.rule.UnderwritingRule;
@@ -15,6 +16,9 @@ import java.util.stream.Collectors;
 
 /**
  * Движок андеррайтинга - выполняет все правила и принимает решение
+ *
+ * Время всего андеррайтинга и каждого правила засекается PricingStageTimer
+ * (stage = underwriting / underwriting.<RuleName>).
  */
 @Slf4j
 @Component
@@ -30,6 +34,10 @@ public class UnderwritingEngine {
      * @return результат андеррайтинга
      */
     public UnderwritingResult evaluate(TravelCalculatePremiumRequest request) {
+        return PricingStageTimer.time("underwriting", () -> evaluateRules(request));
+    }
+
+    private UnderwritingResult evaluateRules(TravelCalculatePremiumRequest request) {
         log.info("Starting underwriting evaluation for {} {}",
                 request.getPersonFirstName(), request.getPersonLastName());
 
@@ -45,7 +53,8 @@ public class UnderwritingEngine {
             log.debug("Evaluating rule: {}", rule.getRuleName());
 
             try {
-                RuleResult result = rule.evaluate(request);
+                RuleResult result = PricingStageTimer.time(
+                        "underwriting." + rule.getRuleName(), () -> rule.evaluate(request));
                 ruleResults.add(result);
 
                 log.debug("Rule {} result: {}", rule.getRuleName(), result.getSeverity());
@@ -0,0 +1,294 @@
+package org.javaguru.travel.insurance.core.underwriting.decline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.core.underwriting.persistence.UnderwritingDecisionWrittenEvent;
+import org.javaguru.travel.insurance.domain.model.valueobject.PersonFingerprint;
+import org.javaguru.travel.insurance.infrastructure.persistence.routing.ConnectionWorkload;
+import org.javaguru.travel.insurance.infrastructure.persistence.routing.WorkloadContext;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Индекс недавних отказов в памяти: отпечаток персоны → время последнего
+ * отказа за окно lookback. Источник данных для PriorDeclineRule.
+ *
+ * ЗАЧЕМ:
+ *   Правило выполняется для каждой персоны каждой котировки; запрос
+ *   hasPreviousDeclines на каждую проверку — лишний round-trip к БД на пути
+ *   расчёта. Индекс отвечает из памяти за доли микросекунды, точно, но
+ *   в пределах окна и размера. Это единственный загрузчик и опрос отказов
+ *   в памяти: других потребителей ленты отказов нет.
+ *
+ * НАПОЛНЕНИЕ:
+ *   - при старте — отказы за окно из underwriting_decisions по возрастанию
+ *     created_at (индекс idx_underwriting_created_at_id);
+ *   - отказы этого узла — по UnderwritingDecisionWrittenEvent, который
+ *     UnderwritingPersistenceService публикует после коммита решения;
+ *   - отказы других узлов — опрос новых строк раз в
+ *     underwriting.decline-index.refresh-interval-ms (10 с) с перекрытием
+ *     POLL_OVERLAP; тот же опрос удаляет записи старше окна.
+ *   Пока начальная загрузка не завершена, индекс пуст и правило пропускает
+ *   персону (isReady() = false).
+ *
+ * ПАМЯТЬ:
+ *   Ключ — две половины хеша (16 байт), значение — секунды эпохи; порядок
+ *   вставки совпадает с порядком отказов, поэтому и истёкшие, и вытесняемые
+ *   при достижении underwriting.decline-index.max-entries записи — в голове
+ *   карты. Около 100 байт на запись: 200 000 записей — порядка 20 МБ.
+ *   При вытеснении фактическое окно короче настроенного — в лог пишется
+ *   предупреждение, растёт underwriting.decline.index.evictions.
+ *
+ * НАСТРОЙКИ:
+ *   underwriting.decline-index.lookback-days — окно отказов (365);
+ *   underwriting.decline-index.max-entries — жёсткий предел записей (200000).
+ *
+ * МЕТРИКИ:
+ *   underwriting.decline.index.entries — записей в индексе;
+ *   underwriting.decline.index.evictions — вытеснено по пределу размера.
+ */
+@Slf4j
+@Component
+public class DeclinedPersonIndex {
+
+    static final String ENTRIES_METRIC = "underwriting.decline.index.entries";
+    static final String EVICTIONS_METRIC = "underwriting.decline.index.evictions";
+    static final Duration POLL_OVERLAP = Duration.ofMinutes(1);
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private static final String DECLINED_SINCE_SQL =
+            "SELECT person_fingerprint, created_at FROM underwriting_decisions "
+                    + "WHERE decision = 'DECLINED' AND person_fingerprint IS NOT NULL AND created_at >= ? "
+                    + "ORDER BY created_at, id";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate readOnly;
+    private final Duration lookback;
+    private final int maxEntries;
+    private final Clock clock;
+    private final Counter evictions;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LinkedHashMap<Key, Long> declines = new LinkedHashMap<>();
+
+    private boolean evictionLogged;
+    private volatile boolean ready;
+    private volatile LocalDateTime loadedFrom;
+
+    @Autowired
+    public DeclinedPersonIndex(DataSource dataSource,
+                               PlatformTransactionManager transactionManager,
+                               ObjectProvider<MeterRegistry> meterRegistry,
+                               @Value("${underwriting.decline-index.lookback-days:365}") int lookbackDays,
+                               @Value("${underwriting.decline-index.max-entries:200000}") int maxEntries) {
+        this(dataSource, transactionManager, meterRegistry.getIfAvailable(SimpleMeterRegistry::new),
+                Duration.ofDays(lookbackDays), maxEntries, Clock.systemDefaultZone());
+    }
+
+    DeclinedPersonIndex(DataSource dataSource, PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry, Duration lookback, int maxEntries, Clock clock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("max-entries must be positive: " + maxEntries);
+        }
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.jdbc.setFetchSize(FETCH_SIZE);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.lookback = lookback;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        this.evictions = Counter.builder(EVICTIONS_METRIC)
+                .description("Declines evicted from the index by the size limit")
+                .register(meterRegistry);
+        Gauge.builder(ENTRIES_METRIC, this, DeclinedPersonIndex::size)
+                .description("Recently declined persons held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Время последнего отказа персоны, если он попал в окно.
+     */
+    public Optional<LocalDateTime> lastDeclineWithinLookback(PersonFingerprint fingerprint) {
+        Long declinedAt;
+        lock.readLock().lock();
+        try {
+            declinedAt = declines.get(Key.of(fingerprint));
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (declinedAt == null || declinedAt < epochSecond(windowStart())) {
+            return Optional.empty();
+        }
+        return Optional.of(LocalDateTime.ofEpochSecond(declinedAt, 0, ZoneOffset.UTC));
+    }
+
+    /**
+     * Добавляет закоммиченный отказ этого узла.
+     */
+    @EventListener
+    public void onDecisionWritten(UnderwritingDecisionWrittenEvent event) {
+        if (event.isDeclined()) {
+            recordDecline(event.personFingerprint(), event.createdAt());
+        }
+    }
+
+    void recordDecline(PersonFingerprint fingerprint, LocalDateTime declinedAt) {
+        put(Key.of(fingerprint), declinedAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        refresh();
+    }
+
+    /**
+     * Первый вызов загружает окно целиком, следующие — только новые отказы;
+     * каждый вызов удаляет записи старше окна.
+     */
+    @Scheduled(
+            initialDelayString = "${underwriting.decline-index.refresh-interval-ms:10000}",
+            fixedDelayString = "${underwriting.decline-index.refresh-interval-ms:10000}"
+    )
+    public synchronized void refresh() {
+        LocalDateTime startedAt = LocalDateTime.now(clock);
+        try {
+            LocalDateTime windowStart = windowStart();
+            LocalDateTime since = ready && loadedFrom.minus(POLL_OVERLAP).isAfter(windowStart)
+                    ? loadedFrom.minus(POLL_OVERLAP)
+                    : windowStart;
+            long loaded = load(since);
+            loadedFrom = startedAt;
+            int expired = expire(windowStart);
+            if (!ready) {
+                ready = true;
+                log.info("Declined person index loaded: {} declines since {}, {} persons",
+                        loaded, windowStart, size());
+            } else if (loaded > 0 || expired > 0) {
+                log.debug("Declined person index refreshed: {} loaded, {} expired, {} persons",
+                        loaded, expired, size());
+            }
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Declined person index refresh failed, will retry", e);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public Duration lookback() {
+        return lookback;
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return declines.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long load(LocalDateTime since) {
+        long[] count = {0};
+        WorkloadContext.call(ConnectionWorkload.REPORTING, () -> readOnly.execute(status -> {
+            jdbc.query(DECLINED_SINCE_SQL, rs -> {
+                put(Key.of(PersonFingerprint.ofValue(rs.getString(1))), rs.getTimestamp(2).toLocalDateTime());
+                count[0]++;
+            }, Timestamp.valueOf(since));
+            return null;
+        }));
+        return count[0];
+    }
+
+    /**
+     * Более поздний отказ переносит запись в хвост, более ранний (повтор
+     * строки из перекрытия опроса) ничего не меняет. Переполнение вытесняет
+     * самый старый отказ.
+     */
+    private void put(Key key, LocalDateTime declinedAt) {
+        long at = epochSecond(declinedAt);
+        lock.writeLock().lock();
+        try {
+            Long previous = declines.get(key);
+            if (previous != null && previous >= at) {
+                return;
+            }
+            declines.remove(key);
+            declines.put(key, at);
+            if (declines.size() > maxEntries) {
+                Iterator<Map.Entry<Key, Long>> eldest = declines.entrySet().iterator();
+                long evictedAt = eldest.next().getValue();
+                eldest.remove();
+                evictions.increment();
+                if (!evictionLogged) {
+                    evictionLogged = true;
+                    log.warn("Declined person index reached max-entries {}; declines before {} are no longer "
+                            + "visible to PriorDeclineRule", maxEntries,
+                            LocalDateTime.ofEpochSecond(evictedAt, 0, ZoneOffset.UTC));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int expire(LocalDateTime windowStart) {
+        long cutoff = epochSecond(windowStart);
+        int removed = 0;
+        lock.writeLock().lock();
+        try {
+            Iterator<Long> iterator = declines.values().iterator();
+            while (iterator.hasNext() && iterator.next() < cutoff) {
+                iterator.remove();
+                removed++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return removed;
+    }
+
+    private LocalDateTime windowStart() {
+        return LocalDateTime.now(clock).minus(lookback);
+    }
+
+    private static long epochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /** Отпечаток без строки hex: 16 байт вместо ~180. */
+    private record Key(long high, long low) {
+
+        static Key of(PersonFingerprint fingerprint) {
+            return new Key(fingerprint.high(), fingerprint.low());
+        }
+    }
+}
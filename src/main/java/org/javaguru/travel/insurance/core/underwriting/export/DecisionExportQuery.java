@@ -0,0 +1,45 @@
+package org.javaguru.travel.insurance.core.underwriting.export;
+
+import org.javaguru.travel.insurance.core.underwriting.domain.UnderwritingDecision;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+/**
+ * Параметры выгрузки: решения с created_at в [from 00:00, to+1 00:00),
+ * опционально только одного типа решения.
+ */
+public record DecisionExportQuery(LocalDate from, LocalDate to, String decision) {
+
+    public DecisionExportQuery {
+        if (from == null || to == null) {
+            throw new InvalidExportRequestException("Both 'from' and 'to' dates are required");
+        }
+        if (to.isBefore(from)) {
+            throw new InvalidExportRequestException("'to' (" + to + ") is before 'from' (" + from + ")");
+        }
+        decision = decision == null || decision.isBlank() ? null : parseDecision(decision).name();
+    }
+
+    private static UnderwritingDecision parseDecision(String value) {
+        try {
+            return UnderwritingDecision.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidExportRequestException("Unknown underwriting decision: " + value);
+        }
+    }
+
+    public LocalDateTime createdFrom() {
+        return from.atStartOfDay();
+    }
+
+    public LocalDateTime createdBefore() {
+        return to.plusDays(1).atStartOfDay();
+    }
+
+    public long days() {
+        return ChronoUnit.DAYS.between(from, to) + 1;
+    }
+}
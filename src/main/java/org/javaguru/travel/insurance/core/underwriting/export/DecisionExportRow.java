@@ -0,0 +1,26 @@
+package org.javaguru.travel.insurance.core.underwriting.export;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Строка выгрузки решения андеррайтинга — только колонки для комплаенса,
+ * без rule_results и request_data.
+ */
+public record DecisionExportRow(
+        long id,
+        UUID requestId,
+        String personFirstName,
+        String personLastName,
+        LocalDate personBirthDate,
+        String countryIsoCode,
+        LocalDate agreementDateFrom,
+        LocalDate agreementDateTo,
+        String decision,
+        String declineReason,
+        String reviewReason,
+        Integer evaluationDurationMs,
+        LocalDateTime createdAt
+) {
+}
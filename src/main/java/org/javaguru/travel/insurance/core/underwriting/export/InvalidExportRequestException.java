@@ -0,0 +1,12 @@
+package org.javaguru.travel.insurance.core.underwriting.export;
+
+/**
+ * Неверные параметры выгрузки решений: период (в том числе длиннее
+ * underwriting.export.max-days), тип решения или формат.
+ */
+public class InvalidExportRequestException extends RuntimeException {
+
+    public InvalidExportRequestException(String message) {
+        super(message);
+    }
+}
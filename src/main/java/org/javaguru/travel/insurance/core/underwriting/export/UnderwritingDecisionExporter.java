@@ -0,0 +1,252 @@
+package org.javaguru.travel.insurance.core.underwriting.export;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.infrastructure.persistence.routing.ConnectionWorkload;
+import org.javaguru.travel.insurance.infrastructure.persistence.routing.ReplicaReads;
+import org.javaguru.travel.insurance.infrastructure.persistence.routing.WorkloadContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Потоковая выгрузка решений андеррайтинга за период (CSV или NDJSON).
+ *
+ * ПРОБЛЕМА:
+ *   Выгрузка за месяц — сотни тысяч строк. findByCreatedAtBetween загружает
+ *   их все сущностями в память вместе с rule_results и request_data, а
+ *   OFFSET-пагинация на глубоких страницах перечитывает всё пропущенное.
+ *
+ * РЕШЕНИЕ — keyset-пагинация по (created_at, id):
+ *   Каждая страница — отдельный SELECT только нужных колонок
+ *   WHERE (created_at, id) > (последняя строка предыдущей страницы)
+ *   ORDER BY created_at, id LIMIT page-size. Запрос идёт по индексу
+ *   idx_underwriting_created_at_id, стоимость страницы не зависит от её
+ *   номера. Страница записывается в поток и сбрасывается клиенту, в памяти
+ *   одновременно не больше одной страницы.
+ *
+ *   Серверный курсор с fetch size дал бы тот же объём памяти, но держал бы
+ *   соединение и транзакцию открытыми, пока медленный клиент читает ответ.
+ *   Здесь соединение берётся на время одного запроса страницы.
+ *
+ * СОЕДИНЕНИЯ:
+ *   Запросы идут через пул reporting (WorkloadContext) и, если настроена
+ *   реплика, на неё (ReplicaReads) — выгрузка не отнимает соединения у
+ *   расчёта премий.
+ *
+ * НАСТРОЙКИ:
+ *   underwriting.export.page-size — строк на страницу (1000);
+ *   underwriting.export.max-days  — максимальная длина периода в днях (366).
+ */
+@Slf4j
+@Service
+public class UnderwritingDecisionExporter {
+
+    static final List<String> CSV_COLUMNS = List.of(
+            "id", "request_id", "person_first_name", "person_last_name", "person_birth_date",
+            "country_iso_code", "agreement_date_from", "agreement_date_to", "decision",
+            "decline_reason", "review_reason", "evaluation_duration_ms", "created_at");
+
+    /** Первые символы, с которых табличные редакторы начинают формулу. */
+    private static final String FORMULA_PREFIXES = "=+-@";
+
+    private static final String SELECT_PAGE =
+            "SELECT " + String.join(", ", CSV_COLUMNS) + " FROM underwriting_decisions "
+                    + "WHERE created_at >= :from AND created_at < :before";
+
+    private static final String DECISION_FILTER = " AND decision = :decision";
+
+    private static final String AFTER_KEY =
+            " AND (created_at > :lastCreatedAt OR (created_at = :lastCreatedAt AND id > :lastId))";
+
+    private static final String ORDER_AND_LIMIT = " ORDER BY created_at, id LIMIT :limit";
+
+    private static final RowMapper<DecisionExportRow> ROW = (rs, row) -> new DecisionExportRow(
+            rs.getLong("id"),
+            rs.getObject("request_id", UUID.class),
+            rs.getString("person_first_name"),
+            rs.getString("person_last_name"),
+            rs.getDate("person_birth_date").toLocalDate(),
+            rs.getString("country_iso_code"),
+            rs.getDate("agreement_date_from").toLocalDate(),
+            rs.getDate("agreement_date_to").toLocalDate(),
+            rs.getString("decision"),
+            rs.getString("decline_reason"),
+            rs.getString("review_reason"),
+            nullableInt(rs, "evaluation_duration_ms"),
+            rs.getTimestamp("created_at").toLocalDateTime());
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final ObjectWriter lineWriter;
+    private final int pageSize;
+    private final int maxDays;
+
+    public UnderwritingDecisionExporter(
+            DataSource dataSource,
+            ObjectMapper objectMapper,
+            @Value("${underwriting.export.page-size:1000}") int pageSize,
+            @Value("${underwriting.export.max-days:366}") int maxDays) {
+        this.jdbc = new NamedParameterJdbcTemplate(dataSource);
+        // NDJSON: одна запись — одна строка, без pretty print
+        this.lineWriter = objectMapper.writerFor(DecisionExportRow.class)
+                .without(SerializationFeature.INDENT_OUTPUT);
+        this.pageSize = pageSize;
+        this.maxDays = maxDays;
+    }
+
+    /**
+     * Проверяет период до того, как ответ начал отправляться:
+     * после первой записанной строки статус ответа уже не изменить.
+     */
+    public void validate(DecisionExportQuery query) {
+        if (query.days() > maxDays) {
+            throw new InvalidExportRequestException("Export period of " + query.days()
+                    + " days exceeds the limit of " + maxDays + " days");
+        }
+    }
+
+    /**
+     * Пишет решения за период в out постранично.
+     *
+     * @return статистика выгрузки
+     */
+    public ExportSummary export(DecisionExportQuery query, DecisionExportFormat format, OutputStream out) {
+        validate(query);
+        long startedAt = System.currentTimeMillis();
+        long rows = 0;
+        int pages = 0;
+
+        if (format == DecisionExportFormat.CSV) {
+            write(out, String.join(",", CSV_COLUMNS) + "\n");
+        }
+
+        DecisionExportRow last = null;
+        while (true) {
+            List<DecisionExportRow> page = fetchPage(query, last);
+            if (page.isEmpty()) {
+                break;
+            }
+            for (DecisionExportRow row : page) {
+                write(out, format == DecisionExportFormat.CSV ? csvLine(row) : ndjsonLine(row));
+            }
+            flush(out);
+            rows += page.size();
+            pages++;
+            if (page.size() < pageSize) {
+                break;
+            }
+            last = page.get(page.size() - 1);
+        }
+        flush(out);
+
+        long durationMs = System.currentTimeMillis() - startedAt;
+        log.info("Underwriting decisions exported: {} rows in {} pages ({}, {}..{}, decision={}) in {} ms",
+                rows, pages, format, query.from(), query.to(), query.decision(), durationMs);
+        return new ExportSummary(rows, pages, durationMs);
+    }
+
+    List<DecisionExportRow> fetchPage(DecisionExportQuery query, DecisionExportRow after) {
+        StringBuilder sql = new StringBuilder(SELECT_PAGE);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", Timestamp.valueOf(query.createdFrom()))
+                .addValue("before", Timestamp.valueOf(query.createdBefore()))
+                .addValue("limit", pageSize);
+        if (query.decision() != null) {
+            sql.append(DECISION_FILTER);
+            params.addValue("decision", query.decision());
+        }
+        if (after != null) {
+            sql.append(AFTER_KEY);
+            params.addValue("lastCreatedAt", Timestamp.valueOf(after.createdAt()))
+                    .addValue("lastId", after.id());
+        }
+        sql.append(ORDER_AND_LIMIT);
+
+        return WorkloadContext.call(ConnectionWorkload.REPORTING, () ->
+                ReplicaReads.call(() -> jdbc.query(sql.toString(), params, ROW)));
+    }
+
+    static String csvLine(DecisionExportRow row) {
+        return Stream.of(row.id(), row.requestId(), row.personFirstName(), row.personLastName(),
+                        row.personBirthDate(), row.countryIsoCode(), row.agreementDateFrom(),
+                        row.agreementDateTo(), row.decision(), row.declineReason(), row.reviewReason(),
+                        row.evaluationDurationMs(), row.createdAt())
+                .map(value -> csvField(Objects.toString(value, "")))
+                .collect(Collectors.joining(",", "", "\n"));
+    }
+
+    /**
+     * RFC 4180: поле с запятой, кавычкой или переводом строки берётся в кавычки.
+     *
+     * Поле, начинающееся с =, +, - или @, Excel и LibreOffice исполняют как
+     * формулу (CSV injection): причина отказа и имя персоны приходят из запроса
+     * клиента. Такое поле получает префикс ' — ячейка открывается как текст.
+     */
+    static String csvField(String value) {
+        if (!value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private String ndjsonLine(DecisionExportRow row) {
+        try {
+            return lineWriter.writeValueAsString(row) + "\n";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize decision " + row.id(), e);
+        }
+    }
+
+    private static void write(OutputStream out, String line) {
+        try {
+            out.write(line.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            // Клиент закрыл соединение — дальнейшая выгрузка бессмысленна
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void flush(OutputStream out) {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Integer nullableInt(ResultSet rs, String column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    /**
+     * @param rows       выгружено строк
+     * @param pages      выполнено запросов страниц
+     * @param durationMs длительность выгрузки
+     */
+    public record ExportSummary(long rows, int pages, long durationMs) {
+    }
+}
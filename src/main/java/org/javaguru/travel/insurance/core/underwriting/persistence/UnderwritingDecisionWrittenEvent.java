@@ -0,0 +1,37 @@
+package org.javaguru.travel.insurance.core.underwriting.persistence;
+
+import org.javaguru.travel.insurance.core.underwriting.domain.RuleResult;
+import org.javaguru.travel.insurance.core.underwriting.domain.UnderwritingDecision;
+import org.javaguru.travel.insurance.domain.model.valueobject.PersonFingerprint;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Решение андеррайтинга записано в БД и транзакция закоммичена.
+ *
+ * Публикует UnderwritingPersistenceService после коммита (без транзакции —
+ * сразу). Подписчики — счётчики статистики и индекс недавних отказов:
+ * сервис сохранения о них не знает, откатившееся решение до них не доходит.
+ *
+ * @param createdAt         время записи решения
+ * @param decision          решение (APPROVED, DECLINED, REQUIRES_MANUAL_REVIEW)
+ * @param countryIsoCode    страна поездки
+ * @param personFingerprint отпечаток персоны
+ * @param ruleResults       результаты правил
+ */
+public record UnderwritingDecisionWrittenEvent(
+        LocalDateTime createdAt,
+        String decision,
+        String countryIsoCode,
+        PersonFingerprint personFingerprint,
+        List<RuleResult> ruleResults) {
+
+    public UnderwritingDecisionWrittenEvent {
+        ruleResults = List.copyOf(ruleResults);
+    }
+
+    public boolean isDeclined() {
+        return UnderwritingDecision.DECLINED.name().equals(decision);
+    }
+}
@@ -10,15 +10,23 @@ import org.javaguru.travel.insurance.infrastructure.persistence.repositories.Und
 import org.javaguru.travel.insurance.infrastructure.persistence.repositories.UnderwritingDecisionRepository;
 import org.javaguru.travel.insurance.core.underwriting.domain.RuleResult;
 import org.javaguru.travel.insurance.core.underwriting.domain.UnderwritingResult;
+import org.javaguru.travel.insurance.domain.model.valueobject.PersonFingerprint;
 import org.javaguru.travel.insurance.application.dto.TravelCalculatePremiumRequest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 /**
  * Сервис для сохранения решений андеррайтинга в БД
+ *
+ * После коммита публикует UnderwritingDecisionWrittenEvent — на него
+ * подписаны счётчики статистики и индекс недавних отказов.
  */
 @Slf4j
 @Service
@@ -28,6 +36,7 @@ public class UnderwritingPersistenceService {
     private final UnderwritingDecisionRepository decisionRepository;
     private final UnderwritingAuditLogRepository auditLogRepository;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Сохраняет решение андеррайтинга в БД
@@ -51,6 +60,9 @@ public class UnderwritingPersistenceService {
         entity.setPersonFirstName(request.getPersonFirstName());
         entity.setPersonLastName(request.getPersonLastName());
         entity.setPersonBirthDate(request.getPersonBirthDate());
+        PersonFingerprint fingerprint = PersonFingerprint.of(
+                request.getPersonFirstName(), request.getPersonLastName(), request.getPersonBirthDate());
+        entity.setPersonFingerprint(fingerprint.value());
 
         // Детали поездки
         entity.setCountryIsoCode(request.getCountryIsoCode());
@@ -84,9 +96,29 @@ public class UnderwritingPersistenceService {
         // Сохраняем аудит-лог для каждого правила
         saveAuditLog(entity.getId(), result.getRuleResults());
 
+        publishAfterCommit(new UnderwritingDecisionWrittenEvent(
+                entity.getCreatedAt() != null ? entity.getCreatedAt() : LocalDateTime.now(),
+                entity.getDecision(), entity.getCountryIsoCode(), fingerprint, result.getRuleResults()));
+
         return entity;
     }
 
+    /**
+     * Внутри транзакции — после её коммита; откатившееся решение не публикуется.
+     */
+    private void publishAfterCommit(UnderwritingDecisionWrittenEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eventPublisher.publishEvent(event);
+                }
+            });
+        } else {
+            eventPublisher.publishEvent(event);
+        }
+    }
+
     /**
      * Сохраняет аудит-лог правил
      */
@@ -0,0 +1,69 @@
+package org.javaguru.travel.insurance.core.underwriting.rule;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.core.underwriting.decline.DeclinedPersonIndex;
+import org.javaguru.travel.insurance.core.underwriting.domain.RuleResult;
+import org.javaguru.travel.insurance.domain.model.valueobject.PersonFingerprint;
+import org.javaguru.travel.insurance.application.dto.TravelCalculatePremiumRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Правило проверки прошлых отказов
+ *
+ * Логика:
+ * - Персоне отказывали в пределах окна underwriting.decline-index.lookback-days:
+ *   требуется проверка
+ *
+ * Проверка идёт по DeclinedPersonIndex в памяти, без запроса к БД.
+ * Пока индекс не загружен, правило пропускает персону.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PriorDeclineRule implements UnderwritingRule {
+
+    private final DeclinedPersonIndex declinedPersonIndex;
+
+    @Override
+    public RuleResult evaluate(TravelCalculatePremiumRequest request) {
+        if (request.getPersonFirstName() == null || request.getPersonLastName() == null
+                || request.getPersonBirthDate() == null) {
+            return RuleResult.pass(getRuleName());
+        }
+        if (!declinedPersonIndex.isReady()) {
+            log.debug("Declined person index is not loaded yet, skipping prior decline check");
+            return RuleResult.pass(getRuleName());
+        }
+
+        PersonFingerprint fingerprint = PersonFingerprint.of(
+                request.getPersonFirstName(), request.getPersonLastName(), request.getPersonBirthDate());
+        Optional<LocalDateTime> lastDecline = declinedPersonIndex.lastDeclineWithinLookback(fingerprint);
+
+        log.debug("Evaluating prior decline rule: lastDecline={}", lastDecline.orElse(null));
+
+        // Требует проверки
+        if (lastDecline.isPresent()) {
+            return RuleResult.reviewRequired(
+                    getRuleName(),
+                    String.format("Applicant was declined on %s (within the last %d days)",
+                            lastDecline.get().toLocalDate(), declinedPersonIndex.lookback().toDays())
+            );
+        }
+
+        return RuleResult.pass(getRuleName());
+    }
+
+    @Override
+    public String getRuleName() {
+        return "PriorDeclineRule";
+    }
+
+    @Override
+    public int getOrder() {
+        return 60;
+    }
+}
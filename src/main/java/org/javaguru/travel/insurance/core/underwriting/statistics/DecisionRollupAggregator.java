@@ -0,0 +1,190 @@
+package org.javaguru.travel.insurance.core.underwriting.statistics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.core.underwriting.domain.RuleResult;
+import org.javaguru.travel.insurance.core.underwriting.domain.RuleSeverity;
+import org.javaguru.travel.insurance.core.underwriting.persistence.UnderwritingDecisionWrittenEvent;
+import org.javaguru.travel.insurance.infrastructure.persistence.routing.ConnectionWorkload;
+import org.javaguru.travel.insurance.infrastructure.persistence.routing.WorkloadContext;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Копит счётчики решений андеррайтинга в памяти и периодически добавляет
+ * их в underwriting_decision_rollup.
+ *
+ * КАК РАБОТАЕТ:
+ *   onDecisionWritten — по UnderwritingDecisionWrittenEvent (публикуется
+ *   после коммита решения) увеличивает счётчик ключа (минута, решение,
+ *   страна, худшая серьёзность правил). Откатившееся решение не учитывается.
+ *   flush (каждые underwriting.rollup.flush-interval-ms, по умолчанию 5 с,
+ *   и при остановке) забирает накопленное и одной транзакцией прибавляет
+ *   к строкам MINUTE и DAY: UPDATE, для отсутствующих строк — INSERT.
+ *   Если запись не удалась, счётчики возвращаются в память до следующего flush.
+ *
+ *   Несколько узлов пишут в одни строки: прибавление (count = count + ?)
+ *   коммутативно. Если строку между UPDATE и INSERT вставил другой узел,
+ *   транзакция откатывается, а следующий flush найдёт строку UPDATE-ом.
+ *
+ * Дашборды видят решения с задержкой не больше интервала flush;
+ * при аварийной остановке узла теряются счётчики последнего интервала.
+ *
+ * МЕТРИКИ:
+ *   underwriting.rollup.pending — ключей в памяти, ожидающих flush;
+ *   underwriting.rollup.flush.failures — неудачные flush.
+ */
+@Slf4j
+@Component
+public class DecisionRollupAggregator {
+
+    static final String PENDING_METRIC = "underwriting.rollup.pending";
+    static final String FAILURES_METRIC = "underwriting.rollup.flush.failures";
+
+    private static final String UPDATE_SQL =
+            "UPDATE underwriting_decision_rollup SET decision_count = decision_count + ? "
+                    + "WHERE granularity = ? AND bucket_start = ? AND decision = ? "
+                    + "AND country_iso_code = ? AND max_severity = ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO underwriting_decision_rollup "
+                    + "(decision_count, granularity, bucket_start, decision, country_iso_code, max_severity) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transaction;
+    private final Map<RollupKey, Long> pending = new ConcurrentHashMap<>();
+    private final Counter failures;
+
+    @Autowired
+    public DecisionRollupAggregator(DataSource dataSource,
+                                    PlatformTransactionManager transactionManager,
+                                    ObjectProvider<MeterRegistry> meterRegistry) {
+        this(dataSource, transactionManager, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    DecisionRollupAggregator(DataSource dataSource, PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.failures = Counter.builder(FAILURES_METRIC)
+                .description("Failed flushes of underwriting decision rollups")
+                .register(meterRegistry);
+        Gauge.builder(PENDING_METRIC, pending, Map::size)
+                .description("Rollup keys waiting to be flushed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Учитывает закоммиченное решение.
+     */
+    @EventListener
+    public void onDecisionWritten(UnderwritingDecisionWrittenEvent event) {
+        add(new RollupKey(RollupGranularity.MINUTE.bucketStart(event.createdAt()),
+                event.decision(), event.countryIsoCode(), worstSeverity(event.ruleResults()).name()), 1);
+    }
+
+    @PreDestroy
+    @Scheduled(
+            initialDelayString = "${underwriting.rollup.flush-interval-ms:5000}",
+            fixedDelayString = "${underwriting.rollup.flush-interval-ms:5000}"
+    )
+    public synchronized void flush() {
+        Map<RollupKey, Long> drained = drain();
+        if (drained.isEmpty()) {
+            return;
+        }
+        try {
+            WorkloadContext.call(ConnectionWorkload.AUDIT, () ->
+                    transaction.execute(status -> {
+                        write(RollupGranularity.MINUTE, drained);
+                        write(RollupGranularity.DAY, byDay(drained));
+                        return null;
+                    }));
+            log.debug("Flushed {} underwriting rollup keys", drained.size());
+        } catch (DataAccessException | TransactionException e) {
+            drained.forEach(this::add);
+            failures.increment();
+            log.warn("Underwriting rollup flush failed, {} keys kept for the next attempt", drained.size(), e);
+        }
+    }
+
+    static RuleSeverity worstSeverity(List<RuleResult> ruleResults) {
+        return ruleResults.stream()
+                .map(RuleResult::getSeverity)
+                .max(Comparator.naturalOrder())
+                .orElse(RuleSeverity.PASS);
+    }
+
+    int pendingKeys() {
+        return pending.size();
+    }
+
+    private void add(RollupKey key, long count) {
+        pending.merge(key, count, Long::sum);
+    }
+
+    /** remove по ключу атомарен с merge: параллельный record попадёт либо сюда, либо в следующий flush. */
+    private Map<RollupKey, Long> drain() {
+        Map<RollupKey, Long> drained = new HashMap<>();
+        for (RollupKey key : pending.keySet()) {
+            Long count = pending.remove(key);
+            if (count != null) {
+                drained.put(key, count);
+            }
+        }
+        return drained;
+    }
+
+    private static Map<RollupKey, Long> byDay(Map<RollupKey, Long> minutes) {
+        Map<RollupKey, Long> days = new HashMap<>();
+        minutes.forEach((key, count) -> days.merge(
+                new RollupKey(RollupGranularity.DAY.bucketStart(key.bucketStart()),
+                        key.decision(), key.countryIsoCode(), key.maxSeverity()),
+                count, Long::sum));
+        return days;
+    }
+
+    private void write(RollupGranularity granularity, Map<RollupKey, Long> counts) {
+        List<Object[]> rows = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> rows.add(new Object[]{
+                count, granularity.name(), Timestamp.valueOf(key.bucketStart()),
+                key.decision(), key.countryIsoCode(), key.maxSeverity()}));
+
+        int[] updated = jdbc.batchUpdate(UPDATE_SQL, rows);
+        List<Object[]> missing = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (updated[i] == 0) {
+                missing.add(rows.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbc.batchUpdate(INSERT_SQL, missing);
+        }
+    }
+
+    record RollupKey(LocalDateTime bucketStart, String decision, String countryIsoCode, String maxSeverity) {
+    }
+}
@@ -0,0 +1,117 @@
+package org.javaguru.travel.insurance.core.underwriting.statistics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.infrastructure.persistence.routing.ConnectionWorkload;
+import org.javaguru.travel.insurance.infrastructure.persistence.routing.ReplicaReads;
+import org.javaguru.travel.insurance.infrastructure.persistence.routing.WorkloadContext;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Статистика решений андеррайтинга по underwriting_decision_rollup
+ * вместо агрегации underwriting_decisions.
+ *
+ * ПЕРИОД [from, to] разбивается на:
+ *   целые сутки внутри периода — строки DAY;
+ *   края периода до ближайших границ суток — строки MINUTE.
+ * Так запрос читает не больше двух суток минутных строк и по строке на
+ * сутки и ключ независимо от объёма истории. Точность — минута: from
+ * округляется вниз, минута to входит в период целиком.
+ *
+ * Данные отстают от underwriting_decisions не больше чем на интервал flush
+ * DecisionRollupAggregator. Запросы идут через пул reporting и, если
+ * настроена реплика, на неё.
+ */
+@Slf4j
+@Service
+public class DecisionStatisticsService {
+
+    private static final String RANGE_SQL =
+            "SELECT %1$s AS dimension_value, SUM(decision_count) AS total FROM underwriting_decision_rollup "
+                    + "WHERE (granularity = 'DAY' AND bucket_start >= :dayFrom AND bucket_start < :dayTo) "
+                    + "OR (granularity = 'MINUTE' AND ((bucket_start >= :from AND bucket_start < :headTo) "
+                    + "OR (bucket_start >= :tailFrom AND bucket_start < :to))) "
+                    + "GROUP BY %1$s ORDER BY %1$s";
+
+    private static final String TOTAL_SQL =
+            "SELECT COALESCE(SUM(decision_count), 0) FROM underwriting_decision_rollup "
+                    + "WHERE granularity = 'DAY' AND decision = :decision";
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public DecisionStatisticsService(DataSource dataSource) {
+        this.jdbc = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    /**
+     * Число решений за период в разрезе dimension.
+     */
+    public Map<String, Long> count(LocalDateTime from, LocalDateTime to, StatisticsDimension dimension) {
+        log.debug("Decision statistics by {} for {}..{}", dimension, from, to);
+        MapSqlParameterSource params = rangeParams(from, to);
+        String sql = String.format(RANGE_SQL, dimension.column());
+        return query(() -> {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            jdbc.query(sql, params, rs -> {
+                counts.put(rs.getString("dimension_value"), rs.getLong("total"));
+            });
+            return counts;
+        });
+    }
+
+    /**
+     * Число решений по типу за период — замена UnderwritingDecisionRepository.getDecisionStatistics.
+     */
+    public Map<String, Long> countByDecision(LocalDateTime from, LocalDateTime to) {
+        return count(from, to, StatisticsDimension.DECISION);
+    }
+
+    /**
+     * Число решений типа decision за всю историю — замена
+     * UnderwritingDecisionRepository.countByDecision.
+     */
+    public long countByDecision(String decision) {
+        Long total = query(() -> jdbc.queryForObject(TOTAL_SQL,
+                new MapSqlParameterSource("decision", decision), Long.class));
+        return total != null ? total : 0;
+    }
+
+    static MapSqlParameterSource rangeParams(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            throw new InvalidStatisticsRangeException("Both 'from' and 'to' are required");
+        }
+        if (to.isBefore(from)) {
+            throw new InvalidStatisticsRangeException("'to' (" + to + ") is before 'from' (" + from + ")");
+        }
+        LocalDateTime start = RollupGranularity.MINUTE.bucketStart(from);
+        LocalDateTime end = RollupGranularity.MINUTE.bucketStart(to).plusMinutes(1);
+        LocalDateTime dayFrom = RollupGranularity.DAY.bucketStart(start).equals(start)
+                ? start
+                : RollupGranularity.DAY.bucketStart(start).plusDays(1);
+        LocalDateTime dayTo = RollupGranularity.DAY.bucketStart(end);
+        if (!dayFrom.isBefore(dayTo)) {
+            // Целых суток в периоде нет — только минутные строки
+            dayFrom = end;
+            dayTo = end;
+        }
+        return new MapSqlParameterSource()
+                .addValue("from", Timestamp.valueOf(start))
+                .addValue("headTo", Timestamp.valueOf(dayFrom))
+                .addValue("dayFrom", Timestamp.valueOf(dayFrom))
+                .addValue("dayTo", Timestamp.valueOf(dayTo))
+                .addValue("tailFrom", Timestamp.valueOf(dayTo))
+                .addValue("to", Timestamp.valueOf(end));
+    }
+
+    private static <T> T query(Supplier<T> action) {
+        return WorkloadContext.call(ConnectionWorkload.REPORTING, () -> ReplicaReads.call(action));
+    }
+}
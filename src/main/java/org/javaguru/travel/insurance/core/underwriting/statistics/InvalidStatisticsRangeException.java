@@ -0,0 +1,11 @@
+package org.javaguru.travel.insurance.core.underwriting.statistics;
+
+/**
+ * Неверные параметры статистики решений: период или разрез.
+ */
+public class InvalidStatisticsRangeException extends RuntimeException {
+
+    public InvalidStatisticsRangeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,34 @@
+package org.javaguru.travel.insurance.core.underwriting.statistics;
+
+import java.util.Locale;
+
+/**
+ * Разрез статистики решений — колонка underwriting_decision_rollup.
+ */
+public enum StatisticsDimension {
+
+    DECISION("decision"),
+    COUNTRY("country_iso_code"),
+    SEVERITY("max_severity");
+
+    private final String column;
+
+    StatisticsDimension(String column) {
+        this.column = column;
+    }
+
+    String column() {
+        return column;
+    }
+
+    public static StatisticsDimension fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return DECISION;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidStatisticsRangeException("Unsupported statistics dimension: " + value);
+        }
+    }
+}
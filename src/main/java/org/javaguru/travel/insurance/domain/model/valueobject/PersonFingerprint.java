@@ -0,0 +1,104 @@
+package org.javaguru.travel.insurance.domain.model.valueobject;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Value Object отпечатка персоны: SHA-256 (hex) от нормализованных
+ * фамилии, имени и даты рождения.
+ *
+ * Нормализация имени: Unicode NFKC, схлопывание пробелов (класс \s) в один
+ * ' ' и обрезка этого ' ' по краям, нижний регистр — "  Ivan ", "IVAN"
+ * и "ivan" дают один отпечаток. Обрезается только ' ', как btrim() в SQL:
+ * String.strip() убрал бы ещё U+001F, U+1680, U+2028 и другие
+ * Character.isWhitespace, и отпечатки Java и SQL разошлись бы.
+ * Строка для хеша: фамилия|имя|yyyy-MM-dd.
+ *
+ * Та же формула в SQL — в changeset 028 (заполнение существующих строк).
+ */
+public final class PersonFingerprint {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final String value;
+
+    private PersonFingerprint(String value) {
+        this.value = value;
+    }
+
+    public static PersonFingerprint of(String firstName, String lastName, LocalDate birthDate) {
+        if (firstName == null || lastName == null || birthDate == null) {
+            throw new IllegalArgumentException("First name, last name and birth date are required for a fingerprint");
+        }
+        String key = normalize(lastName) + "|" + normalize(firstName) + "|" + birthDate;
+        return new PersonFingerprint(HexFormat.of().formatHex(sha256(key)));
+    }
+
+    static String normalize(String name) {
+        String composed = Normalizer.normalize(name, Normalizer.Form.NFKC);
+        return trimSpaces(WHITESPACE.matcher(composed).replaceAll(" ")).toLowerCase(Locale.ROOT);
+    }
+
+    private static String trimSpaces(String s) {
+        int begin = 0;
+        int end = s.length();
+        while (begin < end && s.charAt(begin) == ' ') begin++;
+        while (end > begin && s.charAt(end - 1) == ' ') end--;
+        return s.substring(begin, end);
+    }
+
+    /** 64 hex-символа. */
+    public String value() {
+        return value;
+    }
+
+    /** Первые 64 бита хеша — для хеш-структур в памяти. */
+    public long high() {
+        return Long.parseUnsignedLong(value.substring(0, 16), 16);
+    }
+
+    /** Следующие 64 бита хеша. */
+    public long low() {
+        return Long.parseUnsignedLong(value.substring(16, 32), 16);
+    }
+
+    public static PersonFingerprint ofValue(String value) {
+        if (value == null || value.length() != 64) {
+            throw new IllegalArgumentException("Invalid person fingerprint: " + value);
+        }
+        return new PersonFingerprint(value);
+    }
+
+    private static byte[] sha256(String key) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PersonFingerprint that = (PersonFingerprint) o;
+        return value.equals(that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(value);
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,171 @@
+package org.javaguru.travel.insurance.infrastructure.persistence.adapter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.domain.model.entity.Country;
+import org.javaguru.travel.insurance.domain.model.entity.MedicalRiskLimitLevel;
+import org.javaguru.travel.insurance.domain.model.entity.Risk;
+import org.javaguru.travel.insurance.domain.model.valueobject.Coefficient;
+import org.javaguru.travel.insurance.domain.model.valueobject.CountryCode;
+import org.javaguru.travel.insurance.domain.model.valueobject.Currency;
+import org.javaguru.travel.insurance.domain.model.valueobject.RiskCode;
+import org.javaguru.travel.insurance.domain.port.ReferenceDataPort;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * ReferenceDataPort на чистом JDBC: строки сразу в доменные объекты.
+ *
+ * ПРОБЛЕМА (JpaReferenceDataAdapter):
+ *   Каждый поиск справочника на пути расчёта создаёт управляемые сущности:
+ *   снимок состояния для dirty checking, регистрация в persistence context,
+ *   flush перед следующим запросом — и затем ещё копирование в домен через
+ *   CountryMapper / RiskMapper / MedicalLevelMapper.
+ *
+ * РЕШЕНИЕ:
+ *   Один SELECT нужных колонок и RowMapper прямо в Country / Risk /
+ *   MedicalRiskLimitLevel. Ни EntityManager, ни сущностей, ни flush.
+ *   Транзакция не открывается: одиночный SELECT в autocommit атомарен,
+ *   а read-only транзакция через JpaTransactionManager открыла бы
+ *   EntityManager — ровно то, от чего этот адаптер избавляет.
+ *   Для JPA-пути JpaReferenceDataAdapter работает в readOnly-транзакции
+ *   (Hibernate FlushMode.MANUAL, без снимков сущностей).
+ *
+ * Реплика не используется: ответы должны совпадать со счётчиком версии
+ * тарифа на основной БД (SnapshotReferenceDataAdapter оборачивает запросы
+ * в PrimaryReads; без транзакции соединение и так с основной БД).
+ *
+ * Выбор пути — reference.read-path (jdbc по умолчанию, jpa — прежний),
+ * см. SnapshotReferenceDataAdapter. Сравнение путей — ReferenceReadPathBenchmark.
+ *
+ * Запросы повторяют условия JPQL из репозиториев: validFrom <= date и
+ * (validTo IS NULL OR validTo >= date). При пересечении периодов берётся
+ * версия с самым поздним valid_from.
+ */
+@Slf4j
+@Component
+public class JdbcReferenceDataAdapter implements ReferenceDataPort {
+
+    static final String ACTIVE_ON_DATE = "valid_from <= :date AND (valid_to IS NULL OR valid_to >= :date)";
+
+    private static final String COUNTRY_SQL =
+            "SELECT iso_code, name_en, name_ru, risk_group, risk_coefficient, valid_from, valid_to "
+                    + "FROM countries WHERE iso_code = :code AND " + ACTIVE_ON_DATE
+                    + " ORDER BY valid_from DESC";
+
+    private static final String RISK_COLUMNS =
+            "SELECT code, name_en, name_ru, coefficient, is_mandatory, description, valid_from, valid_to "
+                    + "FROM risk_types WHERE ";
+
+    private static final String RISK_SQL =
+            RISK_COLUMNS + "code = :code AND " + ACTIVE_ON_DATE + " ORDER BY valid_from DESC";
+
+    private static final String RISKS_SQL =
+            RISK_COLUMNS + "code IN (:codes) AND " + ACTIVE_ON_DATE + " ORDER BY code, valid_from DESC";
+
+    private static final String ACTIVE_RISKS_SQL =
+            RISK_COLUMNS + ACTIVE_ON_DATE + " ORDER BY is_mandatory DESC, code";
+
+    private static final String MEDICAL_LEVEL_SQL =
+            "SELECT code, coverage_amount, daily_rate, currency, max_payout_amount, valid_from, valid_to "
+                    + "FROM medical_risk_limit_levels WHERE code = :code AND " + ACTIVE_ON_DATE
+                    + " ORDER BY valid_from DESC";
+
+    private static final RowMapper<Country> COUNTRY_ROW = (rs, row) -> new Country(
+            new CountryCode(rs.getString("iso_code")),
+            rs.getString("name_en"),
+            rs.getString("name_ru"),
+            Country.RiskGroup.valueOf(rs.getString("risk_group").toUpperCase(Locale.ROOT)),
+            new Coefficient(rs.getBigDecimal("risk_coefficient")),
+            date(rs, "valid_from"),
+            date(rs, "valid_to"));
+
+    private static final RowMapper<Risk> RISK_ROW = (rs, row) -> new Risk(
+            new RiskCode(rs.getString("code")),
+            rs.getString("name_en"),
+            rs.getString("name_ru"),
+            new Coefficient(rs.getBigDecimal("coefficient")),
+            rs.getBoolean("is_mandatory"),
+            rs.getString("description"),
+            date(rs, "valid_from"),
+            date(rs, "valid_to"));
+
+    private static final RowMapper<MedicalRiskLimitLevel> MEDICAL_LEVEL_ROW = (rs, row) -> new MedicalRiskLimitLevel(
+            rs.getString("code"),
+            rs.getBigDecimal("coverage_amount"),
+            rs.getBigDecimal("daily_rate"),
+            Currency.fromStringOrDefault(rs.getString("currency")),
+            rs.getBigDecimal("max_payout_amount"),
+            date(rs, "valid_from"),
+            date(rs, "valid_to"));
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public JdbcReferenceDataAdapter(DataSource dataSource) {
+        this.jdbc = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    @Override
+    public Optional<Country> findCountry(CountryCode code, LocalDate date) {
+        log.debug("Finding country via JDBC: code={}, date={}", code, date);
+        return first(jdbc.query(COUNTRY_SQL, params(date).addValue("code", code.value()), COUNTRY_ROW));
+    }
+
+    @Override
+    public Optional<Risk> findRisk(RiskCode code, LocalDate date) {
+        log.debug("Finding risk via JDBC: code={}, date={}", code, date);
+        return first(jdbc.query(RISK_SQL, params(date).addValue("code", code.value()), RISK_ROW));
+    }
+
+    @Override
+    public Optional<MedicalRiskLimitLevel> findMedicalLevel(String code, LocalDate date) {
+        log.debug("Finding medical level via JDBC: code={}, date={}", code, date);
+        return first(jdbc.query(MEDICAL_LEVEL_SQL, params(date).addValue("code", code), MEDICAL_LEVEL_ROW));
+    }
+
+    /**
+     * Один запрос IN (...) вместо запроса на каждый код; порядок результата —
+     * порядок кодов во входном списке, как у JpaReferenceDataAdapter.
+     */
+    @Override
+    public List<Risk> findRisks(List<RiskCode> codes, LocalDate date) {
+        log.debug("Finding risks via JDBC: codes={}, date={}", codes, date);
+        if (codes.isEmpty()) {
+            return List.of();
+        }
+        List<String> values = codes.stream().map(RiskCode::value).distinct().toList();
+        List<Risk> found = jdbc.query(RISKS_SQL, params(date).addValue("codes", values), RISK_ROW);
+        return codes.stream()
+                .flatMap(code -> found.stream().filter(risk -> risk.getCode().equals(code)).limit(1))
+                .toList();
+    }
+
+    @Override
+    public List<Risk> findAllActiveRisks(LocalDate date) {
+        log.debug("Finding all active risks via JDBC on date={}", date);
+        return jdbc.query(ACTIVE_RISKS_SQL, params(date), RISK_ROW);
+    }
+
+    private static MapSqlParameterSource params(LocalDate date) {
+        return new MapSqlParameterSource("date", Date.valueOf(date));
+    }
+
+    private static <T> Optional<T> first(List<T> rows) {
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    private static LocalDate date(ResultSet rs, String column) throws SQLException {
+        Date value = rs.getDate(column);
+        return value == null ? null : value.toLocalDate();
+    }
+}
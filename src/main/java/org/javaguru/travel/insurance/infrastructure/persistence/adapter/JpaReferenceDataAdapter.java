@@ -15,6 +15,7 @@ import org.javaguru.travel.insurance.infrastructure.persistence.mapper.CountryMa
 import org.javaguru.travel.insurance.infrastructure.persistence.mapper.MedicalLevelMapper;
 import org.javaguru.travel.insurance.infrastructure.persistence.mapper.RiskMapper;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -26,9 +27,15 @@ import java.util.stream.Collectors;
  * Реализует интерфейс домена используя JPA репозитории
  * 
  * Это слой Infrastructure - он знает о JPA, но домен не знает о нем
+ *
+ * readOnly-транзакция: Hibernate не делает flush и не хранит снимки
+ * загруженных сущностей для dirty checking. Путь по умолчанию для расчёта —
+ * JdbcReferenceDataAdapter (reference.read-path=jdbc), этот адаптер
+ * остаётся для reference.read-path=jpa.
  */
 @Slf4j
 @Component
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class JpaReferenceDataAdapter implements ReferenceDataPort {
     
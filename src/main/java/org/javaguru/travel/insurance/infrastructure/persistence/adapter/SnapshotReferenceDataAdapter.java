@@ -0,0 +1,115 @@
+package org.javaguru.travel.insurance.infrastructure.persistence.adapter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.javaguru.travel.insurance.core.concurrent.SingleFlight;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataScope;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshot;
+import org.javaguru.travel.insurance.domain.model.entity.Country;
+import org.javaguru.travel.insurance.domain.model.entity.MedicalRiskLimitLevel;
+import org.javaguru.travel.insurance.domain.model.entity.Risk;
+import org.javaguru.travel.insurance.domain.model.valueobject.CountryCode;
+import org.javaguru.travel.insurance.domain.model.valueobject.RiskCode;
+import org.javaguru.travel.insurance.domain.port.ReferenceDataPort;
+import org.javaguru.travel.insurance.infrastructure.persistence.routing.PrimaryReads;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * ReferenceDataPort, учитывающий привязанный к потоку снимок справочников.
+ *
+ * - Если в ReferenceDataScope привязан снимок — ответ из памяти.
+ * - Иначе — запрос в БД через JdbcReferenceDataAdapter (reference.read-path=jdbc,
+ *   по умолчанию) или JpaReferenceDataAdapter (reference.read-path=jpa).
+ *   Одновременные одинаковые запросы (тот же метод, код и дата) схлопываются
+ *   через SingleFlight: в БД уходит один запрос, остальные ждут его результат
+ *   не дольше single-flight.timeout-ms. Запрос идёт на основную БД
+ *   (PrimaryReads): справочники сверяются со счётчиком версии тарифа,
+ *   а он читается там же.
+ *
+ * Помечен @Primary: все калькуляторы и стратегии получают этот адаптер
+ * без изменения своих зависимостей.
+ */
+@Primary
+@Component
+public class SnapshotReferenceDataAdapter implements ReferenceDataPort {
+
+    private final ReferenceDataPort database;
+    private final SingleFlight<Lookup, Object> lookups;
+
+    public SnapshotReferenceDataAdapter(
+            JdbcReferenceDataAdapter jdbcAdapter,
+            JpaReferenceDataAdapter jpaAdapter,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${single-flight.timeout-ms:5000}") long timeoutMs,
+            @Value("${reference.read-path:jdbc}") String readPath) {
+        this.database = switch (readPath) {
+            case "jdbc" -> jdbcAdapter;
+            case "jpa" -> jpaAdapter;
+            default -> throw new IllegalArgumentException(
+                    "Unknown reference.read-path '" + readPath + "', expected jdbc or jpa");
+        };
+        this.lookups = new SingleFlight<>("reference", Duration.ofMillis(timeoutMs),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    @Override
+    public Optional<Country> findCountry(CountryCode code, LocalDate date) {
+        Optional<ReferenceDataSnapshot> snapshot = ReferenceDataScope.current();
+        return snapshot.isPresent()
+                ? snapshot.get().findCountry(code.value(), date)
+                : load("country", code.value(), date, () -> database.findCountry(code, date));
+    }
+
+    @Override
+    public Optional<Risk> findRisk(RiskCode code, LocalDate date) {
+        Optional<ReferenceDataSnapshot> snapshot = ReferenceDataScope.current();
+        return snapshot.isPresent()
+                ? snapshot.get().findRisk(code.value(), date)
+                : load("risk", code.value(), date, () -> database.findRisk(code, date));
+    }
+
+    @Override
+    public Optional<MedicalRiskLimitLevel> findMedicalLevel(String code, LocalDate date) {
+        Optional<ReferenceDataSnapshot> snapshot = ReferenceDataScope.current();
+        return snapshot.isPresent()
+                ? snapshot.get().findMedicalLevel(code, date)
+                : load("medical-level", code, date, () -> database.findMedicalLevel(code, date));
+    }
+
+    @Override
+    public List<Risk> findRisks(List<RiskCode> codes, LocalDate date) {
+        Optional<ReferenceDataSnapshot> snapshot = ReferenceDataScope.current();
+        if (snapshot.isEmpty()) {
+            return load("risks", List.copyOf(codes), date, () -> database.findRisks(codes, date));
+        }
+        return codes.stream()
+                .map(code -> snapshot.get().findRisk(code.value(), date))
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    @Override
+    public List<Risk> findAllActiveRisks(LocalDate date) {
+        Optional<ReferenceDataSnapshot> snapshot = ReferenceDataScope.current();
+        return snapshot.isPresent()
+                ? snapshot.get().activeRisks(date)
+                : load("active-risks", null, date, () -> database.findAllActiveRisks(date));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T load(String kind, Object code, LocalDate date, Supplier<T> query) {
+        return (T) lookups.load(new Lookup(kind, code, date), () -> PrimaryReads.call(query));
+    }
+
+    private record Lookup(String kind, Object code, LocalDate date) {
+    }
+}
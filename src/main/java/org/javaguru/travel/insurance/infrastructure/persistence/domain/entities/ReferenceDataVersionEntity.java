@@ -0,0 +1,40 @@
+package org.javaguru.travel.insurance.infrastructure.persistence.domain.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Счётчик версии тарифа (таблица reference_data_version, одна строка с id = 1).
+ *
+ * В PostgreSQL счётчик увеличивают statement-level триггеры тарифных таблиц
+ * (changeset 023). Приложение его только читает — см. TariffVersionPoller.
+ */
+@Entity
+@Table(name = "reference_data_version")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReferenceDataVersionEntity {
+
+    @Id
+    @Column(name = "id")
+    private Short id;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    @Column(name = "changed_table", length = 100)
+    private String changedTable;
+}
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.javaguru.travel.insurance.domain.model.valueobject.PersonFingerprint;
 import org.javaguru.travel.insurance.infrastructure.persistence.converter.JsonStringConverter;
 
 import java.time.LocalDate;
@@ -76,6 +77,13 @@ public class UnderwritingDecisionEntity {
     @Column(name = "person_birth_date", nullable = false)
     private LocalDate personBirthDate;
 
+    /**
+     * SHA-256 нормализованных фамилии, имени и даты рождения (PersonFingerprint),
+     * заполняется при сохранении. Поиск решений по персоне идёт по нему.
+     */
+    @Column(name = "person_fingerprint", length = 64)
+    private String personFingerprint;
+
     // Детали поездки
     @Column(name = "country_iso_code", nullable = false, length = 2)
     private String countryIsoCode;
@@ -133,5 +141,9 @@ public class UnderwritingDecisionEntity {
         if (requestId == null) {
             requestId = UUID.randomUUID();
         }
+        if (personFingerprint == null && personFirstName != null
+                && personLastName != null && personBirthDate != null) {
+            personFingerprint = PersonFingerprint.of(personFirstName, personLastName, personBirthDate).value();
+        }
     }
 }
\ No newline at end of file
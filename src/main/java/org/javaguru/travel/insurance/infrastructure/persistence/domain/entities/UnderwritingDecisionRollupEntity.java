@@ -0,0 +1,68 @@
+package org.javaguru.travel.insurance.infrastructure.persistence.domain.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Счётчик решений андеррайтинга за минуту или сутки
+ * (таблица underwriting_decision_rollup, changeset 027).
+ *
+ * Приложение пишет и читает таблицу через JDBC — см. DecisionRollupAggregator
+ * и DecisionStatisticsService; сущность описывает схему.
+ */
+@Entity
+@Table(name = "underwriting_decision_rollup")
+@IdClass(UnderwritingDecisionRollupEntity.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnderwritingDecisionRollupEntity {
+
+    @Id
+    @Column(name = "granularity", length = 10)
+    private String granularity;
+
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+
+    @Id
+    @Column(name = "decision", length = 50)
+    private String decision;
+
+    @Id
+    @Column(name = "country_iso_code", length = 2)
+    private String countryIsoCode;
+
+    @Id
+    @Column(name = "max_severity", length = 20)
+    private String maxSeverity;
+
+    @Column(name = "decision_count", nullable = false)
+    private Long decisionCount;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String granularity;
+        private LocalDateTime bucketStart;
+        private String decision;
+        private String countryIsoCode;
+        private String maxSeverity;
+    }
+}
@@ -0,0 +1,275 @@
+package org.javaguru.travel.insurance.infrastructure.persistence.partition;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.infrastructure.persistence.routing.ConnectionWorkload;
+import org.javaguru.travel.insurance.infrastructure.persistence.routing.WorkloadContext;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Обслуживание помесячных секций underwriting_decisions и underwriting_audit_log
+ * (секционирование — changelog 026).
+ *
+ * КАК РАБОТАЕТ (при старте и по underwriting.partitions.maintenance.cron):
+ *   1. Создаёт секции текущего месяца и underwriting.partitions.premake-months
+ *      следующих, если их ещё нет — вставка никогда не попадает в DEFAULT.
+ *   2. Секции месяцев старше underwriting.partitions.retention-months
+ *      отсоединяются (DETACH PARTITION) — без DELETE, bloat и VACUUM.
+ *      Дальше по underwriting.partitions.retention-action:
+ *        DETACH  — таблица остаётся рядом для внешней выгрузки в архив;
+ *        ARCHIVE — переносится в схему underwriting.partitions.archive-schema;
+ *        DROP    — удаляется.
+ *
+ * Секция DEFAULT не трогается. Если в неё попали строки месяца, для которого
+ * секции не было, создание этой секции падает — ошибка пишется в лог и
+ * метрику, остальные секции обслуживаются.
+ *
+ * Несколько узлов не мешают друг другу: проход выполняется на одном
+ * соединении под pg_try_advisory_lock, второй узел его пропускает.
+ * На другой СУБД (H2 в тестах) и на несекционированной таблице — ничего
+ * не делает.
+ *
+ * DETACH берёт кратковременную эксклюзивную блокировку родительской таблицы
+ * (CONCURRENTLY несовместим с секцией DEFAULT), поэтому расписание по
+ * умолчанию — ночью.
+ *
+ * МЕТРИКИ:
+ *   underwriting.partitions.maintenance{action=created|detached|archived|dropped|failed}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "underwriting.partitions.maintenance.enabled", havingValue = "true", matchIfMissing = true)
+public class UnderwritingPartitionMaintenance {
+
+    static final String MAINTENANCE_METRIC = "underwriting.partitions.maintenance";
+
+    static final List<String> TABLES = List.of("underwriting_decisions", "underwriting_audit_log");
+
+    /** Ключ pg_try_advisory_lock прохода обслуживания. */
+    static final long LOCK_KEY = 0x55_57_50_41_52_54L;
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM", Locale.ROOT);
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private static final String PARTITIONED_SQL =
+            "SELECT count(*) FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid "
+                    + "WHERE c.relname = ? AND c.relnamespace = current_schema()::regnamespace";
+
+    private static final String PARTITIONS_SQL =
+            "SELECT child.relname FROM pg_inherits i "
+                    + "JOIN pg_class parent ON parent.oid = i.inhparent "
+                    + "JOIN pg_class child ON child.oid = i.inhrelid "
+                    + "WHERE parent.relname = ? AND parent.relnamespace = current_schema()::regnamespace";
+
+    enum RetentionAction { DETACH, ARCHIVE, DROP }
+
+    private final JdbcTemplate jdbc;
+    private final int premakeMonths;
+    private final int retentionMonths;
+    private final RetentionAction retentionAction;
+    private final String archiveSchema;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public UnderwritingPartitionMaintenance(
+            DataSource dataSource,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${underwriting.partitions.premake-months:3}") int premakeMonths,
+            @Value("${underwriting.partitions.retention-months:24}") int retentionMonths,
+            @Value("${underwriting.partitions.retention-action:DETACH}") String retentionAction,
+            @Value("${underwriting.partitions.archive-schema:underwriting_archive}") String archiveSchema) {
+        this(dataSource, meterRegistry.getIfAvailable(SimpleMeterRegistry::new), premakeMonths, retentionMonths,
+                RetentionAction.valueOf(retentionAction.trim().toUpperCase(Locale.ROOT)), archiveSchema);
+    }
+
+    UnderwritingPartitionMaintenance(DataSource dataSource, MeterRegistry meterRegistry, int premakeMonths,
+                                     int retentionMonths, RetentionAction retentionAction, String archiveSchema) {
+        if (premakeMonths < 1 || retentionMonths < 1) {
+            throw new IllegalArgumentException("premake-months and retention-months must be positive");
+        }
+        if (!IDENTIFIER.matcher(archiveSchema).matches()) {
+            throw new IllegalArgumentException("Invalid archive schema name: " + archiveSchema);
+        }
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.meterRegistry = meterRegistry;
+        this.premakeMonths = premakeMonths;
+        this.retentionMonths = retentionMonths;
+        this.retentionAction = retentionAction;
+        this.archiveSchema = archiveSchema;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${underwriting.partitions.maintenance.cron:0 30 2 * * *}")
+    public void maintain() {
+        try {
+            maintain(YearMonth.now());
+        } catch (DataAccessException e) {
+            log.warn("Underwriting partition maintenance failed, will retry on next run", e);
+        }
+    }
+
+    /**
+     * Проход обслуживания относительно месяца current.
+     *
+     * @return созданные и снятые по сроку хранения секции
+     */
+    public MaintenanceResult maintain(YearMonth current) {
+        return WorkloadContext.call(ConnectionWorkload.REPORTING, () ->
+                jdbc.execute((ConnectionCallback<MaintenanceResult>) connection -> {
+                    if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                        log.debug("Partition maintenance skipped: database is not PostgreSQL");
+                        return MaintenanceResult.SKIPPED;
+                    }
+                    var session = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+                    if (!Boolean.TRUE.equals(session.queryForObject(
+                            "SELECT pg_try_advisory_lock(?)", Boolean.class, LOCK_KEY))) {
+                        log.info("Partition maintenance skipped: another node is running it");
+                        return MaintenanceResult.SKIPPED;
+                    }
+                    try {
+                        return maintainTables(session, current);
+                    } finally {
+                        session.queryForObject("SELECT pg_advisory_unlock(?)", Boolean.class, LOCK_KEY);
+                    }
+                }));
+    }
+
+    private MaintenanceResult maintainTables(JdbcTemplate session, YearMonth current) {
+        List<String> created = new ArrayList<>();
+        List<String> expired = new ArrayList<>();
+        for (String table : TABLES) {
+            Integer partitioned = session.queryForObject(PARTITIONED_SQL, Integer.class, table);
+            if (partitioned == null || partitioned == 0) {
+                log.debug("Partition maintenance skipped: {} is not partitioned", table);
+                continue;
+            }
+            Plan plan = plan(table, session.queryForList(PARTITIONS_SQL, String.class, table),
+                    current, premakeMonths, retentionMonths);
+            for (YearMonth month : plan.toCreate()) {
+                String partition = partitionName(table, month);
+                if (run(session, "created", partition,
+                        "CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + table
+                                + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('"
+                                + month.plusMonths(1).atDay(1) + "')")) {
+                    created.add(partition);
+                }
+            }
+            for (String partition : plan.expired()) {
+                if (expire(session, table, partition)) {
+                    expired.add(partition);
+                }
+            }
+        }
+        if (!created.isEmpty() || !expired.isEmpty()) {
+            log.info("Underwriting partitions maintained: created {}, expired {} ({})",
+                    created, expired, retentionAction);
+        }
+        return new MaintenanceResult(created, expired);
+    }
+
+    private boolean expire(JdbcTemplate session, String table, String partition) {
+        if (!run(session, "detached", partition, "ALTER TABLE " + table + " DETACH PARTITION " + partition)) {
+            return false;
+        }
+        return switch (retentionAction) {
+            case DETACH -> true;
+            case ARCHIVE -> run(session, "archived", partition,
+                    "CREATE SCHEMA IF NOT EXISTS " + archiveSchema,
+                    "ALTER TABLE " + partition + " SET SCHEMA " + archiveSchema);
+            case DROP -> run(session, "dropped", partition, "DROP TABLE " + partition);
+        };
+    }
+
+    private boolean run(JdbcTemplate session, String action, String partition, String... statements) {
+        try {
+            for (String sql : statements) {
+                session.execute(sql);
+            }
+            meterRegistry.counter(MAINTENANCE_METRIC, "action", action).increment();
+            return true;
+        } catch (DataAccessException e) {
+            meterRegistry.counter(MAINTENANCE_METRIC, "action", "failed").increment();
+            log.error("Partition {} could not be {}", partition, action, e);
+            return false;
+        }
+    }
+
+    /**
+     * Какие секции таблицы создать и какие снять по сроку хранения.
+     * Учитываются только секции вида &lt;table&gt;_pYYYY_MM; DEFAULT и
+     * посторонние таблицы не трогаются.
+     */
+    static Plan plan(String table, Collection<String> existing, YearMonth current,
+                     int premakeMonths, int retentionMonths) {
+        Set<String> names = Set.copyOf(existing);
+        List<YearMonth> toCreate = new ArrayList<>();
+        for (int i = 0; i <= premakeMonths; i++) {
+            YearMonth month = current.plusMonths(i);
+            if (!names.contains(partitionName(table, month))) {
+                toCreate.add(month);
+            }
+        }
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+        String prefix = table + "_p";
+        List<String> expired = existing.stream()
+                .filter(name -> name.startsWith(prefix))
+                .filter(name -> {
+                    YearMonth month = parseMonth(name.substring(prefix.length()));
+                    return month != null && month.isBefore(oldestKept);
+                })
+                .sorted()
+                .toList();
+        return new Plan(toCreate, expired);
+    }
+
+    static String partitionName(String table, YearMonth month) {
+        return table + "_p" + month.format(SUFFIX);
+    }
+
+    private static YearMonth parseMonth(String suffix) {
+        try {
+            return YearMonth.parse(suffix, SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    record Plan(List<YearMonth> toCreate, List<String> expired) {
+    }
+
+    /**
+     * @param created секции, созданные в этом проходе
+     * @param expired секции, снятые по сроку хранения
+     */
+    public record MaintenanceResult(List<String> created, List<String> expired) {
+
+        static final MaintenanceResult SKIPPED = new MaintenanceResult(List.of(), List.of());
+    }
+}
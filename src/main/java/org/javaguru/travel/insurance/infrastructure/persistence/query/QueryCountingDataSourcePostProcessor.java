@@ -0,0 +1,27 @@
+package org.javaguru.travel.insurance.infrastructure.persistence.query;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Оборачивает каждый DataSource приложения в QueryCountingDataSource.
+ *
+ * Отключается свойством query-budget.enabled=false.
+ * Spring Boot разворачивает DelegatingDataSource сам, поэтому метрики
+ * и health-check пула Hikari продолжают работать.
+ */
+@Component
+@ConditionalOnProperty(name = "query-budget.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryCountingDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)) {
+            return new QueryCountingDataSource(dataSource);
+        }
+        return bean;
+    }
+}
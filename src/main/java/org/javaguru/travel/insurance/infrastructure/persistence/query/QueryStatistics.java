@@ -0,0 +1,115 @@
+package org.javaguru.travel.insurance.infrastructure.persistence.query;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Счётчик JDBC-запросов текущего потока.
+ *
+ * ЗАЧЕМ:
+ *   Чтобы видеть, сколько SQL выполняет один HTTP-запрос (например, V3 с
+ *   10 персонами и 3 рисками), и ловить N+1 до продакшна.
+ *
+ * КАК РАБОТАЕТ:
+ *   - open() открывает область учёта (Scope) в ThreadLocal;
+ *   - QueryCountingDataSource сообщает сюда о каждом выполненном statement
+ *     (число, время, текст SQL);
+ *   - области вкладываются: при закрытии вложенной её итоги добавляются
+ *     во внешнюю (тест может измерить запрос, который уже считает фильтр).
+ *
+ * Запросы из других потоков (@Async, пулы батч-расчёта) в область не попадают.
+ */
+public final class QueryStatistics {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private QueryStatistics() {
+    }
+
+    /**
+     * Открывает область учёта для текущего потока; закрывать через try-with-resources.
+     */
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Текущая (самая внутренняя) область учёта, если открыта.
+     */
+    public static Optional<Scope> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    static void record(String sql, long nanos) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.add(sql, 1, nanos);
+        }
+    }
+
+    /**
+     * Итоги одной области учёта. Не потокобезопасна: используется одним потоком.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private static final String UNKNOWN_SQL = "<unknown>";
+
+        private final Scope parent;
+        private final Map<String, Integer> executionsBySql = new HashMap<>();
+        private int statementCount;
+        private long totalNanos;
+        private boolean closed;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public int getStatementCount() {
+            return statementCount;
+        }
+
+        public Duration getTotalTime() {
+            return Duration.ofNanos(totalNanos);
+        }
+
+        /**
+         * SQL, выполненные не меньше threshold раз — типичный признак N+1.
+         * Упорядочены по убыванию числа выполнений.
+         */
+        public Map<String, Integer> getRepeatedStatements(int threshold) {
+            Map<String, Integer> repeated = new LinkedHashMap<>();
+            executionsBySql.entrySet().stream()
+                    .filter(entry -> entry.getValue() >= threshold)
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                    .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+            return repeated;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (parent == null) {
+                CURRENT.remove();
+                return;
+            }
+            CURRENT.set(parent);
+            parent.statementCount += statementCount;
+            parent.totalNanos += totalNanos;
+            executionsBySql.forEach((sql, count) -> parent.executionsBySql.merge(sql, count, Integer::sum));
+        }
+
+        private void add(String sql, int count, long nanos) {
+            statementCount += count;
+            totalNanos += nanos;
+            executionsBySql.merge(sql != null ? sql : UNKNOWN_SQL, count, Integer::sum);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package org.javaguru.travel.insurance.infrastructure.persistence.repositories;
 
 import jakarta.persistence.LockModeType;
 import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.PromoCodeEntity;
+import org.javaguru.travel.insurance.infrastructure.persistence.routing.ConnectionPool;
+import org.javaguru.travel.insurance.infrastructure.persistence.routing.ConnectionWorkload;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
@@ -21,6 +23,7 @@ import java.util.Optional;
  * для атомарного чтения + инкремента счётчика использования.
  */
 @Repository
+@ConnectionPool(ConnectionWorkload.PROMO)
 public interface PromoCodeRepository extends JpaRepository<PromoCodeEntity, Long> {
 
     /**
@@ -0,0 +1,22 @@
+package org.javaguru.travel.insurance.infrastructure.persistence.repositories;
+
+import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.ReferenceDataVersionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Чтение счётчика версии тарифа.
+ */
+@Repository
+public interface ReferenceDataVersionRepository extends JpaRepository<ReferenceDataVersionEntity, Short> {
+
+    /**
+     * Текущее значение счётчика; empty — строки нет (схема без changeset 023,
+     * например H2 в тестах: такая БД считается неизменной, версия 0).
+     */
+    @Query("SELECT v.version FROM ReferenceDataVersionEntity v WHERE v.id = 1")
+    Optional<Long> findCurrentVersion();
+}
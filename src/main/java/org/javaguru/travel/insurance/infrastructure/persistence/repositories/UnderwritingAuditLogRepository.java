@@ -1,6 +1,8 @@
 package org.javaguru.travel.insurance.infrastructure.persistence.repositories;
 
 import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.UnderwritingAuditLogEntity;
+import org.javaguru.travel.insurance.infrastructure.persistence.routing.ConnectionPool;
+import org.javaguru.travel.insurance.infrastructure.persistence.routing.ConnectionWorkload;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,6 +15,7 @@ import java.util.List;
  * Репозиторий для аудит-лога андеррайтинга
  */
 @Repository
+@ConnectionPool(ConnectionWorkload.AUDIT)
 public interface UnderwritingAuditLogRepository extends JpaRepository<UnderwritingAuditLogEntity, Long> {
 
     /**
@@ -1,10 +1,14 @@
 package org.javaguru.travel.insurance.infrastructure.persistence.repositories;
 
+import org.javaguru.travel.insurance.domain.model.valueobject.PersonFingerprint;
 import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.UnderwritingDecisionEntity;
+import org.javaguru.travel.insurance.infrastructure.persistence.routing.ConnectionPool;
+import org.javaguru.travel.insurance.infrastructure.persistence.routing.ConnectionWorkload;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -14,8 +18,17 @@ import java.util.UUID;
 
 /**
  * Репозиторий для решений андеррайтинга
+ *
+ * Пул соединений — audit (запись решений); отчётные выборки — reporting,
+ * проверка прошлых отказов на пути расчёта — pricing.
+ *
+ * Отчётные выборки помечены @Transactional(readOnly = true): при заданной
+ * реплике (datasource.replica.url) они уходят на неё, не отнимая соединения
+ * основной БД у расчёта и аудита. hasPreviousDeclines остаётся на основной:
+ * отставание реплики пропустило бы только что записанный отказ.
  */
 @Repository
+@ConnectionPool(ConnectionWorkload.AUDIT)
 public interface UnderwritingDecisionRepository extends JpaRepository<UnderwritingDecisionEntity, Long> {
 
     /**
@@ -24,22 +37,33 @@ public interface UnderwritingDecisionRepository extends JpaRepository<Underwriti
     Optional<UnderwritingDecisionEntity> findByRequestId(UUID requestId);
 
     /**
-     * Находит все решения по персоне
+     * Находит все решения по персоне (без учёта регистра и лишних пробелов в именах)
      */
-    List<UnderwritingDecisionEntity> findByPersonFirstNameAndPersonLastNameAndPersonBirthDate(
+    default List<UnderwritingDecisionEntity> findByPersonFirstNameAndPersonLastNameAndPersonBirthDate(
             String firstName,
             String lastName,
             LocalDate birthDate
-    );
+    ) {
+        return findByPersonFingerprint(PersonFingerprint.of(firstName, lastName, birthDate).value());
+    }
+
+    /**
+     * Находит все решения по отпечатку персоны
+     */
+    List<UnderwritingDecisionEntity> findByPersonFingerprint(String personFingerprint);
 
     /**
      * Находит решения по типу решения
      */
+    @ConnectionPool(ConnectionWorkload.REPORTING)
+    @Transactional(readOnly = true)
     List<UnderwritingDecisionEntity> findByDecision(String decision);
 
     /**
      * Находит решения за период
      */
+    @ConnectionPool(ConnectionWorkload.REPORTING)
+    @Transactional(readOnly = true)
     List<UnderwritingDecisionEntity> findByCreatedAtBetween(
             LocalDateTime from,
             LocalDateTime to
@@ -47,12 +71,22 @@ public interface UnderwritingDecisionRepository extends JpaRepository<Underwriti
 
     /**
      * Подсчитывает решения по типу
+     *
+     * @deprecated читает всю таблицу; используйте DecisionStatisticsService.countByDecision
      */
+    @Deprecated
+    @ConnectionPool(ConnectionWorkload.REPORTING)
+    @Transactional(readOnly = true)
     long countByDecision(String decision);
 
     /**
      * Статистика решений за период
+     *
+     * @deprecated GROUP BY по решениям периода; используйте DecisionStatisticsService
      */
+    @Deprecated
+    @ConnectionPool(ConnectionWorkload.REPORTING)
+    @Transactional(readOnly = true)
     @Query("SELECT u.decision, COUNT(u) FROM UnderwritingDecisionEntity u " +
             "WHERE u.createdAt BETWEEN :from AND :to " +
             "GROUP BY u.decision")
@@ -62,16 +96,24 @@ public interface UnderwritingDecisionRepository extends JpaRepository<Underwriti
     );
 
     /**
-     * Проверяет наличие предыдущих отказов для персоны
+     * Проверяет наличие предыдущих отказов для персоны.
+     * PriorDeclineRule на пути расчёта спрашивает DeclinedPersonIndex в памяти,
+     * а не этот метод.
      */
-    @Query("SELECT COUNT(u) > 0 FROM UnderwritingDecisionEntity u " +
-            "WHERE u.personFirstName = :firstName " +
-            "AND u.personLastName = :lastName " +
-            "AND u.personBirthDate = :birthDate " +
-            "AND u.decision = 'DECLINED'")
-    boolean hasPreviousDeclines(
-            @Param("firstName") String firstName,
-            @Param("lastName") String lastName,
-            @Param("birthDate") LocalDate birthDate
-    );
+    @ConnectionPool(ConnectionWorkload.PRICING)
+    default boolean hasPreviousDeclines(
+            String firstName,
+            String lastName,
+            LocalDate birthDate
+    ) {
+        return existsByPersonFingerprintAndDecision(
+                PersonFingerprint.of(firstName, lastName, birthDate).value(), "DECLINED");
+    }
+
+    /**
+     * Есть ли решение данного типа для отпечатка персоны — поиск по
+     * idx_underwriting_person_fingerprint
+     */
+    @ConnectionPool(ConnectionWorkload.PRICING)
+    boolean existsByPersonFingerprintAndDecision(String personFingerprint, String decision);
 }
\ No newline at end of file
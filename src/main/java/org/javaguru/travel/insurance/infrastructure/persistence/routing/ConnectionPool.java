@@ -0,0 +1,23 @@
+package org.javaguru.travel.insurance.infrastructure.persistence.routing;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Привязывает репозиторий (или отдельный его метод) к пулу соединений.
+ *
+ * Аннотация метода важнее аннотации интерфейса. Пул выбирается при первом
+ * запросе транзакции: все вызовы внутри уже начатой транзакции идут
+ * через её соединение, независимо от пометок вызываемых репозиториев.
+ * Действует при datasource.workloads.enabled=true (RoutingDataSourceConfiguration).
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface ConnectionPool {
+
+    ConnectionWorkload value();
+}
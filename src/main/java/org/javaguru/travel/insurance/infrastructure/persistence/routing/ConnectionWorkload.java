@@ -0,0 +1,24 @@
+package org.javaguru.travel.insurance.infrastructure.persistence.routing;
+
+import java.util.Locale;
+
+/**
+ * Класс нагрузки на БД — у каждого свой пул соединений (bulkhead).
+ *
+ * PRICING   — чтения расчёта премии; пул по умолчанию для кода без пометки;
+ * AUDIT     — запись решений и аудит-лога андеррайтинга;
+ * PROMO     — погашение промокодов (SELECT FOR UPDATE держит соединение до коммита);
+ * REPORTING — отчётные выборки по журналу решений.
+ */
+public enum ConnectionWorkload {
+
+    PRICING,
+    AUDIT,
+    PROMO,
+    REPORTING;
+
+    /** Имя пула Hikari и суффикс свойств datasource.workloads.&lt;name&gt;. */
+    public String poolName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,41 @@
+package org.javaguru.travel.insurance.infrastructure.persistence.routing;
+
+import java.util.function.Supplier;
+
+/**
+ * Явное чтение с основной БД — для данных, которые должны совпадать
+ * со счётчиком версии тарифа (reference_data_version).
+ *
+ * Счётчик и тарифные таблицы на реплике отстают от основной БД вместе,
+ * но TariffConsistencyGuard и TariffVersionPoller сверяют версию, а снимок
+ * справочников помечается версией: если счётчик прочитан в одной базе,
+ * а таблицы в другой, снимок получит чужую версию. Поэтому снимок,
+ * счётчик и расчёт премии читают основную БД, реплике остаются отчёты
+ * и выгрузки.
+ *
+ * Сильнее readOnly-транзакции и ReplicaReads: соединение, полученное
+ * внутри call, всегда с основной БД. Без настроенной реплики — no-op.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> REQUESTED = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T call(Supplier<T> action) {
+        if (REQUESTED.get() != null) {
+            return action.get();
+        }
+        REQUESTED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            REQUESTED.remove();
+        }
+    }
+
+    static boolean requested() {
+        return REQUESTED.get() != null;
+    }
+}
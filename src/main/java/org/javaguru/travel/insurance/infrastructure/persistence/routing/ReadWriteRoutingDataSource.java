@@ -0,0 +1,117 @@
+package org.javaguru.travel.insurance.infrastructure.persistence.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * DataSource, который отправляет чтение на реплику, а запись — на основную БД.
+ *
+ * КУДА ИДЁТ СОЕДИНЕНИЕ:
+ *   основная — внутри PrimaryReads.call (снимок справочников, счётчик
+ *              версии тарифа, расчёт премии) — даже в readOnly-транзакции;
+ *   реплика  — readOnly-транзакция (@Transactional(readOnly = true)) или
+ *              ReplicaReads.call вне транзакции;
+ *   основная — всё остальное: пишущие транзакции (аудит, погашение
+ *              промокода), код без транзакции.
+ *
+ * Решение принимается при получении соединения, поэтому приложение
+ * видит этот DataSource через LazyConnectionDataSourceProxy: менеджер
+ * транзакций берёт соединение в doBegin, до того как признак readOnly
+ * попадает в TransactionSynchronizationManager, а прокси откладывает
+ * реальное получение до первого запроса.
+ *
+ * ОТСТАВАНИЕ И ОТКАЗ РЕПЛИКИ:
+ *   ReplicaLagMonitor снимает флаг replicaUsable, если отставание больше
+ *   datasource.replica.max-lag-ms или реплика не отвечает. Ошибка получения
+ *   соединения с реплики тоже снимает флаг — запрос уходит на основную БД.
+ *   Флаг возвращает следующая успешная проверка монитора.
+ *
+ * МЕТРИКИ:
+ *   datasource.routing{target=primary|replica} — выданные соединения;
+ *   datasource.replica.usable — 1, если чтение идёт на реплику.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    static final String ROUTING_METRIC = "datasource.routing";
+    static final String USABLE_METRIC = "datasource.replica.usable";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+
+    private volatile boolean replicaUsable = true;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.primaryConnections = Counter.builder(ROUTING_METRIC)
+                .description("Connections handed out by the read/write routing datasource")
+                .tag("target", "primary")
+                .register(meterRegistry);
+        this.replicaConnections = Counter.builder(ROUTING_METRIC)
+                .description("Connections handed out by the read/write routing datasource")
+                .tag("target", "replica")
+                .register(meterRegistry);
+        Gauge.builder(USABLE_METRIC, this, ds -> ds.replicaUsable ? 1 : 0)
+                .description("Whether read-only work is routed to the replica")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (routeToReplica()) {
+            try {
+                Connection connection = replica.getConnection();
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException e) {
+                setReplicaUsable(false, "connection failed: " + e.getMessage());
+            }
+        }
+        primaryConnections.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("ReadWriteRoutingDataSource does not support per-call credentials");
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /** Вызывается ReplicaLagMonitor по результату проверки отставания. */
+    void setReplicaUsable(boolean usable, String reason) {
+        if (usable && !replicaUsable) {
+            log.info("Replica is usable again ({}), routing read-only work to it", reason);
+        } else if (!usable && replicaUsable) {
+            log.warn("Replica is not usable ({}), routing read-only work to the primary", reason);
+        }
+        replicaUsable = usable;
+    }
+
+    private boolean routeToReplica() {
+        if (!replicaUsable || PrimaryReads.requested()) {
+            return false;
+        }
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return true;
+        }
+        return ReplicaReads.requested() && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    DataSource replica() {
+        return replica;
+    }
+}
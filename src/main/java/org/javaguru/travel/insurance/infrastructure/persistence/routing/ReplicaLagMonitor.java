@@ -0,0 +1,67 @@
+package org.javaguru.travel.insurance.infrastructure.persistence.routing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Периодическая проверка отставания реплики.
+ *
+ * Запрос datasource.replica.lag-query возвращает отставание в секундах.
+ * По умолчанию — для потоковой репликации PostgreSQL: 0, если реплика
+ * применила всё полученное (иначе простаивающая основная БД выглядела бы
+ * «отстающей»), и возраст последней применённой транзакции в остальных
+ * случаях. Отставание больше datasource.replica.max-lag-ms или ошибка
+ * запроса переключают чтение на основную БД до следующей успешной проверки.
+ *
+ * Метрика datasource.replica.lag — последнее измеренное отставание, мс
+ * (-1, если реплика не ответила).
+ */
+public class ReplicaLagMonitor {
+
+    static final String LAG_METRIC = "datasource.replica.lag";
+
+    static final String POSTGRES_LAG_QUERY =
+            "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+                    + "ELSE COALESCE(EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())), 0) END";
+
+    private final ReadWriteRoutingDataSource routing;
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final long maxLagMs;
+    private final AtomicLong lastLagMs = new AtomicLong(-1);
+
+    public ReplicaLagMonitor(ReadWriteRoutingDataSource routing, String lagQuery, long maxLagMs,
+                             MeterRegistry meterRegistry) {
+        this.routing = routing;
+        this.replica = new JdbcTemplate(routing.replica());
+        this.lagQuery = lagQuery;
+        this.maxLagMs = maxLagMs;
+        Gauge.builder(LAG_METRIC, lastLagMs, AtomicLong::get)
+                .description("Replica replication lag measured by the lag query")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:5000}",
+            initialDelayString = "${datasource.replica.lag-check-interval-ms:5000}")
+    public void check() {
+        try {
+            Number lagSeconds = replica.queryForObject(lagQuery, Number.class);
+            long lagMs = lagSeconds == null ? 0 : Math.round(lagSeconds.doubleValue() * 1000);
+            lastLagMs.set(lagMs);
+            routing.setReplicaUsable(lagMs <= maxLagMs, "lag " + lagMs + " ms, limit " + maxLagMs + " ms");
+        } catch (DataAccessException e) {
+            lastLagMs.set(-1);
+            routing.setReplicaUsable(false, "lag check failed: " + e.getMessage());
+        }
+    }
+
+    long lastLagMs() {
+        return lastLagMs.get();
+    }
+}
@@ -0,0 +1,40 @@
+package org.javaguru.travel.insurance.infrastructure.persistence.routing;
+
+import java.util.function.Supplier;
+
+/**
+ * Явный запрос чтения с реплики для кода, который работает без транзакции.
+ *
+ * ReadWriteRoutingDataSource отправляет на реплику readOnly-транзакции.
+ * Отчёты без транзакции (DecisionStatisticsService, UnderwritingDecisionExporter)
+ * оборачивают запросы в ReplicaReads.call.
+ * Внутри уже открытой транзакции запрос игнорируется: соединение
+ * транзакции одно, и пишущая транзакция должна читать свои же изменения.
+ * Внутри PrimaryReads.call — тоже: данные, сверяемые со счётчиком версии
+ * тарифа, читаются только с основной БД.
+ *
+ * Без настроенной реплики — no-op.
+ */
+public final class ReplicaReads {
+
+    private static final ThreadLocal<Boolean> REQUESTED = new ThreadLocal<>();
+
+    private ReplicaReads() {
+    }
+
+    public static <T> T call(Supplier<T> action) {
+        if (REQUESTED.get() != null) {
+            return action.get();
+        }
+        REQUESTED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            REQUESTED.remove();
+        }
+    }
+
+    static boolean requested() {
+        return REQUESTED.get() != null;
+    }
+}
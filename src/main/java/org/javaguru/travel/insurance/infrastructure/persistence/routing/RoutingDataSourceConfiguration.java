@@ -0,0 +1,165 @@
+package org.javaguru.travel.insurance.infrastructure.persistence.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Маршрутизация соединений: реплика для чтения и/или отдельные пулы
+ * по классам нагрузки.
+ *
+ * Включается любым из свойств; без них приложение использует единственный
+ * DataSource из автоконфигурации Spring Boot.
+ *
+ * РЕПЛИКА (datasource.replica.url) — ReadWriteRoutingDataSource:
+ *   datasource.replica.url / username / password — реплика (логин и пароль
+ *       по умолчанию как у spring.datasource);
+ *   datasource.replica.hikari.*         — пул реплики (read-only по умолчанию);
+ *   datasource.replica.max-lag-ms       — допустимое отставание (5000);
+ *   datasource.replica.lag-query        — запрос отставания в секундах
+ *       (по умолчанию для PostgreSQL, см. ReplicaLagMonitor);
+ *   datasource.replica.lag-check-interval-ms — период проверки (5000).
+ *
+ * ПУЛЫ ПО НАГРУЗКЕ (datasource.workloads.enabled=true) — WorkloadRoutingDataSource:
+ *   основная БД делится на пулы pricing, audit, promo, reporting;
+ *   pricing настраивается spring.datasource.hikari.*, каждый пул дополнительно —
+ *   datasource.workloads.&lt;pool&gt;.* (любые свойства Hikari: maximum-pool-size,
+ *   connection-timeout, ...). Репозитории привязываются к пулу @ConnectionPool.
+ *
+ * Цепочка: LazyConnectionDataSourceProxy → ReadWriteRoutingDataSource
+ * (если есть реплика) → WorkloadRoutingDataSource (если включены пулы) → Hikari.
+ *
+ * Бином-DataSource является только итоговый прокси: пулы и маршрутизаторы
+ * лежат в RoutingPools, иначе QueryCountingDataSourcePostProcessor обернул бы
+ * каждый слой и посчитал запрос несколько раз. RoutingPools закрывает пулы
+ * при остановке; метрики Hikari публикуются с именами пулов.
+ */
+@Configuration
+@ConditionalOnExpression("'${datasource.replica.url:}' != '' or '${datasource.workloads.enabled:false}' == 'true'")
+public class RoutingDataSourceConfiguration {
+
+    /** Размеры пулов по умолчанию; pricing берёт размер из spring.datasource.hikari. */
+    static final Map<ConnectionWorkload, Integer> DEFAULT_POOL_SIZES = Map.of(
+            ConnectionWorkload.AUDIT, 4,
+            ConnectionWorkload.PROMO, 4,
+            ConnectionWorkload.REPORTING, 2);
+
+    @Bean
+    static WorkloadRepositoryPostProcessor workloadRepositoryPostProcessor() {
+        return new WorkloadRepositoryPostProcessor();
+    }
+
+    @Bean(destroyMethod = "close")
+    RoutingPools routingPools(DataSourceProperties primaryProperties, Environment environment,
+                              ObjectProvider<MeterRegistry> meterRegistry) {
+        Binder binder = Binder.get(environment);
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        var metrics = new MicrometerMetricsTrackerFactory(registry);
+        List<HikariDataSource> pools = new ArrayList<>();
+
+        DataSource primary;
+        if (binder.bind("datasource.workloads.enabled", Boolean.class).orElse(false)) {
+            Map<ConnectionWorkload, HikariDataSource> workloadPools = new EnumMap<>(ConnectionWorkload.class);
+            for (ConnectionWorkload workload : ConnectionWorkload.values()) {
+                HikariDataSource pool = pool(primaryProperties, "spring.datasource.hikari",
+                        workload.poolName(), metrics, binder);
+                if (DEFAULT_POOL_SIZES.containsKey(workload)) {
+                    pool.setMaximumPoolSize(DEFAULT_POOL_SIZES.get(workload));
+                }
+                binder.bind("datasource.workloads." + workload.poolName(), Bindable.ofInstance(pool));
+                workloadPools.put(workload, pool);
+            }
+            pools.addAll(workloadPools.values());
+            primary = new WorkloadRoutingDataSource(workloadPools, registry);
+        } else {
+            HikariDataSource pool = pool(primaryProperties, "spring.datasource.hikari", "primary", metrics, binder);
+            pools.add(pool);
+            primary = pool;
+        }
+
+        ReadWriteRoutingDataSource readWrite = null;
+        if (!binder.bind("datasource.replica.url", String.class).orElse("").isBlank()) {
+            DataSourceProperties replicaProperties = binder
+                    .bind("datasource.replica", Bindable.of(DataSourceProperties.class))
+                    .orElseThrow(() -> new IllegalStateException("datasource.replica is not configured"));
+            if (replicaProperties.getUsername() == null) {
+                replicaProperties.setUsername(primaryProperties.determineUsername());
+                replicaProperties.setPassword(primaryProperties.determinePassword());
+            }
+            HikariDataSource replica = pool(replicaProperties, "datasource.replica.hikari", "replica", metrics, binder);
+            if (!binder.bind("datasource.replica.hikari.read-only", Boolean.class).isBound()) {
+                replica.setReadOnly(true);
+            }
+            pools.add(replica);
+            readWrite = new ReadWriteRoutingDataSource(primary, replica, registry);
+        }
+
+        return new RoutingPools(pools, readWrite != null ? readWrite : primary, readWrite);
+    }
+
+    /**
+     * DataSource приложения: JPA, JdbcTemplate, Liquibase.
+     * LazyConnectionDataSourceProxy откладывает выбор цели до первого запроса
+     * транзакции, когда признак readOnly и класс нагрузки уже известны.
+     */
+    @Bean
+    @Primary
+    DataSource dataSource(RoutingPools pools) {
+        return new LazyConnectionDataSourceProxy(pools.routing());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "datasource.replica.url")
+    ReplicaLagMonitor replicaLagMonitor(RoutingPools pools,
+                                        ObjectProvider<MeterRegistry> meterRegistry,
+                                        @Value("${datasource.replica.lag-query:}") String lagQuery,
+                                        @Value("${datasource.replica.max-lag-ms:5000}") long maxLagMs) {
+        return new ReplicaLagMonitor(pools.readWrite(),
+                lagQuery.isBlank() ? ReplicaLagMonitor.POSTGRES_LAG_QUERY : lagQuery,
+                maxLagMs, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, String hikariPrefix, String poolName,
+                                         MicrometerMetricsTrackerFactory metrics, Binder binder) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind(hikariPrefix, Bindable.ofInstance(pool));
+        pool.setPoolName(poolName);
+        pool.setMetricsTrackerFactory(metrics);
+        return pool;
+    }
+
+    /**
+     * Пулы и маршрутизаторы над ними; не DataSource, поэтому не оборачивается
+     * в QueryCountingDataSource.
+     *
+     * @param routing   вершина цепочки маршрутизации
+     * @param readWrite маршрутизатор реплики или null, если реплика не задана
+     */
+    record RoutingPools(List<HikariDataSource> pools, DataSource routing, ReadWriteRoutingDataSource readWrite)
+            implements AutoCloseable {
+
+        @Override
+        public void close() {
+            pools.forEach(HikariDataSource::close);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.javaguru.travel.insurance.infrastructure.persistence.routing;
+
+import java.util.function.Supplier;
+
+/**
+ * Класс нагрузки текущего потока для WorkloadRoutingDataSource.
+ *
+ * Выставляется перехватчиком репозиториев с @ConnectionPool
+ * (WorkloadRepositoryPostProcessor) или явно через call. Вложенный
+ * вызов переопределяет внешний на время своего выполнения.
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<ConnectionWorkload> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static <T> T call(ConnectionWorkload workload, Supplier<T> action) {
+        ConnectionWorkload previous = swap(workload);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public static ConnectionWorkload current() {
+        ConnectionWorkload workload = CURRENT.get();
+        return workload != null ? workload : ConnectionWorkload.PRICING;
+    }
+
+    static ConnectionWorkload swap(ConnectionWorkload workload) {
+        ConnectionWorkload previous = CURRENT.get();
+        CURRENT.set(workload);
+        return previous;
+    }
+
+    static void restore(ConnectionWorkload previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
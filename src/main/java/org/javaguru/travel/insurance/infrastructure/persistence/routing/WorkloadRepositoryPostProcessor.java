@@ -0,0 +1,64 @@
+package org.javaguru.travel.insurance.infrastructure.persistence.routing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.lang.reflect.Method;
+
+/**
+ * Привязывает Spring Data репозитории с @ConnectionPool к их пулу.
+ *
+ * До инициализации фабрики репозитория добавляет в прокси перехватчик,
+ * который на время вызова выставляет WorkloadContext. Перехватчик стоит
+ * после транзакционного: LazyConnectionDataSourceProxy получает реальное
+ * соединение только на первом запросе, то есть уже внутри вызова —
+ * с выставленным классом нагрузки.
+ */
+class WorkloadRepositoryPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxy, repository) -> {
+                        ConnectionPool typeLevel = AnnotatedElementUtils.findMergedAnnotation(
+                                repository.getRepositoryInterface(), ConnectionPool.class);
+                        if (typeLevel != null || hasAnnotatedMethods(repository.getRepositoryInterface())) {
+                            proxy.addAdvice(new WorkloadInterceptor(typeLevel));
+                        }
+                    }));
+        }
+        return bean;
+    }
+
+    private static boolean hasAnnotatedMethods(Class<?> repositoryInterface) {
+        for (Method method : repositoryInterface.getMethods()) {
+            if (AnnotatedElementUtils.hasAnnotation(method, ConnectionPool.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record WorkloadInterceptor(ConnectionPool typeLevel) implements MethodInterceptor {
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            ConnectionPool methodLevel = AnnotatedElementUtils.findMergedAnnotation(
+                    invocation.getMethod(), ConnectionPool.class);
+            ConnectionPool pool = methodLevel != null ? methodLevel : typeLevel;
+            if (pool == null) {
+                return invocation.proceed();
+            }
+            ConnectionWorkload previous = WorkloadContext.swap(pool.value());
+            try {
+                return invocation.proceed();
+            } finally {
+                WorkloadContext.restore(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.javaguru.travel.insurance.infrastructure.persistence.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Выдаёт соединение из пула класса нагрузки текущего потока (WorkloadContext).
+ *
+ * ПРОБЛЕМА:
+ *   Вставки аудита андеррайтинга, блокировки строк промокодов и чтения
+ *   расчёта делят один пул Hikari. Всплеск записей аудита или спорный
+ *   промокод, держащий SELECT FOR UPDATE, выбирают все соединения —
+ *   и расчёт премии ждёт connection-timeout.
+ *
+ * РЕШЕНИЕ:
+ *   Отдельный пул на каждый ConnectionWorkload со своими размером и
+ *   таймаутом: исчерпание одного пула не трогает остальные. Класс
+ *   нагрузки без своего пула получает пул PRICING.
+ *
+ * Метрики пулов — hikaricp_* с тегом pool=pricing|audit|promo|reporting;
+ * datasource.workload{workload} — выданные соединения по классам нагрузки.
+ */
+public class WorkloadRoutingDataSource extends AbstractDataSource {
+
+    static final String WORKLOAD_METRIC = "datasource.workload";
+
+    private final Map<ConnectionWorkload, DataSource> pools;
+    private final Map<ConnectionWorkload, Counter> connections = new EnumMap<>(ConnectionWorkload.class);
+
+    public WorkloadRoutingDataSource(Map<ConnectionWorkload, ? extends DataSource> pools, MeterRegistry meterRegistry) {
+        if (!pools.containsKey(ConnectionWorkload.PRICING)) {
+            throw new IllegalArgumentException("PRICING pool is required");
+        }
+        this.pools = new EnumMap<>(pools);
+        for (ConnectionWorkload workload : ConnectionWorkload.values()) {
+            connections.put(workload, Counter.builder(WORKLOAD_METRIC)
+                    .description("Connections handed out per workload class")
+                    .tag("workload", workload.poolName())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        ConnectionWorkload workload = WorkloadContext.current();
+        connections.get(workload).increment();
+        return pools.getOrDefault(workload, pools.get(ConnectionWorkload.PRICING)).getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("WorkloadRoutingDataSource does not support per-call credentials");
+    }
+}
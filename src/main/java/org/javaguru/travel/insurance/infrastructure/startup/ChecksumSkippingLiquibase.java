@@ -0,0 +1,115 @@
+package org.javaguru.travel.insurance.infrastructure.startup;
+
+import liquibase.exception.LiquibaseException;
+import liquibase.integration.spring.SpringLiquibase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Liquibase, который не запускается, если схема уже соответствует changelog.
+ *
+ * ПРОБЛЕМА:
+ *   На каждом старте SpringLiquibase разбирает все changelog-файлы, берёт
+ *   блокировку DATABASECHANGELOGLOCK и сверяет DATABASECHANGELOG — сотни
+ *   миллисекунд, даже когда применять нечего. При одновременном старте
+ *   нескольких узлов они ещё и ждут друг друга на блокировке.
+ *
+ * РЕШЕНИЕ:
+ *   SHA-256 по именам и содержимому всех файлов db/changelog/** (и по
+ *   контекстам запуска) сравнивается с суммой в schema_checksum.
+ *   Совпала — update пропускается. Не совпала или таблицы ещё нет —
+ *   обычный update, затем сумма записывается.
+ *
+ * Ручные правки схемы мимо Liquibase этот шлюз не замечает — как и сам
+ * Liquibase, который сверяет только журнал применённых changeSet.
+ */
+@Slf4j
+public class ChecksumSkippingLiquibase extends SpringLiquibase {
+
+    static final String CHANGELOG_PATTERN = "classpath*:db/changelog/**/*.*";
+
+    private static final String SELECT_CHECKSUM = "SELECT checksum FROM schema_checksum WHERE id = 1";
+    private static final String UPDATE_CHECKSUM =
+            "UPDATE schema_checksum SET checksum = ?, applied_at = CURRENT_TIMESTAMP WHERE id = 1";
+    private static final String INSERT_CHECKSUM =
+            "INSERT INTO schema_checksum (id, checksum, applied_at) VALUES (1, ?, CURRENT_TIMESTAMP)";
+
+    @Override
+    public void afterPropertiesSet() throws LiquibaseException {
+        if (!shouldRun) {
+            super.afterPropertiesSet();
+            return;
+        }
+        long start = System.nanoTime();
+        String expected = changelogChecksum();
+        JdbcTemplate jdbc = new JdbcTemplate(getDataSource());
+
+        if (expected.equals(appliedChecksum(jdbc))) {
+            log.info("Schema checksum {} is current, Liquibase update skipped ({} ms)",
+                    expected.substring(0, 12), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return;
+        }
+
+        super.afterPropertiesSet();
+        if (jdbc.update(UPDATE_CHECKSUM, expected) == 0) {
+            jdbc.update(INSERT_CHECKSUM, expected);
+        }
+        log.info("Liquibase update applied, schema checksum {} recorded ({} ms)",
+                expected.substring(0, 12), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    String changelogChecksum() {
+        try {
+            var resolver = new PathMatchingResourcePatternResolver(getResourceLoader());
+            Map<String, Resource> files = new TreeMap<>();
+            for (Resource resource : resolver.getResources(CHANGELOG_PATTERN)) {
+                if (resource.isReadable()) {
+                    files.put(relativeName(resource), resource);
+                }
+            }
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(getContexts()).getBytes(StandardCharsets.UTF_8));
+            for (Map.Entry<String, Resource> file : files.entrySet()) {
+                digest.update(file.getKey().getBytes(StandardCharsets.UTF_8));
+                try (InputStream in = file.getValue().getInputStream()) {
+                    digest.update(in.readAllBytes());
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read Liquibase changelog files", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private String appliedChecksum(JdbcTemplate jdbc) {
+        try {
+            return jdbc.query(SELECT_CHECKSUM, rs -> rs.next() ? rs.getString(1) : null);
+        } catch (DataAccessException e) {
+            // Таблицы ещё нет — первый запуск на пустой схеме
+            return null;
+        }
+    }
+
+    private static String relativeName(Resource resource) throws IOException {
+        String url = resource.getURL().toString();
+        int index = url.lastIndexOf("db/changelog/");
+        return index >= 0 ? url.substring(index) : url;
+    }
+}
@@ -0,0 +1,73 @@
+package org.javaguru.travel.insurance.infrastructure.startup;
+
+import liquibase.integration.spring.SpringLiquibase;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Профиль fast-start: быстрый холодный старт узла.
+ *
+ * ЗАЧЕМ:
+ *   При масштабировании под нагрузкой важно время от запуска JVM до первой
+ *   котировки (метрика startup.first.quote). Большая его часть уходит на то,
+ *   что первому расчёту не нужно: Liquibase на актуальной схеме, Swagger/
+ *   springdoc, шаблоны Thymeleaf, JMX.
+ *
+ * ЧТО ДЕЛАЕТ:
+ *   - ленивые бины документации и веб-интерфейса (fast-start.lazy-bean-prefixes);
+ *   - Liquibase со шлюзом по контрольной сумме changelog (ChecksumSkippingLiquibase),
+ *     заменяет бин из LiquibaseAutoConfiguration;
+ *   - остальное — свойства в application-fast-start.yml.
+ *
+ * Шкалу шагов старта пишет StartupStepReport; AppCDS-архив для этого профиля
+ * собирает задача gradle appCdsArchive.
+ */
+@Configuration
+@Profile("fast-start")
+@EnableConfigurationProperties(LiquibaseProperties.class)
+public class FastStartConfiguration {
+
+    static final List<String> DEFAULT_LAZY_PREFIXES = List.of(
+            "org.springdoc.",
+            "org.thymeleaf.",
+            "org.springframework.boot.autoconfigure.thymeleaf.",
+            "org.javaguru.travel.insurance.infrastructure.web.config.OpenApiConfig",
+            "org.javaguru.travel.insurance.infrastructure.web.controller.TravelInsuranceWebController");
+
+    @Bean
+    static BeanFactoryPostProcessor fastStartLazyBeans(Environment environment) {
+        List<String> prefixes = Binder.get(environment)
+                .bind("fast-start.lazy-bean-prefixes", Bindable.listOf(String.class))
+                .orElse(DEFAULT_LAZY_PREFIXES);
+        return new LazyBeanDefinitionPostProcessor(prefixes);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.liquibase", name = "enabled", matchIfMissing = true)
+    public SpringLiquibase liquibase(DataSource dataSource, LiquibaseProperties properties) {
+        SpringLiquibase liquibase = new ChecksumSkippingLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog(properties.getChangeLog());
+        liquibase.setContexts(properties.getContexts() == null ? null : String.join(",", properties.getContexts()));
+        liquibase.setLabelFilter(properties.getLabelFilter() == null ? null : String.join(",", properties.getLabelFilter()));
+        liquibase.setDefaultSchema(properties.getDefaultSchema());
+        liquibase.setLiquibaseSchema(properties.getLiquibaseSchema());
+        liquibase.setDatabaseChangeLogTable(properties.getDatabaseChangeLogTable());
+        liquibase.setDatabaseChangeLogLockTable(properties.getDatabaseChangeLogLockTable());
+        liquibase.setDropFirst(properties.isDropFirst());
+        liquibase.setChangeLogParameters(properties.getParameters());
+        liquibase.setShouldRun(properties.isEnabled());
+        return liquibase;
+    }
+}
@@ -0,0 +1,60 @@
+package org.javaguru.travel.insurance.infrastructure.startup;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Профиль fast-start: добавляет эндпоинт startup к уже открытым по HTTP.
+ *
+ * ПРОБЛЕМА:
+ *   management.endpoints.web.exposure.include — список; значение из профиля
+ *   заменяет список основного конфига целиком, а не дополняет его. Строка
+ *   include: health,info,startup в application-fast-start.yml закрывала бы
+ *   на узле всё, что открыто конфигурацией окружения (prometheus, metrics…).
+ *
+ * РЕШЕНИЕ:
+ *   После загрузки всех конфигов (ConfigData) читаем итоговый список и кладём
+ *   его же плюс startup в property source с наивысшим приоритетом. Список
+ *   не задан — берётся значение Spring Boot по умолчанию (health).
+ *   Открыто всё ("*") — ничего не меняем.
+ *
+ * Регистрация — META-INF/spring.factories.
+ */
+public class FastStartEndpointExposure implements EnvironmentPostProcessor, Ordered {
+
+    static final String PROFILE = "fast-start";
+    static final String EXPOSURE_INCLUDE = "management.endpoints.web.exposure.include";
+    static final String STARTUP_ENDPOINT = "startup";
+    private static final String PROPERTY_SOURCE = "fastStartEndpointExposure";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!environment.matchesProfiles(PROFILE)) {
+            return;
+        }
+        Set<String> include = new LinkedHashSet<>(Binder.get(environment)
+                .bind(EXPOSURE_INCLUDE, Bindable.listOf(String.class))
+                .orElse(List.of("health")));
+        if (include.contains("*") || !include.add(STARTUP_ENDPOINT)) {
+            return;
+        }
+        environment.getPropertySources().addFirst(
+                new MapPropertySource(PROPERTY_SOURCE, Map.of(EXPOSURE_INCLUDE, String.join(",", include))));
+    }
+
+    /** После ConfigDataEnvironmentPostProcessor: профильные файлы уже загружены. */
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,63 @@
+package org.javaguru.travel.insurance.infrastructure.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+import java.util.List;
+
+/**
+ * Помечает ленивыми бины, не нужные для первого расчёта премии.
+ *
+ * Бин попадает под правило, если его класс или класс фабричного бина
+ * (для @Bean-методов) начинается с одного из префиксов: так вместе
+ * с конфигурацией OpenAPI откладываются и объявленные в ней бины.
+ * Бины, которые кто-то внедряет при старте, всё равно создаются —
+ * ленивость только снимает безусловную инициализацию.
+ */
+@Slf4j
+class LazyBeanDefinitionPostProcessor implements BeanFactoryPostProcessor {
+
+    private final List<String> prefixes;
+
+    LazyBeanDefinitionPostProcessor(List<String> prefixes) {
+        this.prefixes = List.copyOf(prefixes);
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        int marked = 0;
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (definition.isLazyInit() || definition.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE) {
+                continue;
+            }
+            if (matches(definition.getBeanClassName()) || matches(factoryClassName(beanFactory, definition))) {
+                definition.setLazyInit(true);
+                marked++;
+            }
+        }
+        log.info("Fast start: {} bean definitions marked lazy", marked);
+    }
+
+    private String factoryClassName(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        String factoryBean = definition.getFactoryBeanName();
+        if (factoryBean == null || !beanFactory.containsBeanDefinition(factoryBean)) {
+            return null;
+        }
+        return beanFactory.getBeanDefinition(factoryBean).getBeanClassName();
+    }
+
+    private boolean matches(String className) {
+        if (className == null) {
+            return false;
+        }
+        for (String prefix : prefixes) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
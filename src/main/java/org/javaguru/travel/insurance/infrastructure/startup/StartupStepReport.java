@@ -0,0 +1,70 @@
+package org.javaguru.travel.insurance.infrastructure.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Отчёт о самых долгих шагах старта в профиле fast-start.
+ *
+ * Шаги собирает BufferingApplicationStartup, установленный в
+ * InsuranceApplication.main. После ApplicationReadyEvent в лог пишутся
+ * top-N шагов по длительности (создание бинов, refresh контекста,
+ * Liquibase) — по ним видно, что ещё стоит сделать ленивым.
+ * Полная шкала доступна на /actuator/startup.
+ *
+ * Если приложение запущено без буферизации (например, из теста через
+ * SpringApplicationBuilder без applicationStartup), отчёт не пишется.
+ */
+@Slf4j
+@Component
+@Profile("fast-start")
+public class StartupStepReport {
+
+    private final int topSteps;
+
+    public StartupStepReport(@Value("${fast-start.report.top-steps:15}") int topSteps) {
+        this.topSteps = topSteps;
+    }
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        if (!(event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+            log.info("Startup timeline is not buffered, step report skipped");
+            return;
+        }
+        List<TimelineEvent> events = startup.getBufferedTimeline().getEvents();
+        List<TimelineEvent> slowest = slowest(events, topSteps);
+
+        log.info("Application ready in {} ms, {} startup steps recorded; slowest:\n{}",
+                event.getTimeTaken().toMillis(), events.size(),
+                slowest.stream().map(StartupStepReport::describe).collect(Collectors.joining("\n")));
+    }
+
+    static List<TimelineEvent> slowest(List<TimelineEvent> events, int limit) {
+        return events.stream()
+                .sorted(Comparator.comparing(TimelineEvent::getDuration, Comparator.reverseOrder()))
+                .limit(limit)
+                .toList();
+    }
+
+    private static String describe(TimelineEvent event) {
+        StartupStep step = event.getStartupStep();
+        String tags = StreamSupport.stream(step.getTags().spliterator(), false)
+                .map(tag -> tag.getKey() + "=" + tag.getValue())
+                .collect(Collectors.joining(", "));
+        return String.format("  %6d ms  %s%s", event.getDuration().toMillis(), step.getName(),
+                tags.isEmpty() ? "" : " [" + tags + "]");
+    }
+}
@@ -0,0 +1,229 @@
+package org.javaguru.travel.insurance.infrastructure.web.admission;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Адаптивный лимит одновременных запросов (градиентный алгоритм).
+ *
+ * КАК РАБОТАЕТ:
+ *   1. Каждый завершённый запрос даёт замер времени ответа (RTT).
+ *      Замеры копятся в окно из windowSize штук; по окну считается shortRtt.
+ *   2. longRtt — экспоненциальное среднее shortRtt за longWindow окон,
+ *      т.е. «нормальная» задержка сервиса.
+ *   3. gradient = clamp(tolerance × longRtt / shortRtt, 0.5, 1.0):
+ *        - задержка в пределах допуска → gradient = 1, лимит растёт на √limit;
+ *        - задержка растёт (медленная БД) → gradient < 1, лимит снижается.
+ *   4. Новый лимит сглаживается (smoothing) и ограничивается [minLimit, maxLimit].
+ *      Если окно не загружало лимит хотя бы наполовину, лимит не увеличивается —
+ *      иначе он «разъезжается» вверх при малой нагрузке.
+ *
+ * Запросы сверх лимита могут подождать в короткой очереди (queueSize мест,
+ * не дольше maxWait); при переполнении очереди или таймауте — отказ.
+ *
+ * Потокобезопасен.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int queueSize;
+    private final int windowSize;
+    private final double longWindow;
+    private final double tolerance;
+    private final double smoothing;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private int queued;
+
+    private double longRtt;
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    public AdaptiveConcurrencyLimiter(
+            int initialLimit,
+            int minLimit,
+            int maxLimit,
+            int queueSize,
+            int windowSize,
+            int longWindow,
+            double tolerance,
+            double smoothing,
+            LongSupplier nanoClock) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Expected 1 <= minLimit <= maxLimit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.queueSize = Math.max(0, queueSize);
+        this.windowSize = Math.max(1, windowSize);
+        this.longWindow = Math.max(1, longWindow);
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Пытается получить разрешение на выполнение запроса.
+     *
+     * @param maxWaitNanos сколько можно ждать в очереди, если лимит исчерпан
+     * @return разрешение или null, если запрос нужно отклонить
+     */
+    public Permit tryAcquire(long maxWaitNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight < currentLimit()) {
+                return grant();
+            }
+            if (queued >= queueSize || maxWaitNanos <= 0) {
+                return null;
+            }
+            queued++;
+            try {
+                long remaining = maxWaitNanos;
+                while (inFlight >= currentLimit()) {
+                    if (remaining <= 0) {
+                        return null;
+                    }
+                    remaining = permitReleased.awaitNanos(remaining);
+                }
+                return grant();
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return currentLimit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ── Внутренняя логика ─────────────────────────────────────────────────────
+
+    private Permit grant() {
+        inFlight++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+        return new Permit(nanoClock.getAsLong());
+    }
+
+    private int currentLimit() {
+        return (int) limit;
+    }
+
+    private void release(long startNanos, boolean sample) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (sample) {
+                onSample(Math.max(1, nanoClock.getAsLong() - startNanos));
+            }
+            permitReleased.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSample(long rttNanos) {
+        windowRttSum += rttNanos;
+        windowSamples++;
+        if (windowSamples < windowSize) {
+            return;
+        }
+
+        double shortRtt = (double) windowRttSum / windowSamples;
+        int maxInFlight = windowMaxInFlight;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = inFlight;
+
+        if (longRtt == 0) {
+            longRtt = shortRtt;
+            return;
+        }
+        longRtt = longRtt + (shortRtt - longRtt) / longWindow;
+        // Задержка вернулась к норме после перегрузки — не держим завышенную базу
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRtt / shortRtt));
+        if (gradient >= 1.0 && maxInFlight < limit / 2) {
+            return;
+        }
+
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    /**
+     * Разрешение на выполнение одного запроса; должно быть освобождено ровно один раз.
+     */
+    public final class Permit {
+
+        private final long startNanos;
+        private boolean released;
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Освобождает разрешение и учитывает время ответа в расчёте лимита.
+         */
+        public void release() {
+            release(true);
+        }
+
+        /**
+         * Освобождает разрешение без замера (для долгих потоковых/пакетных запросов,
+         * время которых не отражает задержку одиночного расчёта).
+         */
+        public void releaseWithoutSample() {
+            release(false);
+        }
+
+        private void release(boolean sample) {
+            if (released) {
+                return;
+            }
+            released = true;
+            AdaptiveConcurrencyLimiter.this.release(startNanos, sample);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package org.javaguru.travel.insurance.infrastructure.web.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.infrastructure.web.error.ErrorResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Адаптивный контроль допуска (load shedding) для эндпоинтов расчёта V2 и V3.
+ *
+ * ЗАЧЕМ:
+ *   Когда Postgres замедляется, все потоки Tomcat скапливаются в расчёте премии,
+ *   и перестают отвечать Thymeleaf UI и actuator. Фильтр ограничивает число
+ *   одновременных расчётов адаптивным лимитом (AdaptiveConcurrencyLimiter),
+ *   оставляя потоки остальным эндпоинтам.
+ *
+ * КАК РАБОТАЕТ:
+ *   - запросы на POST /insurance/travel/, /insurance/travel/calculate
+ *     и /insurance/travel/v3/calculate** получают разрешение лимитера;
+ *   - сверх лимита — короткое ожидание (admission.max-wait-ms), затем
+ *     быстрый отказ 503 с заголовком Retry-After;
+ *   - время ответа batch/stream в расчёт лимита не попадает:
+ *     оно отражает размер батча, а не задержку одиночного расчёта.
+ *
+ * МЕТРИКИ:
+ *   admission.limit, admission.inflight, admission.queued (gauge),
+ *   admission.rejected (counter).
+ *
+ * MeterRegistry необязателен (в web-слайсах тестов его нет) — тогда метрики
+ * пишутся в локальный SimpleMeterRegistry.
+ *
+ * Работает раньше RequestLoggingFilter: отклонённые запросы не кешируются и не логируются целиком.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String V2_ROOT = "/insurance/travel/";
+    private static final String V2_CALCULATE = "/insurance/travel/calculate";
+    private static final String V3_CALCULATE = "/insurance/travel/v3/calculate";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long maxWaitNanos;
+    private final long retryAfterSeconds;
+    private final Counter rejectedCounter;
+
+    @Autowired
+    public AdmissionControlFilter(
+            ObjectMapper objectMapper,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${admission.enabled:true}") boolean enabled,
+            @Value("${admission.initial-limit:20}") int initialLimit,
+            @Value("${admission.min-limit:4}") int minLimit,
+            @Value("${admission.max-limit:150}") int maxLimit,
+            @Value("${admission.queue-size:20}") int queueSize,
+            @Value("${admission.max-wait-ms:50}") long maxWaitMs,
+            @Value("${admission.retry-after-seconds:1}") long retryAfterSeconds) {
+        this(new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, queueSize,
+                        10, 60, 1.5, 0.2, System::nanoTime),
+                objectMapper, meterRegistry.getIfAvailable(SimpleMeterRegistry::new),
+                enabled, maxWaitMs, retryAfterSeconds);
+    }
+
+    AdmissionControlFilter(
+            AdaptiveConcurrencyLimiter limiter,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            boolean enabled,
+            long maxWaitMs,
+            long retryAfterSeconds) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        Gauge.builder("admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit for calculate endpoints")
+                .register(meterRegistry);
+        Gauge.builder("admission.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Calculate requests currently being processed")
+                .register(meterRegistry);
+        Gauge.builder("admission.queued", limiter, AdaptiveConcurrencyLimiter::getQueued)
+                .description("Calculate requests waiting for a permit")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("admission.rejected")
+                .description("Calculate requests rejected with 503 by admission control")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !(path.equals(V2_ROOT) || path.equals(V2_CALCULATE) || path.startsWith(V3_CALCULATE));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        AdaptiveConcurrencyLimiter.Permit permit;
+        try {
+            permit = limiter.tryAcquire(maxWaitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            permit = null;
+        }
+
+        if (permit == null) {
+            reject(request, response);
+            return;
+        }
+
+        boolean sample = !isLongRunning(request);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (sample) {
+                permit.release();
+            } else {
+                permit.releaseWithoutSample();
+            }
+        }
+    }
+
+    private boolean isLongRunning(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return uri.endsWith("/batch") || uri.endsWith("/stream");
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        rejectedCounter.increment();
+        log.warn("Admission control: rejected {} {} (limit={}, inFlight={})",
+                request.getMethod(), request.getRequestURI(), limiter.getLimit(), limiter.getInFlight());
+
+        ErrorResponse body = new ErrorResponse(
+                "Service Unavailable",
+                "Too many concurrent calculations, retry after " + retryAfterSeconds + " s",
+                System.currentTimeMillis()
+        );
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -7,13 +7,31 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.application.dto.v3.BatchCalculatePremiumResponseV3;
+import org.javaguru.travel.insurance.application.dto.v3.ReferenceDataV3;
 import org.javaguru.travel.insurance.application.dto.v3.TravelCalculatePremiumRequestV3;
 import org.javaguru.travel.insurance.application.dto.v3.TravelCalculatePremiumResponseV3;
+import org.javaguru.travel.insurance.application.service.BatchPremiumCalculationServiceV3;
+import org.javaguru.travel.insurance.application.service.StreamingPremiumCalculationServiceV3;
 import org.javaguru.travel.insurance.application.service.TravelCalculatePremiumServiceV3;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshot;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotService;
+import org.javaguru.travel.insurance.infrastructure.web.reference.ReferencePayloadCache;
+import org.javaguru.travel.insurance.infrastructure.web.reference.ReferencePayloadCache.ReferenceKind;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
 
 /**
  * REST контроллер V3 для расчёта страховых премий нескольких персон.
@@ -22,10 +40,17 @@ import org.springframework.web.bind.annotation.*;
  *
  * НОВЫЕ ЭНДПОИНТЫ:
  *   POST /insurance/travel/v3/calculate    — расчёт для нескольких персон
- *   GET  /insurance/travel/v3/countries    — справочник стран (совместим с v2)
+ *   POST /insurance/travel/v3/calculate/batch — пакетный расчёт массива запросов
+ *   POST /insurance/travel/v3/calculate/stream — потоковый расчёт NDJSON → NDJSON
+ *   GET  /insurance/travel/v3/countries    — справочник стран
  *   GET  /insurance/travel/v3/coverage-levels — уровни медицинского покрытия
  *   GET  /insurance/travel/v3/risk-types   — типы рисков
  *
+ * СПРАВОЧНЫЕ ЭНДПОИНТЫ:
+ *   Данные берутся из снимка в памяти (ReferenceDataSnapshotService),
+ *   JSON сериализуется один раз на версию тарифа (ReferencePayloadCache).
+ *   Strong ETag строится из версии тарифа; If-None-Match → 304 без тела.
+ *
  * ОБРАТНАЯ СОВМЕСТИМОСТЬ:
  *   V2 контроллер (TravelCalculatePremiumController) не изменяется.
  *   Оба контроллера используют один сервисный слой через разные адаптеры.
@@ -43,7 +68,13 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Premium Calculation V3", description = "Расчёт страховой премии V3 с поддержкой нескольких застрахованных")
 public class TravelCalculatePremiumControllerV3 {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final TravelCalculatePremiumServiceV3 calculatePremiumServiceV3;
+    private final BatchPremiumCalculationServiceV3 batchPremiumCalculationServiceV3;
+    private final StreamingPremiumCalculationServiceV3 streamingPremiumCalculationServiceV3;
+    private final ReferenceDataSnapshotService referenceDataSnapshotService;
+    private final ReferencePayloadCache referencePayloadCache;
 
     /**
      * Расчёт страховой премии V3 для нескольких застрахованных персон.
@@ -93,19 +124,91 @@ public class TravelCalculatePremiumControllerV3 {
     }
 
     /**
-     * Справочник стран (совместим с V2).
+     * Пакетный расчёт: массив V3 запросов в одном вызове.
      *
-     * Возвращает список стран, доступных для страхования.
-     * Идентичен эндпоинту V2 /insurance/travel/v2/countries.
+     * Всегда 200 OK, если батч принят; статус каждого элемента —
+     * в results[i].httpStatus (те же значения, что у /calculate).
+     */
+    @Operation(
+            summary = "Пакетный расчёт страховой премии V3",
+            description = """
+                    Принимает массив V3 запросов и возвращает результат по каждому элементу.
+                    
+                    - Все элементы считаются по одной версии тарифа (tariffVersion в ответе).
+                    - Элементы считаются параллельно в пределах ограниченного бюджета.
+                    - Ошибка одного элемента не влияет на остальные.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Батч обработан",
+                    content = @Content(schema = @Schema(implementation = BatchCalculatePremiumResponseV3.class))),
+            @ApiResponse(responseCode = "413", description = "Превышен максимальный размер батча")
+    })
+    @PostMapping(
+            path = "/calculate/batch",
+            consumes = "application/json",
+            produces = "application/json"
+    )
+    public ResponseEntity<BatchCalculatePremiumResponseV3> calculatePremiumBatch(
+            @RequestBody List<TravelCalculatePremiumRequestV3> requests) {
+
+        log.info("V3 batch premium calculation request: {} items", requests != null ? requests.size() : 0);
+
+        return ResponseEntity.ok(batchPremiumCalculationServiceV3.calculateBatch(requests));
+    }
+
+    /**
+     * Потоковый расчёт: NDJSON на входе, NDJSON на выходе.
+     *
+     * Каждая строка входа — V3 запрос; каждая строка ответа — результат
+     * элемента (формат results[i] батч-эндпоинта). Строки ответа
+     * отправляются сразу после расчёта, память не зависит от размера потока.
+     */
+    @Operation(
+            summary = "Потоковый расчёт страховой премии V3 (NDJSON)",
+            description = """
+                    Читает V3 запросы построчно (application/x-ndjson) и пишет результат
+                    по каждому элементу отдельной строкой NDJSON сразу после расчёта.
+                    
+                    Предназначен для очень больших батчей (100k+ элементов).
+                    """
+    )
+    @PostMapping(
+            path = "/calculate/stream",
+            consumes = NDJSON,
+            produces = NDJSON
+    )
+    public void calculatePremiumStream(HttpServletRequest request,
+                                       HttpServletResponse response) throws IOException {
+        log.info("V3 NDJSON streaming premium calculation started");
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+
+        streamingPremiumCalculationServiceV3.process(request.getInputStream(), response.getOutputStream());
+    }
+
+    /**
+     * Справочник стран.
+     *
+     * Отдаётся из снимка справочных данных в памяти; тело сериализуется
+     * один раз на версию тарифа. При совпадении If-None-Match → 304.
      */
     @Operation(
             summary = "Справочник стран V3",
-            description = "Возвращает список стран, доступных для страхования. Совместим с V2."
+            description = "Возвращает список стран, доступных для страхования на текущую дату. "
+                    + "Поддерживает ETag / If-None-Match."
     )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Справочник стран",
+                    content = @Content(schema = @Schema(implementation = ReferenceDataV3.CountriesResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Справочник не изменился")
+    })
     @GetMapping(path = "/countries", produces = "application/json")
-    public ResponseEntity<CountriesResponse> getCountries() {
+    public ResponseEntity<byte[]> getCountries(WebRequest webRequest) {
         log.debug("V3 countries reference request");
-        return ResponseEntity.ok(CountriesResponse.placeholder());
+        return referenceResponse(ReferenceKind.COUNTRIES, webRequest);
     }
 
     /**
@@ -113,12 +216,18 @@ public class TravelCalculatePremiumControllerV3 {
      */
     @Operation(
             summary = "Уровни медицинского покрытия V3",
-            description = "Возвращает список уровней медицинского покрытия с базовыми дневными ставками."
+            description = "Возвращает список уровней медицинского покрытия с базовыми дневными ставками. "
+                    + "Поддерживает ETag / If-None-Match."
     )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Уровни покрытия",
+                    content = @Content(schema = @Schema(implementation = ReferenceDataV3.CoverageLevelsResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Справочник не изменился")
+    })
     @GetMapping(path = "/coverage-levels", produces = "application/json")
-    public ResponseEntity<CoverageLevelsResponse> getCoverageLevels() {
+    public ResponseEntity<byte[]> getCoverageLevels(WebRequest webRequest) {
         log.debug("V3 coverage levels reference request");
-        return ResponseEntity.ok(CoverageLevelsResponse.placeholder());
+        return referenceResponse(ReferenceKind.COVERAGE_LEVELS, webRequest);
     }
 
     /**
@@ -126,26 +235,52 @@ public class TravelCalculatePremiumControllerV3 {
      */
     @Operation(
             summary = "Типы рисков V3",
-            description = "Возвращает список доступных типов рисков с коэффициентами."
+            description = "Возвращает список доступных типов рисков с коэффициентами. "
+                    + "Поддерживает ETag / If-None-Match."
     )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Типы рисков",
+                    content = @Content(schema = @Schema(implementation = ReferenceDataV3.RiskTypesResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Справочник не изменился")
+    })
     @GetMapping(path = "/risk-types", produces = "application/json")
-    public ResponseEntity<RiskTypesResponse> getRiskTypes() {
+    public ResponseEntity<byte[]> getRiskTypes(WebRequest webRequest) {
         log.debug("V3 risk types reference request");
-        return ResponseEntity.ok(RiskTypesResponse.placeholder());
+        return referenceResponse(ReferenceKind.RISK_TYPES, webRequest);
     }
 
     // ── Вспомогательные методы ────────────────────────────────────────────────
 
+    /**
+     * Общая логика справочных эндпоинтов.
+     *
+     * ETag вычисляется из версии снимка до построения тела: если клиент
+     * прислал совпадающий If-None-Match — сразу 304 без тела.
+     */
+    private ResponseEntity<byte[]> referenceResponse(ReferenceKind kind, WebRequest webRequest) {
+        ReferenceDataSnapshot snapshot = referenceDataSnapshotService.current();
+        LocalDate today = LocalDate.now();
+        String etag = referencePayloadCache.etag(snapshot, today);
+
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(referencePayloadCache.payload(kind, snapshot, today));
+    }
+
     /**
      * Определяет HTTP статус на основе статуса ответа.
      */
     private int determineHttpStatus(TravelCalculatePremiumResponseV3 response) {
-        return switch (response.getStatus()) {
-            case SUCCESS          -> 200;
-            case VALIDATION_ERROR -> 400;
-            case DECLINED         -> 422;
-            case REQUIRES_REVIEW  -> 202;
-        };
+        return response.getStatus().httpStatus();
     }
 
     /**
@@ -184,40 +319,4 @@ public class TravelCalculatePremiumControllerV3 {
                                     : "Unknown reason");
         }
     }
-
-    // ── Вспомогательные DTO для справочных эндпоинтов ─────────────────────────
-
-    /**
-     * Заглушка для ответа со странами.
-     * В production должна загружаться из CountryRepository.
-     */
-    public record CountriesResponse(String message) {
-        public static CountriesResponse placeholder() {
-            return new CountriesResponse(
-                    "Use GET /insurance/travel/countries for full list. V3 endpoint placeholder."
-            );
-        }
-    }
-
-    /**
-     * Заглушка для ответа с уровнями покрытия.
-     */
-    public record CoverageLevelsResponse(String message) {
-        public static CoverageLevelsResponse placeholder() {
-            return new CoverageLevelsResponse(
-                    "Use GET /insurance/travel/coverage-levels for full list. V3 endpoint placeholder."
-            );
-        }
-    }
-
-    /**
-     * Заглушка для ответа с типами рисков.
-     */
-    public record RiskTypesResponse(String message) {
-        public static RiskTypesResponse placeholder() {
-            return new RiskTypesResponse(
-                    "Use GET /insurance/travel/risk-types for full list. V3 endpoint placeholder."
-            );
-        }
-    }
-}
\ No newline at end of file
+}
@@ -5,6 +5,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.javaguru.travel.insurance.application.dto.TravelCalculatePremiumRequest;
 import org.javaguru.travel.insurance.application.dto.TravelCalculatePremiumResponse;
 import org.javaguru.travel.insurance.application.service.TravelCalculatePremiumService;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshot;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotService;
 import org.javaguru.travel.insurance.infrastructure.web.form.WebCalculateForm;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -14,7 +16,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Контроллер веб-страниц для расчёта страховой премии.
@@ -37,6 +41,7 @@ import java.util.List;
 public class TravelInsuranceWebController {
 
     private final TravelCalculatePremiumService calculatePremiumService;
+    private final ReferenceDataSnapshotService referenceDataSnapshotService;
 
     /**
      * GET / — главная страница с пустой формой расчёта.
@@ -116,88 +121,51 @@ public class TravelInsuranceWebController {
 
     /**
      * Добавляет справочные данные в модель (для выпадающих списков формы).
+     *
+     * Списки строятся из снимка справочных данных в памяти
+     * (ранее были захардкожены и расходились с БД).
      */
     private void addReferenceData(Model model) {
+        ReferenceDataSnapshot snapshot = referenceDataSnapshotService.current();
+        LocalDate today = LocalDate.now();
         // Страны для выпадающего списка
-        model.addAttribute("countries", getCountries());
+        model.addAttribute("countries", getCountries(snapshot, today));
         // Уровни покрытия
-        model.addAttribute("coverageLevels", getCoverageLevels());
+        model.addAttribute("coverageLevels", getCoverageLevels(snapshot, today));
         // Типы рисков
-        model.addAttribute("riskTypes", getRiskTypes());
+        model.addAttribute("riskTypes", getRiskTypes(snapshot, today));
         // Валюты
         model.addAttribute("currencies", List.of("EUR", "USD", "GBP", "CHF", "JPY"));
     }
 
-    private List<CountryOption> getCountries() {
-        return List.of(
-                new CountryOption("AT", "Austria"),
-                new CountryOption("AU", "Australia"),
-                new CountryOption("AE", "United Arab Emirates"),
-                new CountryOption("AF", "Afghanistan"),
-                new CountryOption("AR", "Argentina"),
-                new CountryOption("BE", "Belgium"),
-                new CountryOption("BR", "Brazil"),
-                new CountryOption("CA", "Canada"),
-                new CountryOption("CH", "Switzerland"),
-                new CountryOption("CN", "China"),
-                new CountryOption("CO", "Colombia"),
-                new CountryOption("DE", "Germany"),
-                new CountryOption("DK", "Denmark"),
-                new CountryOption("EG", "Egypt"),
-                new CountryOption("ES", "Spain"),
-                new CountryOption("FR", "France"),
-                new CountryOption("ID", "Indonesia"),
-                new CountryOption("IN", "India"),
-                new CountryOption("IQ", "Iraq"),
-                new CountryOption("IT", "Italy"),
-                new CountryOption("JP", "Japan"),
-                new CountryOption("KE", "Kenya"),
-                new CountryOption("KR", "South Korea"),
-                new CountryOption("MA", "Morocco"),
-                new CountryOption("MX", "Mexico"),
-                new CountryOption("MY", "Malaysia"),
-                new CountryOption("NL", "Netherlands"),
-                new CountryOption("NO", "Norway"),
-                new CountryOption("NZ", "New Zealand"),
-                new CountryOption("PE", "Peru"),
-                new CountryOption("PH", "Philippines"),
-                new CountryOption("SE", "Sweden"),
-                new CountryOption("SO", "Somalia"),
-                new CountryOption("SY", "Syria"),
-                new CountryOption("TH", "Thailand"),
-                new CountryOption("TN", "Tunisia"),
-                new CountryOption("TR", "Turkey"),
-                new CountryOption("US", "United States"),
-                new CountryOption("VN", "Vietnam"),
-                new CountryOption("YE", "Yemen"),
-                new CountryOption("ZA", "South Africa")
-        );
+    private List<CountryOption> getCountries(ReferenceDataSnapshot snapshot, LocalDate date) {
+        return snapshot.activeCountries(date).stream()
+                .map(c -> new CountryOption(c.getIsoCode().value(), c.getNameEn()))
+                .toList();
     }
 
-    private List<CoverageLevelOption> getCoverageLevels() {
-        return List.of(
-                new CoverageLevelOption("5000",   "5,000 EUR   — 1.50 EUR/day"),
-                new CoverageLevelOption("10000",  "10,000 EUR  — 2.00 EUR/day"),
-                new CoverageLevelOption("20000",  "20,000 EUR  — 3.00 EUR/day"),
-                new CoverageLevelOption("50000",  "50,000 EUR  — 4.50 EUR/day"),
-                new CoverageLevelOption("100000", "100,000 EUR — 7.00 EUR/day"),
-                new CoverageLevelOption("200000", "200,000 EUR — 12.00 EUR/day"),
-                new CoverageLevelOption("500000", "500,000 EUR — 20.00 EUR/day")
-        );
+    private List<CoverageLevelOption> getCoverageLevels(ReferenceDataSnapshot snapshot, LocalDate date) {
+        return snapshot.activeMedicalLevels(date).stream()
+                .map(l -> new CoverageLevelOption(
+                        l.getCode(),
+                        String.format(Locale.US, "%,d %s — %.2f %s/day",
+                                l.getCoverageAmount().longValue(), l.getCurrency().name(),
+                                l.getDailyRate(), l.getCurrency().name())))
+                .toList();
     }
 
-    private List<RiskTypeOption> getRiskTypes() {
-        return List.of(
-                new RiskTypeOption("SPORT_ACTIVITIES",  "Sport Activities (+30%)", false),
-                new RiskTypeOption("EXTREME_SPORT",     "Extreme Sport (+60%)", false),
-                new RiskTypeOption("PREGNANCY",         "Pregnancy Coverage (+20%)", false),
-                new RiskTypeOption("CHRONIC_DISEASES",  "Chronic Diseases (+40%)", false),
-                new RiskTypeOption("ACCIDENT_COVERAGE", "Accident Coverage (+20%)", false),
-                new RiskTypeOption("TRIP_CANCELLATION", "Trip Cancellation (+15%)", false),
-                new RiskTypeOption("LUGGAGE_LOSS",      "Luggage Loss (+10%)", false),
-                new RiskTypeOption("FLIGHT_DELAY",      "Flight Delay (+5%)", false),
-                new RiskTypeOption("CIVIL_LIABILITY",   "Civil Liability (+10%)", false)
-        );
+    /**
+     * Только опциональные риски — обязательный TRAVEL_MEDICAL включается автоматически.
+     */
+    private List<RiskTypeOption> getRiskTypes(ReferenceDataSnapshot snapshot, LocalDate date) {
+        return snapshot.activeRisks(date).stream()
+                .filter(r -> !r.isMandatory())
+                .map(r -> new RiskTypeOption(
+                        r.getCode().value(),
+                        r.getNameEn() + " (+" + r.getBaseCoefficient().value()
+                                .movePointRight(2).stripTrailingZeros().toPlainString() + "%)",
+                        false))
+                .toList();
     }
 
     // ── Вспомогательные record-классы для справочников ────────────────────
@@ -0,0 +1,86 @@
+package org.javaguru.travel.insurance.infrastructure.web.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.core.underwriting.export.DecisionExportFormat;
+import org.javaguru.travel.insurance.core.underwriting.export.DecisionExportQuery;
+import org.javaguru.travel.insurance.core.underwriting.export.UnderwritingDecisionExporter;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Выгрузка решений андеррайтинга для комплаенса.
+ *
+ * ЭНДПОИНТ:
+ *   GET /insurance/underwriting/decisions/export?from=&to=&decision=&format=csv|ndjson
+ *
+ * Строки пишутся в ответ постранично по мере чтения из БД
+ * (UnderwritingDecisionExporter), память не зависит от объёма периода.
+ * RequestLoggingFilter не кеширует тело этого ответа и не пишет его в лог.
+ * Период и формат проверяются до начала записи — ошибка параметров
+ * возвращается обычным 400 через GlobalExceptionHandler.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/insurance/underwriting/decisions")
+@RequiredArgsConstructor
+@Tag(name = "Underwriting Export", description = "Выгрузка решений андеррайтинга")
+public class UnderwritingDecisionExportController {
+
+    private final UnderwritingDecisionExporter exporter;
+
+    @Operation(
+            summary = "Выгрузка решений андеррайтинга за период",
+            description = """
+                    Возвращает решения с датой создания в [from, to] (обе даты включительно)
+                    в формате CSV (по умолчанию) или NDJSON.
+                    
+                    Выгружаются только колонки решения, без rule_results и request_data.
+                    Ответ передаётся потоком по мере чтения из БД.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Поток решений"),
+            @ApiResponse(responseCode = "400", description = "Неверный период или формат")
+    })
+    @GetMapping("/export")
+    public void export(
+            @Parameter(description = "Первый день периода, yyyy-MM-dd")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Последний день периода включительно, yyyy-MM-dd")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Только решения этого типа: APPROVED, DECLINED, REQUIRES_MANUAL_REVIEW")
+            @RequestParam(required = false) String decision,
+            @Parameter(description = "csv или ndjson")
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletResponse response) throws IOException {
+
+        DecisionExportQuery query = new DecisionExportQuery(from, to, decision);
+        DecisionExportFormat exportFormat = DecisionExportFormat.fromParameter(format);
+        exporter.validate(query);
+
+        log.info("Underwriting decision export requested: {}..{}, decision={}, format={}",
+                from, to, query.decision(), exportFormat);
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(exportFormat.contentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"underwriting-decisions-"
+                + from + "-" + to + "." + exportFormat.fileExtension() + "\"");
+
+        exporter.export(query, exportFormat, response.getOutputStream());
+    }
+}
@@ -0,0 +1,66 @@
+package org.javaguru.travel.insurance.infrastructure.web.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.core.underwriting.statistics.DecisionStatisticsService;
+import org.javaguru.travel.insurance.core.underwriting.statistics.StatisticsDimension;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Статистика решений андеррайтинга для дашбордов.
+ *
+ * ЭНДПОИНТ:
+ *   GET /insurance/underwriting/decisions/statistics?from=&to=&by=decision|country|severity
+ *
+ * Отвечает из предагрегированных счётчиков (DecisionStatisticsService),
+ * время ответа не зависит от объёма истории.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/insurance/underwriting/decisions")
+@RequiredArgsConstructor
+@Tag(name = "Underwriting Statistics", description = "Статистика решений андеррайтинга")
+public class UnderwritingStatisticsController {
+
+    private final DecisionStatisticsService statisticsService;
+
+    @Operation(
+            summary = "Число решений андеррайтинга за период",
+            description = """
+                    Возвращает число решений с датой создания в [from, to] в разрезе
+                    типа решения (по умолчанию), страны или худшей серьёзности правил.
+                    
+                    Точность — минута; решения последних секунд могут ещё не войти в счётчики.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Счётчики по значениям разреза"),
+            @ApiResponse(responseCode = "400", description = "Неверный период или разрез")
+    })
+    @GetMapping(path = "/statistics", produces = "application/json")
+    public ResponseEntity<Map<String, Long>> statistics(
+            @Parameter(description = "Начало периода, yyyy-MM-ddTHH:mm:ss")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Конец периода включительно, yyyy-MM-ddTHH:mm:ss")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "decision, country или severity")
+            @RequestParam(defaultValue = "decision") String by) {
+
+        StatisticsDimension dimension = StatisticsDimension.fromParameter(by);
+        log.debug("Underwriting statistics requested: {}..{} by {}", from, to, dimension);
+        return ResponseEntity.ok(statisticsService.count(from, to, dimension));
+    }
+}
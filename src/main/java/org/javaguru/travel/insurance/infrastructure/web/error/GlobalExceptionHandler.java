@@ -1,5 +1,11 @@
 package org.javaguru.travel.insurance.infrastructure.web.error;
 
+import org.javaguru.travel.insurance.application.service.BatchSizeExceededException;
+import org.javaguru.travel.insurance.core.concurrent.SingleFlightTimeoutException;
+import org.javaguru.travel.insurance.core.reference.TariffVersionChangedException;
+import org.javaguru.travel.insurance.core.underwriting.export.InvalidExportRequestException;
+import org.javaguru.travel.insurance.core.underwriting.statistics.InvalidStatisticsRangeException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -56,7 +62,42 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
-    // 5. Catch-all → 500
+    // 5. Batch too large → 413
+    @ExceptionHandler(BatchSizeExceededException.class)
+    public ResponseEntity<ErrorResponse> handleBatchSizeExceeded(BatchSizeExceededException ex) {
+        ErrorResponse response = new ErrorResponse(
+                "Payload Too Large",
+                ex.getLocalizedMessage(),
+                System.currentTimeMillis()
+        );
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(response);
+    }
+
+    // 6. Timed out waiting for a shared in-flight load, or tariff kept changing mid-request → 503
+    @ExceptionHandler({SingleFlightTimeoutException.class, TariffVersionChangedException.class})
+    public ResponseEntity<ErrorResponse> handleTransientUnavailable(RuntimeException ex) {
+        ErrorResponse response = new ErrorResponse(
+                "Service Unavailable",
+                ex.getLocalizedMessage(),
+                System.currentTimeMillis()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
+    // 7. Invalid export or statistics parameters → 400
+    @ExceptionHandler({InvalidExportRequestException.class, InvalidStatisticsRangeException.class})
+    public ResponseEntity<ErrorResponse> handleInvalidReportRequest(RuntimeException ex) {
+        ErrorResponse response = new ErrorResponse(
+                "Invalid report request",
+                ex.getLocalizedMessage(),
+                System.currentTimeMillis()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    // 8. Catch-all → 500
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericError(Exception ex) {
         ErrorResponse response = new ErrorResponse(
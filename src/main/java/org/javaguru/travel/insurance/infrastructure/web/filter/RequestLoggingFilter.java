@@ -25,12 +25,22 @@ import java.util.*;
  * - Полную информацию об ответе (статус, headers, body)
  * - Время обработки запроса
  * - Timestamp
+ *
+ * Потоковые запросы (NDJSON, /calculate/stream) и выгрузка решений
+ * (/decisions/export) НЕ оборачиваются в ContentCaching*Wrapper: кеширование
+ * тела сделало бы потребление памяти пропорциональным размеру батча или
+ * периода выгрузки и задержало бы ответ до конца обработки (flush обёртки
+ * ничего не отправляет). Для них логируется только метод, URI, статус и
+ * время — тело выгрузки с персональными данными в лог не попадает.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class RequestLoggingFilter extends OncePerRequestFilter {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String DECISION_EXPORT = "/decisions/export";
+
     private final ObjectMapper objectMapper;
 
     @Override
@@ -44,6 +54,19 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
             return;
         }
 
+        // Потоковые запросы — без кеширования тела
+        if (isStreaming(request)) {
+            long startTime = System.currentTimeMillis();
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                log.info("REST API streaming call: {} {} → {} in {} ms",
+                        request.getMethod(), request.getRequestURI(),
+                        response.getStatus(), System.currentTimeMillis() - startTime);
+            }
+            return;
+        }
+
         // Оборачиваем request и response для возможности чтения body
         ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request);
         ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(response);
@@ -80,6 +103,18 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
                 uri.contains("/webjars/");          // webjars
     }
 
+    /**
+     * Проверяет, является ли запрос потоковым (NDJSON, выгрузка решений)
+     */
+    private boolean isStreaming(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        String accept = request.getHeader("Accept");
+        return request.getRequestURI().endsWith("/stream") ||
+                request.getRequestURI().endsWith(DECISION_EXPORT) ||
+                (contentType != null && contentType.startsWith(NDJSON)) ||
+                (accept != null && accept.startsWith(NDJSON));
+    }
+
     /**
      * Логирует запрос и ответ в JSON формате
      */
@@ -0,0 +1,118 @@
+package org.javaguru.travel.insurance.infrastructure.web.query;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.infrastructure.persistence.query.QueryStatistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Бюджет SQL-запросов на один HTTP-запрос.
+ *
+ * ЗАЧЕМ:
+ *   По коду V3-расчёт выполняет несколько запросов на каждую персону и риск,
+ *   но точное число не видно ни в логах, ни в метриках.
+ *
+ * КАК РАБОТАЕТ:
+ *   - на время запроса открывается QueryStatistics.Scope; QueryCountingDataSource
+ *     учитывает в нём каждый JDBC statement;
+ *   - после ответа итоги пишутся в метрики с тегом uri (шаблон маппинга);
+ *   - больше query-budget.warn-threshold statements — WARN в лог;
+ *     один и тот же SQL query-budget.repeated-threshold и более раз — WARN
+ *     «возможный N+1» с текстом запроса.
+ *
+ * МЕТРИКИ:
+ *   http.server.requests.jdbc.statements (distribution summary),
+ *   http.server.requests.jdbc.duration (timer).
+ *
+ * Заголовки ответа X-Query-Count / X-Query-Time-Ms добавляет QueryStatisticsHeaderAdvice.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS_METRIC = "http.server.requests.jdbc.statements";
+    static final String DURATION_METRIC = "http.server.requests.jdbc.duration";
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+    private final int repeatedThreshold;
+
+    @Autowired
+    public QueryBudgetFilter(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${query-budget.warn-threshold:100}") int warnThreshold,
+            @Value("${query-budget.repeated-threshold:10}") int repeatedThreshold) {
+        this(meterRegistry.getIfAvailable(SimpleMeterRegistry::new), warnThreshold, repeatedThreshold);
+    }
+
+    QueryBudgetFilter(MeterRegistry meterRegistry, int warnThreshold, int repeatedThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+        this.repeatedThreshold = repeatedThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        QueryStatistics.Scope scope = QueryStatistics.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            report(request, scope);
+        }
+    }
+
+    private void report(HttpServletRequest request, QueryStatistics.Scope scope) {
+        String uri = uriTag(request);
+
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .description("JDBC statements executed per HTTP request")
+                .baseUnit("statements")
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(scope.getStatementCount());
+        Timer.builder(DURATION_METRIC)
+                .description("Time spent in JDBC statements per HTTP request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(scope.getTotalTime());
+
+        if (scope.getStatementCount() > warnThreshold) {
+            log.warn("Query budget exceeded: {} {} executed {} statements in {} ms (threshold {})",
+                    request.getMethod(), request.getRequestURI(), scope.getStatementCount(),
+                    scope.getTotalTime().toMillis(), warnThreshold);
+        }
+        Map<String, Integer> repeated = scope.getRepeatedStatements(repeatedThreshold);
+        repeated.forEach((sql, count) -> log.warn("Possible N+1 in {} {}: statement executed {} times: {}",
+                request.getMethod(), request.getRequestURI(), count, sql));
+    }
+
+    private static String uriTag(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : UNKNOWN_URI;
+    }
+}
@@ -0,0 +1,57 @@
+package org.javaguru.travel.insurance.infrastructure.web.query;
+
+import org.javaguru.travel.insurance.infrastructure.persistence.query.QueryStatistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Добавляет к ответу число и время SQL-запросов, выполненных при его обработке.
+ *
+ * Заголовки X-Query-Count и X-Query-Time-Ms выставляются перед записью тела —
+ * после неё ответ уже отправлен, и заголовки добавить нельзя.
+ *
+ * Только по явному включению: query-budget.response-headers=true
+ * (по умолчанию false, включено в профиле test). В профиле prod выключено
+ * всегда — заголовки раскрывают детали работы с БД.
+ */
+@ControllerAdvice
+public class QueryStatisticsHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String COUNT_HEADER = "X-Query-Count";
+    static final String TIME_HEADER = "X-Query-Time-Ms";
+
+    private final boolean enabled;
+
+    public QueryStatisticsHeaderAdvice(
+            Environment environment,
+            @Value("${query-budget.response-headers:false}") boolean responseHeaders) {
+        this.enabled = responseHeaders && !environment.acceptsProfiles(Profiles.of("prod"));
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return enabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body,
+                                  MethodParameter returnType,
+                                  MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request,
+                                  ServerHttpResponse response) {
+        QueryStatistics.current().ifPresent(scope -> {
+            response.getHeaders().set(COUNT_HEADER, String.valueOf(scope.getStatementCount()));
+            response.getHeaders().set(TIME_HEADER, String.valueOf(scope.getTotalTime().toMillis()));
+        });
+        return body;
+    }
+}
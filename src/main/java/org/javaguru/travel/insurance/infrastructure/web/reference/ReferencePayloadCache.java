@@ -0,0 +1,134 @@
+package org.javaguru.travel.insurance.infrastructure.web.reference;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.application.dto.v3.ReferenceDataV3.*;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshot;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Кеш предварительно сериализованных ответов справочных эндпоинтов V3.
+ *
+ * Ответ зависит только от (версия снимка, эффективная дата, тип справочника),
+ * поэтому JSON строится один раз и дальше отдаётся как byte[] —
+ * без обращения к БД и без Jackson на каждый запрос.
+ *
+ * ETAG:
+ *   Strong ETag вида "&lt;tariffVersion&gt;-&lt;yyyyMMdd&gt;".
+ *   Вычисляется из версии снимка без построения тела ответа,
+ *   поэтому проверка If-None-Match → 304 не требует даже обращения к кешу.
+ *
+ * При смене версии снимка записи старой версии вытесняются, записи
+ * прошедших дат — при прогреве (ReferenceWarmupScheduler).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReferencePayloadCache {
+
+    private static final DateTimeFormatter ETAG_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<PayloadKey, byte[]> payloads = new ConcurrentHashMap<>();
+
+    public enum ReferenceKind { COUNTRIES, COVERAGE_LEVELS, RISK_TYPES }
+
+    private record PayloadKey(ReferenceKind kind, String version, LocalDate date) {}
+
+    /**
+     * Strong ETag для снимка на дату (в кавычках, согласно RFC 9110).
+     */
+    public String etag(ReferenceDataSnapshot snapshot, LocalDate date) {
+        return "\"" + snapshot.getVersion() + "-" + date.format(ETAG_DATE) + "\"";
+    }
+
+    /**
+     * Сериализованный ответ; строится при первом обращении для версии и даты.
+     */
+    public byte[] payload(ReferenceKind kind, ReferenceDataSnapshot snapshot, LocalDate date) {
+        PayloadKey key = new PayloadKey(kind, snapshot.getVersion(), date);
+        byte[] cached = payloads.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        evictOtherVersions(snapshot.getVersion());
+        return payloads.computeIfAbsent(key, k -> render(kind, snapshot, date));
+    }
+
+    /**
+     * Строит ответы всех справочников на дату заранее — чтобы первый запрос
+     * после полуночи не платил за сериализацию.
+     */
+    public void warm(ReferenceDataSnapshot snapshot, LocalDate date) {
+        for (ReferenceKind kind : ReferenceKind.values()) {
+            payload(kind, snapshot, date);
+        }
+    }
+
+    /**
+     * Вытесняет ответы на даты раньше указанной — они больше не запрашиваются.
+     */
+    public void evictBefore(LocalDate date) {
+        payloads.keySet().removeIf(key -> key.date().isBefore(date));
+    }
+
+    int size() {
+        return payloads.size();
+    }
+
+    private void evictOtherVersions(String version) {
+        payloads.keySet().removeIf(key -> !key.version().equals(version));
+    }
+
+    private byte[] render(ReferenceKind kind, ReferenceDataSnapshot snapshot, LocalDate date) {
+        Object body = switch (kind) {
+            case COUNTRIES -> new CountriesResponse(
+                    snapshot.getVersion(), date,
+                    snapshot.activeCountries(date).stream()
+                            .map(c -> new CountryItem(
+                                    c.getIsoCode().value(),
+                                    c.getNameEn(),
+                                    c.getNameRu(),
+                                    c.getRiskGroup().name(),
+                                    c.getRiskCoefficient().value()))
+                            .toList());
+            case COVERAGE_LEVELS -> new CoverageLevelsResponse(
+                    snapshot.getVersion(), date,
+                    snapshot.activeMedicalLevels(date).stream()
+                            .map(l -> new CoverageLevelItem(
+                                    l.getCode(),
+                                    l.getCoverageAmount(),
+                                    l.getDailyRate(),
+                                    l.getCurrency().name(),
+                                    l.getMaxPayoutAmount()))
+                            .toList());
+            case RISK_TYPES -> new RiskTypesResponse(
+                    snapshot.getVersion(), date,
+                    snapshot.activeRisks(date).stream()
+                            .map(r -> new RiskTypeItem(
+                                    r.getCode().value(),
+                                    r.getNameEn(),
+                                    r.getNameRu(),
+                                    r.getBaseCoefficient().value(),
+                                    r.isMandatory(),
+                                    r.getDescription()))
+                            .toList());
+        };
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            log.debug("Rendered {} payload for tariff version {} on {} ({} bytes)",
+                    kind, snapshot.getVersion(), date, json.length);
+            return json;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to render " + kind + " reference payload", e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.javaguru.travel.insurance.infrastructure.web.reference;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshot;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.SortedSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Прогрев справочных ответов перед сменой даты.
+ *
+ * ПРОБЛЕМА:
+ *   Ответы справочных эндпоинтов кэшируются по (версия снимка, дата).
+ *   В 00:00 дата меняется у всех одновременно: каждый ответ строится заново,
+ *   у всех клиентов перестаёт совпадать ETag — всплеск задержки.
+ *
+ * РЕШЕНИЕ:
+ *   - снимок справочников уже содержит будущие версии записей, поэтому ответ
+ *     на завтра можно построить из памяти заранее;
+ *   - за несколько минут до полуночи (reference.warmup.cron, по умолчанию
+ *     23:55) строятся ответы на завтра, ответы прошедших дат вытесняются;
+ *   - при старте строятся ответы на сегодня;
+ *   - даты смены тарифа в пределах reference.warmup.horizon-days
+ *     (по умолчанию 7) логируются и видны в метрике — о переключении
+ *     известно заранее, а не по всплеску в мониторинге.
+ *
+ * МЕТРИКИ:
+ *   reference.tariff.next.switchover.days (gauge) — дней до ближайшей даты
+ *   смены тарифа в горизонте, -1 если её нет.
+ */
+@Slf4j
+@Component
+public class ReferenceWarmupScheduler {
+
+    static final String NEXT_SWITCHOVER_METRIC = "reference.tariff.next.switchover.days";
+
+    private final ReferenceDataSnapshotService snapshotService;
+    private final ReferencePayloadCache payloadCache;
+    private final int horizonDays;
+    private final Supplier<LocalDate> today;
+    private final AtomicLong daysToSwitchover = new AtomicLong(-1);
+
+    @Autowired
+    public ReferenceWarmupScheduler(
+            ReferenceDataSnapshotService snapshotService,
+            ReferencePayloadCache payloadCache,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${reference.warmup.horizon-days:7}") int horizonDays) {
+        this(snapshotService, payloadCache, meterRegistry.getIfAvailable(SimpleMeterRegistry::new),
+                horizonDays, LocalDate::now);
+    }
+
+    ReferenceWarmupScheduler(ReferenceDataSnapshotService snapshotService,
+                             ReferencePayloadCache payloadCache,
+                             MeterRegistry meterRegistry,
+                             int horizonDays,
+                             Supplier<LocalDate> today) {
+        this.snapshotService = snapshotService;
+        this.payloadCache = payloadCache;
+        this.horizonDays = horizonDays;
+        this.today = today;
+        Gauge.builder(NEXT_SWITCHOVER_METRIC, daysToSwitchover, AtomicLong::get)
+                .description("Days until the next known tariff effective date within the warm-up horizon")
+                .baseUnit("days")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        warm(today.get());
+    }
+
+    @Scheduled(cron = "${reference.warmup.cron:0 55 23 * * *}")
+    public void warmUpForTomorrow() {
+        warm(today.get().plusDays(1));
+    }
+
+    /**
+     * Строит ответы на дату и вытесняет ответы на даты до сегодняшней.
+     * Ошибка прогрева не критична — ответ построится по первому запросу.
+     */
+    void warm(LocalDate date) {
+        try {
+            LocalDate now = today.get();
+            ReferenceDataSnapshot snapshot = snapshotService.current();
+            payloadCache.evictBefore(now);
+            payloadCache.warm(snapshot, date);
+
+            SortedSet<LocalDate> upcoming = snapshot.effectiveDates(now, now.plusDays(horizonDays));
+            daysToSwitchover.set(upcoming.isEmpty() ? -1 : ChronoUnit.DAYS.between(now, upcoming.first()));
+            if (upcoming.contains(date)) {
+                log.info("Tariff switchover on {}: reference payloads pre-built for version {}",
+                        date, snapshot.getVersion());
+            }
+            log.debug("Reference payloads warmed for {}; upcoming tariff dates within {} days: {}",
+                    date, horizonDays, upcoming);
+        } catch (RuntimeException e) {
+            log.warn("Reference payload warm-up for {} failed", date, e);
+        }
+    }
+}
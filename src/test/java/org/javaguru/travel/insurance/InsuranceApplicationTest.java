@@ -0,0 +1,49 @@
+package org.javaguru.travel.insurance;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultBootstrapContext;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("InsuranceApplication — буфер шагов старта")
+class InsuranceApplicationTest {
+
+    @Test
+    @DisplayName("профиль fast-start — шаги старта буферизуются")
+    void shouldBufferStartupStepsOnFastStart() {
+        SpringApplication application = prepared("prod", "fast-start");
+
+        assertThat(application.getApplicationStartup()).isInstanceOf(BufferingApplicationStartup.class);
+    }
+
+    @Test
+    @DisplayName("без fast-start — буфер не создаётся")
+    void shouldNotBufferWithoutFastStart() {
+        SpringApplication application = prepared("prod");
+
+        assertThat(application.getApplicationStartup()).isNotInstanceOf(BufferingApplicationStartup.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SpringApplication prepared(String... profiles) {
+        SpringApplication application = new SpringApplication(InsuranceApplication.class);
+        application.setListeners(List.of());
+        InsuranceApplication.bufferStartupStepsOnFastStart(application);
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles(profiles);
+        var event = new ApplicationEnvironmentPreparedEvent(
+                new DefaultBootstrapContext(), application, new String[0], environment);
+        application.getListeners().forEach(listener -> ((ApplicationListener<ApplicationEvent>) listener)
+                .onApplicationEvent(event));
+        return application;
+    }
+}
@@ -0,0 +1,71 @@
+package org.javaguru.travel.insurance.allocation;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+/**
+ * Замер байтов, выделенных текущим потоком на один вызов.
+ *
+ * КАК РАБОТАЕТ:
+ *   - счётчик потока из com.sun.management.ThreadMXBean
+ *     (getCurrentThreadAllocatedBytes — без аллокаций на сам замер);
+ *   - сначала warmupCalls вызовов: JIT успевает скомпилировать путь
+ *     и применить escape analysis, иначе меряется интерпретатор;
+ *   - затем rounds серий по callsPerRound вызовов, результат — минимум
+ *     среднего по сериям: отсекает разовые всплески (деоптимизация,
+ *     ленивая инициализация классов), которые к стационарному режиму не относятся.
+ *
+ * Результаты вызовов складываются в volatile-поле, чтобы JIT не выкинул
+ * вызов как мёртвый код.
+ */
+final class AllocationMeter {
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = threadMxBean();
+
+    private static volatile Object sink;
+
+    private final int warmupCalls;
+    private final int rounds;
+    private final int callsPerRound;
+
+    AllocationMeter(int warmupCalls, int rounds, int callsPerRound) {
+        this.warmupCalls = warmupCalls;
+        this.rounds = rounds;
+        this.callsPerRound = callsPerRound;
+    }
+
+    /**
+     * Поддерживает ли JVM учёт аллокаций по потокам (HotSpot — да).
+     */
+    static boolean isSupported() {
+        return THREAD_MX_BEAN != null && THREAD_MX_BEAN.isThreadAllocatedMemorySupported();
+    }
+
+    /**
+     * Байтов на вызов в стационарном режиме.
+     */
+    long bytesPerCall(Supplier<?> call) {
+        if (!THREAD_MX_BEAN.isThreadAllocatedMemoryEnabled()) {
+            THREAD_MX_BEAN.setThreadAllocatedMemoryEnabled(true);
+        }
+        for (int i = 0; i < warmupCalls; i++) {
+            sink = call.get();
+        }
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < rounds; round++) {
+            long before = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < callsPerRound; i++) {
+                sink = call.get();
+            }
+            long allocated = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() - before;
+            best = Math.min(best, allocated / callsPerRound);
+        }
+        return best;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMxBean() {
+        return ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                ? bean
+                : null;
+    }
+}
@@ -0,0 +1,165 @@
+package org.javaguru.travel.insurance.allocation;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.javaguru.travel.insurance.application.dto.TravelCalculatePremiumRequest;
+import org.javaguru.travel.insurance.application.dto.v3.TravelCalculatePremiumRequestV3;
+import org.javaguru.travel.insurance.fixture.PricingFixture;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Бюджеты аллокаций на один вызов горячего пути расчёта.
+ *
+ * ЗАЧЕМ:
+ *   Лишние объекты на запрос (копии списков, boxing, строки для логов,
+ *   промежуточные BigDecimal) не видны в функциональных тестах, но
+ *   напрямую превращаются в частоту young GC под нагрузкой. Тест ловит
+ *   такой рост на PR, до нагрузочного прогона.
+ *
+ * КАК РАБОТАЕТ:
+ *   Граф компонентов — PricingFixture (справочники в памяти, без БД и Spring),
+ *   замер — AllocationMeter после прогрева JIT. Логирование приложения
+ *   на время теста понижено до WARN: измеряется расчёт, а не форматирование
+ *   DEBUG-сообщений. Сам тест пишет замеры в свой логгер на INFO.
+ *
+ * БЮДЖЕТЫ:
+ *   Замер плюс ~25% запаса (JDK 17, G1, TLAB по умолчанию):
+ *     MEDICAL_LEVEL без рисков       12 312 B  → 15 KiB
+ *     COUNTRY_DEFAULT без рисков      9 880 B  → 12 KiB
+ *     MEDICAL_LEVEL с пакетом рисков 23 189 B  → 28 KiB
+ *     COUNTRY_DEFAULT с пакетом      20 816 B  → 26 KiB
+ *     V3, 3 персоны с пакетом        98 160 B  → 120 KiB
+ *   Фактические байты на вызов пишутся в лог теста. Когда оптимизация
+ *   снижает аллокации, бюджет опускают до нового замера с тем же запасом —
+ *   так выигрыш закрепляется.
+ */
+@DisplayName("Бюджеты аллокаций горячего пути расчёта")
+class PricingAllocationBudgetTest {
+
+    private static final String APPLICATION_LOGGER = "org.javaguru.travel.insurance";
+
+    private static final AllocationMeter METER = new AllocationMeter(5_000, 5, 1_000);
+
+    private static final org.slf4j.Logger log = LoggerFactory.getLogger(PricingAllocationBudgetTest.class);
+
+    private static final long MEDICAL_LEVEL_NO_RISKS_BUDGET = 15 * 1024;
+    private static final long COUNTRY_DEFAULT_NO_RISKS_BUDGET = 12 * 1024;
+    private static final long MEDICAL_LEVEL_WITH_RISKS_BUDGET = 28 * 1024;
+    private static final long COUNTRY_DEFAULT_WITH_RISKS_BUDGET = 26 * 1024;
+    private static final long V3_THREE_PERSONS_BUDGET = 120 * 1024;
+
+    private static final List<String> BUNDLED_RISKS =
+            List.of("SPORT_ACTIVITIES", "ACCIDENT_COVERAGE", "LUGGAGE_LOSS");
+
+    private static PricingFixture fixture;
+    private static Level previousLevel;
+
+    @BeforeAll
+    static void setUp() {
+        assumeTrue(AllocationMeter.isSupported(), "JVM does not support per-thread allocation accounting");
+        fixture = new PricingFixture();
+        Logger logger = (Logger) LoggerFactory.getLogger(APPLICATION_LOGGER);
+        previousLevel = logger.getLevel();
+        logger.setLevel(Level.WARN);
+        ((Logger) log).setLevel(Level.INFO);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        ((Logger) LoggerFactory.getLogger(APPLICATION_LOGGER)).setLevel(previousLevel);
+        ((Logger) log).setLevel(null);
+    }
+
+    @Nested
+    @DisplayName("MedicalRiskPremiumCalculator.calculatePremiumWithDetails")
+    class Calculator {
+
+        @Test
+        @DisplayName("MEDICAL_LEVEL без рисков укладывается в бюджет")
+        void medicalLevelWithoutRisks() {
+            assertWithinBudget("calculator MEDICAL_LEVEL, no risks",
+                    singlePerson(false, List.of()), MEDICAL_LEVEL_NO_RISKS_BUDGET);
+        }
+
+        @Test
+        @DisplayName("MEDICAL_LEVEL с пакетом рисков укладывается в бюджет")
+        void medicalLevelWithBundledRisks() {
+            assertWithinBudget("calculator MEDICAL_LEVEL, bundled risks",
+                    singlePerson(false, BUNDLED_RISKS), MEDICAL_LEVEL_WITH_RISKS_BUDGET);
+        }
+
+        @Test
+        @DisplayName("COUNTRY_DEFAULT без рисков укладывается в бюджет")
+        void countryDefaultWithoutRisks() {
+            assertWithinBudget("calculator COUNTRY_DEFAULT, no risks",
+                    singlePerson(true, List.of()), COUNTRY_DEFAULT_NO_RISKS_BUDGET);
+        }
+
+        @Test
+        @DisplayName("COUNTRY_DEFAULT с пакетом рисков укладывается в бюджет")
+        void countryDefaultWithBundledRisks() {
+            assertWithinBudget("calculator COUNTRY_DEFAULT, bundled risks",
+                    singlePerson(true, BUNDLED_RISKS), COUNTRY_DEFAULT_WITH_RISKS_BUDGET);
+        }
+
+        private Supplier<?> singlePerson(boolean countryDefault, List<String> risks) {
+            TravelCalculatePremiumRequest request = PricingFixture.request(countryDefault, risks);
+            assertThat(fixture.calculator.calculatePremiumWithDetails(request).premium()).isPositive();
+            return () -> fixture.calculator.calculatePremiumWithDetails(request);
+        }
+    }
+
+    @Nested
+    @DisplayName("TravelCalculatePremiumServiceV3.calculatePremium")
+    class ServiceV3 {
+
+        @Test
+        @DisplayName("группа из трёх человек с рисками укладывается в бюджет")
+        void threePersonsWithRisks() {
+            assertWithinBudget("V3, 3 persons, bundled risks",
+                    group(3), V3_THREE_PERSONS_BUDGET);
+        }
+
+        @Test
+        @DisplayName("аллокации растут не быстрее числа застрахованных")
+        void shouldGrowLinearlyWithPersons() {
+            long three = METER.bytesPerCall(group(3));
+            long six = METER.bytesPerCall(group(6));
+            report("V3, 3 persons", three);
+            report("V3, 6 persons", six);
+
+            assertThat(six)
+                    .as("6 persons must allocate at most 2.5x of 3 persons (3 persons: %d B)", three)
+                    .isLessThanOrEqualTo(three * 5 / 2);
+        }
+
+        private Supplier<?> group(int persons) {
+            TravelCalculatePremiumRequestV3 request = PricingFixture.groupRequest(persons, false, BUNDLED_RISKS);
+            assertThat(fixture.serviceV3.calculatePremium(request).isSuccessful()).isTrue();
+            return () -> fixture.serviceV3.calculatePremium(request);
+        }
+    }
+
+    private static void assertWithinBudget(String name, Supplier<?> call, long budget) {
+        long bytes = METER.bytesPerCall(call);
+        report(name, bytes);
+        assertThat(bytes)
+                .as("%s: bytes allocated per call", name)
+                .isLessThanOrEqualTo(budget);
+    }
+
+    private static void report(String name, long bytes) {
+        log.info("[allocation] {}: {} B/call", name, bytes);
+    }
+}
@@ -0,0 +1,130 @@
+package org.javaguru.travel.insurance.application.repricing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.javaguru.travel.insurance.application.dto.TravelCalculatePremiumRequest;
+import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculator;
+import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculator.CalculationMode;
+import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculator.PremiumCalculationResult;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataScope;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshot;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotFixture;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тесты офлайн-переоценки.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RepricingJob — офлайн-переоценка")
+class RepricingJobTest {
+
+    private static final LocalDate SNAPSHOT_DATE = LocalDate.of(2026, 1, 1);
+
+    @Mock private MedicalRiskPremiumCalculator calculator;
+    @Mock private ReferenceDataSnapshotService referenceDataSnapshotService;
+
+    @TempDir
+    Path tempDir;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RepricingJob job;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        job = new RepricingJob(calculator, referenceDataSnapshotService, meterRegistry, 5000);
+        lenient().when(referenceDataSnapshotService.current())
+                .thenReturn(ReferenceDataSnapshotFixture.standardSnapshot());
+    }
+
+    @Test
+    @DisplayName("должен записать результаты в порядке входного файла со статусами")
+    void shouldWriteOrderedResults() throws Exception {
+        StringBuilder content = new StringBuilder("birth_date,date_from,date_to,country,level\n");
+        for (int i = 0; i < 50; i++) {
+            content.append("1990-05-10,2025-06-01,2025-06-15,").append(i == 7 ? "XX" : "ES").append(",50000\n");
+        }
+        content.append("not-a-date,2025-06-01,2025-06-15,ES,50000\n");
+        Path input = Files.writeString(tempDir.resolve("trips.csv"), content);
+        Path output = tempDir.resolve("out.csv");
+
+        when(calculator.calculatePremiumWithDetails(any())).thenAnswer(invocation -> {
+            TravelCalculatePremiumRequest request = invocation.getArgument(0);
+            if ("XX".equals(request.getCountryIsoCode())) {
+                throw new IllegalArgumentException("Country not found: XX");
+            }
+            return result("12.50");
+        });
+
+        RepricingReport report = job.run(new RepricingJobParameters(input, null, output, SNAPSHOT_DATE, 4, 3));
+
+        assertThat(report.records()).isEqualTo(51);
+        assertThat(report.succeeded()).isEqualTo(49);
+        assertThat(report.failed()).isEqualTo(2);
+
+        List<String> lines = Files.readAllLines(output);
+        assertThat(lines.get(0)).isEqualTo(RepricingJob.OUTPUT_HEADER);
+        assertThat(lines).hasSize(52);
+        assertThat(lines.get(1)).isEqualTo("1,OK,12.50,MEDICAL_LEVEL,");
+        assertThat(lines.get(8)).isEqualTo("8,ERROR,,,Country not found: XX");
+        assertThat(lines.get(51)).startsWith("51,PARSE_ERROR,,,");
+        for (int i = 1; i < lines.size(); i++) {
+            assertThat(lines.get(i)).startsWith(i + ",");
+        }
+
+        assertThat(meterRegistry.get("repricing.records").tag("outcome", "success").counter().count())
+                .isEqualTo(49);
+        assertThat(meterRegistry.get("repricing.records").tag("outcome", "failure").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("должен считать со снимком справочников, закреплённым на дату тарифа")
+    void shouldPriceAgainstPinnedSnapshot() throws Exception {
+        Path input = Files.writeString(tempDir.resolve("trips.ndjson"), """
+                {"personBirthDate":"1990-05-10","agreementDateFrom":"2025-06-01","agreementDateTo":"2025-06-15","countryIsoCode":"ES"}
+                """);
+        var pinnedDates = new ConcurrentLinkedQueue<LocalDate>();
+        when(calculator.calculatePremiumWithDetails(any())).thenAnswer(invocation -> {
+            ReferenceDataScope.current()
+                    .flatMap(ReferenceDataSnapshot::getPinnedDate)
+                    .ifPresent(pinnedDates::add);
+            return result("10.00");
+        });
+
+        job.run(new RepricingJobParameters(input, null, tempDir.resolve("out.csv"), SNAPSHOT_DATE, 10, 1));
+
+        assertThat(pinnedDates).containsExactly(SNAPSHOT_DATE);
+    }
+
+    @Test
+    @DisplayName("CSV-значение с запятой или кавычкой должно экранироваться")
+    void shouldEscapeCsvValues() {
+        assertThat(RepricingJob.csv("plain")).isEqualTo("plain");
+        assertThat(RepricingJob.csv("a,b")).isEqualTo("\"a,b\"");
+        assertThat(RepricingJob.csv("say \"hi\"")).isEqualTo("\"say \"\"hi\"\"\"");
+    }
+
+    private static PremiumCalculationResult result(String premium) {
+        return new PremiumCalculationResult(new BigDecimal(premium), null, null, null, null, null,
+                CalculationMode.MEDICAL_LEVEL, List.of(), null);
+    }
+}
@@ -0,0 +1,161 @@
+package org.javaguru.travel.insurance.application.repricing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Тесты чтения файлов переоценки через отображение в память.
+ */
+@DisplayName("RepricingRecordReader — memory-mapped чтение")
+class RepricingRecordReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Nested
+    @DisplayName("CSV")
+    class Csv {
+
+        @Test
+        @DisplayName("должен разобрать строки в порядке колонок заголовка")
+        void shouldParseRowsByHeader() throws Exception {
+            Path file = write("trips.csv", """
+                    country,birth_date,date_from,date_to,level,risks,use_country_default
+                    ES,1990-05-10,2025-06-01,2025-06-15,50000,SPORT_ACTIVITIES|EXTREME_SPORT,false
+                    TH, 1985-01-01 ,2025-07-01,2025-07-10,10000,,true\r
+                    """);
+
+            List<RepricingRecord> records = readAll(new MappedCsvRecordReader(file));
+
+            assertThat(records).hasSize(2);
+            RepricingRecord first = records.get(0);
+            assertThat(first.isValid()).isTrue();
+            assertThat(first.lineNumber()).isEqualTo(1);
+            assertThat(first.countryIsoCode()).isEqualTo("ES");
+            assertThat(first.personBirthDate()).isEqualTo(LocalDate.of(1990, 5, 10));
+            assertThat(first.agreementDateTo()).isEqualTo(LocalDate.of(2025, 6, 15));
+            assertThat(first.selectedRisks()).containsExactly("SPORT_ACTIVITIES", "EXTREME_SPORT");
+            assertThat(first.useCountryDefaultPremium()).isFalse();
+
+            RepricingRecord second = records.get(1);
+            assertThat(second.personBirthDate()).isEqualTo(LocalDate.of(1985, 1, 1));
+            assertThat(second.selectedRisks()).isEmpty();
+            assertThat(second.useCountryDefaultPremium()).isTrue();
+        }
+
+        @Test
+        @DisplayName("должен переотображать окно, когда строка пересекает его границу")
+        void shouldRemapWhenLineCrossesWindow() throws Exception {
+            StringBuilder content = new StringBuilder("birth_date,date_from,date_to,country,level\n");
+            for (int i = 0; i < 200; i++) {
+                content.append("1990-05-10,2025-06-01,2025-06-15,ES,50000\n");
+            }
+            Path file = write("big.csv", content.toString());
+
+            List<RepricingRecord> records = readAll(new MappedCsvRecordReader(file, 100));
+
+            assertThat(records).hasSize(200);
+            assertThat(records).allSatisfy(r -> {
+                assertThat(r.isValid()).isTrue();
+                assertThat(r.countryIsoCode()).isEqualTo("ES");
+            });
+            assertThat(records.get(199).lineNumber()).isEqualTo(200);
+        }
+
+        @Test
+        @DisplayName("должен возвращать один и тот же экземпляр строки для повторяющихся кодов")
+        void shouldInternRepeatedCodes() throws Exception {
+            Path file = write("trips.csv", """
+                    birth_date,date_from,date_to,country
+                    1990-05-10,2025-06-01,2025-06-15,ES
+                    1991-05-10,2025-06-01,2025-06-15,ES
+                    """);
+
+            List<RepricingRecord> records = readAll(new MappedCsvRecordReader(file));
+
+            assertThat(records.get(0).countryIsoCode()).isSameAs(records.get(1).countryIsoCode());
+        }
+
+        @Test
+        @DisplayName("должен помечать строку с неверной датой как ошибку разбора, не прерывая чтение")
+        void shouldMarkInvalidDate() throws Exception {
+            Path file = write("trips.csv", """
+                    birth_date,date_from,date_to,country
+                    1990-13-45,2025-06-01,2025-06-15,ES
+                    1990-05-10,2025-06-01,2025-06-15,ES
+                    """);
+
+            List<RepricingRecord> records = readAll(new MappedCsvRecordReader(file));
+
+            assertThat(records).hasSize(2);
+            assertThat(records.get(0).isValid()).isFalse();
+            assertThat(records.get(1).isValid()).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("NDJSON")
+    class Ndjson {
+
+        @Test
+        @DisplayName("должен разобрать объекты и пометить неверную запись")
+        void shouldParseObjects() throws Exception {
+            Path file = write("trips.ndjson", """
+                    {"personBirthDate":"1990-05-10","agreementDateFrom":"2025-06-01","agreementDateTo":"2025-06-15","countryIsoCode":"ES","medicalRiskLimitLevel":"50000","selectedRisks":["SPORT_ACTIVITIES"],"extra":{"a":1}}
+                    {"personBirthDate":"10.05.1990","countryIsoCode":"ES"}
+                    """);
+
+            List<RepricingRecord> records = readAll(new MappedNdjsonRecordReader(file, 64));
+
+            assertThat(records).hasSize(2);
+            assertThat(records.get(0).isValid()).isTrue();
+            assertThat(records.get(0).medicalRiskLimitLevel()).isEqualTo("50000");
+            assertThat(records.get(0).selectedRisks()).containsExactly("SPORT_ACTIVITIES");
+            assertThat(records.get(1).isValid()).isFalse();
+            assertThat(records.get(1).parseError()).startsWith("personBirthDate");
+        }
+
+        @Test
+        @DisplayName("должен останавливаться на синтаксической ошибке JSON")
+        void shouldStopOnMalformedJson() throws Exception {
+            Path file = write("trips.ndjson", """
+                    {"countryIsoCode":"ES"}
+                    {"countryIsoCode":
+                    {"countryIsoCode":"TH"}
+                    """);
+
+            List<RepricingRecord> records = readAll(new MappedNdjsonRecordReader(file));
+
+            assertThat(records).hasSize(2);
+            assertThat(records.get(1).parseError()).startsWith("Malformed NDJSON");
+        }
+    }
+
+    // ── Вспомогательные методы ───────────────────────────────────────────────
+
+    private Path write(String name, String content) throws Exception {
+        return Files.writeString(tempDir.resolve(name), content);
+    }
+
+    private static List<RepricingRecord> readAll(RepricingRecordReader reader) throws Exception {
+        List<RepricingRecord> all = new ArrayList<>();
+        try (reader) {
+            List<RepricingRecord> chunk;
+            while (!(chunk = reader.nextChunk(7)).isEmpty()) {
+                all.addAll(chunk);
+            }
+            assertThat(reader.progress()).isEqualTo(1.0);
+        }
+        return all;
+    }
+}
@@ -0,0 +1,194 @@
+package org.javaguru.travel.insurance.application.service;
+
+import org.javaguru.travel.insurance.application.dto.v3.BatchCalculatePremiumResponseV3;
+import org.javaguru.travel.insurance.application.dto.v3.TravelCalculatePremiumRequestV3;
+import org.javaguru.travel.insurance.application.dto.v3.TravelCalculatePremiumResponseV3;
+import org.javaguru.travel.insurance.application.dto.v3.TravelCalculatePremiumResponseV3.ResponseStatus;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataScope;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshot;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotFixture;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Тесты пакетного расчёта V3.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BatchPremiumCalculationServiceV3 — пакетный расчёт")
+class BatchPremiumCalculationServiceV3Test {
+
+    @Mock private TravelCalculatePremiumServiceV3 calculatePremiumServiceV3;
+    @Mock private ReferenceDataSnapshotService referenceDataSnapshotService;
+
+    private final ReferenceDataSnapshot snapshot = ReferenceDataSnapshotFixture.standardSnapshot();
+
+    private BatchPremiumCalculationServiceV3 service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BatchPremiumCalculationServiceV3(
+                calculatePremiumServiceV3, referenceDataSnapshotService,
+                4, 100, 5, 2, 10_000);
+        lenient().when(referenceDataSnapshotService.current()).thenReturn(snapshot);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Nested
+    @DisplayName("Результаты по элементам")
+    class ItemResults {
+
+        @Test
+        @DisplayName("должен вернуть результаты в порядке входного массива")
+        void shouldPreserveOrder() {
+            when(calculatePremiumServiceV3.calculatePremium(any()))
+                    .thenAnswer(inv -> response(ResponseStatus.SUCCESS));
+
+            var result = service.calculateBatch(List.of(request("ES"), request("TH"), request("US")));
+
+            assertThat(result.getTotalItems()).isEqualTo(3);
+            assertThat(result.getSucceeded()).isEqualTo(3);
+            assertThat(result.getTariffVersion()).isEqualTo(snapshot.getVersion());
+            assertThat(result.getResults())
+                    .extracting(BatchCalculatePremiumResponseV3.ItemResult::getIndex)
+                    .containsExactly(0, 1, 2);
+        }
+
+        @Test
+        @DisplayName("исключение одного элемента не влияет на остальные")
+        void shouldIsolateFailures() {
+            when(calculatePremiumServiceV3.calculatePremium(any())).thenAnswer(inv -> {
+                TravelCalculatePremiumRequestV3 r = inv.getArgument(0);
+                if ("XX".equals(r.getCountryIsoCode())) {
+                    throw new IllegalStateException("boom");
+                }
+                return response(ResponseStatus.SUCCESS);
+            });
+
+            var result = service.calculateBatch(List.of(request("ES"), request("XX"), request("TH")));
+
+            assertThat(result.getSucceeded()).isEqualTo(2);
+            assertThat(result.getFailed()).isEqualTo(1);
+            var failed = result.getResults().get(1);
+            assertThat(failed.getHttpStatus()).isEqualTo(500);
+            assertThat(failed.getError()).contains("boom");
+            assertThat(failed.getResponse()).isNull();
+        }
+
+        @Test
+        @DisplayName("статус элемента совпадает со статусом одиночного /calculate")
+        void shouldMapItemHttpStatus() {
+            when(calculatePremiumServiceV3.calculatePremium(any()))
+                    .thenReturn(response(ResponseStatus.DECLINED))
+                    .thenReturn(response(ResponseStatus.VALIDATION_ERROR));
+
+            var result = service.calculateBatch(List.of(request("ES"), request("TH")));
+
+            assertThat(result.getResults())
+                    .extracting(BatchCalculatePremiumResponseV3.ItemResult::getHttpStatus)
+                    .containsExactlyInAnyOrder(422, 400);
+        }
+
+        @Test
+        @DisplayName("null-элемент получает 400, остальные считаются")
+        void shouldRejectNullItem() {
+            when(calculatePremiumServiceV3.calculatePremium(any()))
+                    .thenReturn(response(ResponseStatus.SUCCESS));
+
+            var result = service.calculateBatch(Arrays.asList(request("ES"), null));
+
+            assertThat(result.getResults().get(0).getHttpStatus()).isEqualTo(200);
+            assertThat(result.getResults().get(1).getHttpStatus()).isEqualTo(400);
+        }
+    }
+
+    @Nested
+    @DisplayName("Бюджет и снимок справочников")
+    class BudgetAndSnapshot {
+
+        @Test
+        @DisplayName("должен отклонить батч больше max-items")
+        void shouldRejectOversizedBatch() {
+            List<TravelCalculatePremiumRequestV3> requests = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                requests.add(request("ES"));
+            }
+
+            assertThatThrownBy(() -> service.calculateBatch(requests))
+                    .isInstanceOf(BatchSizeExceededException.class)
+                    .hasMessageContaining("maximum allowed is 5");
+            verifyNoInteractions(calculatePremiumServiceV3);
+        }
+
+        @Test
+        @DisplayName("снимок разрешается один раз и привязан к каждому элементу")
+        void shouldShareSnapshotAcrossItems() {
+            Set<String> seenVersions = ConcurrentHashMap.newKeySet();
+            when(calculatePremiumServiceV3.calculatePremium(any())).thenAnswer(inv -> {
+                seenVersions.add(ReferenceDataScope.current()
+                        .map(ReferenceDataSnapshot::getVersion).orElse("none"));
+                return response(ResponseStatus.SUCCESS);
+            });
+
+            service.calculateBatch(List.of(request("ES"), request("TH"), request("US"), request("DE")));
+
+            verify(referenceDataSnapshotService, times(1)).current();
+            assertThat(seenVersions).containsExactly(snapshot.getVersion());
+        }
+
+        @Test
+        @DisplayName("элемент, не уложившийся в бюджет времени, получает 504")
+        void shouldTimeOutSlowItems() {
+            service.shutdown();
+            service = new BatchPremiumCalculationServiceV3(
+                    calculatePremiumServiceV3, referenceDataSnapshotService,
+                    1, 100, 5, 1, 200);
+            when(calculatePremiumServiceV3.calculatePremium(any())).thenAnswer(inv -> {
+                Thread.sleep(1_000);
+                return response(ResponseStatus.SUCCESS);
+            });
+
+            var result = service.calculateBatch(List.of(request("ES"), request("TH")));
+
+            assertThat(result.getResults())
+                    .allSatisfy(item -> assertThat(item.getHttpStatus()).isEqualTo(504));
+        }
+    }
+
+    // ── Вспомогательные методы ────────────────────────────────────────────────
+
+    private static TravelCalculatePremiumRequestV3 request(String country) {
+        return TravelCalculatePremiumRequestV3.builder()
+                .countryIsoCode(country)
+                .medicalRiskLimitLevel("50000")
+                .build();
+    }
+
+    private static TravelCalculatePremiumResponseV3 response(ResponseStatus status) {
+        return TravelCalculatePremiumResponseV3.builder()
+                .status(status)
+                .success(status == ResponseStatus.SUCCESS)
+                .build();
+    }
+}
@@ -0,0 +1,139 @@
+package org.javaguru.travel.insurance.application.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.javaguru.travel.insurance.application.dto.v3.TravelCalculatePremiumRequestV3;
+import org.javaguru.travel.insurance.application.dto.v3.TravelCalculatePremiumResponseV3;
+import org.javaguru.travel.insurance.application.dto.v3.TravelCalculatePremiumResponseV3.ResponseStatus;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotFixture;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Тесты потокового NDJSON расчёта V3.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StreamingPremiumCalculationServiceV3 — NDJSON")
+class StreamingPremiumCalculationServiceV3Test {
+
+    @Mock private TravelCalculatePremiumServiceV3 calculatePremiumServiceV3;
+    @Mock private ReferenceDataSnapshotService referenceDataSnapshotService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private StreamingPremiumCalculationServiceV3 service;
+
+    @BeforeEach
+    void setUp() {
+        service = new StreamingPremiumCalculationServiceV3(
+                calculatePremiumServiceV3, referenceDataSnapshotService, objectMapper);
+        when(referenceDataSnapshotService.current())
+                .thenReturn(ReferenceDataSnapshotFixture.standardSnapshot());
+    }
+
+    @Test
+    @DisplayName("должен писать по одной строке результата на каждую строку запроса")
+    void shouldWriteOneLinePerItem() throws Exception {
+        when(calculatePremiumServiceV3.calculatePremium(any()))
+                .thenReturn(response(ResponseStatus.SUCCESS));
+
+        var out = new ByteArrayOutputStream();
+        var summary = service.process(input("""
+                {"countryIsoCode":"ES","agreementDateFrom":"2026-04-17"}
+                {"countryIsoCode":"TH"}
+                """), out);
+
+        List<JsonNode> lines = lines(out);
+        assertThat(summary.totalItems()).isEqualTo(2);
+        assertThat(summary.succeeded()).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0).get("index").asInt()).isEqualTo(0);
+        assertThat(lines.get(1).get("response").get("status").asText()).isEqualTo("SUCCESS");
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("ошибка привязки или расчёта одного элемента не прерывает поток")
+    void shouldIsolateItemFailures() throws Exception {
+        when(calculatePremiumServiceV3.calculatePremium(any())).thenAnswer(inv -> {
+            TravelCalculatePremiumRequestV3 r = inv.getArgument(0);
+            if ("XX".equals(r.getCountryIsoCode())) {
+                throw new IllegalStateException("boom");
+            }
+            return response(ResponseStatus.SUCCESS);
+        });
+
+        var out = new ByteArrayOutputStream();
+        service.process(input("""
+                {"countryIsoCode":"ES"}
+                {"agreementDateFrom":"not-a-date"}
+                {"countryIsoCode":"XX"}
+                [1,2]
+                {"countryIsoCode":"TH"}
+                """), out);
+
+        List<JsonNode> lines = lines(out);
+        assertThat(lines).extracting(n -> n.get("httpStatus").asInt())
+                .containsExactly(200, 400, 500, 400, 200);
+        verify(calculatePremiumServiceV3, times(3)).calculatePremium(any());
+    }
+
+    @Test
+    @DisplayName("синтаксически битый JSON завершает поток строкой с ошибкой")
+    void shouldStopOnMalformedJson() throws Exception {
+        when(calculatePremiumServiceV3.calculatePremium(any()))
+                .thenReturn(response(ResponseStatus.SUCCESS));
+
+        var out = new ByteArrayOutputStream();
+        service.process(input("""
+                {"countryIsoCode":"ES"}
+                {"countryIsoCode":
+                """), out);
+
+        List<JsonNode> lines = lines(out);
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(1).get("error").asText()).startsWith("Malformed NDJSON");
+    }
+
+    // ── Вспомогательные методы ────────────────────────────────────────────────
+
+    private static InputStream input(String ndjson) {
+        return new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<JsonNode> lines(ByteArrayOutputStream out) throws Exception {
+        List<JsonNode> result = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                result.add(objectMapper.readTree(line));
+            }
+        }
+        return result;
+    }
+
+    private static TravelCalculatePremiumResponseV3 response(ResponseStatus status) {
+        return TravelCalculatePremiumResponseV3.builder()
+                .status(status)
+                .success(status == ResponseStatus.SUCCESS)
+                .build();
+    }
+}
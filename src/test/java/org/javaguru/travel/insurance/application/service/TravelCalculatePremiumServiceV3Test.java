@@ -5,6 +5,7 @@ import org.javaguru.travel.insurance.application.dto.v3.*;
 import org.javaguru.travel.insurance.application.validation.TravelCalculatePremiumRequestValidatorV3;
 import org.javaguru.travel.insurance.application.validation.ValidationError;
 import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculator;
+import org.javaguru.travel.insurance.core.reference.TariffConsistencyGuard;
 import org.javaguru.travel.insurance.core.underwriting.domain.UnderwritingResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -43,7 +44,8 @@ class TravelCalculatePremiumServiceV3Test {
     @BeforeEach
     void setUp() {
         service = new TravelCalculatePremiumServiceV3(
-                validator, premiumCalculationService, discountApplicationService);
+                validator, premiumCalculationService, discountApplicationService,
+                TariffConsistencyGuard.disabled());
     }
 
     // ── VALIDATION_ERROR ──────────────────────────────────────────────────────
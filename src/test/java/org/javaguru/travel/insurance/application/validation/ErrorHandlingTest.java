@@ -1,7 +1,13 @@
 package org.javaguru.travel.insurance.application.validation;
 
+import org.javaguru.travel.insurance.application.service.BatchPremiumCalculationServiceV3;
+import org.javaguru.travel.insurance.application.service.StreamingPremiumCalculationServiceV3;
 import org.javaguru.travel.insurance.application.service.TravelCalculatePremiumService;
 import org.javaguru.travel.insurance.application.service.TravelCalculatePremiumServiceV3;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotService;
+import org.javaguru.travel.insurance.core.underwriting.export.UnderwritingDecisionExporter;
+import org.javaguru.travel.insurance.core.underwriting.statistics.DecisionStatisticsService;
+import org.javaguru.travel.insurance.infrastructure.web.reference.ReferencePayloadCache;
 import org.javaguru.travel.insurance.infrastructure.web.error.GlobalExceptionHandler;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -30,6 +36,24 @@ class ErrorHandlingTest {
     @MockBean
     private TravelCalculatePremiumServiceV3 service;
 
+    @MockBean
+    private BatchPremiumCalculationServiceV3 batchService;
+
+    @MockBean
+    private StreamingPremiumCalculationServiceV3 streamingService;
+
+    @MockBean
+    private ReferenceDataSnapshotService referenceDataSnapshotService;
+
+    @MockBean
+    private ReferencePayloadCache referencePayloadCache;
+
+    @MockBean
+    private UnderwritingDecisionExporter underwritingDecisionExporter;
+
+    @MockBean
+    private DecisionStatisticsService decisionStatisticsService;
+
     @Test
     @DisplayName("Should return 400 for malformed JSON")
     void shouldReturn400ForMalformedJson() throws Exception {
@@ -1,5 +1,7 @@
 package org.javaguru.travel.insurance.core.calculators;
 
+import org.javaguru.travel.insurance.core.reference.ReferenceDataScope;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotFixture;
 import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.AgeCoefficientEntity;
 import org.javaguru.travel.insurance.infrastructure.persistence.repositories.AgeCoefficientRepository;
 import org.junit.jupiter.api.DisplayName;
@@ -175,6 +177,32 @@ class AgeCalculatorTest {
             verify(ageCoefficientRepository).findCoefficientForAge(45, specificDate);
         }
 
+        @Test
+        @DisplayName("should look up the pinned snapshot date instead of referenceDate")
+        void shouldUsePinnedSnapshotDate() throws Exception {
+            LocalDate tripDate = LocalDate.of(2024, 6, 1);
+            LocalDate tariffDate = LocalDate.of(2026, 1, 1);
+            AgeCoefficientEntity entity = entityWithCoefficient(new BigDecimal("1.30"));
+            when(ageCoefficientRepository.findCoefficientForAge(45, tariffDate))
+                    .thenReturn(Optional.of(entity));
+
+            ReferenceDataScope.callWith(ReferenceDataSnapshotFixture.standardSnapshot().pinnedAt(tariffDate),
+                    () -> ageCalculator.getAgeCoefficient(45, tripDate));
+
+            verify(ageCoefficientRepository).findCoefficientForAge(45, tariffDate);
+        }
+
+        @Test
+        @DisplayName("should read the coefficient from the bound snapshot's tariff tables without the DB")
+        void shouldReadCoefficientFromBoundSnapshot() throws Exception {
+            BigDecimal result = ReferenceDataScope.callWith(
+                    ReferenceDataSnapshotFixture.standardSnapshotWithTariffTables(),
+                    () -> ageCalculator.getAgeCoefficient(35, LocalDate.of(2025, 6, 1)));
+
+            assertThat(result).isEqualByComparingTo("1.10");
+            verifyNoInteractions(ageCoefficientRepository);
+        }
+
         @Test
         @DisplayName("getAgeCoefficient(int) should use current date")
         void shouldUseCurrentDateInSingleArgOverload() {
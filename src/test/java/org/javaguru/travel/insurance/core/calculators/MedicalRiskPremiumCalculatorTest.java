@@ -1,6 +1,7 @@
 package org.javaguru.travel.insurance.core.calculators;
 
 import org.javaguru.travel.insurance.BaseTestFixture;
+import org.javaguru.travel.insurance.core.calculators.cache.QuoteResultCache;
 import org.javaguru.travel.insurance.core.calculators.strategy.CountryDefaultPremiumStrategy;
 import org.javaguru.travel.insurance.core.calculators.strategy.MedicalLevelPremiumStrategy;
 import org.javaguru.travel.insurance.core.services.CountryDefaultDayPremiumService;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
@@ -33,6 +35,7 @@ class MedicalRiskPremiumCalculatorTest extends BaseTestFixture {
     @Mock private MedicalLevelPremiumStrategy medicalLevelStrategy;
     @Mock private CountryDefaultPremiumStrategy countryDefaultStrategy;
     @Mock private CountryDefaultDayPremiumService countryDefaultDayPremiumService;
+    @Spy  private QuoteResultCache quoteResultCache = QuoteResultCache.disabled();
 
     @InjectMocks
     private MedicalRiskPremiumCalculator calculator;
@@ -0,0 +1,288 @@
+package org.javaguru.travel.insurance.core.calculators.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.javaguru.travel.insurance.TestRequestBuilder;
+import org.javaguru.travel.insurance.application.dto.TravelCalculatePremiumRequest;
+import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculator.AgeDetails;
+import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculator.CalculationMode;
+import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculator.CalculationStep;
+import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculator.PremiumCalculationResult;
+import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculator.RiskDetails;
+import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculator.RiskPremiumDetail;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataScope;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshot;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("QuoteResultCache — кэш котировок")
+class QuoteResultCacheTest {
+
+    private static final LocalDate DATE_FROM = LocalDate.of(2030, 6, 1);
+
+    private SimpleMeterRegistry registry;
+    private String version;
+    private QuoteResultCache cache;
+    private AtomicInteger calculations;
+    private Function<TravelCalculatePremiumRequest, PremiumCalculationResult> calculator;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        version = "v1";
+        cache = new QuoteResultCache(() -> version, registry, true, 16 * 1024 * 1024,
+                Duration.ofMinutes(5), Duration.ofSeconds(5));
+        calculations = new AtomicInteger();
+        calculator = request -> {
+            calculations.incrementAndGet();
+            return result(new BigDecimal("52.50"));
+        };
+    }
+
+    @Nested
+    @DisplayName("Попадания и промахи")
+    class HitsAndMisses {
+
+        @Test
+        @DisplayName("повторный запрос с теми же ценовыми полями должен браться из кэша")
+        void shouldServeRepeatedQuoteFromCache() {
+            var first = cache.getOrCalculate(request().build(), calculator);
+            var second = cache.getOrCalculate(request().build(), calculator);
+
+            assertThat(calculations).hasValue(1);
+            assertThat(second).isSameAs(first);
+            assertThat(requests("hit")).isEqualTo(1);
+            assertThat(requests("miss")).isEqualTo(1);
+            assertThat(cache.hitRatio()).isEqualTo(0.5);
+        }
+
+        @Test
+        @DisplayName("поля, не влияющие на цену, не должны давать отдельную запись")
+        void shouldIgnoreNonPricingFields() {
+            cache.getOrCalculate(request().personFirstName("Anna").promoCode("TEST_PROMO_10PCT").build(), calculator);
+            cache.getOrCalculate(request().personFirstName("Peteris").promoCode(null).build(), calculator);
+
+            assertThat(calculations).hasValue(1);
+        }
+
+        @Test
+        @DisplayName("люди одного возраста на дату начала поездки должны делить запись")
+        void shouldNormalizeBirthDateToAge() {
+            cache.getOrCalculate(request().personBirthDate(LocalDate.of(1990, 1, 10)).build(), calculator);
+            cache.getOrCalculate(request().personBirthDate(LocalDate.of(1990, 5, 20)).build(), calculator);
+            cache.getOrCalculate(request().personBirthDate(LocalDate.of(1990, 6, 2)).build(), calculator);
+
+            assertThat(calculations).as("third person is one year younger on %s", DATE_FROM).hasValue(2);
+        }
+
+        @Test
+        @DisplayName("другая длительность поездки или порядок рисков — другая запись")
+        void shouldSeparateByDaysAndRiskOrder() {
+            cache.getOrCalculate(request().build(), calculator);
+            cache.getOrCalculate(request().agreementDateTo(DATE_FROM.plusDays(15)).build(), calculator);
+            cache.getOrCalculate(request().selectedRisks(List.of("EXTREME_SPORT", "SPORT_ACTIVITIES")).build(),
+                    calculator);
+
+            assertThat(calculations).hasValue(3);
+        }
+
+        @Test
+        @DisplayName("ошибка калькулятора не должна кэшироваться")
+        void shouldNotCacheFailures() {
+            var request = request().build();
+
+            assertThatThrownBy(() -> cache.getOrCalculate(request, r -> {
+                throw new IllegalStateException("boom");
+            })).isInstanceOf(IllegalStateException.class);
+            cache.getOrCalculate(request, calculator);
+
+            assertThat(calculations).hasValue(1);
+        }
+
+        @Test
+        @DisplayName("одновременные промахи по одному ключу должны считаться один раз")
+        void shouldCoalesceConcurrentMisses() throws Exception {
+            int callers = 8;
+            var started = new CountDownLatch(1);
+            var release = new CountDownLatch(1);
+            Function<TravelCalculatePremiumRequest, PremiumCalculationResult> slowCalculator = request -> {
+                started.countDown();
+                await(release);
+                return calculator.apply(request);
+            };
+            ExecutorService executor = Executors.newFixedThreadPool(callers);
+            try {
+                List<Future<PremiumCalculationResult>> results = new ArrayList<>();
+                results.add(executor.submit(() -> cache.getOrCalculate(request().build(), slowCalculator)));
+                assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+                for (int i = 1; i < callers; i++) {
+                    results.add(executor.submit(() -> cache.getOrCalculate(request().build(), slowCalculator)));
+                }
+                Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> collapsed() == callers - 1);
+                release.countDown();
+
+                for (Future<PremiumCalculationResult> result : results) {
+                    assertThat(result.get(5, TimeUnit.SECONDS).premium()).isEqualByComparingTo("52.50");
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            assertThat(calculations).hasValue(1);
+        }
+
+        @Test
+        @DisplayName("списки результата в кэше должны быть неизменяемыми")
+        void shouldFreezeCachedResult() {
+            var cached = cache.getOrCalculate(request().build(), calculator);
+
+            assertThatThrownBy(() -> cached.calculationSteps().add(null))
+                    .isInstanceOf(UnsupportedOperationException.class);
+            assertThatThrownBy(() -> cached.riskDetails().riskPremiumDetails().clear())
+                    .isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Версия справочников")
+    class Versioning {
+
+        @Test
+        @DisplayName("новая версия справочников должна очищать кэш")
+        void shouldFlushOnNewVersion() {
+            cache.getOrCalculate(request().build(), calculator);
+            version = "v2";
+            cache.getOrCalculate(request().build(), calculator);
+
+            assertThat(calculations).hasValue(2);
+            assertThat(registry.get(QuoteResultCache.INVALIDATIONS_METRIC).counter().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("запись другой версии в привязанном снимке должна считаться устаревшей")
+        void shouldTreatEntryOfOtherScopedVersionAsStale() throws Exception {
+            cache.getOrCalculate(request().build(), calculator);
+            ReferenceDataSnapshot other = ReferenceDataSnapshot.of(List.of(), List.of(), List.of(), Instant.now());
+
+            ReferenceDataScope.callWith(other, () -> cache.getOrCalculate(request().build(), calculator));
+
+            assertThat(calculations).hasValue(2);
+            assertThat(requests("stale")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("расчёт с закреплённым снимком должен идти мимо кэша")
+        void shouldBypassPinnedSnapshot() throws Exception {
+            cache.getOrCalculate(request().build(), calculator);
+            ReferenceDataSnapshot pinned = ReferenceDataSnapshot.of(List.of(), List.of(), List.of(), Instant.now())
+                    .pinnedAt(LocalDate.of(2024, 1, 1));
+
+            ReferenceDataScope.callWith(pinned, () -> cache.getOrCalculate(request().build(), calculator));
+
+            assertThat(calculations).hasValue(2);
+            assertThat(requests("bypass")).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Ограничения")
+    class Limits {
+
+        @Test
+        @DisplayName("запрос без дат должен идти мимо кэша")
+        void shouldBypassIncompleteRequest() {
+            cache.getOrCalculate(request().personBirthDate(null).build(), calculator);
+            cache.getOrCalculate(request().personBirthDate(null).build(), calculator);
+
+            assertThat(calculations).hasValue(2);
+            assertThat(requests("bypass")).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("оценка памяти не должна превышать лимит")
+        void shouldStayWithinMemoryLimit() {
+            long limit = 64 * 1024;
+            var small = new QuoteResultCache(() -> "v1", registry, true, limit,
+                    Duration.ofMinutes(5), Duration.ofSeconds(5));
+
+            for (int days = 1; days <= 500; days++) {
+                small.getOrCalculate(request().agreementDateTo(DATE_FROM.plusDays(days)).build(), calculator);
+            }
+            small.cleanUp();
+
+            assertThat(small.weightedSize()).isPositive().isLessThanOrEqualTo(limit);
+            assertThat(small.estimatedSize()).isLessThan(500);
+        }
+
+        @Test
+        @DisplayName("выключенный кэш должен всегда вызывать калькулятор")
+        void disabledCacheShouldPassThrough() {
+            var disabled = QuoteResultCache.disabled();
+
+            disabled.getOrCalculate(request().build(), calculator);
+            disabled.getOrCalculate(request().build(), calculator);
+
+            assertThat(calculations).hasValue(2);
+        }
+    }
+
+    private double collapsed() {
+        return registry.get("single.flight.calls").tag("name", "quote").tag("role", "collapsed").counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double requests(String result) {
+        return registry.get(QuoteResultCache.REQUESTS_METRIC).tag("result", result).counter().count();
+    }
+
+    private static TravelCalculatePremiumRequest.TravelCalculatePremiumRequestBuilder request() {
+        return TestRequestBuilder.adult35Spain()
+                .personBirthDate(LocalDate.of(1990, 3, 15))
+                .agreementDateFrom(DATE_FROM)
+                .agreementDateTo(DATE_FROM.plusDays(14))
+                .selectedRisks(List.of("SPORT_ACTIVITIES", "EXTREME_SPORT"));
+    }
+
+    private static PremiumCalculationResult result(BigDecimal premium) {
+        List<RiskPremiumDetail> details = new ArrayList<>(List.of(
+                new RiskPremiumDetail("TRAVEL_MEDICAL", "Medical", premium, BigDecimal.ZERO, BigDecimal.ONE)));
+        List<CalculationStep> steps = new ArrayList<>(List.of(
+                new CalculationStep("Base rate", "4.50 × 14", premium)));
+        return new PremiumCalculationResult(
+                premium,
+                new BigDecimal("4.50"),
+                new AgeDetails(35, new BigDecimal("1.1"), "Adults"),
+                null,
+                null,
+                new RiskDetails(details, null),
+                CalculationMode.MEDICAL_LEVEL,
+                steps,
+                null);
+    }
+}
@@ -0,0 +1,148 @@
+package org.javaguru.travel.insurance.core.concurrent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SingleFlight — схлопывание одинаковых загрузок")
+class SingleFlightTest {
+
+    private SimpleMeterRegistry registry;
+    private ExecutorService executor;
+    private CountDownLatch started;
+    private CountDownLatch release;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(4);
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+        loads = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("ожидающие должны получить результат ведущей загрузки")
+    void shouldShareInFlightLoad() throws Exception {
+        var flight = new SingleFlight<String, String>("test", Duration.ofSeconds(5), registry);
+
+        Future<String> leader = executor.submit(() -> flight.load("ES", blockingLoader(() -> "Spain")));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<String> first = executor.submit(() -> flight.load("ES", () -> "other"));
+        Future<String> second = executor.submit(() -> flight.load("ES", () -> "other"));
+        awaitCollapsed(2);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("Spain");
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("Spain");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("Spain");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("исключение ведущего должно доходить до ожидающих")
+    void shouldPropagateLeaderFailure() throws Exception {
+        var flight = new SingleFlight<String, String>("test", Duration.ofSeconds(5), registry);
+
+        Future<String> leader = executor.submit(() -> flight.load("ES", blockingLoader(() -> {
+            throw new IllegalStateException("database is down");
+        })));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<String> follower = executor.submit(() -> flight.load("ES", () -> "other"));
+        awaitCollapsed(1);
+        release.countDown();
+
+        for (Future<String> future : List.of(leader, follower)) {
+            assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(IllegalStateException.class)
+                    .hasRootCauseMessage("database is down");
+        }
+        assertThat(registry.get(SingleFlight.FAILURES_METRIC).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("ожидающий должен сдаться по таймауту, не отменяя ведущую загрузку")
+    void shouldTimeOutWaitingCaller() throws Exception {
+        var flight = new SingleFlight<String, String>("test", Duration.ofMillis(50), registry);
+
+        Future<String> leader = executor.submit(() -> flight.load("ES", blockingLoader(() -> "Spain")));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> flight.load("ES", () -> "other"))
+                .isInstanceOf(SingleFlightTimeoutException.class);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("Spain");
+        assertThat(registry.get(SingleFlight.TIMEOUTS_METRIC).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("после завершения загрузки следующий вызов должен загружать заново")
+    void shouldNotRetainCompletedLoads() {
+        var flight = new SingleFlight<String, Integer>("test", Duration.ofSeconds(5), registry);
+
+        flight.load("ES", loads::incrementAndGet);
+        flight.load("ES", loads::incrementAndGet);
+
+        assertThat(loads).hasValue(2);
+        assertThat(registry.get(SingleFlight.IN_FLIGHT_METRIC).gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("разные ключи не должны ждать друг друга")
+    void shouldNotCoalesceDifferentKeys() throws Exception {
+        var flight = new SingleFlight<String, String>("test", Duration.ofSeconds(5), registry);
+
+        executor.submit(() -> flight.load("ES", blockingLoader(() -> "Spain")));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(flight.load("TR", () -> "Turkey")).isEqualTo("Turkey");
+        assertThat(collapsed()).isZero();
+    }
+
+    private <T> Supplier<T> blockingLoader(Supplier<T> body) {
+        return () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return body.get();
+        };
+    }
+
+    private void awaitCollapsed(int expected) {
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> collapsed() == expected);
+    }
+
+    private double collapsed() {
+        return registry.get(SingleFlight.CALLS_METRIC).tag("role", "collapsed").counter().count();
+    }
+}
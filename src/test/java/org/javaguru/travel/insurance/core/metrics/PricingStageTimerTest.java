@@ -0,0 +1,115 @@
+package org.javaguru.travel.insurance.core.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PricingStageTimer — таймеры этапов расчёта")
+class PricingStageTimerTest {
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        PricingStageTimer.useRegistry(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        PricingStageTimer.useRegistry(Metrics.globalRegistry);
+    }
+
+    @Test
+    @DisplayName("должен тегировать этап версией API и режимом расчёта из контекста")
+    void shouldTagStageWithContext() {
+        String result = PricingStageTimer.inContext("v3", "MEDICAL_LEVEL",
+                () -> PricingStageTimer.time("validate", () -> "ok"));
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(timer("validate", "v3", "MEDICAL_LEVEL").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("фактический режим расчёта должен применяться к последующим этапам")
+    void shouldApplyMarkedCalculationMode() {
+        PricingStageTimer.inContext("v2", "COUNTRY_DEFAULT", () -> {
+            PricingStageTimer.run("validate", () -> { });
+            PricingStageTimer.markCalculationMode("MEDICAL_LEVEL");
+            PricingStageTimer.run("strategy", () -> { });
+            return null;
+        });
+
+        assertThat(timer("validate", "v2", "COUNTRY_DEFAULT").count()).isEqualTo(1);
+        assertThat(timer("strategy", "v2", "MEDICAL_LEVEL").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("вне конвейера этапы записываются с тегами none")
+    void shouldUseNoneOutsideContext() {
+        PricingStageTimer.run("strategy", () -> { });
+
+        assertThat(timer("strategy", "none", "none").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("время этапа должно записываться и при исключении")
+    void shouldRecordOnException() {
+        assertThatThrownBy(() -> PricingStageTimer.time("calculate", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(timer("calculate", "none", "none").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("вложенный контекст должен восстанавливать внешний")
+    void shouldRestoreOuterContext() {
+        PricingStageTimer.inContext("v3", "MEDICAL_LEVEL", () -> {
+            PricingStageTimer.inContext("v2", "COUNTRY_DEFAULT", () -> null);
+            PricingStageTimer.run("assemble", () -> { });
+            return null;
+        });
+
+        assertThat(timer("assemble", "v3", "MEDICAL_LEVEL").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("таймер должен публиковать percentile-гистограмму")
+    void shouldPublishHistogram() {
+        // SimpleMeterRegistry не отдаёт бакеты гистограммы — проверяется конфигурация таймера
+        Map<String, DistributionStatisticConfig> configs = new HashMap<>();
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                configs.put(id.getTag("stage"), config);
+                return config;
+            }
+        });
+
+        PricingStageTimer.run("discounts", () -> { });
+
+        assertThat(configs.get("discounts").isPercentileHistogram()).isTrue();
+    }
+
+    private Timer timer(String stage, String apiVersion, String mode) {
+        return registry.get(PricingStageTimer.METRIC)
+                .tag("stage", stage)
+                .tag("api_version", apiVersion)
+                .tag("calculation_mode", mode)
+                .timer();
+    }
+}
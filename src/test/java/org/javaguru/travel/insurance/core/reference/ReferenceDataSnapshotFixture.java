@@ -0,0 +1,89 @@
+package org.javaguru.travel.insurance.core.reference;
+
+import org.javaguru.travel.insurance.domain.model.entity.Country;
+import org.javaguru.travel.insurance.domain.model.entity.MedicalRiskLimitLevel;
+import org.javaguru.travel.insurance.domain.model.entity.Risk;
+import org.javaguru.travel.insurance.domain.model.valueobject.Coefficient;
+import org.javaguru.travel.insurance.domain.model.valueobject.CountryCode;
+import org.javaguru.travel.insurance.domain.model.valueobject.Currency;
+import org.javaguru.travel.insurance.domain.model.valueobject.RiskCode;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Фабрика тестовых снимков справочных данных.
+ *
+ * Все записи действуют с 2020-01-01 без даты окончания,
+ * т.е. активны на TestConstants.TEST_DATE и на текущую дату.
+ */
+public final class ReferenceDataSnapshotFixture {
+
+    public static final LocalDate VALID_FROM = LocalDate.of(2020, 1, 1);
+
+    private ReferenceDataSnapshotFixture() {
+    }
+
+    public static ReferenceDataSnapshot standardSnapshot() {
+        return ReferenceDataSnapshot.of(
+                List.of(country("ES", "Spain", Country.RiskGroup.LOW, "1.0"),
+                        country("TH", "Thailand", Country.RiskGroup.MEDIUM, "1.3")),
+                List.of(level("10000", "10000", "2.00"),
+                        level("50000", "50000", "4.50")),
+                List.of(risk("TRAVEL_MEDICAL", "Medical Coverage", "0.00", true),
+                        risk("SPORT_ACTIVITIES", "Sport Activities", "0.30", false)),
+                Instant.EPOCH
+        );
+    }
+
+    /**
+     * standardSnapshot() вместе с тарифными таблицами standardTariffTables().
+     */
+    public static ReferenceDataSnapshot standardSnapshotWithTariffTables() {
+        ReferenceDataSnapshot standard = standardSnapshot();
+        return ReferenceDataSnapshot.of(standard.allCountries(), standard.allMedicalLevels(), standard.allRisks(),
+                standardTariffTables(), Instant.EPOCH);
+    }
+
+    public static TariffTables standardTariffTables() {
+        return new TariffTables(
+                List.of(new TariffTables.AgeCoefficient(18, 30, new BigDecimal("1.0000"), "Young adults",
+                                VALID_FROM, null),
+                        new TariffTables.AgeCoefficient(31, 40, new BigDecimal("1.1000"), "Adults",
+                                VALID_FROM, null)),
+                List.of(new TariffTables.AgeRiskModifier("SPORT_ACTIVITIES", 31, 40, new BigDecimal("1.20"),
+                        "Adults in sport", VALID_FROM, null)),
+                List.of(new TariffTables.DurationCoefficient(1, 7, new BigDecimal("1.00"), "Short trip",
+                                VALID_FROM, null),
+                        new TariffTables.DurationCoefficient(8, 30, new BigDecimal("0.95"), "Two weeks",
+                                VALID_FROM, null)),
+                List.of(new TariffTables.RiskBundle("ACTIVE", "Active traveller", new BigDecimal("10.00"),
+                        "[\"SPORT_ACTIVITIES\"]", true, VALID_FROM, null)),
+                List.of(new TariffTables.Discount("GROUP_5", "Group of five", "GROUP", new BigDecimal("10.00"),
+                        5, null, true, VALID_FROM, null)),
+                List.of(new TariffTables.DefaultDayPremium("ES", new BigDecimal("3.50"), "EUR", "Spain",
+                        VALID_FROM, null)));
+    }
+
+    public static Country country(String code, String name, Country.RiskGroup group, String coefficient) {
+        return country(code, name, group, coefficient, VALID_FROM, null);
+    }
+
+    public static Country country(String code, String name, Country.RiskGroup group, String coefficient,
+                                  LocalDate validFrom, LocalDate validTo) {
+        return new Country(new CountryCode(code), name, name, group,
+                new Coefficient(new BigDecimal(coefficient)), validFrom, validTo);
+    }
+
+    public static MedicalRiskLimitLevel level(String code, String coverage, String dailyRate) {
+        return new MedicalRiskLimitLevel(code, new BigDecimal(coverage), new BigDecimal(dailyRate),
+                Currency.EUR, VALID_FROM, null);
+    }
+
+    public static Risk risk(String code, String name, String coefficient, boolean mandatory) {
+        return new Risk(new RiskCode(code), name, name,
+                new Coefficient(new BigDecimal(coefficient)), mandatory, null, VALID_FROM, null);
+    }
+}
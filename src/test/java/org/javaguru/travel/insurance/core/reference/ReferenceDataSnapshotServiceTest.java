@@ -0,0 +1,164 @@
+package org.javaguru.travel.insurance.core.reference;
+
+import org.javaguru.travel.insurance.infrastructure.persistence.mapper.CountryMapper;
+import org.javaguru.travel.insurance.infrastructure.persistence.mapper.MedicalLevelMapper;
+import org.javaguru.travel.insurance.infrastructure.persistence.mapper.RiskMapper;
+import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.DiscountEntity;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.AgeCoefficientRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.AgeRiskCoefficientRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.CountryDefaultDayPremiumRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.CountryRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.DiscountRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.MedicalRiskLimitLevelRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.ReferenceDataVersionRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.RiskBundleRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.RiskTypeRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.TripDurationCoefficientRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReferenceDataSnapshotService — загрузка снимка справочников")
+class ReferenceDataSnapshotServiceTest {
+
+    @Mock private CountryRepository countryRepository;
+    @Mock private MedicalRiskLimitLevelRepository medicalLevelRepository;
+    @Mock private RiskTypeRepository riskTypeRepository;
+    @Mock private CountryMapper countryMapper;
+    @Mock private MedicalLevelMapper medicalLevelMapper;
+    @Mock private RiskMapper riskMapper;
+    @Mock private ReferenceDataVersionRepository versionRepository;
+    @Mock private AgeCoefficientRepository ageCoefficientRepository;
+    @Mock private AgeRiskCoefficientRepository ageRiskCoefficientRepository;
+    @Mock private TripDurationCoefficientRepository durationCoefficientRepository;
+    @Mock private RiskBundleRepository riskBundleRepository;
+    @Mock private DiscountRepository discountRepository;
+    @Mock private CountryDefaultDayPremiumRepository defaultDayPremiumRepository;
+
+    private ReferenceDataSnapshotService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ReferenceDataSnapshotService(countryRepository, medicalLevelRepository, riskTypeRepository,
+                countryMapper, medicalLevelMapper, riskMapper, versionRepository,
+                ageCoefficientRepository, ageRiskCoefficientRepository, durationCoefficientRepository,
+                riskBundleRepository, discountRepository, defaultDayPremiumRepository);
+        lenient().when(versionRepository.findCurrentVersion()).thenReturn(Optional.of(1L));
+        lenient().when(medicalLevelRepository.findAll()).thenReturn(List.of());
+        lenient().when(riskTypeRepository.findAll()).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("пустой снимок — current() не читает БД в потоке вызова, загрузка уходит в фон")
+    void shouldNotLoadOnCallerThreadWhenEmpty() {
+        AtomicReference<String> loadingThread = new AtomicReference<>();
+        when(countryRepository.findAll()).thenAnswer(invocation -> {
+            loadingThread.set(Thread.currentThread().getName());
+            return List.of();
+        });
+
+        ReferenceDataSnapshot snapshot = service.current();
+
+        assertThat(snapshot.isEmpty()).isTrue();
+        verify(countryRepository, timeout(5_000)).findAll();
+        assertThat(loadingThread.get()).isEqualTo("reference-snapshot-refresh");
+    }
+
+    @Test
+    @DisplayName("старт без файла снимка — загрузка до открытия порта, в потоке старта")
+    void shouldLoadBeforeServingWhenNotSeeded() {
+        when(countryRepository.findAll()).thenReturn(List.of());
+
+        service.afterSingletonsInstantiated();
+
+        verify(countryRepository).findAll();
+    }
+
+    @Test
+    @DisplayName("снимок засеян из файла — при старте БД не читается")
+    void shouldNotLoadOnStartupWhenSeeded() {
+        service.seed(ReferenceDataSnapshotFixture.standardSnapshot());
+
+        service.afterSingletonsInstantiated();
+
+        verify(countryRepository, never()).findAll();
+        assertThat(service.current().isEmpty()).isFalse();
+    }
+
+    @Test
+    @DisplayName("снимок из БД содержит тарифные таблицы")
+    void shouldLoadTariffTables() {
+        when(countryRepository.findAll()).thenReturn(List.of());
+        DiscountEntity discount = new DiscountEntity();
+        discount.setCode("GROUP_5");
+        discount.setName("Group of five");
+        discount.setDiscountType("GROUP");
+        discount.setDiscountPercentage(new BigDecimal("10.00"));
+        discount.setMinPersonsCount(5);
+        discount.setValidFrom(ReferenceDataSnapshotFixture.VALID_FROM);
+        when(discountRepository.findAll()).thenReturn(List.of(discount));
+
+        ReferenceDataSnapshot snapshot = service.refresh();
+
+        assertThat(snapshot.getTariffTables()).get()
+                .satisfies(tables -> assertThat(tables.activeDiscounts(LocalDate.of(2026, 1, 1)))
+                        .extracting(TariffTables.Discount::code)
+                        .containsExactly("GROUP_5"));
+    }
+
+    @Test
+    @DisplayName("одновременные запросы с новой версией тарифа загружают снимок один раз")
+    void shouldLoadOnceForConcurrentCallersOfSameVersion() throws Exception {
+        service.seed(ReferenceDataSnapshotFixture.standardSnapshot().withTariffVersion(0));
+        when(countryRepository.findAll()).thenReturn(List.of());
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<ReferenceDataSnapshot>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> {
+                    start.await();
+                    return service.refreshUnlessLoadedAt(1L);
+                }));
+            }
+            start.countDown();
+            for (Future<ReferenceDataSnapshot> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).getTariffVersion()).isEqualTo(1L);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        verify(countryRepository, times(1)).findAll();
+    }
+}
@@ -0,0 +1,156 @@
+package org.javaguru.travel.insurance.core.reference;
+
+import org.javaguru.travel.insurance.domain.model.entity.Country;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotFixture.*;
+
+@DisplayName("ReferenceDataSnapshot — справочные данные в памяти")
+class ReferenceDataSnapshotTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 18);
+
+    @Nested
+    @DisplayName("Поиск на дату")
+    class LookupOnDate {
+
+        @Test
+        @DisplayName("должен выбрать версию страны, действующую на дату")
+        void shouldPickTemporalVersion() {
+            var snapshot = ReferenceDataSnapshot.of(
+                    List.of(
+                            country("TH", "Thailand", Country.RiskGroup.MEDIUM, "1.3",
+                                    LocalDate.of(2020, 1, 1), LocalDate.of(2025, 12, 31)),
+                            country("TH", "Thailand", Country.RiskGroup.HIGH, "1.8",
+                                    LocalDate.of(2026, 1, 1), null)),
+                    List.of(), List.of(), Instant.EPOCH);
+
+            assertThat(snapshot.findCountry("TH", LocalDate.of(2025, 6, 1)))
+                    .get().extracting(Country::getRiskGroup).isEqualTo(Country.RiskGroup.MEDIUM);
+            assertThat(snapshot.findCountry("TH", DATE))
+                    .get().extracting(Country::getRiskGroup).isEqualTo(Country.RiskGroup.HIGH);
+            assertThat(snapshot.findCountry("TH", LocalDate.of(2019, 1, 1))).isEmpty();
+            assertThat(snapshot.activeCountries(DATE)).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("закреплённый снимок должен искать на дату закрепления, игнорируя переданную")
+        void shouldUsePinnedDate() {
+            var snapshot = ReferenceDataSnapshot.of(
+                    List.of(
+                            country("TH", "Thailand", Country.RiskGroup.MEDIUM, "1.3",
+                                    LocalDate.of(2020, 1, 1), LocalDate.of(2025, 12, 31)),
+                            country("TH", "Thailand", Country.RiskGroup.HIGH, "1.8",
+                                    LocalDate.of(2026, 1, 1), null)),
+                    List.of(), List.of(), Instant.EPOCH);
+
+            var pinned = snapshot.pinnedAt(DATE);
+
+            assertThat(pinned.findCountry("TH", LocalDate.of(2025, 6, 1)))
+                    .get().extracting(Country::getRiskGroup).isEqualTo(Country.RiskGroup.HIGH);
+            assertThat(pinned.getVersion()).isEqualTo(snapshot.getVersion());
+            assertThat(pinned.getPinnedDate()).contains(DATE);
+            assertThat(snapshot.getPinnedDate()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("должен вернуть пустой результат для неизвестного кода")
+        void shouldReturnEmptyForUnknownCode() {
+            var snapshot = standardSnapshot();
+
+            assertThat(snapshot.findCountry("XX", DATE)).isEmpty();
+            assertThat(snapshot.findMedicalLevel("1", DATE)).isEmpty();
+            assertThat(snapshot.findRisk(null, DATE)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("должен сортировать уровни по сумме покрытия, риски — обязательные первыми")
+        void shouldOrderActiveLists() {
+            var snapshot = standardSnapshot();
+
+            assertThat(snapshot.activeMedicalLevels(DATE))
+                    .extracting(l -> l.getCode())
+                    .containsExactly("10000", "50000");
+            assertThat(snapshot.activeRisks(DATE))
+                    .extracting(r -> r.getCode().value())
+                    .containsExactly("TRAVEL_MEDICAL", "SPORT_ACTIVITIES");
+        }
+    }
+
+    @Nested
+    @DisplayName("Будущие версии")
+    class FutureVersions {
+
+        @Test
+        @DisplayName("должен вернуть даты начала и окончания версий в горизонте")
+        void shouldListEffectiveDatesWithinHorizon() {
+            var snapshot = ReferenceDataSnapshot.of(
+                    List.of(
+                            country("TH", "Thailand", Country.RiskGroup.MEDIUM, "1.3",
+                                    LocalDate.of(2020, 1, 1), DATE.plusDays(2)),
+                            country("TH", "Thailand", Country.RiskGroup.HIGH, "1.8",
+                                    DATE.plusDays(3), null),
+                            country("ES", "Spain", Country.RiskGroup.LOW, "1.0",
+                                    DATE.plusDays(30), null)),
+                    List.of(), List.of(), Instant.EPOCH);
+
+            assertThat(snapshot.effectiveDates(DATE, DATE.plusDays(7))).containsExactly(DATE.plusDays(3));
+            assertThat(snapshot.effectiveDates(DATE, DATE.plusDays(30)))
+                    .containsExactly(DATE.plusDays(3), DATE.plusDays(30));
+            assertThat(snapshot.findCountry("TH", DATE.plusDays(3)))
+                    .get().extracting(Country::getRiskGroup).isEqualTo(Country.RiskGroup.HIGH);
+        }
+    }
+
+    @Nested
+    @DisplayName("Версия тарифа")
+    class Version {
+
+        @Test
+        @DisplayName("одинаковые данные дают одинаковую версию независимо от порядка и времени загрузки")
+        void shouldBeDeterministic() {
+            var a = ReferenceDataSnapshot.of(
+                    List.of(country("ES", "Spain", Country.RiskGroup.LOW, "1.0"),
+                            country("TH", "Thailand", Country.RiskGroup.MEDIUM, "1.3")),
+                    List.of(), List.of(), Instant.EPOCH);
+            var b = ReferenceDataSnapshot.of(
+                    List.of(country("TH", "Thailand", Country.RiskGroup.MEDIUM, "1.3"),
+                            country("ES", "Spain", Country.RiskGroup.LOW, "1.0")),
+                    List.of(), List.of(), Instant.now());
+
+            assertThat(a.getVersion()).isEqualTo(b.getVersion()).hasSize(16);
+        }
+
+        @Test
+        @DisplayName("изменение коэффициента меняет версию")
+        void shouldChangeWhenDataChanges() {
+            var before = standardSnapshot();
+            var after = ReferenceDataSnapshot.of(
+                    List.of(country("ES", "Spain", Country.RiskGroup.LOW, "1.0"),
+                            country("TH", "Thailand", Country.RiskGroup.MEDIUM, "1.4")),
+                    before.activeMedicalLevels(DATE),
+                    before.activeRisks(DATE),
+                    Instant.EPOCH);
+
+            assertThat(after.getVersion()).isNotEqualTo(before.getVersion());
+        }
+
+        @Test
+        @DisplayName("версия тарифа меняет ревизию, но не хэш содержимого")
+        void shouldSeparateRevisionFromContentVersion() {
+            var loaded = standardSnapshot();
+            var bumped = loaded.withTariffVersion(5);
+
+            assertThat(bumped.getVersion()).isEqualTo(loaded.getVersion());
+            assertThat(bumped.getRevision()).isNotEqualTo(loaded.getRevision());
+            assertThat(bumped.pinnedAt(DATE).getTariffVersion()).isEqualTo(5);
+        }
+    }
+}
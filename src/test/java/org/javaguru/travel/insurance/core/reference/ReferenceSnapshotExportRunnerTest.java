@@ -0,0 +1,69 @@
+package org.javaguru.travel.insurance.core.reference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReferenceSnapshotExportRunner — выгрузка снимка в файл")
+class ReferenceSnapshotExportRunnerTest {
+
+    @Mock private ReferenceDataSnapshotService snapshotService;
+    @Mock private ConfigurableApplicationContext applicationContext;
+
+    @TempDir
+    Path dir;
+
+    private Path output;
+    private ReferenceSnapshotExportRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        output = dir.resolve("reference.snapshot");
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("reference.snapshot.export", output.toString());
+        runner = new ReferenceSnapshotExportRunner(snapshotService, environment, applicationContext);
+    }
+
+    @Test
+    @DisplayName("пишет файл и закрывает контекст, не завершая JVM")
+    void shouldWriteFileAndCloseContext() throws Exception {
+        ReferenceDataSnapshot snapshot = ReferenceDataSnapshotFixture.standardSnapshotWithTariffTables();
+        when(snapshotService.refresh()).thenReturn(snapshot);
+
+        runner.run(new DefaultApplicationArguments());
+
+        assertThat(ReferenceSnapshotFile.read(output).getVersion()).isEqualTo(snapshot.getVersion());
+        verify(applicationContext).close();
+    }
+
+    @Test
+    @DisplayName("пустые справочники — ошибка старта, файл не пишется")
+    void shouldFailOnEmptyReferenceData() {
+        when(snapshotService.refresh())
+                .thenReturn(ReferenceDataSnapshot.of(List.of(), List.of(), List.of(), Instant.EPOCH));
+
+        assertThatThrownBy(() -> runner.run(new DefaultApplicationArguments()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("not written");
+        assertThat(output).doesNotExist();
+        verify(applicationContext, never()).close();
+    }
+}
@@ -0,0 +1,130 @@
+package org.javaguru.travel.insurance.core.reference;
+
+import org.javaguru.travel.insurance.domain.model.entity.Country;
+import org.javaguru.travel.insurance.domain.model.entity.MedicalRiskLimitLevel;
+import org.javaguru.travel.insurance.domain.model.valueobject.Currency;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotFixture.*;
+
+@DisplayName("ReferenceSnapshotFile — бинарный файл снимка справочников")
+class ReferenceSnapshotFileTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 18);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("прочитанный снимок должен совпадать с записанным, включая будущие версии")
+    void shouldRoundTripSnapshot() throws IOException {
+        var snapshot = ReferenceDataSnapshot.of(
+                List.of(country("ES", "Spain", Country.RiskGroup.LOW, "1.0"),
+                        country("TH", "Thailand", Country.RiskGroup.MEDIUM, "1.3", VALID_FROM, DATE),
+                        country("TH", "Thailand", Country.RiskGroup.HIGH, "1.8", DATE.plusDays(1), null)),
+                List.of(level("10000", "10000", "2.00"),
+                        new MedicalRiskLimitLevel("200000", new BigDecimal("200000"), new BigDecimal("8.00"),
+                                Currency.EUR, new BigDecimal("150000"), VALID_FROM, null)),
+                List.of(risk("TRAVEL_MEDICAL", "Medical Coverage", "0.00", true),
+                        risk("SPORT_ACTIVITIES", "Sport Activities", "0.30", false)),
+                standardTariffTables(),
+                Instant.parse("2026-03-18T10:15:30Z"))
+                .withTariffVersion(42);
+        Path file = dir.resolve("reference.snapshot");
+
+        ReferenceSnapshotFile.write(snapshot, file);
+        var read = ReferenceSnapshotFile.read(file);
+
+        assertThat(read.getVersion()).isEqualTo(snapshot.getVersion());
+        assertThat(read.getRevision()).isEqualTo(snapshot.getRevision());
+        assertThat(read.getLoadedAt()).isEqualTo(snapshot.getLoadedAt());
+        assertThat(read.findCountry("TH", DATE.plusDays(1)))
+                .get().extracting(Country::getRiskGroup).isEqualTo(Country.RiskGroup.HIGH);
+        assertThat(read.findMedicalLevel("200000", DATE))
+                .get().extracting(MedicalRiskLimitLevel::getMaxPayoutAmount)
+                .isEqualTo(new BigDecimal("150000"));
+        assertThat(read.activeRisks(DATE)).hasSize(2);
+        assertThat(dir).isDirectoryNotContaining("glob:**.tmp");
+    }
+
+    @Test
+    @DisplayName("тарифные таблицы должны читаться из файла без потерь, включая null-поля")
+    void shouldRoundTripTariffTables() throws IOException {
+        Path file = dir.resolve("reference.snapshot");
+
+        ReferenceSnapshotFile.write(standardSnapshotWithTariffTables(), file);
+        TariffTables read = ReferenceSnapshotFile.read(file).getTariffTables().orElseThrow();
+
+        TariffTables expected = standardTariffTables();
+        assertThat(read.ageCoefficients()).isEqualTo(expected.ageCoefficients());
+        assertThat(read.ageRiskModifiers()).isEqualTo(expected.ageRiskModifiers());
+        assertThat(read.durationCoefficients()).isEqualTo(expected.durationCoefficients());
+        assertThat(read.riskBundles()).isEqualTo(expected.riskBundles());
+        assertThat(read.discounts()).isEqualTo(expected.discounts());
+        assertThat(read.defaultDayPremiums()).isEqualTo(expected.defaultDayPremiums());
+    }
+
+    @Test
+    @DisplayName("снимок без тарифных таблиц должен остаться без них после чтения")
+    void shouldKeepMissingTariffTablesMissing() throws IOException {
+        Path file = dir.resolve("reference.snapshot");
+
+        ReferenceSnapshotFile.write(standardSnapshot(), file);
+
+        assertThat(ReferenceSnapshotFile.read(file).getTariffTables()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("файл прежней версии формата должен отклоняться")
+    void shouldRejectPreviousFormatVersion() throws IOException {
+        Path file = dir.resolve("reference.snapshot");
+        ReferenceSnapshotFile.write(standardSnapshot(), file);
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer.wrap(bytes).putShort(Integer.BYTES, (short) (ReferenceSnapshotFile.FORMAT_VERSION - 1));
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - Long.BYTES);
+        ByteBuffer.wrap(bytes).putLong(bytes.length - Long.BYTES, crc.getValue());
+        Files.write(file, bytes);
+
+        assertThatThrownBy(() -> ReferenceSnapshotFile.read(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Unsupported reference snapshot format");
+    }
+
+    @Test
+    @DisplayName("повреждённый файл должен отклоняться по контрольной сумме")
+    void shouldRejectCorruptedFile() throws IOException {
+        Path file = dir.resolve("reference.snapshot");
+        ReferenceSnapshotFile.write(standardSnapshot(), file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x01;
+        Files.write(file, bytes);
+
+        assertThatThrownBy(() -> ReferenceSnapshotFile.read(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("checksum");
+    }
+
+    @Test
+    @DisplayName("файл другого формата должен отклоняться")
+    void shouldRejectForeignFile() throws IOException {
+        Path file = dir.resolve("trips.csv");
+        Files.writeString(file, "country,birth_date,date_from,date_to\nES,1990-01-01,2026-06-01,2026-06-15\n");
+
+        assertThatThrownBy(() -> ReferenceSnapshotFile.read(file)).isInstanceOf(IOException.class);
+    }
+}
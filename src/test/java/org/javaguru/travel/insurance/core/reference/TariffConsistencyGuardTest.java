@@ -0,0 +1,150 @@
+package org.javaguru.travel.insurance.core.reference;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TariffConsistencyGuard — одна версия тарифа на запрос")
+class TariffConsistencyGuardTest {
+
+    @Mock
+    private ReferenceDataSnapshotService snapshotService;
+
+    private SimpleMeterRegistry registry;
+    private TariffConsistencyGuard guard;
+    private AtomicInteger calculations;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        guard = new TariffConsistencyGuard(snapshotService, registry, true, 2);
+        calculations = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("неизменная версия — один расчёт без перезагрузки снимка")
+    void shouldCalculateOnceWhenVersionIsStable() {
+        when(snapshotService.readTariffVersion()).thenReturn(7L);
+        when(snapshotService.loadedTariffVersion()).thenReturn(7L);
+        when(snapshotService.current()).thenReturn(snapshotAt(7L));
+
+        assertThat(guard.call(calculations::incrementAndGet)).isEqualTo(1);
+
+        verify(snapshotService, never()).refreshUnlessLoadedAt(anyLong());
+        assertThat(retries()).isZero();
+    }
+
+    @Test
+    @DisplayName("снимок отстал от БД — перезагрузить до расчёта")
+    void shouldRefreshLaggingSnapshotBeforeCalculation() {
+        when(snapshotService.readTariffVersion()).thenReturn(8L);
+        when(snapshotService.loadedTariffVersion()).thenReturn(7L);
+        when(snapshotService.refreshUnlessLoadedAt(8L)).thenReturn(snapshotAt(8L));
+
+        guard.call(calculations::incrementAndGet);
+
+        verify(snapshotService).refreshUnlessLoadedAt(8L);
+        assertThat(calculations).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("тариф изменился во время расчёта — повторить по новой версии")
+    void shouldRetryWhenVersionChangedMidCalculation() {
+        when(snapshotService.readTariffVersion()).thenReturn(7L, 8L, 8L);
+        when(snapshotService.loadedTariffVersion()).thenReturn(7L);
+        when(snapshotService.current()).thenReturn(snapshotAt(7L));
+        when(snapshotService.refreshUnlessLoadedAt(8L)).thenReturn(snapshotAt(8L));
+
+        assertThat(guard.call(calculations::incrementAndGet)).isEqualTo(2);
+
+        verify(snapshotService).refreshUnlessLoadedAt(8L);
+        assertThat(retries()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("тариф менялся во время каждой попытки — TariffVersionChangedException")
+    void shouldGiveUpAfterMaxAttempts() {
+        when(snapshotService.readTariffVersion()).thenReturn(7L, 8L, 9L);
+        when(snapshotService.loadedTariffVersion()).thenReturn(7L, 8L);
+        when(snapshotService.current()).thenReturn(snapshotAt(7L), snapshotAt(8L));
+
+        assertThatThrownBy(() -> guard.call(calculations::incrementAndGet))
+                .isInstanceOf(TariffVersionChangedException.class)
+                .hasMessageContaining("7 -> 9");
+        assertThat(calculations).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("снимок загружен при текущей версии — расчёт идёт с привязанным снимком")
+    void shouldBindSnapshotOfCurrentVersion() {
+        ReferenceDataSnapshot snapshot = snapshotAt(7L);
+        when(snapshotService.readTariffVersion()).thenReturn(7L);
+        when(snapshotService.loadedTariffVersion()).thenReturn(7L);
+        when(snapshotService.current()).thenReturn(snapshot);
+
+        assertThat(guard.call(ReferenceDataScope::current)).contains(snapshot);
+        assertThat(ReferenceDataScope.current()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("перезагрузка не догнала версию БД — снимок не привязывается, расчёт читает БД")
+    void shouldNotBindSnapshotThatFailedToCatchUp() {
+        when(snapshotService.readTariffVersion()).thenReturn(8L);
+        when(snapshotService.loadedTariffVersion()).thenReturn(7L);
+        when(snapshotService.refreshUnlessLoadedAt(8L)).thenReturn(snapshotAt(7L));
+
+        assertThat(guard.call(ReferenceDataScope::current)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("пустой снимок не привязывается")
+    void shouldNotBindEmptySnapshot() {
+        when(snapshotService.readTariffVersion()).thenReturn(0L);
+        when(snapshotService.loadedTariffVersion()).thenReturn(0L);
+        when(snapshotService.current()).thenReturn(ReferenceDataSnapshot.empty());
+
+        assertThat(guard.call(ReferenceDataScope::current)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("снимок уже привязан вызывающим — проверка не выполняется")
+    void shouldPassThroughWhenSnapshotIsBound() throws Exception {
+        ReferenceDataSnapshot snapshot = ReferenceDataSnapshot.of(List.of(), List.of(), List.of(), Instant.EPOCH);
+
+        ReferenceDataScope.callWith(snapshot, () -> guard.call(calculations::incrementAndGet));
+
+        assertThat(calculations).hasValue(1);
+        verifyNoInteractions(snapshotService);
+    }
+
+    @Test
+    @DisplayName("выключенная проверка — расчёт как есть")
+    void disabledGuardShouldPassThrough() {
+        assertThat(TariffConsistencyGuard.disabled().call(calculations::incrementAndGet)).isEqualTo(1);
+    }
+
+    private static ReferenceDataSnapshot snapshotAt(long tariffVersion) {
+        return ReferenceDataSnapshotFixture.standardSnapshot().withTariffVersion(tariffVersion);
+    }
+
+    private double retries() {
+        return registry.get(TariffConsistencyGuard.RETRIES_METRIC).counter().count();
+    }
+}
@@ -0,0 +1,108 @@
+package org.javaguru.travel.insurance.core.reference;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotFixture.*;
+
+@DisplayName("TariffTables — тарифные таблицы в снимке")
+class TariffTablesTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 18);
+
+    @Nested
+    @DisplayName("поиск на дату")
+    class Lookup {
+
+        @Test
+        @DisplayName("при пересечении периодов берётся версия с самым поздним valid_from")
+        void shouldPreferLatestVersion() {
+            var tables = tables(List.of(
+                    age(31, 40, "1.10", VALID_FROM, null),
+                    age(31, 40, "1.15", DATE.minusDays(10), null),
+                    age(31, 40, "1.20", DATE.plusDays(1), null)), List.of());
+
+            assertThat(tables.findAgeCoefficient(35, DATE))
+                    .get().extracting(TariffTables.AgeCoefficient::coefficient)
+                    .isEqualTo(new BigDecimal("1.15"));
+            assertThat(tables.findAgeCoefficient(35, DATE.plusDays(1)))
+                    .get().extracting(TariffTables.AgeCoefficient::coefficient)
+                    .isEqualTo(new BigDecimal("1.20"));
+            assertThat(tables.findAgeCoefficient(41, DATE)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("длительность — диапазон с наибольшим days_from, как ORDER BY days_from DESC")
+        void shouldPreferHighestDaysFrom() {
+            var tables = tables(List.of(), List.of(
+                    new TariffTables.DurationCoefficient(1, 30, new BigDecimal("1.00"), "any", VALID_FROM, null),
+                    new TariffTables.DurationCoefficient(8, 30, new BigDecimal("0.95"), "long", VALID_FROM, null)));
+
+            assertThat(tables.findDurationCoefficient(14, DATE))
+                    .get().extracting(TariffTables.DurationCoefficient::coefficient)
+                    .isEqualTo(new BigDecimal("0.95"));
+            assertThat(tables.findDurationCoefficient(5, DATE))
+                    .get().extracting(TariffTables.DurationCoefficient::coefficient)
+                    .isEqualTo(new BigDecimal("1.00"));
+        }
+
+        @Test
+        @DisplayName("выключенные пакеты и скидки не активны; пакеты — по убыванию скидки")
+        void shouldSkipInactiveBundlesAndDiscounts() {
+            var tables = new TariffTables(List.of(), List.of(), List.of(),
+                    List.of(bundle("SMALL", "5.00", true), bundle("OFF", "50.00", false), bundle("BIG", "15.00", true)),
+                    List.of(new TariffTables.Discount("OFF", "Off", "LOYALTY", BigDecimal.TEN, null, null, false,
+                                    VALID_FROM, null),
+                            new TariffTables.Discount("ON", "On", "LOYALTY", BigDecimal.ONE, null, null, true,
+                                    VALID_FROM, null)),
+                    List.of());
+
+            assertThat(tables.activeRiskBundles(DATE))
+                    .extracting(TariffTables.RiskBundle::code)
+                    .containsExactly("BIG", "SMALL");
+            assertThat(tables.activeDiscounts(DATE))
+                    .extracting(TariffTables.Discount::code)
+                    .containsExactly("ON");
+        }
+    }
+
+    @Test
+    @DisplayName("версия снимка зависит от тарифных таблиц, но не от порядка строк")
+    void shouldIncludeTablesInSnapshotVersion() {
+        var first = age(18, 30, "1.00", VALID_FROM, null);
+        var second = age(31, 40, "1.10", VALID_FROM, null);
+
+        String base = snapshot(tables(List.of(first, second), List.of())).getVersion();
+
+        assertThat(snapshot(tables(List.of(second, first), List.of())).getVersion()).isEqualTo(base);
+        assertThat(snapshot(tables(List.of(first, age(31, 40, "1.11", VALID_FROM, null)), List.of())).getVersion())
+                .isNotEqualTo(base);
+    }
+
+    private static ReferenceDataSnapshot snapshot(TariffTables tables) {
+        ReferenceDataSnapshot standard = standardSnapshot();
+        return ReferenceDataSnapshot.of(standard.allCountries(), standard.allMedicalLevels(), standard.allRisks(),
+                tables, Instant.EPOCH);
+    }
+
+    private static TariffTables tables(List<TariffTables.AgeCoefficient> ages,
+                                       List<TariffTables.DurationCoefficient> durations) {
+        return new TariffTables(ages, List.of(), durations, List.of(), List.of(), List.of());
+    }
+
+    private static TariffTables.AgeCoefficient age(int from, int to, String coefficient,
+                                                   LocalDate validFrom, LocalDate validTo) {
+        return new TariffTables.AgeCoefficient(from, to, new BigDecimal(coefficient), null, validFrom, validTo);
+    }
+
+    private static TariffTables.RiskBundle bundle(String code, String discount, boolean active) {
+        return new TariffTables.RiskBundle(code, code, new BigDecimal(discount), "[]", active, VALID_FROM, null);
+    }
+}
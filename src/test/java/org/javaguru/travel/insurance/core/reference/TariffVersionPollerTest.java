@@ -0,0 +1,71 @@
+package org.javaguru.travel.insurance.core.reference;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TariffVersionPoller — опрос счётчика версии тарифа")
+class TariffVersionPollerTest {
+
+    @Mock
+    private ReferenceDataSnapshotService snapshotService;
+
+    private SimpleMeterRegistry registry;
+    private TariffVersionPoller poller;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        poller = new TariffVersionPoller(snapshotService, registry);
+    }
+
+    @Test
+    @DisplayName("версия не изменилась — снимок не перезагружается")
+    void shouldNotReloadWhenVersionIsUnchanged() {
+        when(snapshotService.readTariffVersion()).thenReturn(3L);
+        when(snapshotService.loadedTariffVersion()).thenReturn(3L);
+
+        poller.poll();
+
+        verify(snapshotService, never()).refreshUnlessLoadedAt(anyLong());
+        assertThat(registry.get(TariffVersionPoller.VERSION_METRIC).gauge().value()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("версия изменилась — снимок перезагружается")
+    void shouldReloadWhenVersionChanged() {
+        when(snapshotService.readTariffVersion()).thenReturn(4L);
+        when(snapshotService.loadedTariffVersion()).thenReturn(3L);
+        when(snapshotService.refreshUnlessLoadedAt(4L)).thenReturn(
+                ReferenceDataSnapshot.of(List.of(), List.of(), List.of(), Instant.EPOCH).withTariffVersion(4L));
+
+        poller.poll();
+
+        verify(snapshotService).refreshUnlessLoadedAt(4L);
+        assertThat(registry.get(TariffVersionPoller.RELOADS_METRIC).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("ошибка БД не должна прерывать опрос")
+    void shouldSwallowPollFailure() {
+        when(snapshotService.readTariffVersion()).thenThrow(new IllegalStateException("connection refused"));
+
+        assertThatCode(poller::poll).doesNotThrowAnyException();
+        verify(snapshotService, never()).refreshUnlessLoadedAt(anyLong());
+    }
+}
@@ -1,5 +1,7 @@
 package org.javaguru.travel.insurance.core.services;
 
+import org.javaguru.travel.insurance.core.reference.ReferenceDataScope;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotFixture;
 import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.DiscountEntity;
 import org.javaguru.travel.insurance.infrastructure.persistence.repositories.DiscountRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -73,6 +75,21 @@ class DiscountServiceTest {
             assertThat(result).hasSize(1);
             assertThat(result.get(0).getCode()).isEqualTo("GROUP_5");
         }
+
+        @Test
+        @DisplayName("should take discounts from the bound snapshot's tariff tables without the DB")
+        void shouldUseBoundSnapshotTariffTables() throws Exception {
+            List<DiscountService.DiscountResult> result = ReferenceDataScope.callWith(
+                    ReferenceDataSnapshotFixture.standardSnapshotWithTariffTables(),
+                    () -> discountService.calculateApplicableDiscounts(PREMIUM, 5, false, AGREEMENT_DATE));
+
+            assertThat(result).singleElement()
+                    .satisfies(discount -> {
+                        assertThat(discount.code()).isEqualTo("GROUP_5");
+                        assertThat(discount.amount()).isEqualByComparingTo("10.00");
+                    });
+            verifyNoInteractions(discountRepository);
+        }
     }
 
     // =====================================================
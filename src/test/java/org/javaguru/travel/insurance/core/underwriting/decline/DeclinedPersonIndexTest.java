@@ -0,0 +1,196 @@
+package org.javaguru.travel.insurance.core.underwriting.decline;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.javaguru.travel.insurance.application.dto.TravelCalculatePremiumRequest;
+import org.javaguru.travel.insurance.core.underwriting.domain.RuleSeverity;
+import org.javaguru.travel.insurance.core.underwriting.persistence.UnderwritingDecisionWrittenEvent;
+import org.javaguru.travel.insurance.core.underwriting.rule.PriorDeclineRule;
+import org.javaguru.travel.insurance.domain.model.valueobject.PersonFingerprint;
+import org.javaguru.travel.insurance.fixture.H2Schema;
+import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.UnderwritingDecisionEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Индекс на H2 в памяти с фиксированными часами: окно считается от NOW.
+ */
+@DisplayName("DeclinedPersonIndex — недавние отказы в памяти")
+class DeclinedPersonIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 18, 12, 0);
+    private static final Clock CLOCK = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+    private static final Duration LOOKBACK = Duration.ofDays(365);
+
+    private static final PersonFingerprint IVAN = PersonFingerprint.of("Ivan", "Petrov", LocalDate.of(1950, 1, 1));
+    private static final PersonFingerprint ANNA = PersonFingerprint.of("Anna", "Berzina", LocalDate.of(1990, 5, 1));
+    private static final PersonFingerprint OLGA = PersonFingerprint.of("Olga", "Ozola", LocalDate.of(1985, 3, 2));
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbc;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = H2Schema.database("decline-index", UnderwritingDecisionEntity.class);
+        jdbc = new JdbcTemplate(dataSource);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Nested
+    @DisplayName("Загрузка и окно")
+    class Loading {
+
+        @Test
+        @DisplayName("при старте должны загружаться только отказы за окно")
+        void shouldLoadDeclinesWithinLookback() {
+            insert(IVAN, "DECLINED", NOW.minusDays(30));
+            insert(ANNA, "DECLINED", NOW.minusDays(400));
+            insert(OLGA, "APPROVED", NOW.minusDays(1));
+            DeclinedPersonIndex index = index(100);
+
+            index.refresh();
+
+            assertThat(index.isReady()).isTrue();
+            assertThat(index.lastDeclineWithinLookback(IVAN)).contains(NOW.minusDays(30));
+            assertThat(index.lastDeclineWithinLookback(ANNA)).isEmpty();
+            assertThat(index.lastDeclineWithinLookback(OLGA)).isEmpty();
+            assertThat(index.size()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("должен помнить последний из нескольких отказов персоны")
+        void shouldKeepLatestDecline() {
+            insert(IVAN, "DECLINED", NOW.minusDays(100));
+            insert(IVAN, "DECLINED", NOW.minusDays(10));
+            DeclinedPersonIndex index = index(100);
+
+            index.refresh();
+            index.recordDecline(IVAN, NOW.minusDays(50));
+
+            assertThat(index.lastDeclineWithinLookback(IVAN)).contains(NOW.minusDays(10));
+        }
+
+        @Test
+        @DisplayName("опрос должен добавлять отказы других узлов")
+        void shouldPickUpNewDeclinesOnRefresh() {
+            DeclinedPersonIndex index = index(100);
+            index.refresh();
+
+            insert(ANNA, "DECLINED", NOW.minusSeconds(5));
+            index.refresh();
+
+            assertThat(index.lastDeclineWithinLookback(ANNA)).contains(NOW.minusSeconds(5));
+        }
+    }
+
+    @Nested
+    @DisplayName("Запись отказов этого узла")
+    class Recording {
+
+        @Test
+        @DisplayName("событие записанного отказа должно попадать в индекс, другие решения — нет")
+        void shouldRecordDeclinedDecisionEvents() {
+            DeclinedPersonIndex index = index(100);
+            index.refresh();
+
+            index.onDecisionWritten(new UnderwritingDecisionWrittenEvent(NOW, "DECLINED", "ES", IVAN, List.of()));
+            index.onDecisionWritten(new UnderwritingDecisionWrittenEvent(NOW, "APPROVED", "ES", ANNA, List.of()));
+
+            assertThat(index.lastDeclineWithinLookback(IVAN)).contains(NOW);
+            assertThat(index.lastDeclineWithinLookback(ANNA)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("при достижении предела должен вытесняться самый старый отказ")
+        void shouldEvictOldestAtCapacity() {
+            DeclinedPersonIndex index = index(2);
+            index.refresh();
+
+            index.recordDecline(IVAN, NOW.minusDays(3));
+            index.recordDecline(ANNA, NOW.minusDays(2));
+            index.recordDecline(OLGA, NOW.minusDays(1));
+
+            assertThat(index.size()).isEqualTo(2);
+            assertThat(index.lastDeclineWithinLookback(IVAN)).isEmpty();
+            assertThat(index.lastDeclineWithinLookback(OLGA)).isPresent();
+            assertThat(meterRegistry.counter(DeclinedPersonIndex.EVICTIONS_METRIC).count()).isEqualTo(1.0);
+        }
+    }
+
+    @Nested
+    @DisplayName("PriorDeclineRule")
+    class Rule {
+
+        @Test
+        @DisplayName("недавний отказ должен требовать проверки")
+        void shouldRequireReviewForRecentDecline() {
+            DeclinedPersonIndex index = index(100);
+            index.refresh();
+            index.recordDecline(IVAN, NOW.minusDays(30));
+
+            var result = new PriorDeclineRule(index).evaluate(request("IVAN", " petrov ", LocalDate.of(1950, 1, 1)));
+
+            assertThat(result.getSeverity()).isEqualTo(RuleSeverity.REVIEW_REQUIRED);
+            assertThat(result.getMessage()).contains(NOW.minusDays(30).toLocalDate().toString());
+        }
+
+        @Test
+        @DisplayName("персона без отказов должна проходить")
+        void shouldPassWithoutDecline() {
+            DeclinedPersonIndex index = index(100);
+            index.refresh();
+
+            var result = new PriorDeclineRule(index).evaluate(request("Anna", "Berzina", LocalDate.of(1990, 5, 1)));
+
+            assertThat(result.isPassed()).isTrue();
+        }
+
+        @Test
+        @DisplayName("до загрузки индекса правило должно пропускать персону")
+        void shouldPassBeforeIndexIsLoaded() {
+            var result = new PriorDeclineRule(index(100))
+                    .evaluate(request("Ivan", "Petrov", LocalDate.of(1950, 1, 1)));
+
+            assertThat(result.isPassed()).isTrue();
+        }
+    }
+
+    private DeclinedPersonIndex index(int maxEntries) {
+        return new DeclinedPersonIndex(dataSource, new DataSourceTransactionManager(dataSource),
+                meterRegistry, LOOKBACK, maxEntries, CLOCK);
+    }
+
+    private void insert(PersonFingerprint fingerprint, String decision, LocalDateTime createdAt) {
+        jdbc.update("""
+                        INSERT INTO underwriting_decisions (request_id, person_first_name, person_last_name,
+                            person_birth_date, person_fingerprint, country_iso_code, agreement_date_from,
+                            agreement_date_to, decision, created_at)
+                        VALUES (?, 'Ivan', 'Petrov', DATE '1950-01-01', ?, 'ES', DATE '2026-11-01',
+                            DATE '2026-11-10', ?, ?)""",
+                UUID.randomUUID(), fingerprint.value(), decision, Timestamp.valueOf(createdAt));
+    }
+
+    private static TravelCalculatePremiumRequest request(String firstName, String lastName, LocalDate birthDate) {
+        return TravelCalculatePremiumRequest.builder()
+                .personFirstName(firstName)
+                .personLastName(lastName)
+                .personBirthDate(birthDate)
+                .build();
+    }
+}
@@ -0,0 +1,204 @@
+package org.javaguru.travel.insurance.core.underwriting.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.javaguru.travel.insurance.fixture.H2Schema;
+import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.UnderwritingDecisionEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Выгрузка на H2 в памяти: таблица underwriting_decisions из маппинга
+ * сущности, страница — 3 строки.
+ */
+@DisplayName("UnderwritingDecisionExporter — keyset-пагинация и потоковая запись")
+class UnderwritingDecisionExporterTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 10, 0, 0);
+    private static final int PAGE_SIZE = 3;
+
+    private JdbcTemplate jdbc;
+    private ObjectMapper objectMapper;
+    private UnderwritingDecisionExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        var dataSource = H2Schema.database("export", UnderwritingDecisionEntity.class);
+        jdbc = new JdbcTemplate(dataSource);
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exporter = new UnderwritingDecisionExporter(dataSource, objectMapper, PAGE_SIZE, 31);
+    }
+
+    @Nested
+    @DisplayName("Пагинация")
+    class Paging {
+
+        @Test
+        @DisplayName("должна выгрузить каждую строку ровно один раз при одинаковом created_at на границе страниц")
+        void shouldExportEveryRowOnceAcrossTiedTimestamps() {
+            // 7 строк, у 5 из них одинаковый created_at — граница страницы внутри группы
+            for (long id = 1; id <= 5; id++) {
+                insert(id, DAY.plusHours(10), "APPROVED", null);
+            }
+            insert(6, DAY.plusHours(9), "APPROVED", null);
+            insert(7, DAY.plusHours(11), "APPROVED", null);
+
+            var out = new ByteArrayOutputStream();
+            var summary = exporter.export(query(null), DecisionExportFormat.NDJSON, out);
+
+            assertThat(ids(out)).containsExactly(6L, 1L, 2L, 3L, 4L, 5L, 7L);
+            assertThat(summary.rows()).isEqualTo(7);
+            assertThat(summary.pages()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("полная последняя страница должна завершаться пустым запросом")
+        void shouldStopOnEmptyPageAfterFullPage() {
+            for (long id = 1; id <= PAGE_SIZE * 2; id++) {
+                insert(id, DAY.plusMinutes(id), "APPROVED", null);
+            }
+
+            var summary = exporter.export(query(null), DecisionExportFormat.NDJSON, new ByteArrayOutputStream());
+
+            assertThat(summary.rows()).isEqualTo(6);
+            assertThat(summary.pages()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("должна учитывать границы периода и фильтр по решению")
+        void shouldApplyPeriodAndDecisionFilter() {
+            insert(1, DAY.minusSeconds(1), "DECLINED", "too old");
+            insert(2, DAY, "DECLINED", "age");
+            insert(3, DAY.plusHours(23).plusMinutes(59), "APPROVED", null);
+            insert(4, DAY.plusDays(1), "DECLINED", "next day");
+
+            var all = new ByteArrayOutputStream();
+            exporter.export(query(null), DecisionExportFormat.NDJSON, all);
+            var declined = new ByteArrayOutputStream();
+            exporter.export(query("declined"), DecisionExportFormat.NDJSON, declined);
+
+            assertThat(ids(all)).containsExactly(2L, 3L);
+            assertThat(ids(declined)).containsExactly(2L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Форматы")
+    class Formats {
+
+        @Test
+        @DisplayName("CSV должен начинаться с заголовка и экранировать запятые и кавычки")
+        void shouldWriteCsvWithHeaderAndEscaping() {
+            insert(1, DAY.plusHours(1), "DECLINED", "Age 85, limit \"80\"");
+
+            var out = new ByteArrayOutputStream();
+            exporter.export(query(null), DecisionExportFormat.CSV, out);
+
+            List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+            assertThat(lines).hasSize(2);
+            assertThat(lines.get(0)).isEqualTo(String.join(",", UnderwritingDecisionExporter.CSV_COLUMNS));
+            assertThat(lines.get(1))
+                    .startsWith("1,")
+                    .contains(",DECLINED,\"Age 85, limit \"\"80\"\"\",,")
+                    .endsWith(",2026-03-10T01:00");
+        }
+
+        @Test
+        @DisplayName("CSV должен выводить значения, похожие на формулу, как текст")
+        void shouldNeutralizeFormulasInCsv() {
+            insert(1, DAY.plusHours(1), "DECLINED", "=HYPERLINK(\"http://evil\",\"x\")");
+
+            var out = new ByteArrayOutputStream();
+            exporter.export(query(null), DecisionExportFormat.CSV, out);
+
+            assertThat(out.toString(StandardCharsets.UTF_8).lines().toList().get(1))
+                    .contains(",DECLINED,\"'=HYPERLINK(\"\"http://evil\"\",\"\"x\"\")\",,");
+            assertThat(UnderwritingDecisionExporter.csvField("+1")).isEqualTo("'+1");
+            assertThat(UnderwritingDecisionExporter.csvField("-2+3")).isEqualTo("'-2+3");
+            assertThat(UnderwritingDecisionExporter.csvField("@SUM(A1)")).isEqualTo("'@SUM(A1)");
+            assertThat(UnderwritingDecisionExporter.csvField("Ivan=1")).isEqualTo("Ivan=1");
+            assertThat(UnderwritingDecisionExporter.csvField("")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("NDJSON не должен содержать rule_results и request_data")
+        void shouldProjectOnlyExportColumns() throws Exception {
+            insert(1, DAY.plusHours(1), "APPROVED", null);
+
+            var out = new ByteArrayOutputStream();
+            exporter.export(query(null), DecisionExportFormat.NDJSON, out);
+
+            JsonNode row = objectMapper.readTree(out.toString(StandardCharsets.UTF_8).lines().findFirst().orElseThrow());
+            assertThat(row.has("ruleResults")).isFalse();
+            assertThat(row.has("requestData")).isFalse();
+            assertThat(row.get("personBirthDate").asText()).isEqualTo("1990-05-01");
+            assertThat(row.get("evaluationDurationMs").asInt()).isEqualTo(12);
+        }
+    }
+
+    @Nested
+    @DisplayName("Проверка параметров")
+    class Validation {
+
+        @Test
+        @DisplayName("период длиннее max-days должен отклоняться")
+        void shouldRejectTooLongPeriod() {
+            var query = new DecisionExportQuery(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 2, 1), null);
+
+            assertThatThrownBy(() -> exporter.validate(query))
+                    .isInstanceOf(InvalidExportRequestException.class)
+                    .hasMessageContaining("32 days");
+        }
+
+        @Test
+        @DisplayName("to раньше from и неизвестное решение должны отклоняться")
+        void shouldRejectInvalidQuery() {
+            assertThatThrownBy(() -> new DecisionExportQuery(LocalDate.of(2026, 2, 1), LocalDate.of(2026, 1, 1), null))
+                    .isInstanceOf(InvalidExportRequestException.class);
+            assertThatThrownBy(() -> new DecisionExportQuery(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 1), "MAYBE"))
+                    .isInstanceOf(InvalidExportRequestException.class);
+        }
+    }
+
+    private static DecisionExportQuery query(String decision) {
+        return new DecisionExportQuery(DAY.toLocalDate(), DAY.toLocalDate(), decision);
+    }
+
+    private void insert(long id, LocalDateTime createdAt, String decision, String declineReason) {
+        jdbc.update("""
+                        INSERT INTO underwriting_decisions (id, request_id, person_first_name, person_last_name,
+                            person_birth_date, country_iso_code, agreement_date_from, agreement_date_to,
+                            decision, decline_reason, rule_results, request_data, evaluation_duration_ms, created_at)
+                        VALUES (?, ?, 'Ivan', 'Petrov', DATE '1990-05-01', 'ES', DATE '2026-04-01',
+                            DATE '2026-04-10', ?, ?, '[]', '{}', 12, ?)""",
+                id, UUID.randomUUID(), decision, declineReason, Timestamp.valueOf(createdAt));
+    }
+
+    private List<Long> ids(ByteArrayOutputStream out) {
+        return out.toString(StandardCharsets.UTF_8).lines()
+                .map(line -> {
+                    try {
+                        return objectMapper.readTree(line).get("id").asLong();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,99 @@
+package org.javaguru.travel.insurance.core.underwriting.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.javaguru.travel.insurance.application.dto.TravelCalculatePremiumRequest;
+import org.javaguru.travel.insurance.core.underwriting.domain.RuleResult;
+import org.javaguru.travel.insurance.core.underwriting.domain.UnderwritingResult;
+import org.javaguru.travel.insurance.domain.model.valueobject.PersonFingerprint;
+import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.UnderwritingDecisionEntity;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.UnderwritingAuditLogRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.UnderwritingDecisionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UnderwritingPersistenceService — событие записанного решения")
+class UnderwritingPersistenceServiceTest {
+
+    @Mock private UnderwritingDecisionRepository decisionRepository;
+    @Mock private UnderwritingAuditLogRepository auditLogRepository;
+
+    private final List<Object> published = new ArrayList<>();
+    private UnderwritingPersistenceService service;
+    private TransactionTemplate transaction;
+    private TravelCalculatePremiumRequest request;
+
+    @BeforeEach
+    void setUp() {
+        when(decisionRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        service = new UnderwritingPersistenceService(decisionRepository, auditLogRepository,
+                new ObjectMapper().findAndRegisterModules(), published::add);
+        transaction = new TransactionTemplate(new DataSourceTransactionManager(new DriverManagerDataSource(
+                "jdbc:h2:mem:persistence-" + UUID.randomUUID(), "sa", "")));
+        request = TravelCalculatePremiumRequest.builder()
+                .personFirstName("Ivan")
+                .personLastName("Petrov")
+                .personBirthDate(LocalDate.of(1950, 1, 1))
+                .countryIsoCode("ES")
+                .build();
+    }
+
+    @Test
+    @DisplayName("внутри транзакции событие публикуется только после коммита")
+    void shouldPublishAfterCommit() {
+        transaction.executeWithoutResult(status -> {
+            service.saveDecision(request, declined(), 5);
+            assertThat(published).isEmpty();
+        });
+
+        assertThat(published).singleElement()
+                .isInstanceOfSatisfying(UnderwritingDecisionWrittenEvent.class, event -> {
+                    assertThat(event.isDeclined()).isTrue();
+                    assertThat(event.countryIsoCode()).isEqualTo("ES");
+                    assertThat(event.personFingerprint())
+                            .isEqualTo(PersonFingerprint.of("Ivan", "Petrov", LocalDate.of(1950, 1, 1)));
+                    assertThat(event.createdAt()).isNotNull();
+                });
+    }
+
+    @Test
+    @DisplayName("откаченное решение не публикуется")
+    void shouldNotPublishRolledBackDecision() {
+        transaction.executeWithoutResult(status -> {
+            service.saveDecision(request, declined(), 5);
+            status.setRollbackOnly();
+        });
+
+        assertThat(published).isEmpty();
+    }
+
+    @Test
+    @DisplayName("без транзакции событие публикуется сразу")
+    void shouldPublishImmediatelyWithoutTransaction() {
+        UnderwritingDecisionEntity entity = service.saveDecision(request, UnderwritingResult.approved(), 5);
+
+        assertThat(published).singleElement()
+                .isInstanceOfSatisfying(UnderwritingDecisionWrittenEvent.class,
+                        event -> assertThat(event.decision()).isEqualTo(entity.getDecision()));
+    }
+
+    private static UnderwritingResult declined() {
+        return UnderwritingResult.declined(List.of(RuleResult.blocking("AgeRule", "too old")), "too old");
+    }
+}
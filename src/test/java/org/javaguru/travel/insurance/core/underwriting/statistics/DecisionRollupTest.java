@@ -0,0 +1,158 @@
+package org.javaguru.travel.insurance.core.underwriting.statistics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.javaguru.travel.insurance.core.underwriting.domain.RuleResult;
+import org.javaguru.travel.insurance.core.underwriting.persistence.UnderwritingDecisionWrittenEvent;
+import org.javaguru.travel.insurance.domain.model.valueobject.PersonFingerprint;
+import org.javaguru.travel.insurance.fixture.H2Schema;
+import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.UnderwritingDecisionRollupEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * DecisionRollupAggregator и DecisionStatisticsService на H2 в памяти
+ * с таблицей underwriting_decision_rollup из маппинга сущности.
+ */
+@DisplayName("Счётчики решений андеррайтинга — агрегация в памяти и запросы по rollup")
+class DecisionRollupTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 10, 0, 0);
+    private static final PersonFingerprint PERSON = PersonFingerprint.of("Ivan", "Petrov", LocalDate.of(1980, 1, 1));
+
+    private JdbcTemplate jdbc;
+    private DecisionRollupAggregator aggregator;
+    private DecisionStatisticsService statistics;
+
+    @BeforeEach
+    void setUp() {
+        var dataSource = H2Schema.database("rollup", UnderwritingDecisionRollupEntity.class);
+        jdbc = new JdbcTemplate(dataSource);
+        aggregator = new DecisionRollupAggregator(
+                dataSource, new DataSourceTransactionManager(dataSource), new SimpleMeterRegistry());
+        statistics = new DecisionStatisticsService(dataSource);
+    }
+
+    @Nested
+    @DisplayName("Агрегация")
+    class Aggregation {
+
+        @Test
+        @DisplayName("flush должен прибавлять к существующим строкам, а не перезаписывать их")
+        void shouldAccumulateAcrossFlushes() {
+            approved(DAY.plusHours(10).plusSeconds(5));
+            approved(DAY.plusHours(10).plusSeconds(40));
+            aggregator.flush();
+            approved(DAY.plusHours(10).plusSeconds(59));
+            aggregator.flush();
+
+            assertThat(rowCount("MINUTE", DAY.plusHours(10))).isEqualTo(3);
+            assertThat(rowCount("DAY", DAY)).isEqualTo(3);
+            assertThat(aggregator.pendingKeys()).isZero();
+        }
+
+        @Test
+        @DisplayName("худшая серьёзность правил решения должна попадать в разрез severity")
+        void shouldKeyByWorstSeverity() {
+            written(DAY.plusHours(1), "DECLINED", List.of(
+                    RuleResult.pass("AgeRule"), RuleResult.blocking("TripDurationRule", "too long"),
+                    RuleResult.warning("CountryRule", "risky")));
+            written(DAY.plusHours(1), "APPROVED", List.of());
+            aggregator.flush();
+
+            assertThat(statistics.count(DAY, DAY.plusHours(2), StatisticsDimension.SEVERITY))
+                    .containsExactlyInAnyOrderEntriesOf(Map.of("BLOCKING", 1L, "PASS", 1L));
+        }
+
+        @Test
+        @DisplayName("при ошибке записи счётчики должны остаться в памяти до следующего flush")
+        void shouldKeepCountsWhenFlushFails() {
+            approved(DAY.plusHours(1));
+            jdbc.execute("ALTER TABLE underwriting_decision_rollup RENAME TO rollup_offline");
+
+            aggregator.flush();
+            assertThat(aggregator.pendingKeys()).isEqualTo(1);
+
+            jdbc.execute("ALTER TABLE rollup_offline RENAME TO underwriting_decision_rollup");
+            aggregator.flush();
+            assertThat(statistics.countByDecision("APPROVED")).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Запросы за период")
+    class RangeQueries {
+
+        @BeforeEach
+        void recordHistory() {
+            approved(DAY.minusMinutes(1));                   // 09.03 23:59 — вне периода
+            approved(DAY.plusHours(12));                     // 10.03 — край периода
+            declined(DAY.plusDays(1).plusHours(3));          // 11.03 — целые сутки
+            declined(DAY.plusDays(2).plusHours(1));          // 12.03 — целые сутки
+            approved(DAY.plusDays(3).plusMinutes(30));       // 13.03 00:30 — край периода
+            approved(DAY.plusDays(3).plusMinutes(31));       // 13.03 00:31 — вне периода
+            aggregator.flush();
+        }
+
+        @Test
+        @DisplayName("период из краёв и целых суток должен складывать минутные и суточные строки")
+        void shouldCombineMinuteEdgesAndWholeDays() {
+            Map<String, Long> counts = statistics.countByDecision(
+                    DAY.plusHours(6), DAY.plusDays(3).plusMinutes(30).plusSeconds(20));
+
+            assertThat(counts).containsExactlyInAnyOrderEntriesOf(Map.of("APPROVED", 2L, "DECLINED", 2L));
+        }
+
+        @Test
+        @DisplayName("период внутри суток должен читать только минутные строки")
+        void shouldUseMinutesInsideSingleDay() {
+            assertThat(statistics.countByDecision(DAY.plusHours(11), DAY.plusHours(12)))
+                    .containsExactlyInAnyOrderEntriesOf(Map.of("APPROVED", 1L));
+            assertThat(statistics.countByDecision(DAY.plusHours(12).plusMinutes(1), DAY.plusHours(13)))
+                    .isEmpty();
+        }
+
+        @Test
+        @DisplayName("countByDecision за всю историю — сумма суточных строк")
+        void shouldCountAllTimeFromDays() {
+            assertThat(statistics.countByDecision("APPROVED")).isEqualTo(4);
+            assertThat(statistics.countByDecision("REQUIRES_MANUAL_REVIEW")).isZero();
+        }
+
+        @Test
+        @DisplayName("to раньше from должен отклоняться")
+        void shouldRejectInvertedRange() {
+            assertThatThrownBy(() -> statistics.countByDecision(DAY, DAY.minusDays(1)))
+                    .isInstanceOf(InvalidStatisticsRangeException.class);
+        }
+    }
+
+    private void approved(LocalDateTime createdAt) {
+        written(createdAt, "APPROVED", List.of(RuleResult.pass("AgeRule")));
+    }
+
+    private void declined(LocalDateTime createdAt) {
+        written(createdAt, "DECLINED", List.of(RuleResult.blocking("AgeRule", "too old")));
+    }
+
+    private void written(LocalDateTime createdAt, String decision, List<RuleResult> ruleResults) {
+        aggregator.onDecisionWritten(new UnderwritingDecisionWrittenEvent(createdAt, decision, "ES", PERSON, ruleResults));
+    }
+
+    private long rowCount(String granularity, LocalDateTime bucketStart) {
+        return jdbc.queryForObject(
+                "SELECT decision_count FROM underwriting_decision_rollup WHERE granularity = ? AND bucket_start = ?",
+                Long.class, granularity, bucketStart);
+    }
+}
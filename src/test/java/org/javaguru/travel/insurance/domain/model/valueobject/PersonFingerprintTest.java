@@ -0,0 +1,88 @@
+package org.javaguru.travel.insurance.domain.model.valueobject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for PersonFingerprint Value Object
+ */
+@DisplayName("PersonFingerprint Value Object Tests")
+class PersonFingerprintTest {
+
+    private static final LocalDate BIRTH_DATE = LocalDate.of(1990, 5, 1);
+
+    @Test
+    @DisplayName("Should hash normalized last|first|birth date with SHA-256")
+    void shouldHashNormalizedKey() {
+        // When
+        PersonFingerprint fingerprint = PersonFingerprint.of("Ivan", "Petrov", BIRTH_DATE);
+
+        // Then — the same value changeset 028 computes in SQL for "petrov|ivan|1990-05-01"
+        assertThat(fingerprint.value())
+                .isEqualTo("0235a0a06125db99089f5018a173b27afd4398ef500afa62f9e9116672fddb74");
+    }
+
+    @Test
+    @DisplayName("Should ignore case and whitespace variations in names")
+    void shouldIgnoreCaseAndWhitespace() {
+        // Given
+        PersonFingerprint canonical = PersonFingerprint.of("Anna Maria", "Berzina", BIRTH_DATE);
+
+        // Then
+        assertThat(PersonFingerprint.of("  ANNA   maria ", "berzina\t", BIRTH_DATE)).isEqualTo(canonical);
+        assertThat(PersonFingerprint.of("Anna Maria", "Berzina", BIRTH_DATE)).isEqualTo(canonical);
+    }
+
+    @Test
+    @DisplayName("Should trim only ASCII space, like btrim() in changeset 028")
+    void shouldTrimOnlyAsciiSpace() {
+        // Not in \s and unchanged by NFKC, but removed by String.strip()
+        for (String mark : new String[] {"\u001F", "\u1680", "\u2028", "\u2029"}) {
+            assertThat(PersonFingerprint.normalize(mark + "Ivan" + mark))
+                    .as("U+%04X", (int) mark.charAt(0))
+                    .isEqualTo(mark + "ivan" + mark);
+            assertThat(PersonFingerprint.normalize(" " + mark + " Ivan "))
+                    .as("U+%04X", (int) mark.charAt(0))
+                    .isEqualTo(mark + " ivan");
+        }
+    }
+
+    @Test
+    @DisplayName("Should distinguish birth date and swapped names")
+    void shouldDistinguishDifferentPersons() {
+        // Given
+        PersonFingerprint person = PersonFingerprint.of("Ivan", "Petrov", BIRTH_DATE);
+
+        // Then
+        assertThat(PersonFingerprint.of("Ivan", "Petrov", BIRTH_DATE.plusDays(1))).isNotEqualTo(person);
+        assertThat(PersonFingerprint.of("Petrov", "Ivan", BIRTH_DATE)).isNotEqualTo(person);
+    }
+
+    @Test
+    @DisplayName("Should expose hash halves and round-trip through stored value")
+    void shouldRoundTripStoredValue() {
+        // Given
+        PersonFingerprint fingerprint = PersonFingerprint.of("Ivan", "Petrov", BIRTH_DATE);
+
+        // When
+        PersonFingerprint restored = PersonFingerprint.ofValue(fingerprint.value());
+
+        // Then
+        assertThat(restored).isEqualTo(fingerprint);
+        assertThat(restored.high()).isEqualTo(Long.parseUnsignedLong("0235a0a06125db99", 16));
+        assertThat(restored.low()).isEqualTo(Long.parseUnsignedLong("089f5018a173b27a", 16));
+    }
+
+    @Test
+    @DisplayName("Should reject missing person data and malformed stored values")
+    void shouldRejectInvalidInput() {
+        assertThatThrownBy(() -> PersonFingerprint.of(null, "Petrov", BIRTH_DATE))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PersonFingerprint.ofValue("abc"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,93 @@
+package org.javaguru.travel.insurance.fixture;
+
+import java.util.Locale;
+
+/**
+ * Объёмы синтетических данных для SyntheticReferenceDataGenerator.
+ *
+ * Пресеты (страны — кодов × версий на код):
+ * <pre>
+ *   small   200 × 4,   50 пакетов,  10k промо-кодов,   50k решений — H2, CI
+ *   medium  600 × 8,  200 пакетов, 100k промо-кодов,    1M решений — H2 с -Xmx4g
+ *   large   600 × 10, 500 пакетов,   1M промо-кодов,   10M решений — PostgreSQL
+ * </pre>
+ *
+ * Коды стран — свободные двухбуквенные, их не больше 676 минус seed-коды.
+ * На PostgreSQL с UNIQUE (iso_code) из миграции 017 генератор пишет одну
+ * версию на код, так что large там даёт 600 строк стран, а не 6000:
+ * объём large — промо-коды и решения, а не история тарифов стран.
+ *
+ * Любое поле пресета переопределяется системным свойством datagen.*
+ * (например -Ddatagen.promo-codes=250000), см. fromSystemProperties.
+ *
+ * @param name                  имя пресета (попадает в отчёты)
+ * @param countryCodes          синтетических кодов стран (из свободных двухбуквенных)
+ * @param versionsPerCountry    версий тарифа на код страны
+ * @param bundles               синтетических пакетов рисков
+ * @param versionsPerBundle     версий на пакет
+ * @param ageRiskVersions       исторических версий годовой матрицы возраст × риск
+ * @param promoCodes            синтетических промо-кодов
+ * @param underwritingDecisions синтетических решений андеррайтинга
+ * @param futureVersionRatio    доля ключей, у которых последняя версия вступает в силу в будущем
+ * @param seed                  seed генератора — одинаковые данные от прогона к прогону
+ * @param batchSize             строк в JDBC-батче и транзакции
+ */
+public record DataScale(
+        String name,
+        int countryCodes,
+        int versionsPerCountry,
+        int bundles,
+        int versionsPerBundle,
+        int ageRiskVersions,
+        int promoCodes,
+        int underwritingDecisions,
+        double futureVersionRatio,
+        long seed,
+        int batchSize) {
+
+    public static DataScale small() {
+        return new DataScale("small", 200, 4, 50, 3, 5, 10_000, 50_000, 0.1, 42, 5_000);
+    }
+
+    public static DataScale medium() {
+        return new DataScale("medium", 600, 8, 200, 3, 10, 100_000, 1_000_000, 0.1, 42, 10_000);
+    }
+
+    public static DataScale large() {
+        return new DataScale("large", 600, 10, 500, 4, 20, 1_000_000, 10_000_000, 0.1, 42, 10_000);
+    }
+
+    public static DataScale named(String name) {
+        return switch (name.toLowerCase(Locale.ROOT)) {
+            case "small" -> small();
+            case "medium" -> medium();
+            case "large" -> large();
+            default -> throw new IllegalArgumentException(
+                    "Unknown data scale: " + name + ", expected small, medium or large");
+        };
+    }
+
+    /**
+     * Пресет datagen.scale (по умолчанию defaultScale) с переопределениями datagen.*.
+     */
+    public static DataScale fromSystemProperties(String defaultScale) {
+        DataScale preset = named(System.getProperty("datagen.scale", defaultScale));
+        return new DataScale(
+                preset.name(),
+                intProperty("country-codes", preset.countryCodes()),
+                intProperty("versions-per-country", preset.versionsPerCountry()),
+                intProperty("bundles", preset.bundles()),
+                intProperty("versions-per-bundle", preset.versionsPerBundle()),
+                intProperty("age-risk-versions", preset.ageRiskVersions()),
+                intProperty("promo-codes", preset.promoCodes()),
+                intProperty("underwriting-decisions", preset.underwritingDecisions()),
+                Double.parseDouble(System.getProperty("datagen.future-version-ratio",
+                        String.valueOf(preset.futureVersionRatio()))),
+                Long.parseLong(System.getProperty("datagen.seed", String.valueOf(preset.seed()))),
+                intProperty("batch-size", preset.batchSize()));
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty("datagen." + name, String.valueOf(defaultValue)));
+    }
+}
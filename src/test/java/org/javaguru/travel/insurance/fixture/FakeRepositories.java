@@ -0,0 +1,41 @@
+package org.javaguru.travel.insurance.fixture;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Фейковые Spring Data репозитории для бенчмарков и тестов аллокаций.
+ *
+ * Репозиторий — JDK-прокси над интерфейсом: default-методы выполняются как есть,
+ * запросы из таблицы queries отвечают из памяти, save возвращает аргумент.
+ * Любой другой вызов — UnsupportedOperationException, чтобы замер
+ * не измерял незаметно «пустой» путь.
+ */
+public final class FakeRepositories {
+
+    private FakeRepositories() {
+    }
+
+    public static <R> R of(Class<R> type, Map<String, Function<Object[], Object>> queries) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+            Function<Object[], Object> query = queries.get(method.getName());
+            if (query != null) {
+                return query.apply(args);
+            }
+            return switch (method.getName()) {
+                case "save" -> args[0];
+                case "toString" -> "Fake" + type.getSimpleName();
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(
+                        type.getSimpleName() + "." + method.getName() + " is not faked");
+            };
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+}
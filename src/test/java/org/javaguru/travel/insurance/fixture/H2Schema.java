@@ -0,0 +1,80 @@
+package org.javaguru.travel.insurance.fixture;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.javaguru.travel.insurance.infrastructure.persistence.H2DialectWithJsonb;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * H2 в памяти со схемой из JPA-маппингов — для тестов на чистом JDBC
+ * без Spring-контекста.
+ *
+ * Таблицы создаёт Hibernate (hbm2ddl create) по тем же сущностям и тому же
+ * диалекту, что и профиль test (ddl-auto=create-drop), поэтому колонки,
+ * типы и NOT NULL в тесте не расходятся с маппингом. Рукописный CREATE TABLE
+ * в тесте отстал бы от сущности при следующем changeset.
+ *
+ * URL — как в application-test.yml: режим PostgreSQL, имена в нижнем регистре.
+ * Без сущностей — пустая база (тесты маршрутизации различают базы по имени).
+ */
+public final class H2Schema {
+
+    private H2Schema() {
+    }
+
+    /**
+     * Отдельная база с таблицами перечисленных сущностей; имя — префикс для логов.
+     */
+    public static DriverManagerDataSource database(String name, Class<?>... entities) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID()
+                        + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;NON_KEYWORDS=VALUE"
+                        + ";DB_CLOSE_DELAY=-1",
+                "sa", "");
+        if (entities.length > 0) {
+            create(dataSource, entities);
+        }
+        return dataSource;
+    }
+
+    /**
+     * Имя, переданное в database(name), для базы, к которой подключён jdbc:
+     * по нему тесты маршрутизации видят, куда ушло соединение.
+     */
+    public static String nameOf(JdbcTemplate jdbc) {
+        String catalog = jdbc.queryForObject("SELECT CURRENT_CATALOG", String.class);
+        return catalog.substring(0, catalog.indexOf('-')).toLowerCase(Locale.ROOT);
+    }
+
+    private static void create(DataSource dataSource, Class<?>... entities) {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, dataSource)
+                .applySetting(AvailableSettings.DIALECT, H2DialectWithJsonb.class.getName())
+                .applySetting(AvailableSettings.PHYSICAL_NAMING_STRATEGY,
+                        CamelCaseToUnderscoresNamingStrategy.class.getName())
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create")
+                .applySetting(AvailableSettings.HBM2DDL_HALT_ON_ERROR, true)
+                .build();
+        try {
+            MetadataSources sources = new MetadataSources(registry);
+            for (Class<?> entity : entities) {
+                sources.addAnnotatedClass(entity);
+            }
+            // Схема создаётся при сборке фабрики; закрытие при "create" таблицы не удаляет
+            try (SessionFactory ignored = sources.buildMetadata().buildSessionFactory()) {
+                // только DDL
+            }
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package org.javaguru.travel.insurance.fixture;
+
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshot;
+import org.javaguru.travel.insurance.domain.model.entity.Country;
+import org.javaguru.travel.insurance.domain.model.entity.MedicalRiskLimitLevel;
+import org.javaguru.travel.insurance.domain.model.entity.Risk;
+import org.javaguru.travel.insurance.domain.model.valueobject.Coefficient;
+import org.javaguru.travel.insurance.domain.model.valueobject.CountryCode;
+import org.javaguru.travel.insurance.domain.model.valueobject.Currency;
+import org.javaguru.travel.insurance.domain.model.valueobject.RiskCode;
+import org.javaguru.travel.insurance.domain.port.ReferenceDataPort;
+import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.AgeCoefficientEntity;
+import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.AgeRiskCoefficientEntity;
+import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.CalculationConfigEntity;
+import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.CountryDefaultDayPremiumEntity;
+import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.DiscountEntity;
+import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.RiskBundleEntity;
+import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.TripDurationCoefficientEntity;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.AgeCoefficientRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.AgeRiskCoefficientRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.CalculationConfigRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.CountryDefaultDayPremiumRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.DiscountRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.PromoCodeRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.RiskBundleRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.TripDurationCoefficientRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.UnderwritingRuleConfigRepository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Справочные данные в памяти — те же значения, что в db/test-data.sql.
+ * Общие для JMH-бенчмарков (src/jmh) и тестов аллокаций.
+ *
+ * ReferenceDataPort отвечает из ReferenceDataSnapshot, остальные таблицы
+ * (возрастные коэффициенты, длительность, пакеты рисков, конфиг) — через
+ * FakeRepositories. Ни одного обращения к БД: измеряется только расчёт.
+ */
+public final class InMemoryReferenceData {
+
+    public static final LocalDate VALID_FROM = LocalDate.of(2020, 1, 1);
+
+    /** Необязательные риски справочника — основа для перебора комбинаций. */
+    public static final List<String> OPTIONAL_RISKS = List.of(
+            "SPORT_ACTIVITIES", "EXTREME_SPORT", "CHRONIC_DISEASES", "ACCIDENT_COVERAGE",
+            "TRIP_CANCELLATION", "LUGGAGE_LOSS", "FLIGHT_DELAY", "CIVIL_LIABILITY");
+
+    private static final ReferenceDataSnapshot SNAPSHOT = ReferenceDataSnapshot.of(
+            List.of(country("ES", Country.RiskGroup.LOW, "1.0"),
+                    country("DE", Country.RiskGroup.LOW, "1.0"),
+                    country("TR", Country.RiskGroup.MEDIUM, "1.3"),
+                    country("EG", Country.RiskGroup.HIGH, "1.8")),
+            List.of(level("5000", "1.50"), level("10000", "2.00"), level("20000", "3.00"),
+                    level("50000", "4.50"), level("100000", "7.00"), level("200000", "12.00")),
+            List.of(risk("TRAVEL_MEDICAL", "0.00", true),
+                    risk("SPORT_ACTIVITIES", "0.30", false),
+                    risk("EXTREME_SPORT", "0.60", false),
+                    risk("CHRONIC_DISEASES", "0.40", false),
+                    risk("ACCIDENT_COVERAGE", "0.20", false),
+                    risk("TRIP_CANCELLATION", "0.15", false),
+                    risk("LUGGAGE_LOSS", "0.10", false),
+                    risk("FLIGHT_DELAY", "0.05", false),
+                    risk("CIVIL_LIABILITY", "0.10", false)),
+            Instant.EPOCH);
+
+    private static final List<AgeCoefficientEntity> AGE_COEFFICIENTS = List.of(
+            age(0, 5, "1.10"), age(6, 17, "0.90"), age(18, 30, "1.00"), age(31, 40, "1.10"),
+            age(41, 50, "1.30"), age(51, 60, "1.60"), age(61, 70, "2.00"), age(71, 80, "2.50"));
+
+    private static final List<TripDurationCoefficientEntity> DURATION_COEFFICIENTS = List.of(
+            duration(1, 7, "1.00"), duration(8, 14, "0.95"), duration(15, 30, "0.90"),
+            duration(31, 60, "0.88"), duration(61, 90, "0.85"), duration(91, 365, "0.82"));
+
+    private static final List<AgeRiskCoefficientEntity> AGE_RISK_COEFFICIENTS = List.of(
+            ageRisk("EXTREME_SPORT", 18, 35, "1.00"), ageRisk("EXTREME_SPORT", 36, 50, "1.30"),
+            ageRisk("EXTREME_SPORT", 51, 65, "1.80"), ageRisk("EXTREME_SPORT", 66, 80, "2.50"),
+            ageRisk("SPORT_ACTIVITIES", 18, 50, "1.00"), ageRisk("SPORT_ACTIVITIES", 51, 65, "1.20"),
+            ageRisk("SPORT_ACTIVITIES", 66, 80, "1.50"),
+            ageRisk("CHRONIC_DISEASES", 18, 45, "1.00"), ageRisk("CHRONIC_DISEASES", 46, 60, "1.40"),
+            ageRisk("CHRONIC_DISEASES", 61, 70, "1.80"), ageRisk("CHRONIC_DISEASES", 71, 80, "2.50"));
+
+    private static final List<RiskBundleEntity> BUNDLES = List.of(
+            bundle("ACTIVE_TRAVELER", "15.00", "[\"SPORT_ACTIVITIES\", \"ACCIDENT_COVERAGE\"]"),
+            bundle("FULL_PROTECTION", "20.00", "[\"TRIP_CANCELLATION\", \"LUGGAGE_LOSS\", \"FLIGHT_DELAY\"]"),
+            bundle("EXTREME_ADVENTURE", "18.00",
+                    "[\"EXTREME_SPORT\", \"ACCIDENT_COVERAGE\", \"CHRONIC_DISEASES\"]"));
+
+    private static final Map<String, CountryDefaultDayPremiumEntity> DEFAULT_DAY_PREMIUMS = Map.of(
+            "ES", defaultPremium("ES", "3.50"),
+            "DE", defaultPremium("DE", "3.80"),
+            "TR", defaultPremium("TR", "5.20"),
+            "EG", defaultPremium("EG", "7.90"));
+
+    private static final List<DiscountEntity> DISCOUNTS = List.of(
+            discount("GROUP_5", "GROUP", "10", 5, null), discount("GROUP_10", "GROUP", "15", 10, null),
+            discount("GROUP_20", "GROUP", "20", 20, null), discount("CORPORATE", "CORPORATE", "20", 1, "100"),
+            discount("LOYALTY_5", "LOYALTY", "5", 1, null));
+
+    private static final CalculationConfigEntity AGE_COEFFICIENT_ENABLED = config("AGE_COEFFICIENT_ENABLED", "true");
+
+    private InMemoryReferenceData() {
+    }
+
+    // ── Порты и репозитории ───────────────────────────────────────────────────
+
+    public static ReferenceDataPort referenceDataPort() {
+        return new ReferenceDataPort() {
+            @Override
+            public Optional<Country> findCountry(CountryCode code, LocalDate date) {
+                return SNAPSHOT.findCountry(code.value(), date);
+            }
+
+            @Override
+            public Optional<Risk> findRisk(RiskCode code, LocalDate date) {
+                return SNAPSHOT.findRisk(code.value(), date);
+            }
+
+            @Override
+            public Optional<MedicalRiskLimitLevel> findMedicalLevel(String code, LocalDate date) {
+                return SNAPSHOT.findMedicalLevel(code, date);
+            }
+
+            @Override
+            public List<Risk> findRisks(List<RiskCode> codes, LocalDate date) {
+                return codes.stream()
+                        .map(code -> SNAPSHOT.findRisk(code.value(), date))
+                        .flatMap(Optional::stream)
+                        .toList();
+            }
+
+            @Override
+            public List<Risk> findAllActiveRisks(LocalDate date) {
+                return SNAPSHOT.activeRisks(date);
+            }
+        };
+    }
+
+    public static AgeCoefficientRepository ageCoefficientRepository() {
+        return FakeRepositories.of(AgeCoefficientRepository.class, Map.of(
+                "findCoefficientForAge", args -> AGE_COEFFICIENTS.stream()
+                        .filter(e -> (int) args[0] >= e.getAgeFrom() && (int) args[0] <= e.getAgeTo())
+                        .findFirst(),
+                "findAllActive", args -> AGE_COEFFICIENTS));
+    }
+
+    public static TripDurationCoefficientRepository durationRepository() {
+        return FakeRepositories.of(TripDurationCoefficientRepository.class, Map.of(
+                "findCoefficientForDays", args -> DURATION_COEFFICIENTS.stream()
+                        .filter(e -> (int) args[0] >= e.getDaysFrom() && (int) args[0] <= e.getDaysTo())
+                        .findFirst(),
+                "findAllActive", args -> DURATION_COEFFICIENTS));
+    }
+
+    public static AgeRiskCoefficientRepository ageRiskRepository() {
+        return FakeRepositories.of(AgeRiskCoefficientRepository.class, Map.of(
+                "findModifierForRiskAndAge", args -> AGE_RISK_COEFFICIENTS.stream()
+                        .filter(e -> e.getRiskTypeCode().equals(args[0]))
+                        .filter(e -> (int) args[1] >= e.getAgeFrom() && (int) args[1] <= e.getAgeTo())
+                        .findFirst(),
+                "findAllActiveForRisk", args -> AGE_RISK_COEFFICIENTS.stream()
+                        .filter(e -> e.getRiskTypeCode().equals(args[0]))
+                        .toList(),
+                "findAllActive", args -> AGE_RISK_COEFFICIENTS));
+    }
+
+    public static RiskBundleRepository riskBundleRepository() {
+        return FakeRepositories.of(RiskBundleRepository.class, Map.of(
+                "findAllActive", args -> BUNDLES,
+                "findActiveByCode", args -> BUNDLES.stream().filter(b -> b.getCode().equals(args[0])).findFirst()));
+    }
+
+    public static CountryDefaultDayPremiumRepository countryDefaultDayPremiumRepository() {
+        return FakeRepositories.of(CountryDefaultDayPremiumRepository.class, Map.of(
+                "findActiveByCountryAndDate", args -> Optional.ofNullable(DEFAULT_DAY_PREMIUMS.get(args[0]))));
+    }
+
+    public static CalculationConfigRepository calculationConfigRepository() {
+        return FakeRepositories.of(CalculationConfigRepository.class, Map.of(
+                "findActiveByKey", args -> AGE_COEFFICIENT_ENABLED.getConfigKey().equals(args[0])
+                        ? Optional.of(AGE_COEFFICIENT_ENABLED)
+                        : Optional.empty()));
+    }
+
+    /** Параметры правил не заданы — правила работают на значениях по умолчанию. */
+    public static UnderwritingRuleConfigRepository underwritingRuleConfigRepository() {
+        return FakeRepositories.of(UnderwritingRuleConfigRepository.class, Map.of(
+                "findActiveConfig", args -> Optional.empty()));
+    }
+
+    public static DiscountRepository discountRepository() {
+        return FakeRepositories.of(DiscountRepository.class, Map.of(
+                "findAllActiveOnDate", args -> DISCOUNTS,
+                "findByCode", args -> DISCOUNTS.stream().filter(d -> d.getCode().equals(args[0])).findFirst()));
+    }
+
+    /** Промо-кодов нет: запросы фикстуры их не передают. */
+    public static PromoCodeRepository promoCodeRepository() {
+        return FakeRepositories.of(PromoCodeRepository.class, Map.of(
+                "findActiveByCodeForUpdate", args -> Optional.empty()));
+    }
+
+    // ── Фабрики записей ───────────────────────────────────────────────────────
+
+    private static Country country(String code, Country.RiskGroup group, String coefficient) {
+        return new Country(new CountryCode(code), code, code, group,
+                new Coefficient(new BigDecimal(coefficient)), VALID_FROM, null);
+    }
+
+    private static MedicalRiskLimitLevel level(String code, String dailyRate) {
+        return new MedicalRiskLimitLevel(code, new BigDecimal(code), new BigDecimal(dailyRate),
+                Currency.EUR, VALID_FROM, null);
+    }
+
+    private static Risk risk(String code, String coefficient, boolean mandatory) {
+        return new Risk(new RiskCode(code), code, code,
+                new Coefficient(new BigDecimal(coefficient)), mandatory, null, VALID_FROM, null);
+    }
+
+    private static AgeCoefficientEntity age(int from, int to, String coefficient) {
+        AgeCoefficientEntity entity = new AgeCoefficientEntity();
+        entity.setAgeFrom(from);
+        entity.setAgeTo(to);
+        entity.setCoefficient(new BigDecimal(coefficient));
+        entity.setDescription("Age " + from + "-" + to);
+        entity.setValidFrom(VALID_FROM);
+        return entity;
+    }
+
+    private static TripDurationCoefficientEntity duration(int from, int to, String coefficient) {
+        TripDurationCoefficientEntity entity = new TripDurationCoefficientEntity();
+        entity.setDaysFrom(from);
+        entity.setDaysTo(to);
+        entity.setCoefficient(new BigDecimal(coefficient));
+        entity.setDescription("Days " + from + "-" + to);
+        entity.setValidFrom(VALID_FROM);
+        return entity;
+    }
+
+    private static AgeRiskCoefficientEntity ageRisk(String riskCode, int from, int to, String modifier) {
+        AgeRiskCoefficientEntity entity = new AgeRiskCoefficientEntity();
+        entity.setRiskTypeCode(riskCode);
+        entity.setAgeFrom(from);
+        entity.setAgeTo(to);
+        entity.setCoefficientModifier(new BigDecimal(modifier));
+        entity.setDescription(riskCode + " " + from + "-" + to);
+        entity.setValidFrom(VALID_FROM);
+        return entity;
+    }
+
+    private static RiskBundleEntity bundle(String code, String discount, String requiredRisks) {
+        RiskBundleEntity entity = new RiskBundleEntity();
+        entity.setCode(code);
+        entity.setNameEn(code);
+        entity.setNameRu(code);
+        entity.setDiscountPercentage(new BigDecimal(discount));
+        entity.setRequiredRisks(requiredRisks);
+        entity.setValidFrom(VALID_FROM);
+        entity.setIsActive(true);
+        return entity;
+    }
+
+    private static CountryDefaultDayPremiumEntity defaultPremium(String country, String premium) {
+        CountryDefaultDayPremiumEntity entity = new CountryDefaultDayPremiumEntity();
+        entity.setCountryIsoCode(country);
+        entity.setDefaultDayPremium(new BigDecimal(premium));
+        entity.setCurrency("EUR");
+        entity.setValidFrom(VALID_FROM);
+        return entity;
+    }
+
+    private static DiscountEntity discount(String code, String type, String percentage,
+                                           int minPersons, String minPremium) {
+        DiscountEntity entity = new DiscountEntity();
+        entity.setCode(code);
+        entity.setName(code);
+        entity.setDiscountType(type);
+        entity.setDiscountPercentage(new BigDecimal(percentage));
+        entity.setMinPersonsCount(minPersons);
+        entity.setMinPremiumAmount(minPremium == null ? null : new BigDecimal(minPremium));
+        entity.setValidFrom(VALID_FROM);
+        entity.setIsActive(true);
+        return entity;
+    }
+
+    private static CalculationConfigEntity config(String key, String value) {
+        CalculationConfigEntity entity = new CalculationConfigEntity();
+        entity.setConfigKey(key);
+        entity.setConfigValue(value);
+        entity.setValidFrom(VALID_FROM);
+        entity.setIsActive(true);
+        return entity;
+    }
+}
@@ -0,0 +1,187 @@
+package org.javaguru.travel.insurance.fixture;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.javaguru.travel.insurance.application.dto.TravelCalculatePremiumRequest;
+import org.javaguru.travel.insurance.application.dto.v3.InsuredPerson;
+import org.javaguru.travel.insurance.application.dto.v3.TravelCalculatePremiumRequestV3;
+import org.javaguru.travel.insurance.application.service.DiscountApplicationService;
+import org.javaguru.travel.insurance.application.service.MultiPersonPremiumCalculationService;
+import org.javaguru.travel.insurance.application.service.PremiumCalculationService;
+import org.javaguru.travel.insurance.application.service.TravelCalculatePremiumServiceV3;
+import org.javaguru.travel.insurance.application.validation.TravelCalculatePremiumRequestValidator;
+import org.javaguru.travel.insurance.application.validation.TravelCalculatePremiumRequestValidatorV3;
+import org.javaguru.travel.insurance.application.validation.domain.commercial.CommercialValidator;
+import org.javaguru.travel.insurance.application.validation.domain.coverage.CoverageValidator;
+import org.javaguru.travel.insurance.application.validation.domain.person.PersonValidator;
+import org.javaguru.travel.insurance.application.validation.domain.risks.SelectedRisksValidator;
+import org.javaguru.travel.insurance.application.validation.domain.trip.TripValidator;
+import org.javaguru.travel.insurance.core.calculators.AgeCalculator;
+import org.javaguru.travel.insurance.core.calculators.MedicalRiskPremiumCalculator;
+import org.javaguru.travel.insurance.core.calculators.cache.QuoteResultCache;
+import org.javaguru.travel.insurance.core.calculators.strategy.AdditionalRisksCalculator;
+import org.javaguru.travel.insurance.core.calculators.strategy.BundleDiscountCalculator;
+import org.javaguru.travel.insurance.core.calculators.strategy.CalculationStepsBuilder;
+import org.javaguru.travel.insurance.core.calculators.strategy.CountryDefaultPremiumStrategy;
+import org.javaguru.travel.insurance.core.calculators.strategy.MedicalLevelPremiumStrategy;
+import org.javaguru.travel.insurance.core.calculators.strategy.PersonAgeCalculator;
+import org.javaguru.travel.insurance.core.calculators.strategy.RiskDetailsBuilder;
+import org.javaguru.travel.insurance.core.calculators.strategy.TripDurationCalculator;
+import org.javaguru.travel.insurance.core.reference.TariffConsistencyGuard;
+import org.javaguru.travel.insurance.core.services.AgeRiskPricingService;
+import org.javaguru.travel.insurance.core.services.CalculationConfigService;
+import org.javaguru.travel.insurance.core.services.CountryDefaultDayPremiumService;
+import org.javaguru.travel.insurance.core.services.DiscountService;
+import org.javaguru.travel.insurance.core.services.PayoutLimitService;
+import org.javaguru.travel.insurance.core.services.PromoCodeService;
+import org.javaguru.travel.insurance.core.services.RiskBundleService;
+import org.javaguru.travel.insurance.core.services.TripDurationPricingService;
+import org.javaguru.travel.insurance.core.underwriting.UnderwritingEngine;
+import org.javaguru.travel.insurance.core.underwriting.UnderwritingService;
+import org.javaguru.travel.insurance.core.underwriting.config.UnderwritingConfigService;
+import org.javaguru.travel.insurance.core.underwriting.persistence.UnderwritingPersistenceService;
+import org.javaguru.travel.insurance.core.underwriting.rule.AgeRule;
+import org.javaguru.travel.insurance.core.underwriting.rule.TripDurationRule;
+import org.javaguru.travel.insurance.domain.port.ReferenceDataPort;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.UnderwritingAuditLogRepository;
+import org.javaguru.travel.insurance.infrastructure.persistence.repositories.UnderwritingDecisionRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Граф компонентов расчёта, собранный вручную — так же, как его собирает Spring,
+ * но поверх InMemoryReferenceData.
+ *
+ * Андеррайтинг группы — AgeRule и TripDurationRule (правила без собственных
+ * справочников); аудит решений пишется в фейковые репозитории, включая
+ * сериализацию правил в JSON, как в приложении. Сервис V3 применяет скидки
+ * из справочника (без промо-кодов) и без кеша скидок Spring.
+ */
+public final class PricingFixture {
+
+    /** Начало поездки — всегда в будущем, иначе валидаторы вернут ошибку даты. */
+    public static final LocalDate DATE_FROM = LocalDate.now().plusDays(30);
+
+    public final ReferenceDataPort referenceDataPort;
+    public final AgeCalculator ageCalculator;
+    public final MedicalRiskPremiumCalculator calculator;
+    public final MultiPersonPremiumCalculationService groupService;
+    public final TravelCalculatePremiumRequestValidator validator;
+    public final TravelCalculatePremiumRequestValidatorV3 validatorV3;
+    public final TravelCalculatePremiumServiceV3 serviceV3;
+
+    public PricingFixture() {
+        referenceDataPort = InMemoryReferenceData.referenceDataPort();
+        ageCalculator = new AgeCalculator(InMemoryReferenceData.ageCoefficientRepository());
+
+        var personAgeCalculator = new PersonAgeCalculator(ageCalculator);
+        var tripDurationCalculator = new TripDurationCalculator(
+                new TripDurationPricingService(InMemoryReferenceData.durationRepository()));
+        var ageRiskPricingService = new AgeRiskPricingService(InMemoryReferenceData.ageRiskRepository());
+        var additionalRisksCalculator = new AdditionalRisksCalculator(referenceDataPort, ageRiskPricingService);
+        var bundleDiscountCalculator = new BundleDiscountCalculator(
+                new RiskBundleService(InMemoryReferenceData.riskBundleRepository(), new ObjectMapper()));
+        var riskDetailsBuilder = new RiskDetailsBuilder(referenceDataPort, ageRiskPricingService);
+        var stepsBuilder = new CalculationStepsBuilder();
+        var calculationConfigService = new CalculationConfigService(
+                InMemoryReferenceData.calculationConfigRepository());
+        var countryDefaultDayPremiumService = new CountryDefaultDayPremiumService(
+                InMemoryReferenceData.countryDefaultDayPremiumRepository());
+
+        var medicalLevelStrategy = new MedicalLevelPremiumStrategy(
+                referenceDataPort, countryDefaultDayPremiumService, personAgeCalculator,
+                tripDurationCalculator, additionalRisksCalculator, bundleDiscountCalculator,
+                riskDetailsBuilder, stepsBuilder, calculationConfigService, new PayoutLimitService());
+        var countryDefaultStrategy = new CountryDefaultPremiumStrategy(
+                countryDefaultDayPremiumService, referenceDataPort, personAgeCalculator,
+                tripDurationCalculator, additionalRisksCalculator, bundleDiscountCalculator,
+                riskDetailsBuilder, stepsBuilder, calculationConfigService);
+        calculator = new MedicalRiskPremiumCalculator(
+                medicalLevelStrategy, countryDefaultStrategy, countryDefaultDayPremiumService,
+                QuoteResultCache.disabled());
+
+        var configService = new UnderwritingConfigService(InMemoryReferenceData.underwritingRuleConfigRepository());
+        var underwritingService = new UnderwritingService(
+                new UnderwritingEngine(List.of(new AgeRule(ageCalculator, configService),
+                        new TripDurationRule(configService))),
+                new UnderwritingPersistenceService(
+                        FakeRepositories.of(UnderwritingDecisionRepository.class, Map.of()),
+                        FakeRepositories.of(UnderwritingAuditLogRepository.class, Map.of()),
+                        new ObjectMapper().findAndRegisterModules(),
+                        event -> { }),
+                new SimpleMeterRegistry());
+        groupService = new MultiPersonPremiumCalculationService(calculator, underwritingService);
+
+        validator = new TravelCalculatePremiumRequestValidator(
+                new PersonValidator(), new TripValidator(referenceDataPort), new CoverageValidator(referenceDataPort),
+                new SelectedRisksValidator(referenceDataPort), new CommercialValidator());
+        validatorV3 = new TravelCalculatePremiumRequestValidatorV3(
+                new PersonValidator(), new TripValidator(referenceDataPort), new CoverageValidator(referenceDataPort),
+                new SelectedRisksValidator(referenceDataPort), new CommercialValidator());
+        serviceV3 = new TravelCalculatePremiumServiceV3(
+                validatorV3,
+                new PremiumCalculationService(calculator, groupService),
+                new DiscountApplicationService(
+                        new PromoCodeService(InMemoryReferenceData.promoCodeRepository()),
+                        new DiscountService(InMemoryReferenceData.discountRepository())),
+                TariffConsistencyGuard.disabled());
+    }
+
+    // ── Запросы ───────────────────────────────────────────────────────────────
+
+    public static TravelCalculatePremiumRequest request(boolean countryDefault, List<String> risks) {
+        return TravelCalculatePremiumRequest.builder()
+                .personFirstName("Bench")
+                .personLastName("Mark")
+                .personBirthDate(DATE_FROM.minusYears(35))
+                .agreementDateFrom(DATE_FROM)
+                .agreementDateTo(DATE_FROM.plusDays(14))
+                .countryIsoCode("ES")
+                .medicalRiskLimitLevel("50000")
+                .useCountryDefaultPremium(countryDefault)
+                .selectedRisks(risks)
+                .currency("EUR")
+                .build();
+    }
+
+    public static TravelCalculatePremiumRequestV3 groupRequest(int persons, boolean countryDefault, List<String> risks) {
+        return TravelCalculatePremiumRequestV3.builder()
+                .persons(IntStream.range(0, persons)
+                        .mapToObj(i -> InsuredPerson.builder()
+                                .personFirstName("Bench")
+                                .personLastName("Person" + i)
+                                .personBirthDate(DATE_FROM.minusYears(18 + i % 50))
+                                .build())
+                        .toList())
+                .agreementDateFrom(DATE_FROM)
+                .agreementDateTo(DATE_FROM.plusDays(14))
+                .countryIsoCode("ES")
+                .medicalRiskLimitLevel("50000")
+                .useCountryDefaultPremium(countryDefault)
+                .selectedRisks(risks)
+                .currency("EUR")
+                .build();
+    }
+
+    /**
+     * Все подмножества необязательных рисков (2^8 = 256 комбинаций).
+     */
+    public static List<List<String>> allRiskCombinations() {
+        List<String> risks = InMemoryReferenceData.OPTIONAL_RISKS;
+        List<List<String>> combinations = new ArrayList<>(1 << risks.size());
+        for (int mask = 0; mask < 1 << risks.size(); mask++) {
+            List<String> combination = new ArrayList<>();
+            for (int i = 0; i < risks.size(); i++) {
+                if ((mask & 1 << i) != 0) {
+                    combination.add(risks.get(i));
+                }
+            }
+            combinations.add(List.copyOf(combination));
+        }
+        return combinations;
+    }
+}
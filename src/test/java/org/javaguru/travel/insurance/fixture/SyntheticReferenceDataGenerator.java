@@ -0,0 +1,477 @@
+package org.javaguru.travel.insurance.fixture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Генератор больших объёмов синтетических данных для тестов масштабирования
+ * (H2 профиля test или PostgreSQL со схемой Liquibase).
+ *
+ * ЗАЧЕМ:
+ *   В seed-данных десятки строк на таблицу, и проблемы роста (полные сканы,
+ *   O(n) по пакетам на каждый запрос, размер снимка справочников) локально
+ *   не воспроизводятся. Генератор дописывает к seed-данным объёмы из DataScale.
+ *
+ * ЧТО ГЕНЕРИРУЕТСЯ:
+ *   - countries: свободные двухбуквенные коды (не занятые seed-данными),
+ *     по versionsPerCountry версий тарифа на код;
+ *   - risk_bundles: пакеты SYN_BUNDLE_nnnn, по versionsPerBundle версий;
+ *   - age_risk_coefficients: годовая матрица возраст 0..99 × каждый риск
+ *     справочника, ageRiskVersions исторических версий;
+ *   - promo_codes: SYN_PROMO_nnnnnnn с пересекающимися окнами действия;
+ *   - underwriting_decisions: решения за последние два года
+ *     (85% APPROVED, 10% REQUIRES_MANUAL_REVIEW, 5% DECLINED).
+ *
+ * ВРЕМЕННАЯ ВАЛИДНОСТЬ:
+ *   Версии одного ключа идут встык (valid_to = следующий valid_from - 1 день),
+ *   как их ведёт приложение: запросы вида findActiveBy...(code, date) ждут
+ *   не больше одной версии на дату. Окна разных ключей пересекаются произвольно;
+ *   у доли futureVersionRatio ключей последняя версия вступает в силу в будущем.
+ *
+ * РЕЗУЛЬТАТЫ РАСЧЁТА НЕ МЕНЯЮТСЯ:
+ *   Синтетические страны и промо-коды не совпадают с seed-кодами, пакеты
+ *   требуют несуществующий риск SYN_MARKER (проверяются на каждом запросе,
+ *   но никогда не применяются), матрица возраст × риск — только история
+ *   до самой ранней seed-версии. Поэтому интеграционные сценарии и
+ *   нагрузочный тест дают те же премии, что и на seed-данных.
+ *
+ * ОГРАНИЧЕНИЕ PostgreSQL:
+ *   Миграция 017 добавляет UNIQUE (iso_code) на countries. Если такой индекс
+ *   есть, генерируется одна версия на код страны.
+ */
+public final class SyntheticReferenceDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticReferenceDataGenerator.class);
+
+    /** Риск, которого нет в справочнике: синтетические пакеты никогда не применяются. */
+    static final String BUNDLE_MARKER_RISK = "SYN_MARKER";
+
+    private static final String[] RISK_GROUPS = {"LOW", "MEDIUM", "HIGH", "VERY_HIGH"};
+    private static final String[] RISK_GROUP_COEFFICIENTS = {"1.00", "1.30", "1.80", "3.00"};
+    private static final String[] FIRST_NAMES = {
+            "Anna", "Janis", "Olga", "Peteris", "Maria", "Ivan", "Laura", "Martins", "Elena", "Karlis"};
+    private static final String[] LAST_NAMES = {
+            "Berzina", "Ozols", "Petrova", "Kalnins", "Ivanova", "Liepa", "Smirnova", "Krumins"};
+
+    private final DataSource dataSource;
+
+    public SyntheticReferenceDataGenerator(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Сколько строк записано в каждую таблицу.
+     */
+    public record Summary(DataScale scale, Map<String, Integer> rowsByTable, long elapsedMillis) {
+    }
+
+    public Summary generate(DataScale scale) {
+        long start = System.currentTimeMillis();
+        Random random = new Random(scale.seed());
+        LocalDate today = LocalDate.now();
+        Map<String, Integer> rows = new LinkedHashMap<>();
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                rows.put("countries", generateCountries(connection, scale, random, today));
+                rows.put("risk_bundles", generateBundles(connection, scale, random, today));
+                rows.put("age_risk_coefficients", generateAgeRiskMatrix(connection, scale, random));
+                rows.put("promo_codes", generatePromoCodes(connection, scale, random, today));
+                rows.put("underwriting_decisions", generateDecisions(connection, scale, random, today));
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Synthetic data generation failed", e);
+        }
+
+        Summary summary = new Summary(scale, rows, System.currentTimeMillis() - start);
+        log.info("Generated synthetic data '{}': {} in {} ms", scale.name(), rows, summary.elapsedMillis());
+        return summary;
+    }
+
+    // ── countries ─────────────────────────────────────────────────────────────
+
+    private int generateCountries(Connection connection, DataScale scale, Random random, LocalDate today)
+            throws SQLException {
+        Set<String> taken = new HashSet<>(queryStrings(connection, "SELECT DISTINCT iso_code FROM countries"));
+        int versions = hasSingleColumnUniqueIndex(connection, "countries", "iso_code")
+                ? 1
+                : scale.versionsPerCountry();
+        if (versions < scale.versionsPerCountry()) {
+            log.warn("countries has UNIQUE (iso_code): generating 1 version per code instead of {}",
+                    scale.versionsPerCountry());
+        }
+
+        List<String> codes = new ArrayList<>();
+        for (char first = 'A'; first <= 'Z' && codes.size() < scale.countryCodes(); first++) {
+            for (char second = 'A'; second <= 'Z' && codes.size() < scale.countryCodes(); second++) {
+                String code = "" + first + second;
+                if (!taken.contains(code)) {
+                    codes.add(code);
+                }
+            }
+        }
+        if (codes.size() < scale.countryCodes()) {
+            log.warn("Only {} free two-letter country codes, requested {}", codes.size(), scale.countryCodes());
+        }
+
+        String sql = "INSERT INTO countries (iso_code, name_en, name_ru, risk_group, risk_coefficient, "
+                + "valid_from, valid_to, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        try (BatchInsert insert = new BatchInsert(connection, sql, scale.batchSize())) {
+            for (String code : codes) {
+                int group = random.nextInt(RISK_GROUPS.length);
+                for (ValidityWindow window : ValidityWindow.openChain(random, versions, today, scale.futureVersionRatio())) {
+                    PreparedStatement statement = insert.statement();
+                    statement.setString(1, code);
+                    statement.setString(2, "Synthetic " + code);
+                    statement.setString(3, "Синтетическая " + code);
+                    statement.setString(4, RISK_GROUPS[group]);
+                    statement.setBigDecimal(5, jitter(random, RISK_GROUP_COEFFICIENTS[group]));
+                    window.bind(statement, 6);
+                    statement.setTimestamp(8, Timestamp.valueOf(LocalDateTime.now()));
+                    insert.add();
+                }
+            }
+            return insert.finish();
+        }
+    }
+
+    // ── risk_bundles ──────────────────────────────────────────────────────────
+
+    private int generateBundles(Connection connection, DataScale scale, Random random, LocalDate today)
+            throws SQLException {
+        List<String> optionalRisks = queryStrings(connection,
+                "SELECT DISTINCT code FROM risk_types WHERE is_mandatory = false ORDER BY code");
+
+        String sql = "INSERT INTO risk_bundles (code, name_en, name_ru, description, discount_percentage, "
+                + "required_risks, valid_from, valid_to, is_active, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (BatchInsert insert = new BatchInsert(connection, sql, scale.batchSize())) {
+            for (int i = 1; i <= scale.bundles(); i++) {
+                String code = String.format("SYN_BUNDLE_%04d", i);
+                String requiredRisks = requiredRisksJson(random, optionalRisks);
+                for (ValidityWindow window : ValidityWindow.openChain(
+                        random, scale.versionsPerBundle(), today, scale.futureVersionRatio())) {
+                    PreparedStatement statement = insert.statement();
+                    statement.setString(1, code);
+                    statement.setString(2, "Synthetic bundle " + i);
+                    statement.setString(3, "Синтетический пакет " + i);
+                    statement.setString(4, "Never matches: requires " + BUNDLE_MARKER_RISK);
+                    statement.setBigDecimal(5, BigDecimal.valueOf(5 + random.nextInt(21)).setScale(2));
+                    statement.setString(6, requiredRisks);
+                    window.bind(statement, 7);
+                    statement.setBoolean(9, random.nextInt(20) != 0);
+                    statement.setTimestamp(10, Timestamp.valueOf(LocalDateTime.now()));
+                    insert.add();
+                }
+            }
+            return insert.finish();
+        }
+    }
+
+    private static String requiredRisksJson(Random random, List<String> optionalRisks) {
+        List<String> required = new ArrayList<>();
+        int count = optionalRisks.isEmpty() ? 0 : 1 + random.nextInt(Math.min(3, optionalRisks.size()));
+        while (required.size() < count) {
+            String risk = optionalRisks.get(random.nextInt(optionalRisks.size()));
+            if (!required.contains(risk)) {
+                required.add(risk);
+            }
+        }
+        required.add(BUNDLE_MARKER_RISK);
+        return required.stream()
+                .map(risk -> "\"" + risk + "\"")
+                .reduce((left, right) -> left + ", " + right)
+                .map(list -> "[" + list + "]")
+                .orElseThrow();
+    }
+
+    // ── age_risk_coefficients ─────────────────────────────────────────────────
+
+    private int generateAgeRiskMatrix(Connection connection, DataScale scale, Random random) throws SQLException {
+        List<String> risks = queryStrings(connection, "SELECT DISTINCT code FROM risk_types ORDER BY code");
+        LocalDate earliest = queryDate(connection, "SELECT MIN(valid_from) FROM age_risk_coefficients");
+        if (earliest == null) {
+            earliest = queryDate(connection, "SELECT MIN(valid_from) FROM risk_types");
+        }
+        if (earliest == null || risks.isEmpty()) {
+            log.warn("No seed risk types: age-risk matrix is not generated");
+            return 0;
+        }
+
+        String sql = "INSERT INTO age_risk_coefficients (risk_type_code, age_from, age_to, coefficient_modifier, "
+                + "description, valid_from, valid_to, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        try (BatchInsert insert = new BatchInsert(connection, sql, scale.batchSize())) {
+            for (ValidityWindow window : ValidityWindow.history(random, scale.ageRiskVersions(), earliest.minusDays(1))) {
+                for (String risk : risks) {
+                    for (int age = 0; age < 100; age++) {
+                        PreparedStatement statement = insert.statement();
+                        statement.setString(1, risk);
+                        statement.setInt(2, age);
+                        statement.setInt(3, age);
+                        statement.setBigDecimal(4, ageModifier(random, age));
+                        statement.setString(5, "Synthetic history " + risk + " age " + age);
+                        window.bind(statement, 6);
+                        statement.setTimestamp(8, Timestamp.valueOf(LocalDateTime.now()));
+                        insert.add();
+                    }
+                }
+            }
+            return insert.finish();
+        }
+    }
+
+    /** Гладкая кривая: 1.00 до 40 лет, затем рост до ~2.5 к 100 годам, с шумом ±5%. */
+    private static BigDecimal ageModifier(Random random, int age) {
+        double base = age <= 40 ? 1.0 : 1.0 + Math.pow((age - 40) / 60.0, 2) * 1.5;
+        return BigDecimal.valueOf(base * (0.95 + random.nextDouble() * 0.1)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // ── promo_codes ───────────────────────────────────────────────────────────
+
+    private int generatePromoCodes(Connection connection, DataScale scale, Random random, LocalDate today)
+            throws SQLException {
+        String sql = "INSERT INTO promo_codes (code, description, discount_type, discount_value, min_premium_amount, "
+                + "max_discount_amount, valid_from, valid_to, max_usage_count, current_usage_count, is_active, "
+                + "created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (BatchInsert insert = new BatchInsert(connection, sql, scale.batchSize())) {
+            for (int i = 1; i <= scale.promoCodes(); i++) {
+                boolean percentage = random.nextInt(4) != 0;
+                LocalDate validFrom = today.minusDays(random.nextInt(730)).plusDays(random.nextInt(180));
+                Integer maxUsage = random.nextInt(5) == 0 ? null : 10 + random.nextInt(1000);
+
+                PreparedStatement statement = insert.statement();
+                statement.setString(1, String.format("SYN_PROMO_%07d", i));
+                statement.setString(2, "Synthetic promo " + i);
+                statement.setString(3, percentage ? "PERCENTAGE" : "FIXED_AMOUNT");
+                statement.setBigDecimal(4, BigDecimal.valueOf(percentage ? 5 + random.nextInt(26) : 10 + random.nextInt(91)));
+                statement.setBigDecimal(5, BigDecimal.valueOf(random.nextInt(4) * 50L));
+                statement.setBigDecimal(6, percentage ? BigDecimal.valueOf(50 + random.nextInt(251)) : null);
+                statement.setDate(7, Date.valueOf(validFrom));
+                statement.setDate(8, Date.valueOf(validFrom.plusDays(30 + random.nextInt(365))));
+                if (maxUsage == null) {
+                    statement.setNull(9, Types.INTEGER);
+                    statement.setInt(10, random.nextInt(50));
+                } else {
+                    statement.setInt(9, maxUsage);
+                    statement.setInt(10, random.nextInt(maxUsage + 1));
+                }
+                statement.setBoolean(11, random.nextInt(10) != 0);
+                statement.setTimestamp(12, Timestamp.valueOf(validFrom.atStartOfDay()));
+                insert.add();
+            }
+            return insert.finish();
+        }
+    }
+
+    // ── underwriting_decisions ────────────────────────────────────────────────
+
+    private int generateDecisions(Connection connection, DataScale scale, Random random, LocalDate today)
+            throws SQLException {
+        List<String> countries = queryStrings(connection, "SELECT DISTINCT iso_code FROM countries ORDER BY iso_code");
+
+        String sql = "INSERT INTO underwriting_decisions (request_id, person_first_name, person_last_name, "
+                + "person_birth_date, country_iso_code, agreement_date_from, agreement_date_to, decision, "
+                + "decline_reason, review_reason, rule_results, evaluation_duration_ms, created_at, created_by) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (BatchInsert insert = new BatchInsert(connection, sql, scale.batchSize())) {
+            for (int i = 0; i < scale.underwritingDecisions(); i++) {
+                LocalDateTime createdAt = today.minusDays(random.nextInt(730)).atStartOfDay()
+                        .plusSeconds(random.nextInt(86_400));
+                LocalDate tripFrom = createdAt.toLocalDate().plusDays(1 + random.nextInt(90));
+                int roll = random.nextInt(100);
+                String decision = roll < 85 ? "APPROVED" : roll < 95 ? "REQUIRES_MANUAL_REVIEW" : "DECLINED";
+
+                PreparedStatement statement = insert.statement();
+                statement.setObject(1, new UUID(random.nextLong(), random.nextLong()));
+                statement.setString(2, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+                statement.setString(3, LAST_NAMES[random.nextInt(LAST_NAMES.length)] + (i % 10_000));
+                statement.setDate(4, Date.valueOf(tripFrom.minusYears(1 + random.nextInt(85))
+                        .minusDays(random.nextInt(365))));
+                statement.setString(5, countries.get(random.nextInt(countries.size())));
+                statement.setDate(6, Date.valueOf(tripFrom));
+                statement.setDate(7, Date.valueOf(tripFrom.plusDays(1 + random.nextInt(60))));
+                statement.setString(8, decision);
+                statement.setString(9, "DECLINED".equals(decision) ? "Age exceeds maximum allowed" : null);
+                statement.setString(10, "REQUIRES_MANUAL_REVIEW".equals(decision)
+                        ? "Trip duration requires review" : null);
+                statement.setString(11, ruleResultsJson(decision));
+                statement.setInt(12, 1 + random.nextInt(40));
+                statement.setTimestamp(13, Timestamp.valueOf(createdAt));
+                statement.setString(14, "SYNTHETIC");
+                insert.add();
+            }
+            return insert.finish();
+        }
+    }
+
+    private static String ruleResultsJson(String decision) {
+        String ageSeverity = "DECLINED".equals(decision) ? "BLOCKING" : "PASS";
+        String durationSeverity = "REQUIRES_MANUAL_REVIEW".equals(decision) ? "REVIEW_REQUIRED" : "PASS";
+        return "[{\"ruleName\":\"AgeRule\",\"severity\":\"" + ageSeverity + "\",\"message\":null},"
+                + "{\"ruleName\":\"TripDurationRule\",\"severity\":\"" + durationSeverity + "\",\"message\":null}]";
+    }
+
+    // ── JDBC ──────────────────────────────────────────────────────────────────
+
+    private static List<String> queryStrings(Connection connection, String sql) throws SQLException {
+        List<String> values = new ArrayList<>();
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            while (rs.next()) {
+                values.add(rs.getString(1));
+            }
+        }
+        return values;
+    }
+
+    private static LocalDate queryDate(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            Date date = rs.next() ? rs.getDate(1) : null;
+            return date == null ? null : date.toLocalDate();
+        }
+    }
+
+    private static boolean hasSingleColumnUniqueIndex(Connection connection, String table, String column)
+            throws SQLException {
+        Map<String, List<String>> uniqueIndexes = new LinkedHashMap<>();
+        try (ResultSet rs = connection.getMetaData().getIndexInfo(null, null, table, true, false)) {
+            while (rs.next()) {
+                String index = rs.getString("INDEX_NAME");
+                String indexColumn = rs.getString("COLUMN_NAME");
+                if (index != null && indexColumn != null) {
+                    uniqueIndexes.computeIfAbsent(index, name -> new ArrayList<>()).add(indexColumn);
+                }
+            }
+        }
+        return uniqueIndexes.values().stream()
+                .anyMatch(columns -> columns.size() == 1 && columns.get(0).equalsIgnoreCase(column));
+    }
+
+    private static BigDecimal jitter(Random random, String value) {
+        return new BigDecimal(value)
+                .multiply(BigDecimal.valueOf(0.9 + random.nextDouble() * 0.2))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Батч-вставка: executeBatch и commit каждые batchSize строк,
+     * чтобы 10M строк не копились в одной транзакции.
+     */
+    private static final class BatchInsert implements AutoCloseable {
+
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private final int batchSize;
+        private int pending;
+        private int total;
+
+        BatchInsert(Connection connection, String sql, int batchSize) throws SQLException {
+            this.connection = connection;
+            this.statement = connection.prepareStatement(sql);
+            this.batchSize = batchSize;
+        }
+
+        PreparedStatement statement() {
+            return statement;
+        }
+
+        void add() throws SQLException {
+            statement.addBatch();
+            total++;
+            if (++pending == batchSize) {
+                flush();
+            }
+        }
+
+        int finish() throws SQLException {
+            flush();
+            return total;
+        }
+
+        private void flush() throws SQLException {
+            if (pending > 0) {
+                statement.executeBatch();
+                connection.commit();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            statement.close();
+        }
+    }
+
+    /**
+     * Окно действия версии [validFrom, validTo]; validTo = null — бессрочно.
+     */
+    record ValidityWindow(LocalDate validFrom, LocalDate validTo) {
+
+        /**
+         * Закрытая история: versions окон встык, последнее заканчивается lastValidTo.
+         * Длина окна — от месяца до двух лет.
+         */
+        static List<ValidityWindow> history(Random random, int versions, LocalDate lastValidTo) {
+            List<ValidityWindow> windows = new ArrayList<>(versions);
+            LocalDate validTo = lastValidTo;
+            for (int i = 0; i < versions; i++) {
+                LocalDate validFrom = validTo.minusDays(30 + random.nextInt(700));
+                windows.add(0, new ValidityWindow(validFrom, validTo));
+                validTo = validFrom.minusDays(1);
+            }
+            return windows;
+        }
+
+        /**
+         * История плюс бессрочная последняя версия. С вероятностью futureRatio
+         * последняя версия начинается в будущем — тогда на сегодня действует
+         * предпоследняя.
+         */
+        static List<ValidityWindow> openChain(Random random, int versions, LocalDate today, double futureRatio) {
+            LocalDate lastFrom = random.nextDouble() < futureRatio
+                    ? today.plusDays(1 + random.nextInt(180))
+                    : today.minusDays(1 + random.nextInt(365));
+            List<ValidityWindow> windows = history(random, versions - 1, lastFrom.minusDays(1));
+            windows.add(new ValidityWindow(lastFrom, null));
+            return windows;
+        }
+
+        void bind(PreparedStatement statement, int firstIndex) throws SQLException {
+            statement.setDate(firstIndex, Date.valueOf(validFrom));
+            if (validTo == null) {
+                statement.setNull(firstIndex + 1, Types.DATE);
+            } else {
+                statement.setDate(firstIndex + 1, Date.valueOf(validTo));
+            }
+        }
+    }
+}
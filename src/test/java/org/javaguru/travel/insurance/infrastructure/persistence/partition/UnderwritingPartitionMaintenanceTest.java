@@ -0,0 +1,106 @@
+package org.javaguru.travel.insurance.infrastructure.persistence.partition;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.javaguru.travel.insurance.fixture.H2Schema;
+import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.UnderwritingAuditLogEntity;
+import org.javaguru.travel.insurance.infrastructure.persistence.domain.entities.UnderwritingDecisionEntity;
+import org.javaguru.travel.insurance.infrastructure.persistence.partition.UnderwritingPartitionMaintenance.Plan;
+import org.javaguru.travel.insurance.infrastructure.persistence.partition.UnderwritingPartitionMaintenance.RetentionAction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("UnderwritingPartitionMaintenance — план секций и срок хранения")
+class UnderwritingPartitionMaintenanceTest {
+
+    private static final String TABLE = "underwriting_decisions";
+    private static final YearMonth CURRENT = YearMonth.of(2026, 10);
+
+    @Nested
+    @DisplayName("Создание секций")
+    class Creation {
+
+        @Test
+        @DisplayName("должен создать текущий и premake следующих месяцев, которых нет")
+        void shouldCreateMissingFutureMonths() {
+            Plan plan = UnderwritingPartitionMaintenance.plan(TABLE,
+                    List.of("underwriting_decisions_p2026_10", "underwriting_decisions_default"), CURRENT, 3, 24);
+
+            assertThat(plan.toCreate()).containsExactly(
+                    YearMonth.of(2026, 11), YearMonth.of(2026, 12), YearMonth.of(2027, 1));
+            assertThat(plan.expired()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("имя секции — таблица, _p и год_месяц")
+        void shouldNamePartitionByMonth() {
+            assertThat(UnderwritingPartitionMaintenance.partitionName(TABLE, YearMonth.of(2027, 1)))
+                    .isEqualTo("underwriting_decisions_p2027_01");
+        }
+    }
+
+    @Nested
+    @DisplayName("Срок хранения")
+    class Retention {
+
+        @Test
+        @DisplayName("должен снять только месяцы старше retention-months")
+        void shouldExpireMonthsOlderThanRetention() {
+            Plan plan = UnderwritingPartitionMaintenance.plan(TABLE, List.of(
+                    "underwriting_decisions_p2024_08",
+                    "underwriting_decisions_p2024_09",
+                    "underwriting_decisions_p2024_10",
+                    "underwriting_decisions_p2026_10"), CURRENT, 1, 24);
+
+            assertThat(plan.expired()).containsExactly(
+                    "underwriting_decisions_p2024_08", "underwriting_decisions_p2024_09");
+        }
+
+        @Test
+        @DisplayName("DEFAULT, секции другой таблицы и посторонние имена не трогаются")
+        void shouldIgnoreDefaultAndForeignPartitions() {
+            Plan plan = UnderwritingPartitionMaintenance.plan(TABLE, List.of(
+                    "underwriting_decisions_default",
+                    "underwriting_decisions_p2020_13",
+                    "underwriting_audit_log_p2020_01"), CURRENT, 1, 24);
+
+            assertThat(plan.expired()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Запуск")
+    class Run {
+
+        @Test
+        @DisplayName("не PostgreSQL — проход пропускается без изменений")
+        void shouldSkipOnNonPostgresDatabase() {
+            var maintenance = new UnderwritingPartitionMaintenance(h2(), new SimpleMeterRegistry(),
+                    3, 24, RetentionAction.DETACH, "underwriting_archive");
+
+            var result = maintenance.maintain(CURRENT);
+
+            assertThat(result.created()).isEmpty();
+            assertThat(result.expired()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("недопустимое имя архивной схемы должно отклоняться")
+        void shouldRejectInvalidArchiveSchema() {
+            assertThatThrownBy(() -> new UnderwritingPartitionMaintenance(h2(), new SimpleMeterRegistry(),
+                    3, 24, RetentionAction.ARCHIVE, "archive; DROP TABLE x"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private static DriverManagerDataSource h2() {
+        return H2Schema.database("partitions", UnderwritingDecisionEntity.class, UnderwritingAuditLogEntity.class);
+    }
+}
@@ -0,0 +1,113 @@
+package org.javaguru.travel.insurance.infrastructure.persistence.query;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("QueryCountingDataSource — учёт JDBC-запросов")
+class QueryCountingDataSourceTest {
+
+    private static final String SELECT_COUNTRY = "select * from countries where iso_code = ?";
+
+    @Mock
+    private DataSource target;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement preparedStatement;
+    @Mock
+    private Statement statement;
+
+    private QueryCountingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        lenient().when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        lenient().when(connection.createStatement()).thenReturn(statement);
+        dataSource = new QueryCountingDataSource(target);
+    }
+
+    @Nested
+    @DisplayName("Подсчёт")
+    class Counting {
+
+        @Test
+        @DisplayName("должен учитывать execute* подготовленных и обычных statements")
+        void shouldCountExecutions() throws SQLException {
+            try (var scope = QueryStatistics.open()) {
+                Connection conn = dataSource.getConnection();
+                PreparedStatement ps = conn.prepareStatement(SELECT_COUNTRY);
+                ps.setString(1, "ES");
+                ps.executeQuery();
+                ps.executeQuery();
+                conn.createStatement().execute("select 1");
+
+                assertThat(scope.getStatementCount()).isEqualTo(3);
+                assertThat(scope.getRepeatedStatements(2)).containsEntry(SELECT_COUNTRY, 2).hasSize(1);
+            }
+        }
+
+        @Test
+        @DisplayName("должен учитывать statement, завершившийся ошибкой, и пробрасывать исходное исключение")
+        void shouldCountFailedStatement() throws SQLException {
+            when(preparedStatement.executeUpdate()).thenThrow(new SQLException("constraint violated"));
+
+            try (var scope = QueryStatistics.open()) {
+                PreparedStatement ps = dataSource.getConnection().prepareStatement(SELECT_COUNTRY);
+
+                assertThatThrownBy(ps::executeUpdate)
+                        .isInstanceOf(SQLException.class)
+                        .hasMessage("constraint violated");
+                assertThat(scope.getStatementCount()).isEqualTo(1);
+            }
+        }
+
+        @Test
+        @DisplayName("не должен учитывать запросы вне области учёта")
+        void shouldIgnoreOutsideScope() throws SQLException {
+            dataSource.getConnection().prepareStatement(SELECT_COUNTRY).executeQuery();
+
+            assertThat(QueryStatistics.current()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Вложенные области")
+    class NestedScopes {
+
+        @Test
+        @DisplayName("итоги вложенной области добавляются во внешнюю")
+        void shouldPropagateToParent() throws SQLException {
+            try (var outer = QueryStatistics.open()) {
+                dataSource.getConnection().prepareStatement(SELECT_COUNTRY).executeQuery();
+
+                try (var inner = QueryStatistics.open()) {
+                    dataSource.getConnection().prepareStatement(SELECT_COUNTRY).executeQuery();
+                    assertThat(inner.getStatementCount()).isEqualTo(1);
+                }
+
+                assertThat(outer.getStatementCount()).isEqualTo(2);
+                assertThat(QueryStatistics.current()).contains(outer);
+            }
+            assertThat(QueryStatistics.current()).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package org.javaguru.travel.insurance.infrastructure.persistence.routing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.javaguru.travel.insurance.fixture.H2Schema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Маршрутизация на двух H2-базах в памяти: по имени базы текущего
+ * соединения видно, куда ушёл запрос.
+ */
+@DisplayName("ReadWriteRoutingDataSource — чтение на реплику, запись на основную БД")
+class ReadWriteRoutingDataSourceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DataSource primary;
+    private DataSource replica;
+    private ReadWriteRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        primary = H2Schema.database("primary");
+        replica = H2Schema.database("replica");
+        use(new ReadWriteRoutingDataSource(primary, replica, meterRegistry));
+    }
+
+    @Nested
+    @DisplayName("Выбор базы")
+    class Routing {
+
+        @Test
+        @DisplayName("readOnly-транзакция должна читать с реплики")
+        void shouldRouteReadOnlyTransactionToReplica() {
+            assertThat(readOnly.<String>execute(status -> node())).isEqualTo("replica");
+            assertThat(meterRegistry.counter(ReadWriteRoutingDataSource.ROUTING_METRIC, "target", "replica").count())
+                    .isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("пишущая транзакция должна идти на основную БД")
+        void shouldRouteReadWriteTransactionToPrimary() {
+            assertThat(readWrite.<String>execute(status -> node())).isEqualTo("primary");
+        }
+
+        @Test
+        @DisplayName("без транзакции — основная БД")
+        void shouldRouteNonTransactionalToPrimary() {
+            assertThat(node()).isEqualTo("primary");
+        }
+
+        @Test
+        @DisplayName("ReplicaReads вне транзакции должен читать с реплики")
+        void shouldRouteExplicitReplicaReadToReplica() {
+            assertThat(ReplicaReads.call(ReadWriteRoutingDataSourceTest.this::node)).isEqualTo("replica");
+            assertThat(node()).isEqualTo("primary");
+        }
+
+        @Test
+        @DisplayName("PrimaryReads должен держать на основной БД и readOnly-транзакцию, и ReplicaReads")
+        void shouldRoutePrimaryReadsToPrimary() {
+            assertThat(PrimaryReads.call(() -> readOnly.<String>execute(status -> node()))).isEqualTo("primary");
+            assertThat(PrimaryReads.call(() -> ReplicaReads.call(ReadWriteRoutingDataSourceTest.this::node)))
+                    .isEqualTo("primary");
+            assertThat(readOnly.<String>execute(status -> node())).isEqualTo("replica");
+        }
+
+        @Test
+        @DisplayName("ReplicaReads внутри пишущей транзакции не должен уводить её с основной БД")
+        void shouldIgnoreExplicitReplicaReadInsideReadWriteTransaction() {
+            assertThat(readWrite.<String>execute(status -> ReplicaReads.call(ReadWriteRoutingDataSourceTest.this::node)))
+                    .isEqualTo("primary");
+        }
+    }
+
+    @Nested
+    @DisplayName("Отставание и отказ реплики")
+    class Fallback {
+
+        @Test
+        @DisplayName("недоступная для чтения реплика — readOnly-транзакция идёт на основную БД")
+        void shouldFallBackWhenReplicaUnusable() {
+            routing.setReplicaUsable(false, "test");
+
+            assertThat(readOnly.<String>execute(status -> node())).isEqualTo("primary");
+        }
+
+        @Test
+        @DisplayName("ошибка соединения с репликой — запрос на основную БД, реплика снимается")
+        void shouldFallBackWhenReplicaConnectionFails() throws SQLException {
+            DataSource broken = mock(DataSource.class);
+            when(broken.getConnection()).thenThrow(new SQLException("Connection refused"));
+            use(new ReadWriteRoutingDataSource(primary, broken, meterRegistry));
+
+            assertThat(readOnly.<String>execute(status -> node())).isEqualTo("primary");
+            assertThat(routing.isReplicaUsable()).isFalse();
+        }
+
+        @Test
+        @DisplayName("монитор должен снимать реплику при большом отставании и возвращать при нормальном")
+        void shouldToggleReplicaByMeasuredLag() {
+            new ReplicaLagMonitor(routing, "SELECT 10", 5_000, meterRegistry).check();
+            assertThat(routing.isReplicaUsable()).isFalse();
+
+            var monitor = new ReplicaLagMonitor(routing, "SELECT 0.5", 5_000, meterRegistry);
+            monitor.check();
+            assertThat(routing.isReplicaUsable()).isTrue();
+            assertThat(monitor.lastLagMs()).isEqualTo(500);
+        }
+
+        @Test
+        @DisplayName("ошибка запроса отставания — реплика снимается")
+        void shouldMarkReplicaUnusableWhenLagQueryFails() {
+            var monitor = new ReplicaLagMonitor(routing, "SELECT missing_column FROM missing_table", 5_000, meterRegistry);
+
+            monitor.check();
+
+            assertThat(routing.isReplicaUsable()).isFalse();
+            assertThat(monitor.lastLagMs()).isEqualTo(-1);
+        }
+    }
+
+    private void use(ReadWriteRoutingDataSource routingDataSource) {
+        routing = routingDataSource;
+        DataSource application = new LazyConnectionDataSourceProxy(routing);
+        jdbc = new JdbcTemplate(application);
+        var transactionManager = new DataSourceTransactionManager(application);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private String node() {
+        return H2Schema.nameOf(jdbc);
+    }
+}
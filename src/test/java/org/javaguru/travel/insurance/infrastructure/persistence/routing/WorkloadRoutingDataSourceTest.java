@@ -0,0 +1,99 @@
+package org.javaguru.travel.insurance.infrastructure.persistence.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.javaguru.travel.insurance.fixture.H2Schema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Пулы по классам нагрузки на отдельных H2-базах: имя базы соединения
+ * показывает, из какого пула оно выдано.
+ */
+@DisplayName("WorkloadRoutingDataSource — отдельные пулы по классам нагрузки")
+class WorkloadRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<ConnectionWorkload, HikariDataSource> pools = new EnumMap<>(ConnectionWorkload.class);
+
+    private WorkloadRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        pools.put(ConnectionWorkload.PRICING, pool("pricing"));
+        pools.put(ConnectionWorkload.AUDIT, pool("audit"));
+        routing = new WorkloadRoutingDataSource(pools, meterRegistry);
+        jdbc = new JdbcTemplate(routing);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+
+    @Test
+    @DisplayName("без пометки — пул pricing")
+    void shouldUsePricingPoolByDefault() {
+        assertThat(node()).isEqualTo("pricing");
+    }
+
+    @Test
+    @DisplayName("класс нагрузки потока выбирает свой пул, после вызова — снова pricing")
+    void shouldUseWorkloadPool() {
+        assertThat(WorkloadContext.call(ConnectionWorkload.AUDIT, this::node)).isEqualTo("audit");
+        assertThat(node()).isEqualTo("pricing");
+        assertThat(meterRegistry.counter(WorkloadRoutingDataSource.WORKLOAD_METRIC, "workload", "audit").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("класс нагрузки без своего пула получает pricing")
+    void shouldFallBackToPricingPool() {
+        assertThat(WorkloadContext.call(ConnectionWorkload.REPORTING, this::node)).isEqualTo("pricing");
+    }
+
+    @Test
+    @DisplayName("исчерпанный пул audit не мешает расчёту получать соединения")
+    void shouldIsolateExhaustedPool() throws SQLException {
+        try (Connection held = WorkloadContext.call(ConnectionWorkload.AUDIT, this::connection)) {
+            assertThat(held).isNotNull();
+
+            assertThatThrownBy(() -> WorkloadContext.call(ConnectionWorkload.AUDIT, this::connection))
+                    .hasRootCauseInstanceOf(SQLException.class);
+            assertThat(node()).isEqualTo("pricing");
+        }
+    }
+
+    private String node() {
+        return H2Schema.nameOf(jdbc);
+    }
+
+    private Connection connection() {
+        try {
+            return routing.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static HikariDataSource pool(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setDataSource(H2Schema.database(name));
+        pool.setPoolName(name);
+        pool.setMaximumPoolSize(1);
+        pool.setConnectionTimeout(250);
+        return pool;
+    }
+}
@@ -0,0 +1,56 @@
+package org.javaguru.travel.insurance.infrastructure.startup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("FastStartEndpointExposure — эндпоинт startup в профиле fast-start")
+class FastStartEndpointExposureTest {
+
+    private final FastStartEndpointExposure postProcessor = new FastStartEndpointExposure();
+
+    @Test
+    @DisplayName("startup добавляется к открытым эндпоинтам, а не заменяет их")
+    void shouldAppendStartupToConfiguredExposure() {
+        MockEnvironment environment = fastStart()
+                .withProperty(FastStartEndpointExposure.EXPOSURE_INCLUDE, "health,info,prometheus");
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertThat(environment.getProperty(FastStartEndpointExposure.EXPOSURE_INCLUDE))
+                .isEqualTo("health,info,prometheus,startup");
+    }
+
+    @Test
+    @DisplayName("список не задан — startup добавляется к health по умолчанию")
+    void shouldAppendStartupToDefaultExposure() {
+        MockEnvironment environment = fastStart();
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertThat(environment.getProperty(FastStartEndpointExposure.EXPOSURE_INCLUDE)).isEqualTo("health,startup");
+    }
+
+    @Test
+    @DisplayName("открыто всё или профиль не активен — список не меняется")
+    void shouldLeaveExposureAlone() {
+        MockEnvironment everything = fastStart().withProperty(FastStartEndpointExposure.EXPOSURE_INCLUDE, "*");
+        MockEnvironment withoutProfile = new MockEnvironment()
+                .withProperty(FastStartEndpointExposure.EXPOSURE_INCLUDE, "health");
+
+        postProcessor.postProcessEnvironment(everything, new SpringApplication());
+        postProcessor.postProcessEnvironment(withoutProfile, new SpringApplication());
+
+        assertThat(everything.getProperty(FastStartEndpointExposure.EXPOSURE_INCLUDE)).isEqualTo("*");
+        assertThat(withoutProfile.getProperty(FastStartEndpointExposure.EXPOSURE_INCLUDE)).isEqualTo("health");
+    }
+
+    private static MockEnvironment fastStart() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles(FastStartEndpointExposure.PROFILE);
+        return environment;
+    }
+}
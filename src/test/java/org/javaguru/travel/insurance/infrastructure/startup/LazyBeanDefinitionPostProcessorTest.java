@@ -0,0 +1,48 @@
+package org.javaguru.travel.insurance.infrastructure.startup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LazyBeanDefinitionPostProcessor — ленивые бины профиля fast-start")
+class LazyBeanDefinitionPostProcessorTest {
+
+    private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+    private final LazyBeanDefinitionPostProcessor processor =
+            new LazyBeanDefinitionPostProcessor(List.of("java.lang.StringBuilder"));
+
+    @Test
+    @DisplayName("бин с подходящим классом должен стать ленивым, остальные — нет")
+    void shouldMarkMatchingClassLazy() {
+        beanFactory.registerBeanDefinition("docs",
+                BeanDefinitionBuilder.genericBeanDefinition(StringBuilder.class).getBeanDefinition());
+        beanFactory.registerBeanDefinition("pricing",
+                BeanDefinitionBuilder.genericBeanDefinition(Object.class).getBeanDefinition());
+
+        processor.postProcessBeanFactory(beanFactory);
+
+        assertThat(beanFactory.getBeanDefinition("docs").isLazyInit()).isTrue();
+        assertThat(beanFactory.getBeanDefinition("pricing").isLazyInit()).isFalse();
+    }
+
+    @Test
+    @DisplayName("бин из @Bean-метода подходящей конфигурации должен стать ленивым")
+    void shouldMarkFactoryMethodBeansLazy() {
+        beanFactory.registerBeanDefinition("docsConfig",
+                BeanDefinitionBuilder.genericBeanDefinition(StringBuilder.class).getBeanDefinition());
+        var produced = BeanDefinitionBuilder.genericBeanDefinition().getBeanDefinition();
+        produced.setFactoryBeanName("docsConfig");
+        produced.setFactoryMethodName("toString");
+        beanFactory.registerBeanDefinition("docsSpec", produced);
+
+        processor.postProcessBeanFactory(beanFactory);
+
+        assertThat(beanFactory.getBeanDefinition("docsSpec").isLazyInit()).isTrue();
+    }
+}
@@ -0,0 +1,145 @@
+package org.javaguru.travel.insurance.infrastructure.web.admission;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AdaptiveConcurrencyLimiter — адаптивный лимит")
+class AdaptiveConcurrencyLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter(10, 2, 100, 0, 5, 20, 1.5, 0.5, clock::get);
+    }
+
+    @Nested
+    @DisplayName("Допуск запросов")
+    class Admission {
+
+        @Test
+        @DisplayName("должен отклонять запросы сверх лимита при нулевой очереди")
+        void shouldRejectAboveLimit() throws Exception {
+            List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(10);
+
+            assertThat(permits).doesNotContainNull();
+            assertThat(limiter.tryAcquire(0)).isNull();
+
+            permits.get(0).releaseWithoutSample();
+            assertThat(limiter.tryAcquire(0)).isNotNull();
+        }
+
+        @Test
+        @DisplayName("повторное освобождение разрешения не должно уменьшать inFlight дважды")
+        void shouldReleaseOnce() throws Exception {
+            var permit = limiter.tryAcquire(0);
+
+            permit.release();
+            permit.release();
+
+            assertThat(limiter.getInFlight()).isZero();
+        }
+
+        @Test
+        @DisplayName("должен дождаться освобождения в очереди")
+        void shouldWaitInQueue() throws Exception {
+            var queued = new AdaptiveConcurrencyLimiter(1, 1, 1, 1, 5, 20, 1.5, 0.5, System::nanoTime);
+            var first = queued.tryAcquire(0);
+
+            Thread releaser = new Thread(() -> {
+                sleep(50);
+                first.releaseWithoutSample();
+            });
+            releaser.start();
+
+            assertThat(queued.tryAcquire(TimeUnit.SECONDS.toNanos(5))).isNotNull();
+            releaser.join();
+        }
+    }
+
+    @Nested
+    @DisplayName("Адаптация лимита")
+    class Adaptation {
+
+        @Test
+        @DisplayName("должен снижать лимит, когда задержка растёт")
+        void shouldDecreaseWhenLatencyGrows() throws Exception {
+            runWindows(10, 10, 10);
+            int before = limiter.getLimit();
+
+            runWindows(10, 10, 100);
+
+            assertThat(limiter.getLimit()).isLessThan(before);
+        }
+
+        @Test
+        @DisplayName("должен повышать лимит при стабильной задержке и полной загрузке")
+        void shouldIncreaseWhenSaturatedAndHealthy() throws Exception {
+            runWindows(10, 10, 10);
+
+            assertThat(limiter.getLimit()).isGreaterThan(10);
+        }
+
+        @Test
+        @DisplayName("не должен повышать лимит при малой загрузке")
+        void shouldNotGrowWhenUnderused() throws Exception {
+            runWindows(20, 1, 10);
+
+            assertThat(limiter.getLimit()).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("лимит не должен опускаться ниже минимального")
+        void shouldRespectMinLimit() throws Exception {
+            limiter = new AdaptiveConcurrencyLimiter(10, 8, 100, 0, 5, 20, 1.5, 0.5, clock::get);
+            runWindows(2, 10, 10);
+            runWindows(4, 20, 10_000);
+
+            assertThat(limiter.getLimit()).isEqualTo(8);
+        }
+    }
+
+    // ── Вспомогательные методы ───────────────────────────────────────────────
+
+    /**
+     * Прогоняет окна замеров: concurrency запросов одновременно, каждый длится latencyMs.
+     */
+    private void runWindows(int windows, int concurrency, long latencyMs) throws Exception {
+        for (int w = 0; w < windows; w++) {
+            List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(Math.min(concurrency, limiter.getLimit()));
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMs));
+            permits.forEach(AdaptiveConcurrencyLimiter.Permit::release);
+            for (int i = permits.size(); i < 5; i++) {
+                var extra = limiter.tryAcquire(0);
+                clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMs));
+                extra.release();
+            }
+        }
+    }
+
+    private List<AdaptiveConcurrencyLimiter.Permit> acquire(int count) throws Exception {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            permits.add(limiter.tryAcquire(0));
+        }
+        return permits;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
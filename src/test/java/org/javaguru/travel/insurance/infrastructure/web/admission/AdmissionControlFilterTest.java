@@ -0,0 +1,78 @@
+package org.javaguru.travel.insurance.infrastructure.web.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AdmissionControlFilter — load shedding эндпоинтов расчёта")
+class AdmissionControlFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyLimiter limiter;
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 0, 10, 60, 1.5, 0.2, System::nanoTime);
+        filter = new AdmissionControlFilter(limiter, new ObjectMapper(), meterRegistry, true, 0, 2);
+    }
+
+    @Test
+    @DisplayName("должен пропускать запрос в пределах лимита и освобождать разрешение")
+    void shouldPassWithinLimit() throws Exception {
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(post("/insurance/travel/v3/calculate"), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("должен отвечать 503 с Retry-After, когда лимит исчерпан")
+    void shouldRejectWithRetryAfter() throws Exception {
+        var held = limiter.tryAcquire(0);
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(post("/insurance/travel/calculate"), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(response.getContentAsString()).contains("Service Unavailable");
+        assertThat(meterRegistry.get("admission.rejected").counter().count()).isEqualTo(1);
+        held.release();
+    }
+
+    @Test
+    @DisplayName("не должен ограничивать UI, справочники и actuator")
+    void shouldNotLimitOtherEndpoints() throws Exception {
+        var held = limiter.tryAcquire(0);
+
+        for (String uri : new String[]{"/web/calculate", "/actuator/health", "/insurance/travel/v3/countries"}) {
+            var response = new MockHttpServletResponse();
+            filter.doFilter(post(uri), response, new MockFilterChain());
+            assertThat(response.getStatus()).as(uri).isEqualTo(200);
+        }
+        held.release();
+    }
+
+    @Test
+    @DisplayName("должен экспортировать лимит и число запросов в работе")
+    void shouldExportGauges() {
+        assertThat(meterRegistry.get("admission.limit").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("admission.inflight").gauge().value()).isZero();
+        assertThat(meterRegistry.get("admission.queued").gauge().value()).isZero();
+    }
+
+    private static MockHttpServletRequest post(String uri) {
+        return new MockHttpServletRequest("POST", uri);
+    }
+}
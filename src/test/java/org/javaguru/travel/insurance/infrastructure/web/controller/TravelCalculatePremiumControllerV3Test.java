@@ -3,7 +3,13 @@ package org.javaguru.travel.insurance.infrastructure.web.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.javaguru.travel.insurance.TestConstants;
 import org.javaguru.travel.insurance.application.dto.v3.*;
+import org.javaguru.travel.insurance.application.service.BatchPremiumCalculationServiceV3;
+import org.javaguru.travel.insurance.application.service.StreamingPremiumCalculationServiceV3;
 import org.javaguru.travel.insurance.application.service.TravelCalculatePremiumServiceV3;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotFixture;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotService;
+import org.javaguru.travel.insurance.infrastructure.web.reference.ReferencePayloadCache;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -20,6 +26,7 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -32,7 +39,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  */
 @WebMvcTest(TravelCalculatePremiumControllerV3.class)
 @ContextConfiguration(classes = {
-        TravelCalculatePremiumControllerV3.class
+        TravelCalculatePremiumControllerV3.class,
+        ReferencePayloadCache.class
 })
 @DisplayName("TravelCalculatePremiumControllerV3 — task_135")
 class TravelCalculatePremiumControllerV3Test {
@@ -40,10 +48,19 @@ class TravelCalculatePremiumControllerV3Test {
     @Autowired private MockMvc mockMvc;
     @Autowired private ObjectMapper objectMapper;
     @MockBean private TravelCalculatePremiumServiceV3 calculatePremiumServiceV3;
+    @MockBean private BatchPremiumCalculationServiceV3 batchPremiumCalculationServiceV3;
+    @MockBean private StreamingPremiumCalculationServiceV3 streamingPremiumCalculationServiceV3;
+    @MockBean private ReferenceDataSnapshotService referenceDataSnapshotService;
 
     private static final String V3_ENDPOINT = "/insurance/travel/v3/calculate";
     private static final LocalDate DATE_FROM = TestConstants.TEST_DATE.plusDays(30);
 
+    @BeforeEach
+    void setUpReferenceData() {
+        when(referenceDataSnapshotService.current())
+                .thenReturn(ReferenceDataSnapshotFixture.standardSnapshot());
+    }
+
     // ── HTTP статусы ──────────────────────────────────────────────────────────
 
     @Nested
@@ -199,6 +216,43 @@ class TravelCalculatePremiumControllerV3Test {
                     .andExpect(status().isOk());
         }
 
+        @Test
+        @DisplayName("POST /insurance/travel/v3/calculate/batch должен вернуть 200 с результатами по элементам")
+        void batchEndpointShouldReturn200() throws Exception {
+            when(batchPremiumCalculationServiceV3.calculateBatch(any()))
+                    .thenReturn(BatchCalculatePremiumResponseV3.builder()
+                            .totalItems(2)
+                            .succeeded(1)
+                            .failed(1)
+                            .results(List.of(
+                                    BatchCalculatePremiumResponseV3.ItemResult.builder()
+                                            .index(0).httpStatus(200).response(successResponse()).build(),
+                                    BatchCalculatePremiumResponseV3.ItemResult.builder()
+                                            .index(1).httpStatus(500).error("Calculation error: boom").build()))
+                            .build());
+
+            mockMvc.perform(post("/insurance/travel/v3/calculate/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[" + validRequestJson() + "," + validRequestJson() + "]"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalItems").value(2))
+                    .andExpect(jsonPath("$.results[0].response.status").value("SUCCESS"))
+                    .andExpect(jsonPath("$.results[1].httpStatus").value(500))
+                    .andExpect(jsonPath("$.results[1].error").value("Calculation error: boom"));
+        }
+
+        @Test
+        @DisplayName("POST /insurance/travel/v3/calculate/stream должен принимать и отдавать NDJSON")
+        void streamEndpointShouldAcceptNdjson() throws Exception {
+            mockMvc.perform(post("/insurance/travel/v3/calculate/stream")
+                            .contentType("application/x-ndjson")
+                            .content(validRequestJson().replace("\n", "") + "\n"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"));
+
+            verify(streamingPremiumCalculationServiceV3).process(any(), any());
+        }
+
         @Test
         @DisplayName("GET /insurance/travel/v3/countries должен вернуть 200")
         void countriesEndpointShouldReturn200() throws Exception {
@@ -236,6 +290,73 @@ class TravelCalculatePremiumControllerV3Test {
         }
     }
 
+    // ── Справочные эндпоинты ──────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("Справочники: данные из снимка, ETag и 304")
+    class ReferenceEndpoints {
+
+        @Test
+        @DisplayName("countries должен вернуть страны из снимка с tariffVersion")
+        void countriesShouldComeFromSnapshot() throws Exception {
+            String version = ReferenceDataSnapshotFixture.standardSnapshot().getVersion();
+
+            mockMvc.perform(get("/insurance/travel/v3/countries"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.tariffVersion").value(version))
+                    .andExpect(jsonPath("$.countries", hasSize(2)))
+                    .andExpect(jsonPath("$.countries[0].code").value("ES"))
+                    .andExpect(jsonPath("$.countries[1].riskGroup").value("MEDIUM"));
+        }
+
+        @Test
+        @DisplayName("coverage-levels и risk-types должны вернуть данные из снимка")
+        void levelsAndRisksShouldComeFromSnapshot() throws Exception {
+            mockMvc.perform(get("/insurance/travel/v3/coverage-levels"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.coverageLevels[*].code", contains("10000", "50000")));
+
+            mockMvc.perform(get("/insurance/travel/v3/risk-types"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.riskTypes[0].code").value("TRAVEL_MEDICAL"))
+                    .andExpect(jsonPath("$.riskTypes[0].mandatory").value(true));
+        }
+
+        @Test
+        @DisplayName("ответ должен содержать strong ETag из версии тарифа")
+        void shouldReturnStrongEtag() throws Exception {
+            String version = ReferenceDataSnapshotFixture.standardSnapshot().getVersion();
+
+            mockMvc.perform(get("/insurance/travel/v3/countries"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", startsWith("\"" + version + "-")))
+                    .andExpect(header().string("ETag", not(startsWith("W/"))));
+        }
+
+        @Test
+        @DisplayName("If-None-Match с актуальным ETag должен вернуть 304 без тела")
+        void shouldReturn304WhenEtagMatches() throws Exception {
+            String etag = mockMvc.perform(get("/insurance/travel/v3/risk-types"))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            mockMvc.perform(get("/insurance/travel/v3/risk-types")
+                            .header("If-None-Match", etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", etag))
+                    .andExpect(content().string(""));
+        }
+
+        @Test
+        @DisplayName("If-None-Match с устаревшим ETag должен вернуть 200 с телом")
+        void shouldReturn200WhenEtagIsStale() throws Exception {
+            mockMvc.perform(get("/insurance/travel/v3/countries")
+                            .header("If-None-Match", "\"0000000000000000-20200101\""))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.countries", hasSize(2)));
+        }
+    }
+
     // ── V2 контроллер изоляция ────────────────────────────────────────────────
 
     @Test
@@ -0,0 +1,154 @@
+package org.javaguru.travel.insurance.infrastructure.web.controller;
+
+import jakarta.servlet.ServletResponse;
+import org.javaguru.travel.insurance.core.underwriting.export.DecisionExportFormat;
+import org.javaguru.travel.insurance.core.underwriting.export.DecisionExportQuery;
+import org.javaguru.travel.insurance.core.underwriting.export.InvalidExportRequestException;
+import org.javaguru.travel.insurance.core.underwriting.export.UnderwritingDecisionExporter;
+import org.javaguru.travel.insurance.infrastructure.web.error.GlobalExceptionHandler;
+import org.javaguru.travel.insurance.infrastructure.web.filter.RequestLoggingFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Эндпоинт выгрузки вместе с RequestLoggingFilter: ответ уходит клиенту
+ * постранично, а не копится в ContentCachingResponseWrapper до конца запроса.
+ */
+@WebMvcTest(UnderwritingDecisionExportController.class)
+@ContextConfiguration(classes = {
+        UnderwritingDecisionExportController.class,
+        GlobalExceptionHandler.class,
+        RequestLoggingFilter.class
+})
+@ExtendWith(OutputCaptureExtension.class)
+@DisplayName("UnderwritingDecisionExportController — потоковая выгрузка решений")
+class UnderwritingDecisionExportControllerTest {
+
+    private static final String EXPORT = "/insurance/underwriting/decisions/export";
+    private static final String ROW = "17,APPROVED,Ivan,Petrov,1990-05-01\n";
+
+    @Autowired private MockMvc mockMvc;
+    @MockBean private UnderwritingDecisionExporter exporter;
+
+    @Nested
+    @DisplayName("Поток")
+    class Streaming {
+
+        @Test
+        @DisplayName("страница после flush уже отправлена клиенту, тело не кешируется")
+        void shouldCommitEachPageWithoutCaching() throws Exception {
+            List<Boolean> committedAfterFlush = new ArrayList<>();
+            List<Boolean> cached = new ArrayList<>();
+            when(exporter.export(any(), any(), any())).thenAnswer(invocation -> {
+                ServletResponse response = currentResponse();
+                cached.add(WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class) != null);
+                OutputStream out = invocation.getArgument(2);
+                out.write(ROW.getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                committedAfterFlush.add(response.isCommitted());
+                return new UnderwritingDecisionExporter.ExportSummary(1, 1, 0);
+            });
+
+            mockMvc.perform(get(EXPORT).param("from", "2026-03-01").param("to", "2026-03-31"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(ROW));
+
+            assertThat(cached).containsExactly(false);
+            assertThat(committedAfterFlush).containsExactly(true);
+        }
+
+        @Test
+        @DisplayName("в лог попадают метод, URI и статус, но не строки выгрузки")
+        void shouldNotLogExportedRows(CapturedOutput output) throws Exception {
+            when(exporter.export(any(), any(), any())).thenAnswer(invocation -> {
+                OutputStream out = invocation.getArgument(2);
+                out.write(ROW.getBytes(StandardCharsets.UTF_8));
+                return new UnderwritingDecisionExporter.ExportSummary(1, 1, 0);
+            });
+
+            mockMvc.perform(get(EXPORT).param("from", "2026-03-01").param("to", "2026-03-31"))
+                    .andExpect(status().isOk());
+
+            assertThat(output).contains("REST API streaming call: GET " + EXPORT);
+            assertThat(output).doesNotContain("REST API Call:");
+            assertThat(output).doesNotContain("Petrov");
+        }
+    }
+
+    @Nested
+    @DisplayName("Параметры")
+    class Parameters {
+
+        @Test
+        @DisplayName("формат и период передаются экспортёру, заголовки — для скачивания файла")
+        void shouldPassQueryAndSetDownloadHeaders() throws Exception {
+            mockMvc.perform(get(EXPORT)
+                            .param("from", "2026-03-01")
+                            .param("to", "2026-03-31")
+                            .param("decision", "declined")
+                            .param("format", "ndjson"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                    .andExpect(header().string("Content-Disposition",
+                            "attachment; filename=\"underwriting-decisions-2026-03-01-2026-03-31.ndjson\""));
+
+            verify(exporter).export(
+                    eq(new DecisionExportQuery(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31), "DECLINED")),
+                    eq(DecisionExportFormat.NDJSON), any());
+        }
+
+        @Test
+        @DisplayName("неизвестный формат — 400 до начала выгрузки")
+        void shouldRejectUnknownFormat() throws Exception {
+            mockMvc.perform(get(EXPORT).param("from", "2026-03-01").param("to", "2026-03-31").param("format", "xlsx"))
+                    .andExpect(status().isBadRequest());
+
+            verify(exporter, never()).export(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("слишком длинный период — 400 до начала выгрузки")
+        void shouldRejectTooLongPeriod() throws Exception {
+            doThrow(new InvalidExportRequestException("Export period of 400 days exceeds 31"))
+                    .when(exporter).validate(any());
+
+            mockMvc.perform(get(EXPORT).param("from", "2025-01-01").param("to", "2026-02-04"))
+                    .andExpect(status().isBadRequest());
+
+            verify(exporter, never()).export(any(), any(), any());
+        }
+    }
+
+    private static ServletResponse currentResponse() {
+        return ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getResponse();
+    }
+}
@@ -0,0 +1,90 @@
+package org.javaguru.travel.insurance.infrastructure.web.controller;
+
+import org.javaguru.travel.insurance.core.underwriting.statistics.DecisionStatisticsService;
+import org.javaguru.travel.insurance.core.underwriting.statistics.InvalidStatisticsRangeException;
+import org.javaguru.travel.insurance.core.underwriting.statistics.StatisticsDimension;
+import org.javaguru.travel.insurance.infrastructure.web.error.GlobalExceptionHandler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(UnderwritingStatisticsController.class)
+@ContextConfiguration(classes = {
+        UnderwritingStatisticsController.class,
+        GlobalExceptionHandler.class
+})
+@DisplayName("UnderwritingStatisticsController — счётчики решений за период")
+class UnderwritingStatisticsControllerTest {
+
+    private static final String STATISTICS = "/insurance/underwriting/decisions/statistics";
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 3, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2026, 3, 31, 23, 59, 59);
+
+    @Autowired private MockMvc mockMvc;
+    @MockBean private DecisionStatisticsService statisticsService;
+
+    @Test
+    @DisplayName("по умолчанию — разрез по типу решения, ответ — JSON-объект счётчиков")
+    void shouldCountByDecisionByDefault() throws Exception {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("APPROVED", 12L);
+        counts.put("DECLINED", 3L);
+        when(statisticsService.count(FROM, TO, StatisticsDimension.DECISION)).thenReturn(counts);
+
+        mockMvc.perform(get(STATISTICS).param("from", "2026-03-01T00:00:00").param("to", "2026-03-31T23:59:59"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/json"))
+                .andExpect(jsonPath("$.APPROVED").value(12))
+                .andExpect(jsonPath("$.DECLINED").value(3));
+    }
+
+    @Test
+    @DisplayName("разрез задаётся параметром by без учёта регистра")
+    void shouldPassDimension() throws Exception {
+        when(statisticsService.count(FROM, TO, StatisticsDimension.COUNTRY)).thenReturn(Map.of("ES", 7L));
+
+        mockMvc.perform(get(STATISTICS)
+                        .param("from", "2026-03-01T00:00:00")
+                        .param("to", "2026-03-31T23:59:59")
+                        .param("by", "Country"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ES").value(7));
+    }
+
+    @Test
+    @DisplayName("неизвестный разрез — 400 без запроса к счётчикам")
+    void shouldRejectUnknownDimension() throws Exception {
+        mockMvc.perform(get(STATISTICS)
+                        .param("from", "2026-03-01T00:00:00")
+                        .param("to", "2026-03-31T23:59:59")
+                        .param("by", "agent"))
+                .andExpect(status().isBadRequest());
+
+        verify(statisticsService, never()).count(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("неверный период — 400")
+    void shouldRejectInvalidRange() throws Exception {
+        when(statisticsService.count(TO, FROM, StatisticsDimension.DECISION))
+                .thenThrow(new InvalidStatisticsRangeException("'to' is before 'from'"));
+
+        mockMvc.perform(get(STATISTICS).param("from", "2026-03-31T23:59:59").param("to", "2026-03-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,66 @@
+package org.javaguru.travel.insurance.infrastructure.web.query;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.javaguru.travel.insurance.infrastructure.persistence.query.QueryStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("QueryBudgetFilter — SQL-бюджет HTTP-запроса")
+class QueryBudgetFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private QueryBudgetFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new QueryBudgetFilter(meterRegistry, 100, 10);
+    }
+
+    @Test
+    @DisplayName("должен открывать область учёта на время запроса и закрывать после")
+    void shouldOpenScopeForRequest() throws Exception {
+        var observed = new boolean[1];
+        var chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                observed[0] = QueryStatistics.current().isPresent();
+            }
+        });
+
+        filter.doFilter(request(), new MockHttpServletResponse(), chain);
+
+        assertThat(observed[0]).isTrue();
+        assertThat(QueryStatistics.current()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("должен записывать число statements с тегом шаблона uri")
+    void shouldRecordMetricsByUriPattern() throws Exception {
+        var request = request();
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/insurance/travel/v3/calculate");
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        var summary = meterRegistry.get(QueryBudgetFilter.STATEMENTS_METRIC)
+                .tag("uri", "/insurance/travel/v3/calculate")
+                .summary();
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(summary.totalAmount()).isZero();
+        assertThat(meterRegistry.get(QueryBudgetFilter.DURATION_METRIC).timer().count()).isEqualTo(1);
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("POST", "/insurance/travel/v3/calculate");
+    }
+}
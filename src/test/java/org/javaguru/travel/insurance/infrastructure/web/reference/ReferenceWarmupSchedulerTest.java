@@ -0,0 +1,99 @@
+package org.javaguru.travel.insurance.infrastructure.web.reference;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshot;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotService;
+import org.javaguru.travel.insurance.domain.model.entity.Country;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotFixture.country;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReferenceWarmupScheduler — прогрев справочных ответов")
+class ReferenceWarmupSchedulerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 31);
+
+    @Mock
+    private ReferenceDataSnapshotService snapshotService;
+
+    private SimpleMeterRegistry registry;
+    private ReferencePayloadCache payloadCache;
+    private ReferenceWarmupScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        payloadCache = new ReferencePayloadCache(new ObjectMapper().findAndRegisterModules());
+        scheduler = new ReferenceWarmupScheduler(snapshotService, payloadCache, registry, 7, () -> TODAY);
+    }
+
+    @Test
+    @DisplayName("до полуночи должны быть построены ответы на завтра по будущей версии")
+    void shouldPrebuildTomorrowFromFutureVersions() {
+        ReferenceDataSnapshot snapshot = switchoverTomorrow();
+        when(snapshotService.current()).thenReturn(snapshot);
+
+        scheduler.warmUpForTomorrow();
+
+        assertThat(payloadCache.size()).isEqualTo(ReferencePayloadCache.ReferenceKind.values().length);
+        String tomorrow = new String(payloadCache.payload(
+                ReferencePayloadCache.ReferenceKind.COUNTRIES, snapshot, TODAY.plusDays(1)));
+        assertThat(tomorrow).contains("HIGH").doesNotContain("MEDIUM");
+        assertThat(payloadCache.size()).as("no extra render on first request").isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("ответы прошедших дат должны вытесняться")
+    void shouldEvictPastDates() {
+        ReferenceDataSnapshot snapshot = switchoverTomorrow();
+        when(snapshotService.current()).thenReturn(snapshot);
+        payloadCache.warm(snapshot, TODAY.minusDays(1));
+
+        scheduler.warmUpForTomorrow();
+
+        assertThat(payloadCache.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("метрика должна показывать дни до ближайшей смены тарифа")
+    void shouldExposeDaysToNextSwitchover() {
+        when(snapshotService.current()).thenReturn(switchoverTomorrow());
+
+        scheduler.onApplicationReady();
+
+        assertThat(registry.get(ReferenceWarmupScheduler.NEXT_SWITCHOVER_METRIC).gauge().value())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("ошибка прогрева не должна пробрасываться")
+    void shouldSwallowWarmupFailure() {
+        when(snapshotService.current()).thenThrow(new IllegalStateException("database is down"));
+
+        assertThatCode(scheduler::warmUpForTomorrow).doesNotThrowAnyException();
+    }
+
+    private static ReferenceDataSnapshot switchoverTomorrow() {
+        return ReferenceDataSnapshot.of(
+                List.of(
+                        country("TH", "Thailand", Country.RiskGroup.MEDIUM, "1.3",
+                                LocalDate.of(2020, 1, 1), TODAY),
+                        country("TH", "Thailand", Country.RiskGroup.HIGH, "1.8",
+                                TODAY.plusDays(1), null)),
+                List.of(), List.of(), Instant.EPOCH);
+    }
+}
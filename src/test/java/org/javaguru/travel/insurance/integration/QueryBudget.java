@@ -0,0 +1,56 @@
+package org.javaguru.travel.insurance.integration;
+
+import org.javaguru.travel.insurance.infrastructure.persistence.query.QueryStatistics;
+
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверка SQL-бюджета в интеграционных тестах.
+ *
+ * <pre>
+ *   QueryBudget.assertAtMost(120, () -> performCalculatePremiumV3(request));
+ * </pre>
+ *
+ * Считаются statements потока теста (MockMvc выполняет запрос в нём же);
+ * при превышении в сообщение попадают повторяющиеся SQL — кандидаты на N+1.
+ */
+public final class QueryBudget {
+
+    private static final int REPEATED_THRESHOLD = 2;
+
+    private QueryBudget() {
+        throw new AssertionError("Utility class");
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    /**
+     * Выполняет действие и возвращает число выполненных им statements.
+     */
+    public static int count(Action action) throws Exception {
+        try (QueryStatistics.Scope scope = QueryStatistics.open()) {
+            action.run();
+            return scope.getStatementCount();
+        }
+    }
+
+    /**
+     * Проверяет, что действие выполнило не больше maxStatements statements.
+     */
+    public static void assertAtMost(int maxStatements, Action action) throws Exception {
+        try (QueryStatistics.Scope scope = QueryStatistics.open()) {
+            action.run();
+            assertThat(scope.getStatementCount())
+                    .as(() -> "SQL statements (budget " + maxStatements + "), repeated:\n"
+                            + scope.getRepeatedStatements(REPEATED_THRESHOLD).entrySet().stream()
+                            .map(entry -> "  " + entry.getValue() + "x " + entry.getKey())
+                            .collect(Collectors.joining("\n")))
+                    .isLessThanOrEqualTo(maxStatements);
+        }
+    }
+}
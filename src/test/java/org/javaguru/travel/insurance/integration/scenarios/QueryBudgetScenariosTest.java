@@ -0,0 +1,107 @@
+package org.javaguru.travel.insurance.integration.scenarios;
+
+import org.javaguru.travel.insurance.TestConstants;
+import org.javaguru.travel.insurance.application.dto.v3.InsuredPerson;
+import org.javaguru.travel.insurance.application.dto.v3.TravelCalculatePremiumRequestV3;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotService;
+import org.javaguru.travel.insurance.integration.BaseIntegrationTest;
+import org.javaguru.travel.insurance.integration.QueryBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * E2E: SQL-бюджет расчёта V3.
+ *
+ * Бюджет — замер текущего поведения с небольшим запасом (постоянная часть + часть
+ * на персону). Замер на профиле test, 3 риска, снимок справочников с тарифными
+ * таблицами загружен: 1 персона — 26 statements, 10 персон — 188, т.е.
+ * 8 постоянных и 18 на персону (тарифные таблицы из БД больше не читаются).
+ * Рост числа запросов сверх бюджета (новый N+1 по персонам или рискам) роняет
+ * сборку; после оптимизаций бюджет нужно перемерить и уменьшить.
+ */
+@DisplayName("E2E: Query budget")
+class QueryBudgetScenariosTest extends BaseIntegrationTest {
+
+    private static final String V3_ENDPOINT = "/insurance/travel/v3/calculate";
+    private static final LocalDate DATE_FROM = TestConstants.TEST_DATE.plusDays(30);
+
+    private static final int FIXED_BUDGET = 10;
+    private static final int PER_PERSON_BUDGET = 19;
+
+    @Autowired
+    private ReferenceDataSnapshotService snapshotService;
+
+    /**
+     * Снимок справочников загружается до замера, как на узле после старта:
+     * иначе счёт зависит от того, успела ли фоновая загрузка.
+     */
+    @BeforeEach
+    void loadSnapshot() {
+        snapshotService.refresh();
+    }
+
+    @Test
+    @DisplayName("V3: 10 персон и 3 риска укладываются в бюджет SQL-запросов")
+    void shouldStayWithinBudgetForTenPersonsAndThreeRisks() throws Exception {
+        var request = v3Request(10, List.of("SPORT_ACTIVITIES", "LUGGAGE_LOSS", "FLIGHT_DELAY"));
+
+        QueryBudget.assertAtMost(FIXED_BUDGET + PER_PERSON_BUDGET * 10,
+                () -> performV3(request).andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("V3: число запросов растёт с числом персон не быстрее бюджета на персону")
+    void shouldGrowLinearlyWithPersons() throws Exception {
+        var risks = List.of("SPORT_ACTIVITIES", "LUGGAGE_LOSS", "FLIGHT_DELAY");
+
+        int onePerson = QueryBudget.count(() -> performV3(v3Request(1, risks)));
+        int tenPersons = QueryBudget.count(() -> performV3(v3Request(10, risks)));
+
+        assertThat(tenPersons - onePerson).isLessThanOrEqualTo(PER_PERSON_BUDGET * 9);
+    }
+
+    @Test
+    @DisplayName("V3: ответ содержит заголовки X-Query-Count и X-Query-Time-Ms, когда они включены")
+    void shouldExposeQueryHeaders() throws Exception {
+        performV3(v3Request(1, List.of()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Query-Count"))
+                .andExpect(header().exists("X-Query-Time-Ms"));
+    }
+
+    private ResultActions performV3(TravelCalculatePremiumRequestV3 request) throws Exception {
+        return mockMvc.perform(post(V3_ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+
+    private static TravelCalculatePremiumRequestV3 v3Request(int persons, List<String> risks) {
+        return TravelCalculatePremiumRequestV3.builder()
+                .persons(IntStream.range(0, persons)
+                        .mapToObj(i -> InsuredPerson.builder()
+                                .personFirstName("Test")
+                                .personLastName("User")
+                                .personBirthDate(TestConstants.TEST_DATE.minusYears(30 + i))
+                                .build())
+                        .toList())
+                .agreementDateFrom(DATE_FROM)
+                .agreementDateTo(DATE_FROM.plusDays(14))
+                .countryIsoCode("ES")
+                .medicalRiskLimitLevel("50000")
+                .selectedRisks(risks)
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package org.javaguru.travel.insurance.integration.scenarios;
+
+import org.javaguru.travel.insurance.TestConstants;
+import org.javaguru.travel.insurance.domain.model.entity.Country;
+import org.javaguru.travel.insurance.domain.model.entity.MedicalRiskLimitLevel;
+import org.javaguru.travel.insurance.domain.model.entity.Risk;
+import org.javaguru.travel.insurance.domain.model.valueobject.CountryCode;
+import org.javaguru.travel.insurance.domain.model.valueobject.RiskCode;
+import org.javaguru.travel.insurance.infrastructure.persistence.adapter.JdbcReferenceDataAdapter;
+import org.javaguru.travel.insurance.infrastructure.persistence.adapter.JpaReferenceDataAdapter;
+import org.javaguru.travel.insurance.integration.BaseIntegrationTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JDBC-путь чтения справочников должен отдавать то же, что JPA-путь.
+ */
+@DisplayName("E2E: Reference Read Path (JDBC vs JPA)")
+class ReferenceReadPathScenariosTest extends BaseIntegrationTest {
+
+    private static final LocalDate DATE = TestConstants.TEST_DATE;
+
+    @Autowired
+    private JdbcReferenceDataAdapter jdbcAdapter;
+
+    @Autowired
+    private JpaReferenceDataAdapter jpaAdapter;
+
+    @Test
+    @DisplayName("страна и уровень покрытия совпадают по всем полям")
+    void shouldReturnSameCountryAndMedicalLevel() {
+        Country jdbcCountry = jdbcAdapter.findCountry(new CountryCode("ES"), DATE).orElseThrow();
+        Country jpaCountry = jpaAdapter.findCountry(new CountryCode("ES"), DATE).orElseThrow();
+        assertThat(jdbcCountry).usingRecursiveComparison().isEqualTo(jpaCountry);
+
+        MedicalRiskLimitLevel jdbcLevel = jdbcAdapter.findMedicalLevel("50000", DATE).orElseThrow();
+        MedicalRiskLimitLevel jpaLevel = jpaAdapter.findMedicalLevel("50000", DATE).orElseThrow();
+        assertThat(jdbcLevel).usingRecursiveComparison().isEqualTo(jpaLevel);
+    }
+
+    @Test
+    @DisplayName("выбранные риски возвращаются в порядке запроса, неизвестные пропускаются")
+    void shouldReturnSelectedRisksInRequestOrder() {
+        List<RiskCode> codes = List.of(new RiskCode("LUGGAGE_LOSS"), new RiskCode("UNKNOWN_RISK"),
+                new RiskCode("SPORT_ACTIVITIES"));
+
+        List<Risk> jdbcRisks = jdbcAdapter.findRisks(codes, DATE);
+
+        assertThat(jdbcRisks).extracting(risk -> risk.getCode().value())
+                .containsExactly("LUGGAGE_LOSS", "SPORT_ACTIVITIES");
+        assertThat(jdbcRisks).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(jpaAdapter.findRisks(codes, DATE));
+    }
+
+    @Test
+    @DisplayName("неизвестный код страны — пустой результат")
+    void shouldReturnEmptyForUnknownCountry() {
+        assertThat(jdbcAdapter.findCountry(new CountryCode("ZZ"), DATE)).isEmpty();
+    }
+}
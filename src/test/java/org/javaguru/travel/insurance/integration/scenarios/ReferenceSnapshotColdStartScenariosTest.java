@@ -0,0 +1,121 @@
+package org.javaguru.travel.insurance.integration.scenarios;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.TestRequestBuilder;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataScope;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshot;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotService;
+import org.javaguru.travel.insurance.core.reference.ReferenceSnapshotFile;
+import org.javaguru.travel.insurance.fixture.DataScale;
+import org.javaguru.travel.insurance.fixture.SyntheticReferenceDataGenerator;
+import org.javaguru.travel.insurance.integration.BaseIntegrationTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * E2E: снимок справочников из файла против загрузки из БД.
+ *
+ * Гейджи StartupTimeline только показывают время этапов одного старта;
+ * здесь оба источника снимка сравниваются на одних и тех же данных:
+ *   - время: чтение файла быстрее загрузки из БД (медианы попеременных замеров);
+ *   - результат: котировка со снимком из файла совпадает с котировкой,
+ *     посчитанной без привязанного снимка.
+ */
+@Slf4j
+@DisplayName("E2E: Reference snapshot cold start — file vs database")
+class ReferenceSnapshotColdStartScenariosTest extends BaseIntegrationTest {
+
+    private static final DataScale COLD_START = new DataScale("cold-start", 200, 4, 50, 3, 5, 0, 0, 0.1, 42, 5000);
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 7;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReferenceDataSnapshotService snapshotService;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("снимок из файла загружается быстрее, чем из БД, и содержит те же данные")
+    void shouldLoadFromFileFasterThanFromDatabase() throws Exception {
+        new SyntheticReferenceDataGenerator(dataSource).generate(COLD_START);
+        Path file = dir.resolve("reference.snapshot");
+        ReferenceDataSnapshot fromDatabase = snapshotService.refresh();
+        ReferenceSnapshotFile.write(fromDatabase, file);
+
+        long[] databaseNanos = new long[MEASURED_ROUNDS];
+        long[] fileNanos = new long[MEASURED_ROUNDS];
+        for (int round = -WARMUP_ROUNDS; round < MEASURED_ROUNDS; round++) {
+            long database = timed(snapshotService::refresh);
+            long fromFile = timed(() -> ReferenceSnapshotFile.read(file));
+            if (round >= 0) {
+                databaseNanos[round] = database;
+                fileNanos[round] = fromFile;
+            }
+        }
+
+        long databaseMedian = median(databaseNanos);
+        long fileMedian = median(fileNanos);
+        log.info("Reference snapshot load, median of {}: database {} us, file {} us",
+                MEASURED_ROUNDS, databaseMedian / 1_000, fileMedian / 1_000);
+
+        assertThat(ReferenceSnapshotFile.read(file).getVersion()).isEqualTo(fromDatabase.getVersion());
+        assertThat(fileMedian).isLessThan(databaseMedian);
+    }
+
+    @Test
+    @DisplayName("котировка со снимком из файла совпадает с котировкой без снимка")
+    void shouldPriceTheSameFromFileSnapshot() throws Exception {
+        Path file = dir.resolve("reference.snapshot");
+        ReferenceSnapshotFile.write(snapshotService.refresh(), file);
+        ReferenceDataSnapshot fromFile = ReferenceSnapshotFile.read(file);
+        LocalDate dateFrom = LocalDate.now().plusDays(30);
+        var request = TestRequestBuilder.adult35Spain()
+                .agreementDateFrom(dateFrom)
+                .agreementDateTo(dateFrom.plusDays(14))
+                .selectedRisks(List.of("SPORT_ACTIVITIES", "ACCIDENT_COVERAGE"))
+                .build();
+
+        JsonNode withoutSnapshot = pricing(request);
+        JsonNode withFileSnapshot = ReferenceDataScope.callWith(fromFile, () -> pricing(request));
+
+        assertThat(fromFile.getTariffTables()).isPresent();
+        assertThat(withoutSnapshot.isMissingNode()).isFalse();
+        assertThat(withFileSnapshot).isEqualTo(withoutSnapshot);
+    }
+
+    private JsonNode pricing(Object request) throws Exception {
+        String body = performCalculatePremium(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("pricing");
+    }
+
+    private static long timed(Callable<?> load) throws Exception {
+        long start = System.nanoTime();
+        load.call();
+        return System.nanoTime() - start;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
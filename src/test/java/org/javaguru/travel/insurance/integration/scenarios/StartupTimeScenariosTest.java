@@ -0,0 +1,176 @@
+package org.javaguru.travel.insurance.integration.scenarios;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.javaguru.travel.insurance.InsuranceApplication;
+import org.javaguru.travel.insurance.TestRequestBuilder;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotService;
+import org.javaguru.travel.insurance.infrastructure.persistence.H2DialectWithJsonb;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * E2E: время холодного старта до первой котировки — профиль fast-start
+ * против обычного старта.
+ *
+ * Не наследует BaseIntegrationTest: нужен собственный, только что поднятый
+ * контекст, а не закэшированный Spring TestContext. Своя H2-база
+ * (уникальный URL) не пересекается с базой остальных сценариев.
+ *
+ * Замеряется время запуска SpringApplication плюс время первого запроса
+ * с ответом SUCCESS. Заполнение H2 тестовыми справочниками между ними —
+ * подготовка теста, а не старт: рабочий узел поднимается на заполненной базе.
+ *
+ * Граница MAX_FIRST_QUOTE_MS — замер, а не оценка: на 1 vCPU после прогрева
+ * JVM медианы — fast-start ~1,8–2,0 с, обычный старт ~2,0–2,3 с, экономия
+ * в паре стартов ~0,15–0,2 с и ~40 синглтонов (документация, шаблоны, JMX);
+ * одиночный старт после одного прогревочного — до ~2,5 с. Граница — двойной замер
+ * fast-start. На другой машине перемерить и передать свою:
+ *   ./gradlew integrationTest --tests '*StartupTimeScenariosTest' -Dstartup.first-quote.max-ms=4000
+ */
+@Slf4j
+@DisplayName("E2E: Startup Time To First Quote")
+class StartupTimeScenariosTest {
+
+    private static final long MAX_FIRST_QUOTE_MS = Long.getLong("startup.first-quote.max-ms", 5_000);
+    private static final int WARMUP_STARTS = 2;
+    private static final int ROUNDS = 5;
+
+    @Test
+    @DisplayName("fast-start: первая котировка укладывается в замеренную границу, документация не создаётся при старте")
+    void shouldServeFirstQuoteWithinBudget() throws Exception {
+        startAndQuote(true);
+
+        FirstQuote firstQuote = startAndQuote(true, context -> {
+            assertThat(context.getBeanFactory().getBeanDefinition("openApiConfig").isLazyInit()).isTrue();
+            assertThat(context.getBeanFactory().containsSingleton("openApiConfig")).isFalse();
+            assertThat(((BufferingApplicationStartup) context.getApplicationStartup())
+                    .getBufferedTimeline().getEvents()).isNotEmpty();
+            assertThat(context.getEnvironment().getProperty("management.endpoints.web.exposure.include"))
+                    .as("startup добавлен к эндпоинтам профиля test, а не заменил их")
+                    .isEqualTo("health,info,startup");
+        });
+
+        assertThat(firstQuote.millis()).isLessThan(MAX_FIRST_QUOTE_MS);
+    }
+
+    @Test
+    @DisplayName("fast-start отвечает на первую котировку быстрее обычного старта")
+    void shouldServeFirstQuoteFasterThanRegularStart() throws Exception {
+        for (int i = 0; i < WARMUP_STARTS; i++) {
+            startAndQuote(i % 2 == 0);
+        }
+
+        // Старты сравниваются парами, порядок в паре чередуется: JVM продолжает
+        // прогреваться, и второй старт пары быстрее первого при равных профилях
+        long[] fastStartMs = new long[ROUNDS];
+        long[] regularMs = new long[ROUNDS];
+        long[] savedMs = new long[ROUNDS];
+        FirstQuote fastStart = null;
+        FirstQuote regular = null;
+        for (int round = 0; round < ROUNDS; round++) {
+            if (round % 2 == 0) {
+                regular = startAndQuote(false);
+                fastStart = startAndQuote(true);
+            } else {
+                fastStart = startAndQuote(true);
+                regular = startAndQuote(false);
+            }
+            fastStartMs[round] = fastStart.millis();
+            regularMs[round] = regular.millis();
+            savedMs[round] = regular.millis() - fastStart.millis();
+        }
+
+        log.info("First quote, median of {}: fast-start {} ms, regular {} ms, saved per pair {} ms; "
+                        + "singletons at startup: fast-start {}, regular {}",
+                ROUNDS, median(fastStartMs), median(regularMs), median(savedMs),
+                fastStart.singletonsAtStartup(), regular.singletonsAtStartup());
+        assertThat(fastStart.singletonsAtStartup()).isLessThan(regular.singletonsAtStartup());
+        assertThat(median(savedMs)).isPositive();
+    }
+
+    private FirstQuote startAndQuote(boolean fastStart) throws Exception {
+        return startAndQuote(fastStart, context -> { });
+    }
+
+    /**
+     * Поднимает контекст, заполняет базу и возвращает время старта плюс первой котировки.
+     * В fast-start шаги старта буферизуются, как в InsuranceApplication.main.
+     */
+    private FirstQuote startAndQuote(boolean fastStart, Consumer<ConfigurableApplicationContext> checks)
+            throws Exception {
+        long start = System.nanoTime();
+        var builder = new SpringApplicationBuilder(InsuranceApplication.class)
+                .profiles(fastStart ? new String[] {"test", "fast-start"} : new String[] {"test"});
+        if (fastStart) {
+            builder.applicationStartup(new BufferingApplicationStartup(10_000));
+        }
+
+        try (ConfigurableApplicationContext context = builder.run("--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:startup-" + UUID.randomUUID()
+                        + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;NON_KEYWORDS=VALUE",
+                "--spring.jpa.properties.hibernate.dialect=" + H2DialectWithJsonb.class.getName())) {
+            long startedAt = System.nanoTime();
+            int singletonsAtStartup = context.getBeanFactory().getSingletonCount();
+
+            var populator = new ResourceDatabasePopulator(
+                    new ClassPathResource("db/clean.sql"), new ClassPathResource("db/test-data.sql"));
+            populator.execute(context.getBean(DataSource.class));
+            // В H2 нет триггеров версии тарифа: снимок, загруженный фоновой сверкой
+            // посреди заполнения базы, сам не обновится. Рабочий узел стартует
+            // на заполненной базе — перечитываем снимок так же, как он.
+            context.getBean(ReferenceDataSnapshotService.class).refresh();
+
+            long requestStart = System.nanoTime();
+            JsonNode response = calculate(context);
+            long firstQuoteMs = TimeUnit.NANOSECONDS.toMillis((startedAt - start) + (System.nanoTime() - requestStart));
+
+            assertThat(response.path("status").asText()).isEqualTo("SUCCESS");
+            checks.accept(context);
+            return new FirstQuote(firstQuoteMs, singletonsAtStartup);
+        }
+    }
+
+    private JsonNode calculate(ConfigurableApplicationContext context) throws Exception {
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        String port = context.getEnvironment().getRequiredProperty("local.server.port");
+        String body = objectMapper.writeValueAsString(TestRequestBuilder.adult35Spain().build());
+
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/insurance/travel/calculate"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        return objectMapper.readTree(response.body());
+    }
+
+    private record FirstQuote(long millis, int singletonsAtStartup) {
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,101 @@
+package org.javaguru.travel.insurance.integration.scenarios;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.javaguru.travel.insurance.TestRequestBuilder;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotService;
+import org.javaguru.travel.insurance.fixture.DataScale;
+import org.javaguru.travel.insurance.fixture.SyntheticReferenceDataGenerator;
+import org.javaguru.travel.insurance.integration.BaseIntegrationTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * E2E: синтетические данные SyntheticReferenceDataGenerator на крошечном объёме —
+ * инварианты генератора, на которые опираются бенчмарки и нагрузочный тест.
+ */
+@DisplayName("E2E: Synthetic data generator")
+class SyntheticDataScenariosTest extends BaseIntegrationTest {
+
+    private static final DataScale TINY = new DataScale("tiny", 30, 4, 10, 3, 2, 200, 500, 0.2, 7, 100);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReferenceDataSnapshotService snapshotService;
+
+    @Test
+    @DisplayName("должен записать заданные объёмы")
+    void shouldWriteRequestedVolumes() {
+        var summary = new SyntheticReferenceDataGenerator(dataSource).generate(TINY);
+
+        assertThat(summary.rowsByTable())
+                .containsEntry("countries", 30 * 4)
+                .containsEntry("risk_bundles", 10 * 3)
+                .containsEntry("promo_codes", 200)
+                .containsEntry("underwriting_decisions", 500);
+        assertThat(count("SELECT COUNT(*) FROM promo_codes WHERE code LIKE 'SYN_PROMO_%'")).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("на любую дату у кода страны и пакета не больше одной действующей версии")
+    void shouldKeepAtMostOneActiveVersionPerKey() {
+        new SyntheticReferenceDataGenerator(dataSource).generate(TINY);
+
+        for (LocalDate date : List.of(LocalDate.now().minusYears(3), LocalDate.now(), LocalDate.now().plusMonths(6))) {
+            assertThat(count("SELECT COUNT(*) FROM (SELECT iso_code FROM countries "
+                    + "WHERE valid_from <= ? AND (valid_to IS NULL OR valid_to >= ?) "
+                    + "GROUP BY iso_code HAVING COUNT(*) > 1) t", date, date))
+                    .as("countries with overlapping versions on %s", date)
+                    .isZero();
+            assertThat(count("SELECT COUNT(*) FROM (SELECT code FROM risk_bundles "
+                    + "WHERE valid_from <= ? AND (valid_to IS NULL OR valid_to >= ?) "
+                    + "GROUP BY code HAVING COUNT(*) > 1) t", date, date))
+                    .as("bundles with overlapping versions on %s", date)
+                    .isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("синтетические данные не меняют премию для seed-данных")
+    void shouldNotChangePremiumForSeedData() throws Exception {
+        LocalDate dateFrom = LocalDate.now().plusDays(30);
+        var request = TestRequestBuilder.adult35Spain()
+                .agreementDateFrom(dateFrom)
+                .agreementDateTo(dateFrom.plusDays(14))
+                .selectedRisks(List.of("SPORT_ACTIVITIES", "ACCIDENT_COVERAGE", "EXTREME_SPORT"))
+                .build();
+
+        JsonNode before = pricing(request);
+        new SyntheticReferenceDataGenerator(dataSource).generate(TINY);
+        snapshotService.refresh();
+        JsonNode after = pricing(request);
+
+        assertThat(before.isMissingNode()).isFalse();
+        assertThat(after).isEqualTo(before);
+    }
+
+    private JsonNode pricing(Object request) throws Exception {
+        String body = performCalculatePremium(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("pricing");
+    }
+
+    private int count(String sql, Object... args) {
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, args);
+        return count == null ? 0 : count;
+    }
+}
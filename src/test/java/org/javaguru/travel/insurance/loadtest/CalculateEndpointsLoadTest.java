@@ -0,0 +1,205 @@
+package org.javaguru.travel.insurance.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.javaguru.travel.insurance.TestRequestBuilder;
+import org.javaguru.travel.insurance.application.dto.TravelCalculatePremiumRequest;
+import org.javaguru.travel.insurance.application.dto.v3.InsuredPerson;
+import org.javaguru.travel.insurance.application.dto.v3.TravelCalculatePremiumRequestV3;
+import org.javaguru.travel.insurance.core.reference.ReferenceDataSnapshotService;
+import org.javaguru.travel.insurance.fixture.DataScale;
+import org.javaguru.travel.insurance.fixture.SyntheticReferenceDataGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Нагрузочный тест эндпоинтов расчёта V2 и V3 на H2-профиле test.
+ *
+ * Запуск: ./gradlew loadTest [-Dloadtest.rate=100 -Dloadtest.mix=v2=50,v3=50 ...]
+ * Параметры — LoadTestSettings.
+ *
+ * РЕЗУЛЬТАТ (build/reports/loadtest):
+ *   report.json  — пропускная способность, доли ошибок, p50/p90/p99/p99.9/max;
+ *   *.hgrm       — полные распределения задержек HdrHistogram.
+ *
+ * ГЕЙТ:
+ *   - доля ошибок и 503 не выше loadtest.max-error-rate;
+ *   - p99 и пропускная способность не хуже baseline (loadtest.baseline)
+ *     с учётом допусков; темп, микс и объём данных должны совпадать с baseline.
+ *   Без baseline тест падает. Baseline записывается прогоном с
+ *   -Dloadtest.record=true на той же машине/CI-раннере, где работает гейт.
+ *
+ * ЗАПРОСЫ:
+ *   Тела запросов перебирают REQUEST_VARIANTS комбинаций возраста, длительности,
+ *   страны и рисков — иначе все вызовы после первого попадали бы в кэш
+ *   котировок (QuoteResultCache) и тест мерил бы кэш, а не расчёт.
+ *
+ * ОБЪЁМ ДАННЫХ:
+ *   По умолчанию — seed-данные test-data.sql. С -Ddatagen.scale=small|medium|large
+ *   перед прогревом дописываются синтетические данные (SyntheticReferenceDataGenerator),
+ *   имя пресета попадает в отчёт: baseline сравнивают только при одинаковом объёме.
+ *
+ * Логирование приложения понижено до WARN: иначе измеряется вывод
+ * SQL и тел запросов, а не расчёт.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "logging.level.org.javaguru.travel.insurance=WARN",
+                "logging.level.org.hibernate.SQL=WARN",
+                "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                "logging.level.org.javaguru.travel.insurance.loadtest=INFO"
+        }
+)
+@ActiveProfiles("test")
+@Sql(
+        scripts = {"/db/clean.sql", "/db/test-data.sql"},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+)
+@DisplayName("Load test: calculate V2/V3")
+class CalculateEndpointsLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(CalculateEndpointsLoadTest.class);
+
+    private static final String V2_ENDPOINT = "/insurance/travel/calculate";
+    private static final String V3_ENDPOINT = "/insurance/travel/v3/calculate";
+
+    private static final int REQUEST_VARIANTS = 64;
+    private static final List<String> COUNTRIES = List.of("ES", "FR", "DE", "IT", "AT", "TR");
+    private static final List<List<String>> RISK_SETS = List.of(
+            List.of(),
+            List.of("SPORT_ACTIVITIES"),
+            List.of("LUGGAGE_LOSS"),
+            List.of("SPORT_ACTIVITIES", "FLIGHT_DELAY"));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReferenceDataSnapshotService snapshotService;
+
+    @Test
+    @DisplayName("p99 и пропускная способность не хуже baseline")
+    void shouldNotRegressAgainstBaseline() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        String dataScale = null;
+        if (System.getProperty("datagen.scale") != null) {
+            dataScale = new SyntheticReferenceDataGenerator(dataSource)
+                    .generate(DataScale.fromSystemProperties("small"))
+                    .scale().name();
+            snapshotService.refresh();
+        }
+        OpenModelLoadGenerator generator = new OpenModelLoadGenerator(
+                URI.create("http://localhost:" + port),
+                Map.of(
+                        "v2", new OpenModelLoadGenerator.Target(V2_ENDPOINT, bodies(this::v2Request)),
+                        "v3", new OpenModelLoadGenerator.Target(V3_ENDPOINT,
+                                bodies(variant -> v3Request(variant, settings.v3Persons())))),
+                settings.mix());
+
+        generator.run(settings.ratePerSecond(), settings.warmup(), settings.seed());
+        OpenModelLoadGenerator.Run run = generator.run(
+                settings.ratePerSecond(), settings.duration(), settings.seed() + 1);
+        LoadTestReport report = run.toReport(settings.ratePerSecond(), settings.mix(), dataScale);
+
+        Files.createDirectories(settings.reportDir());
+        objectMapper.writerWithDefaultPrettyPrinter()
+                .writeValue(settings.reportDir().resolve("report.json").toFile(), report);
+        run.writeHistograms(settings.reportDir());
+
+        report.endpoints().forEach((endpoint, stats) ->
+                assertThat(stats.errorRate())
+                        .as("%s error rate (rejected=%d, failed=%d)", endpoint, stats.rejected(), stats.failed())
+                        .isLessThanOrEqualTo(settings.maxErrorRate()));
+
+        if (settings.record()) {
+            Files.createDirectories(settings.baseline().toAbsolutePath().getParent());
+            Files.copy(settings.reportDir().resolve("report.json"), settings.baseline(),
+                    StandardCopyOption.REPLACE_EXISTING);
+            log.info("Load-test baseline recorded at {}", settings.baseline());
+            return;
+        }
+        assertThat(settings.baseline())
+                .as("Load-test baseline; record one with -Dloadtest.record=true on the machine that runs the gate")
+                .exists();
+        LoadTestReport baseline = objectMapper.readValue(settings.baseline().toFile(), LoadTestReport.class);
+        assertThat(report.dataScale())
+                .as("Data scale of this run vs baseline %s", settings.baseline())
+                .isEqualTo(baseline.dataScale());
+        assertThat(report.targetRatePerSecond())
+                .as("Target rate of this run vs baseline %s", settings.baseline())
+                .isEqualTo(baseline.targetRatePerSecond());
+        assertThat(report.mix())
+                .as("Endpoint mix of this run vs baseline %s", settings.baseline())
+                .isEqualTo(baseline.mix());
+        assertThat(report.regressionsAgainst(baseline, settings.p99Tolerance(), settings.throughputTolerance()))
+                .as("Regressions against %s", settings.baseline())
+                .isEmpty();
+    }
+
+    private List<String> bodies(IntFunction<Object> request) throws JsonProcessingException {
+        List<String> bodies = new ArrayList<>(REQUEST_VARIANTS);
+        for (int variant = 0; variant < REQUEST_VARIANTS; variant++) {
+            bodies.add(objectMapper.writeValueAsString(request.apply(variant)));
+        }
+        return bodies;
+    }
+
+    /**
+     * Вариант V2 запроса: возраст 20–59, поездка 3–30 дней, страны с низким и
+     * средним риском — всё, что проходит андеррайтинг без отказа.
+     */
+    private TravelCalculatePremiumRequest v2Request(int variant) {
+        var template = TestRequestBuilder.adult35Spain().build();
+        return TestRequestBuilder.adult35Spain()
+                .personBirthDate(template.getAgreementDateFrom().minusYears(20 + variant % 40).minusDays(variant))
+                .agreementDateTo(template.getAgreementDateFrom().plusDays(3 + variant % 28))
+                .countryIsoCode(COUNTRIES.get(variant % COUNTRIES.size()))
+                .selectedRisks(RISK_SETS.get(variant % RISK_SETS.size()))
+                .build();
+    }
+
+    private static TravelCalculatePremiumRequestV3 v3Request(int variant, int persons) {
+        var template = TestRequestBuilder.adult35Spain().build();
+        return TravelCalculatePremiumRequestV3.builder()
+                .persons(IntStream.range(0, persons)
+                        .mapToObj(i -> InsuredPerson.builder()
+                                .personFirstName("Load")
+                                .personLastName("Test" + (char) ('A' + i % 26))
+                                .personBirthDate(template.getAgreementDateFrom()
+                                        .minusYears(20 + (variant + i * 7) % 40))
+                                .build())
+                        .toList())
+                .agreementDateFrom(template.getAgreementDateFrom())
+                .agreementDateTo(template.getAgreementDateFrom().plusDays(3 + variant % 28))
+                .countryIsoCode(COUNTRIES.get(variant % COUNTRIES.size()))
+                .medicalRiskLimitLevel(template.getMedicalRiskLimitLevel())
+                .selectedRisks(RISK_SETS.get(variant % RISK_SETS.size()))
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package org.javaguru.travel.insurance.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Машиночитаемый отчёт нагрузочного теста (build/reports/loadtest/report.json).
+ * Тот же формат используется как baseline.
+ *
+ * dataScale — пресет синтетических данных (null — только seed-данные).
+ */
+record LoadTestReport(
+        String startedAt,
+        double targetRatePerSecond,
+        long durationSeconds,
+        Map<String, Integer> mix,
+        String dataScale,
+        Map<String, EndpointReport> endpoints) {
+
+    /**
+     * Итоги одного эндпоинта; задержки — в миллисекундах, от запланированного
+     * момента отправки (с поправкой на coordinated omission).
+     */
+    record EndpointReport(
+            long requests,
+            long succeeded,
+            long rejected,
+            long failed,
+            double throughputPerSecond,
+            double errorRate,
+            double p50Ms,
+            double p90Ms,
+            double p99Ms,
+            double p999Ms,
+            double maxMs) {
+    }
+
+    /**
+     * Регрессии относительно baseline: рост p99 больше p99Tolerance или падение
+     * пропускной способности больше throughputTolerance. Эндпоинты, которых нет
+     * в baseline, не сравниваются.
+     */
+    List<String> regressionsAgainst(LoadTestReport baseline, double p99Tolerance, double throughputTolerance) {
+        List<String> regressions = new ArrayList<>();
+        baseline.endpoints().forEach((endpoint, expected) -> {
+            EndpointReport actual = endpoints.get(endpoint);
+            if (actual == null) {
+                return;
+            }
+            double maxP99 = expected.p99Ms() * (1 + p99Tolerance);
+            if (actual.p99Ms() > maxP99) {
+                regressions.add(String.format("%s: p99 %.1f ms > %.1f ms (baseline %.1f ms + %.0f%%)",
+                        endpoint, actual.p99Ms(), maxP99, expected.p99Ms(), p99Tolerance * 100));
+            }
+            double minThroughput = expected.throughputPerSecond() * (1 - throughputTolerance);
+            if (actual.throughputPerSecond() < minThroughput) {
+                regressions.add(String.format("%s: throughput %.1f/s < %.1f/s (baseline %.1f/s - %.0f%%)",
+                        endpoint, actual.throughputPerSecond(), minThroughput,
+                        expected.throughputPerSecond(), throughputTolerance * 100));
+            }
+        });
+        return regressions;
+    }
+}
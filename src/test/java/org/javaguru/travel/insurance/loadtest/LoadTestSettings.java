@@ -0,0 +1,81 @@
+package org.javaguru.travel.insurance.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Параметры нагрузочного теста из системных свойств loadtest.*
+ * (Gradle-задача loadTest передаёт их из -Dloadtest.*=...).
+ *
+ * <pre>
+ *   loadtest.rate                  прибытий в секунду (открытая модель), 50
+ *   loadtest.duration-seconds      длительность замера, 30
+ *   loadtest.warmup-seconds        прогрев без записи, 10
+ *   loadtest.mix                   доли эндпоинтов, "v2=70,v3=30"
+ *   loadtest.v3-persons            персон в запросе V3, 3
+ *   loadtest.seed                  seed генератора прибытий, 42
+ *   loadtest.baseline              сохранённый baseline, src/test/resources/loadtest/baseline.json
+ *   loadtest.record                записать отчёт прогона как baseline вместо сравнения, false
+ *   loadtest.report-dir            куда писать отчёт, build/reports/loadtest
+ *   loadtest.p99-tolerance         допустимый рост p99, 0.20 (= +20%)
+ *   loadtest.throughput-tolerance  допустимое падение пропускной способности, 0.10
+ *   loadtest.max-error-rate        допустимая доля ошибок и отказов, 0.01
+ * </pre>
+ */
+record LoadTestSettings(
+        double ratePerSecond,
+        Duration duration,
+        Duration warmup,
+        Map<String, Integer> mix,
+        int v3Persons,
+        long seed,
+        Path baseline,
+        boolean record,
+        Path reportDir,
+        double p99Tolerance,
+        double throughputTolerance,
+        double maxErrorRate) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Double.parseDouble(property("rate", "50")),
+                Duration.ofSeconds(Long.parseLong(property("duration-seconds", "30"))),
+                Duration.ofSeconds(Long.parseLong(property("warmup-seconds", "10"))),
+                parseMix(property("mix", "v2=70,v3=30")),
+                Integer.parseInt(property("v3-persons", "3")),
+                Long.parseLong(property("seed", "42")),
+                Path.of(property("baseline", "src/test/resources/loadtest/baseline.json")),
+                Boolean.parseBoolean(property("record", "false")),
+                Path.of(property("report-dir", "build/reports/loadtest")),
+                Double.parseDouble(property("p99-tolerance", "0.20")),
+                Double.parseDouble(property("throughput-tolerance", "0.10")),
+                Double.parseDouble(property("max-error-rate", "0.01")));
+    }
+
+    /**
+     * "v2=70,v3=30" → {v2=70, v3=30}; порядок сохраняется.
+     */
+    static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                mix.put(pair[0].trim(), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix has no positive weights: " + value);
+        }
+        return mix;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+}
@@ -0,0 +1,204 @@
+package org.javaguru.travel.insurance.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Генератор нагрузки открытой модели: запросы прибывают пуассоновским потоком
+ * с заданной интенсивностью независимо от того, успел ли сервис ответить
+ * на предыдущие (в отличие от закрытой модели «N потоков в цикле»).
+ *
+ * Задержка считается от запланированного момента отправки, а не от фактического:
+ * если генератор или клиент отстали, ожидание попадает в гистограмму
+ * (поправка на coordinated omission).
+ */
+final class OpenModelLoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final URI baseUri;
+    private final Map<String, Target> targets;
+    private final Map<String, Integer> mix;
+    private final int totalWeight;
+
+    /**
+     * Эндпоинт нагрузки: путь и варианты тела запроса (JSON).
+     *
+     * Тело каждого запроса выбирается из вариантов случайно (тем же seed, что
+     * и прибытия), чтобы нагрузка не сводилась к попаданиям в кэши котировок.
+     */
+    record Target(String path, List<String> bodies) {
+
+        Target {
+            if (bodies.isEmpty()) {
+                throw new IllegalArgumentException("Target " + path + " has no request bodies");
+            }
+            bodies = List.copyOf(bodies);
+        }
+    }
+
+    OpenModelLoadGenerator(URI baseUri, Map<String, Target> targets, Map<String, Integer> mix) {
+        for (String name : mix.keySet()) {
+            if (!targets.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown endpoint in mix: " + name + ", known: " + targets.keySet());
+            }
+        }
+        this.baseUri = baseUri;
+        this.targets = targets;
+        this.mix = mix;
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * Подаёт нагрузку в течение duration и ждёт завершения всех отправленных запросов.
+     */
+    Run run(double ratePerSecond, Duration duration, long seed) throws InterruptedException {
+        Map<String, EndpointRecorder> recorders = new LinkedHashMap<>();
+        mix.keySet().forEach(name -> recorders.put(name, new EndpointRecorder()));
+
+        Random random = new Random(seed);
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        List<CompletableFuture<Void>> sent = new ArrayList<>();
+        Instant startedAt = Instant.now();
+
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long intended = start;
+        while (intended < end) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            String name = pick(random);
+            Target target = targets.get(name);
+            String body = target.bodies().get(random.nextInt(target.bodies().size()));
+            sent.add(send(target, body, recorders.get(name), intended));
+            intended += (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos);
+        }
+
+        for (CompletableFuture<Void> future : sent) {
+            future.join();
+        }
+        return new Run(startedAt, duration, recorders);
+    }
+
+    private String pick(Random random) {
+        int point = random.nextInt(totalWeight);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            point -= entry.getValue();
+            if (point < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Unreachable: weights sum to " + totalWeight);
+    }
+
+    private CompletableFuture<Void> send(Target target, String body, EndpointRecorder recorder, long intendedNanos) {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(target.path()))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    recorder.record(intendedNanos, error == null ? response.statusCode() : -1);
+                    return null;
+                });
+    }
+
+    /**
+     * Итоги прогона по эндпоинтам.
+     */
+    record Run(Instant startedAt, Duration duration, Map<String, EndpointRecorder> recorders) {
+
+        LoadTestReport toReport(double ratePerSecond, Map<String, Integer> mix, String dataScale) {
+            Map<String, LoadTestReport.EndpointReport> endpoints = new LinkedHashMap<>();
+            recorders.forEach((name, recorder) -> endpoints.put(name, recorder.report(duration)));
+            return new LoadTestReport(
+                    startedAt.toString(), ratePerSecond, duration.toSeconds(), mix, dataScale, endpoints);
+        }
+
+        /**
+         * Полные распределения задержек в формате HdrHistogram (*.hgrm, мс).
+         */
+        void writeHistograms(Path directory) throws IOException {
+            for (Map.Entry<String, EndpointRecorder> entry : recorders.entrySet()) {
+                try (PrintStream out = new PrintStream(
+                        Files.newOutputStream(directory.resolve(entry.getKey() + ".hgrm")), true, "UTF-8")) {
+                    entry.getValue().histogram.outputPercentileDistribution(out, 1000.0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Гистограмма задержек (мкс) и счётчики исходов одного эндпоинта.
+     * 503 от admission control считается отказом, остальные не-2xx — ошибкой.
+     */
+    static final class EndpointRecorder {
+
+        private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final AtomicLong succeeded = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+
+        void record(long intendedNanos, int status) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedNanos);
+            histogram.recordValue(Math.min(Math.max(micros, 1), HIGHEST_TRACKABLE_MICROS));
+            if (status >= 200 && status < 300) {
+                succeeded.incrementAndGet();
+            } else if (status == 503) {
+                rejected.incrementAndGet();
+            } else {
+                failed.incrementAndGet();
+            }
+        }
+
+        LoadTestReport.EndpointReport report(Duration duration) {
+            long ok = succeeded.get();
+            long requests = ok + rejected.get() + failed.get();
+            return new LoadTestReport.EndpointReport(
+                    requests,
+                    ok,
+                    rejected.get(),
+                    failed.get(),
+                    ok / (duration.toMillis() / 1000.0),
+                    requests == 0 ? 0 : (double) (requests - ok) / requests,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.javaguru.travel.insurance.rest;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.javaguru.travel.insurance.application.service.TravelCalculatePremiumService;
 import org.javaguru.travel.insurance.application.dto.TravelCalculatePremiumResponse;
+import org.javaguru.travel.insurance.core.concurrent.SingleFlightTimeoutException;
 import org.javaguru.travel.insurance.infrastructure.web.controller.TravelCalculatePremiumController;
 import org.javaguru.travel.insurance.infrastructure.web.error.GlobalExceptionHandler;
 import org.junit.jupiter.api.DisplayName;
@@ -94,6 +95,20 @@ class GlobalExceptionHandlerTest {
                 .andExpect(jsonPath("$.error").value("Internal server error"));
     }
 
+    @Test
+    @DisplayName("Returns 503 when a shared in-flight load times out")
+    void shouldReturn503_whenSingleFlightTimesOut() throws Exception {
+        when(service.calculatePremium(any(), anyBoolean()))
+                .thenThrow(new SingleFlightTimeoutException("quote", java.time.Duration.ofSeconds(5)));
+
+        mockMvc.perform(post("/insurance/travel/calculate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(validRequestJson()))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.error").value("Service Unavailable"));
+    }
+
     // ========================================
     // SERVICE ERROR TESTS
     // ========================================
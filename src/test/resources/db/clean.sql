@@ -3,6 +3,7 @@
 -- ЭТАП 3 (рефакторинг): Изоляция интеграционных тестов
 --
 -- task_133: Добавлены таблицы age_coefficients и calculation_config
+-- Журнал андеррайтинга чистится тоже: его наполняет SyntheticReferenceDataGenerator.
 --
 -- Выполняется BEFORE_TEST_METHOD перед каждым тестом.
 -- Гарантирует что порядок выполнения тестов не важен:
@@ -12,6 +13,8 @@
 -- потом родительские (FK constraints).
 -- ============================================
 
+DELETE FROM underwriting_audit_log;
+DELETE FROM underwriting_decisions;
 DELETE FROM age_risk_coefficients;
 DELETE FROM underwriting_rules_config;
 DELETE FROM risk_bundles;